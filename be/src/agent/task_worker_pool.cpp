@@ -28,9 +28,11 @@
 #include <condition_variable>
 #include <csignal>
 #include <ctime>
+#include <map>
 #include <mutex>
 #include <sstream>
 #include <string>
+#include <unordered_map>
 
 #include "common/status.h"
 #include "env/env.h"
@@ -54,6 +56,7 @@
 #include "storage/task/engine_storage_migration_task.h"
 #include "storage/utils.h"
 #include "util/file_utils.h"
+#include "util/hash_util.hpp"
 #include "util/monotime.h"
 #include "util/starrocks_metrics.h"
 #include "util/stopwatch.hpp"
@@ -1392,6 +1395,22 @@ void* TaskWorkerPool::_report_disk_state_worker_thread_callback(void* arg_this)
     return (void*)nullptr;
 }
 
+// Fingerprint of the tablet info reported to FE, to find out the tablets changed since the last report.
+static uint64_t tablet_info_fingerprint(const TTabletInfo& info) {
+    int64_t fields[] = {info.schema_hash,
+                        info.version,
+                        info.row_count,
+                        info.data_size,
+                        info.__isset.storage_medium ? static_cast<int64_t>(info.storage_medium) : -1,
+                        info.__isset.version_count ? info.version_count : -1,
+                        info.__isset.path_hash ? info.path_hash : -1,
+                        info.__isset.version_miss ? static_cast<int64_t>(info.version_miss) : -1,
+                        info.__isset.used ? static_cast<int64_t>(info.used) : -1,
+                        info.__isset.partition_id ? info.partition_id : -1,
+                        info.__isset.is_in_memory ? static_cast<int64_t>(info.is_in_memory) : -1};
+    return HashUtil::hash64(fields, sizeof(fields), 0);
+}
+
 void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
     TaskWorkerPool* worker_pool_this = (TaskWorkerPool*)arg_this;
 
@@ -1400,6 +1419,13 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
     request.__isset.tablets = true;
     AgentStatus status = STARROCKS_SUCCESS;
 
+    // The tablet report acked by FE, which the next report only sends the changes since.
+    // acked_report_id is -1 if there is no such report, then a full report is sent.
+    int64_t tablet_report_id = time(nullptr) * 10000;
+    int64_t acked_report_id = -1;
+    std::unordered_map<TTabletId, uint64_t> acked_fingerprints;
+    std::map<TTabletId, TTablet> all_tablets;
+    std::unordered_map<TTabletId, uint64_t> fingerprints;
     while ((!worker_pool_this->_stopped)) {
         if (worker_pool_this->_master_info.network_address.port == 0) {
             // port == 0 means not received heartbeat yet
@@ -1409,15 +1435,44 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
             continue;
         }
         request.tablets.clear();
+        request.__isset.base_tablet_report_id = false;
+        request.__isset.removed_tablet_ids = false;
+        request.removed_tablet_ids.clear();
+        all_tablets.clear();
+        fingerprints.clear();
 
         request.__set_report_version(_s_report_version);
-        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&request.tablets);
+        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&all_tablets);
         if (!st_report.ok()) {
             LOG(WARNING) << "Fail to report all tablets info, err=" << st_report.to_string();
             // wait for notifying until timeout
             StorageEngine::instance()->wait_for_report_notify(config::report_tablet_interval_seconds, true);
             continue;
         }
+        bool incremental = acked_report_id != -1;
+        fingerprints.reserve(all_tablets.size());
+        for (auto& [tablet_id, tablet] : all_tablets) {
+            const TTabletInfo& info = tablet.tablet_infos[0];
+            uint64_t fingerprint = tablet_info_fingerprint(info);
+            fingerprints.emplace(tablet_id, fingerprint);
+            if (incremental && !info.__isset.transaction_ids) {
+                auto iter = acked_fingerprints.find(tablet_id);
+                if (iter != acked_fingerprints.end() && iter->second == fingerprint) {
+                    continue;
+                }
+            }
+            request.tablets.emplace(tablet_id, std::move(tablet));
+        }
+        if (incremental) {
+            for (const auto& [tablet_id, fingerprint] : acked_fingerprints) {
+                if (fingerprints.find(tablet_id) == fingerprints.end()) {
+                    request.removed_tablet_ids.push_back(tablet_id);
+                }
+            }
+            request.__set_base_tablet_report_id(acked_report_id);
+            request.__isset.removed_tablet_ids = true;
+        }
+        request.__set_tablet_report_id(++tablet_report_id);
         int64_t max_compaction_score =
                 std::max(StarRocksMetrics::instance()->tablet_cumulative_max_compaction_score.value(),
                          StarRocksMetrics::instance()->tablet_base_max_compaction_score.value());
@@ -1431,7 +1486,21 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
             LOG(WARNING) << "Fail to report olap table state to "
                          << worker_pool_this->_master_info.network_address.hostname << ":"
                          << worker_pool_this->_master_info.network_address.port << ", err=" << status;
+        } else if (result.__isset.acked_tablet_report_id && result.acked_tablet_report_id == tablet_report_id) {
+            acked_report_id = tablet_report_id;
+            acked_fingerprints.swap(fingerprints);
+        } else {
+            // FE doesn't support incremental report, or wants a full report, e.g. it's a new master
+            // or it's time for the periodical full report.
+            acked_report_id = -1;
+            acked_fingerprints.clear();
+            if (incremental && result.status.status_code == TStatusCode::OK) {
+                LOG(INFO) << "Incremental tablet report is not acked, send a full report";
+                continue;
+            }
         }
+        LOG(INFO) << "Reported " << request.tablets.size() << " of " << all_tablets.size() << " tablets"
+                  << (incremental ? " incrementally" : "") << ", removed " << request.removed_tablet_ids.size();
 
         // wait for notifying until timeout
         StorageEngine::instance()->wait_for_report_notify(config::report_tablet_interval_seconds, true);
@@ -691,6 +691,12 @@ CONF_Int64(max_load_dop, "16");
 
 CONF_Int64(meta_threshold_to_manual_compact, "10737418240"); // 10G
 
+// The max number of connections of each connection pool of the jdbc bridge.
+// There is one pool per driver, url and user, shared by all the jdbc scans.
+CONF_Int32(jdbc_connection_pool_size, "8");
+// The idle connections of the jdbc bridge are closed after this time in milliseconds, which is at least 10000.
+CONF_Int32(jdbc_connection_idle_timeout_ms, "600000");
+
 } // namespace config
 
 } // namespace starrocks
@@ -158,6 +158,10 @@ Status FragmentExecutor::prepare(ExecEnv* exec_env, const TExecPlanFragmentParam
         _query_ctx->set_is_runtime_filter_coordinator(true);
         exec_env->runtime_filter_worker()->open_query(query_id, request.query_options, params.runtime_filter_params,
                                                       true);
+    } else if (params.__isset.runtime_filter_params && params.runtime_filter_params.id_to_merge_nodes.size() != 0) {
+        // a build instance of the multi-level merges, which doesn't close the merger of the query.
+        exec_env->runtime_filter_worker()->open_partial_merge(query_id, request.query_options,
+                                                              params.runtime_filter_params, true);
     }
     _fragment_ctx->prepare_pass_through_chunk_buffer();
 
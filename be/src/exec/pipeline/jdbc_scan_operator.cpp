@@ -93,24 +93,46 @@ void JDBCScanOperator::_start_scanner(RuntimeState* state) {
     scan_ctx.jdbc_url = jdbc_table->jdbc_url();
     scan_ctx.user = jdbc_table->jdbc_user();
     scan_ctx.passwd = jdbc_table->jdbc_passwd();
-    scan_ctx.sql = get_jdbc_sql(jdbc_table->jdbc_table(), _jdbc_scan_node.columns, _jdbc_scan_node.filters, _limit);
 
-    _scanner.reset(new vectorized::JDBCScanner(scan_ctx, _result_tuple_desc, this));
+    // If the table is split, the morsels are ranges of the split column, each of which is read by a separate query,
+    // otherwise there is no morsel and the whole table is read by one query.
+    std::vector<std::string> range_filters;
+    while (auto maybe_morsel = _morsel_queue->try_get()) {
+        auto* scan_morsel = down_cast<ScanMorsel*>(maybe_morsel.value().get());
+        range_filters.emplace_back(scan_morsel->get_scan_range()->remote_table_scan_range.range_filter);
+    }
 
-    if (status = _scanner->open(state); !status.ok()) {
-        _set_scanner_state(true, status);
-        _scanner->close(state);
+    if (range_filters.empty()) {
+        scan_ctx.sql =
+                get_jdbc_sql(jdbc_table->jdbc_table(), _jdbc_scan_node.columns, _jdbc_scan_node.filters, _limit);
+        _set_scanner_state(true, _scan(state, scan_ctx));
         return;
     }
-    if (status = _fetch_chunks(); !status.ok()) {
-        _set_scanner_state(true, status);
-        _scanner->close(state);
-        return;
+    for (const auto& range_filter : range_filters) {
+        if (_is_finished.load()) {
+            break;
+        }
+        std::vector<std::string> filters = _jdbc_scan_node.filters;
+        filters.emplace_back(range_filter);
+        scan_ctx.sql = get_jdbc_sql(jdbc_table->jdbc_table(), _jdbc_scan_node.columns, filters, _limit);
+        if (status = _scan(state, scan_ctx); !status.ok()) {
+            _set_scanner_state(true, status);
+            return;
+        }
     }
-    _scanner->close(state);
     _set_scanner_state(true, Status::OK());
 }
 
+Status JDBCScanOperator::_scan(RuntimeState* state, const vectorized::JDBCScanContext& scan_ctx) {
+    _scanner.reset(new vectorized::JDBCScanner(scan_ctx, _result_tuple_desc, this));
+    Status status = _scanner->open(state);
+    if (status.ok()) {
+        status = _fetch_chunks();
+    }
+    _scanner->close(state);
+    return status;
+}
+
 Status JDBCScanOperator::set_finishing(RuntimeState* state) {
     _is_finished.store(true);
     return Status::OK();
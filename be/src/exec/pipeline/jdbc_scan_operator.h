@@ -41,6 +41,9 @@ private:
 
     void _start_scanner(RuntimeState* state);
 
+    // read the result of the query of scan_ctx into _result_chunks
+    Status _scan(RuntimeState* state, const vectorized::JDBCScanContext& scan_ctx);
+
     void _set_scanner_state(bool is_finished, const Status& new_status);
     // if scanner thread is finished, return true
     // Otherwise, return false
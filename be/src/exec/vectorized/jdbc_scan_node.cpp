@@ -2,6 +2,10 @@
 
 #include "exec/vectorized/jdbc_scan_node.h"
 
+#include <algorithm>
+
+#include "common/config.h"
+#include "exec/pipeline/fragment_context.h"
 #include "exec/pipeline/jdbc_scan_operator.h"
 #include "exec/pipeline/limit_operator.h"
 #include "exec/pipeline/pipeline_builder.h"
@@ -44,7 +48,13 @@ pipeline::OpFactories JDBCScanNode::decompose_to_pipeline(pipeline::PipelineBuil
     OpFactories operators;
     auto jdbc_scan_operator =
             std::make_shared<JDBCScanOperatorFactory>(context->next_operator_id(), this, _jdbc_scan_node);
-    jdbc_scan_operator->set_degree_of_parallelism(1);
+    // The scan ranges of a split table are read in parallel, by at most as many operators as the connections
+    // of the connection pool, otherwise an operator may wait for a connection too long.
+    const auto& morsel_queue = context->fragment_context()->morsel_queues()[id()];
+    size_t degree_of_parallelism = std::min<size_t>(
+            {std::max<size_t>(1, morsel_queue->num_morsels()), context->degree_of_parallelism(),
+             static_cast<size_t>(std::max(1, config::jdbc_connection_pool_size))});
+    jdbc_scan_operator->set_degree_of_parallelism(degree_of_parallelism);
     operators.emplace_back(std::move(jdbc_scan_operator));
     if (limit() != -1) {
         operators.emplace_back(std::make_shared<LimitOperatorFactory>(context->next_operator_id(), id(), limit()));
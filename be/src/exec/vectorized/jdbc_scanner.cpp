@@ -2,8 +2,11 @@
 
 #include "exec/vectorized/jdbc_scanner.h"
 
+#include <algorithm>
+#include <limits>
 #include <type_traits>
 
+#include "common/config.h"
 #include "jni_md.h"
 
 namespace starrocks::vectorized {
@@ -16,15 +19,39 @@ namespace starrocks::vectorized {
         return Status::InternalError(fmt::format("{}, error: {}", error_message, err)); \
     }
 
-#define PROCESS_NULL_VALUE(val, column)                                                                         \
-    if (val == nullptr) {                                                                                       \
-        if (!column->is_nullable()) {                                                                           \
-            return Status::DataQualityError(                                                                    \
-                    fmt::format("Unexpected NULL value occurs on NOT NULL column[{}]", slot_desc->col_name())); \
-        }                                                                                                       \
-        column->append_nulls(1);                                                                                \
-        return Status::OK();                                                                                    \
+namespace {
+// copy the first len values of the java primitive array into buf
+void get_array_region(JNIEnv* env, jbyteArray array, jsize len, void* buf) {
+    env->GetByteArrayRegion(array, 0, len, reinterpret_cast<jbyte*>(buf));
+}
+
+void get_array_region(JNIEnv* env, jintArray array, jsize len, void* buf) {
+    env->GetIntArrayRegion(array, 0, len, reinterpret_cast<jint*>(buf));
+}
+
+void get_array_region(JNIEnv* env, jlongArray array, jsize len, void* buf) {
+    env->GetLongArrayRegion(array, 0, len, reinterpret_cast<jlong*>(buf));
+}
+
+void get_array_region(JNIEnv* env, jfloatArray array, jsize len, void* buf) {
+    env->GetFloatArrayRegion(array, 0, len, reinterpret_cast<jfloat*>(buf));
+}
+
+void get_array_region(JNIEnv* env, jdoubleArray array, jsize len, void* buf) {
+    env->GetDoubleArrayRegion(array, 0, len, reinterpret_cast<jdouble*>(buf));
+}
+
+template <PrimitiveType PT>
+bool append_decimal(const Slice& value, const TypeDescriptor& type_desc, Column* data_column) {
+    RunTimeCppType<PT> cpp_val;
+    if (DecimalV3Cast::from_string<RunTimeCppType<PT>>(&cpp_val, type_desc.precision, type_desc.scale, value.data,
+                                                        value.size)) {
+        return false;
     }
+    down_cast<RunTimeColumnType<PT>*>(data_column)->append(cpp_val);
+    return true;
+}
+} // namespace
 
 JDBCScanner::~JDBCScanner() {}
 
@@ -44,16 +71,6 @@ Status JDBCScanner::open(RuntimeState* state) {
 
     RETURN_IF_ERROR(_init_column_class_name());
 
-    // init JDBCUtil method
-    _jdbc_util_cls = _jni_env->FindClass(JDBC_UTIL_CLASS_NAME);
-    DCHECK(_jdbc_util_cls != nullptr);
-    _util_format_date =
-            _jni_env->GetStaticMethodID(_jdbc_util_cls, "formatDate", "(Ljava/sql/Date;)Ljava/lang/String;");
-    DCHECK(_util_format_date != nullptr);
-    _util_format_localdatetime = _jni_env->GetStaticMethodID(_jdbc_util_cls, "formatLocalDatetime",
-                                                             "(Ljava/time/LocalDateTime;)Ljava/lang/String;");
-    DCHECK(_util_format_localdatetime != nullptr);
-
     return Status::OK();
 }
 
@@ -116,7 +133,7 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
 
     jmethodID constructor = _jni_env->GetMethodID(
             scan_context_cls, "<init>",
-            "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;I)V");
+            "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;III)V");
     jstring driver_class_name = _jni_env->NewStringUTF(_scan_ctx.driver_class_name.c_str());
     jstring jdbc_url = _jni_env->NewStringUTF(_scan_ctx.jdbc_url.c_str());
     jstring user = _jni_env->NewStringUTF(_scan_ctx.user.c_str());
@@ -124,8 +141,10 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
     jstring sql = _jni_env->NewStringUTF(_scan_ctx.sql.c_str());
     int statement_fetch_size = state->chunk_size();
 
-    _jdbc_scan_context = _jni_env->NewObject(scan_context_cls, constructor, driver_class_name, jdbc_url, user, passwd,
-                                             sql, statement_fetch_size);
+    _jdbc_scan_context =
+            _jni_env->NewObject(scan_context_cls, constructor, driver_class_name, jdbc_url, user, passwd, sql,
+                                statement_fetch_size, config::jdbc_connection_pool_size,
+                                std::max(config::jdbc_connection_idle_timeout_ms, 10000));
 
     _jni_env->DeleteLocalRef(driver_class_name);
     _jni_env->DeleteLocalRef(jdbc_url);
@@ -153,7 +172,7 @@ Status JDBCScanner::_init_jdbc_scanner() {
     // init jmethod
     _scanner_has_next = _jni_env->GetMethodID(_jdbc_scanner_cls, "hasNext", "()Z");
     DCHECK(_scanner_has_next != nullptr);
-    _scanner_get_next_chunk = _jni_env->GetMethodID(_jdbc_scanner_cls, "getNextChunk", "()Ljava/util/List;");
+    _scanner_get_next_chunk = _jni_env->GetMethodID(_jdbc_scanner_cls, "getNextTypedChunk", "()[Ljava/lang/Object;");
     DCHECK(_scanner_get_next_chunk != nullptr);
     _scanner_close = _jni_env->GetMethodID(_jdbc_scanner_cls, "close", "()V");
     DCHECK(_scanner_close != nullptr);
@@ -279,7 +298,7 @@ Status JDBCScanner::_get_next_chunk(jobject* chunk) {
     SCOPED_TIMER(_profile.io_timer);
     COUNTER_UPDATE(_profile.io_counter, 1);
     *chunk = _jni_env->CallObjectMethod(_jdbc_scanner, _scanner_get_next_chunk);
-    CHECK_JAVA_EXCEPTION("getNextChunk failed")
+    CHECK_JAVA_EXCEPTION("getNextTypedChunk failed")
     return Status::OK();
 }
 
@@ -293,269 +312,200 @@ Status JDBCScanner::_close_jdbc_scanner() {
     return Status::OK();
 }
 
-template <PrimitiveType type, typename CppType>
-void JDBCScanner::_append_data(Column* column, CppType& value) {
-    auto appender = [](auto* column, CppType& value) {
-        using ColumnType = typename vectorized::RunTimeColumnType<type>;
-        ColumnType* runtime_column = down_cast<ColumnType*>(column);
-        runtime_column->append(value);
-    };
-
-    if (column->is_nullable()) {
-        auto* nullable_column = down_cast<NullableColumn*>(column);
-        auto* data_column = nullable_column->data_column().get();
-        NullData& null_data = nullable_column->null_column_data();
-        null_data.push_back(0);
-        appender(data_column, value);
-    } else {
-        appender(column, value);
-    }
+template <PrimitiveType PT, typename JArrayType>
+void JDBCScanner::_append_array(JArrayType jarray, int num_rows, Column* data_column) {
+    auto& data = down_cast<RunTimeColumnType<PT>*>(data_column)->get_data();
+    size_t offset = data.size();
+    data.resize(offset + num_rows);
+    get_array_region(_jni_env, jarray, num_rows, data.data() + offset);
 }
 
-template <>
-Status JDBCScanner::_append_value_from_result<std::string>(jobject jval,
-                                                           std::function<std::string(jobject)> get_value_func,
-                                                           SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
-    std::string cpp_val = get_value_func(jval);
-    int max_len = slot_desc->type().len;
-    if (cpp_val.size() > max_len) {
-        return Status::DataQualityError(
-                fmt::format("Value length exceeds limit on column[{}], max length is [{}], value is [{}]",
-                            slot_desc->col_name(), max_len, cpp_val));
-    }
-    switch (slot_desc->type().type) {
-    case TYPE_CHAR:
-    case TYPE_VARCHAR: {
-        Slice val(cpp_val);
-        _append_data<TYPE_VARCHAR, Slice>(column, val);
-        break;
-    }
-    default: {
-        DCHECK(false) << "unreachable path, unknown type:" << slot_desc->type().type;
-        return Status::InternalError(fmt::format("unknown type {}", slot_desc->type().type));
-    }
+template <PrimitiveType PT, typename SrcType, typename JArrayType>
+Status JDBCScanner::_append_converted_array(JArrayType jarray, int num_rows, const NullData& nulls,
+                                            SlotDescriptor* slot_desc, Column* data_column) {
+    using CppType = RunTimeCppType<PT>;
+    std::vector<SrcType> values(num_rows);
+    get_array_region(_jni_env, jarray, num_rows, values.data());
+
+    auto& data = down_cast<RunTimeColumnType<PT>*>(data_column)->get_data();
+    data.reserve(data.size() + num_rows);
+    for (int i = 0; i < num_rows; i++) {
+        if (!nulls[i] &&
+            (values[i] < std::numeric_limits<CppType>::lowest() || values[i] > std::numeric_limits<CppType>::max())) {
+            return Status::DataQualityError(fmt::format("Data out of range on column[{}], invalid value is [{}]",
+                                                        slot_desc->col_name(), values[i]));
+        }
+        data.push_back(static_cast<CppType>(values[i]));
     }
     return Status::OK();
 }
 
-template <typename CppType>
-Status JDBCScanner::_append_value_from_result(jobject jval, std::function<CppType(jobject)> get_value_func,
-                                              SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
-#define CHECK_DATA_OVERFLOW(val, min_val, max_val)                                                                  \
-    if (val > max_val || val < min_val) {                                                                           \
-        return Status::DataQualityError(                                                                            \
-                fmt::format("Data out of range on column[{}], invalid value is [{}]", slot_desc->col_name(), val)); \
+Status JDBCScanner::_append_string_values(jintArray joffsets, jbyteArray jbytes, int num_rows, const NullData& nulls,
+                                          SlotDescriptor* slot_desc, Column* data_column) {
+    std::vector<int32_t> offsets(num_rows + 1);
+    get_array_region(_jni_env, joffsets, num_rows + 1, offsets.data());
+    std::vector<char> bytes(offsets[num_rows]);
+    get_array_region(_jni_env, jbytes, offsets[num_rows], bytes.data());
+
+    for (int i = 0; i < num_rows; i++) {
+        if (nulls[i]) {
+            data_column->append_default();
+            continue;
+        }
+        Slice value(bytes.data() + offsets[i], offsets[i + 1] - offsets[i]);
+        RETURN_IF_ERROR(_append_string_value(value, slot_desc, data_column));
     }
+    return Status::OK();
+}
 
-    CppType cpp_val = get_value_func(jval);
-    switch (slot_desc->type().type) {
-    case TYPE_INT: {
-        CHECK_DATA_OVERFLOW(cpp_val, INT_MIN, INT_MAX)
-        _append_data<TYPE_INT, CppType>(column, cpp_val);
-        break;
-    }
-    case TYPE_TINYINT: {
-        CHECK_DATA_OVERFLOW(cpp_val, INT8_MIN, INT8_MAX)
-        _append_data<TYPE_TINYINT, CppType>(column, cpp_val);
+Status JDBCScanner::_append_string_value(const Slice& value, SlotDescriptor* slot_desc, Column* data_column) {
+    const TypeDescriptor& type_desc = slot_desc->type();
+    bool success = true;
+    switch (type_desc.type) {
+    case TYPE_CHAR:
+    case TYPE_VARCHAR: {
+        if (value.size > type_desc.len) {
+            return Status::DataQualityError(
+                    fmt::format("Value length exceeds limit on column[{}], max length is [{}], value is [{}]",
+                                slot_desc->col_name(), type_desc.len, value.to_string()));
+        }
+        down_cast<BinaryColumn*>(data_column)->append(value);
         break;
     }
-    case TYPE_SMALLINT: {
-        CHECK_DATA_OVERFLOW(cpp_val, INT16_MIN, INT16_MAX)
-        _append_data<TYPE_SMALLINT, CppType>(column, cpp_val);
+    case TYPE_DATE: {
+        DateValue dv;
+        success = dv.from_string(value.data, value.size);
+        if (success) {
+            down_cast<RunTimeColumnType<TYPE_DATE>*>(data_column)->append(dv);
+        }
         break;
     }
-    case TYPE_BIGINT: {
-        CHECK_DATA_OVERFLOW(cpp_val, INT64_MIN, INT64_MAX)
-        _append_data<TYPE_BIGINT, CppType>(column, cpp_val);
+    case TYPE_DATETIME: {
+        // the fraction of seconds of Timestamp is dropped
+        size_t size = std::find(value.data, value.data + value.size, '.') - value.data;
+        TimestampValue tsv;
+        success = tsv.from_datetime_format_str(value.data, size, "%Y-%m-%d %H:%i:%s");
+        if (success) {
+            down_cast<RunTimeColumnType<TYPE_DATETIME>*>(data_column)->append(tsv);
+        }
         break;
     }
-    case TYPE_DOUBLE: {
-        _append_data<TYPE_DOUBLE, CppType>(column, cpp_val);
+    case TYPE_DECIMAL32:
+        success = append_decimal<TYPE_DECIMAL32>(value, type_desc, data_column);
         break;
-    }
-    case TYPE_FLOAT: {
-        _append_data<TYPE_FLOAT, CppType>(column, cpp_val);
+    case TYPE_DECIMAL64:
+        success = append_decimal<TYPE_DECIMAL64>(value, type_desc, data_column);
         break;
-    }
-    case TYPE_BOOLEAN: {
-        _append_data<TYPE_BOOLEAN, CppType>(column, cpp_val);
+    case TYPE_DECIMAL128:
+        success = append_decimal<TYPE_DECIMAL128>(value, type_desc, data_column);
         break;
+    default:
+        DCHECK(false) << "unreachable path, unknown type:" << type_desc.type;
+        return Status::InternalError(fmt::format("unknown type {}", type_desc.type));
     }
-    default: {
-        DCHECK(false) << "unknown type:" << slot_desc->type().type;
-        return Status::InternalError(fmt::format("unknown type {}", slot_desc->type().type));
-    }
+    if (!success) {
+        return Status::DataQualityError(fmt::format("Invalid value occurs on column[{}], value is [{}]",
+                                                    slot_desc->col_name(), value.to_string()));
     }
     return Status::OK();
 }
 
 Status JDBCScanner::_fill_chunk(jobject jchunk, ChunkPtr* chunk) {
     SCOPED_TIMER(_profile.fill_chunk_timer);
-    auto& helper = JVMFunctionHelper::getInstance();
-    jobject first_column = helper.list_get(jchunk, 0);
-    int num_rows = helper.list_size(first_column);
-    _jni_env->DeleteLocalRef(first_column);
-    COUNTER_UPDATE(_profile.rows_read_counter, num_rows);
-
+    auto jcolumns = static_cast<jobjectArray>(jchunk);
     for (size_t col_idx = 0; col_idx < _slot_descs.size(); col_idx++) {
-        SlotDescriptor* slot_desc = _slot_descs[col_idx];
-        ColumnPtr& column = (*chunk)->get_column_by_slot_id(slot_desc->id());
-        const auto& column_class = _column_class_name[col_idx];
-
-        jobject jcolumn = helper.list_get(jchunk, col_idx);
+        ColumnPtr& column = (*chunk)->get_column_by_slot_id(_slot_descs[col_idx]->id());
+        auto jcolumn = static_cast<jobjectArray>(_jni_env->GetObjectArrayElement(jcolumns, col_idx));
         DeferOp defer([&jcolumn, this]() { _jni_env->DeleteLocalRef(jcolumn); });
-
-#define FILL_COLUMN(get_value_func, cpp_type)                                                                         \
-    {                                                                                                                 \
-        auto func = std::bind(&JVMFunctionHelper::get_value_func, &helper, std::placeholders::_1);                    \
-        for (int i = 0; i < num_rows; i++) {                                                                          \
-            RETURN_IF_ERROR(                                                                                          \
-                    _append_value_from_result<cpp_type>(helper.list_get(jcolumn, i), func, slot_desc, column.get())); \
-        }                                                                                                             \
-    }
-        if (column_class == "java.lang.Integer") {
-            FILL_COLUMN(valint32_t, int32_t);
-        } else if (column_class == "java.lang.String") {
-            FILL_COLUMN(to_string, std::string);
-        } else if (column_class == "java.lang.Long") {
-            FILL_COLUMN(valint64_t, int64_t);
-        } else if (column_class == "java.lang.Boolean") {
-            FILL_COLUMN(valuint8_t, uint8_t);
-        } else if (column_class == "java.lang.Float") {
-            FILL_COLUMN(valfloat, float)
-        } else if (column_class == "java.lang.Double") {
-            FILL_COLUMN(valdouble, double);
-        } else if (column_class == "java.sql.Timestamp") {
-            DCHECK(slot_desc->type().type == TYPE_DATETIME);
-            for (int i = 0; i < num_rows; i++) {
-                RETURN_IF_ERROR(_append_datetime_val(helper.list_get(jcolumn, i), slot_desc, column.get()));
-            }
-        } else if (column_class == "java.sql.Date") {
-            DCHECK(slot_desc->type().type == TYPE_DATE);
-            for (int i = 0; i < num_rows; i++) {
-                RETURN_IF_ERROR(_append_date_val(helper.list_get(jcolumn, i), slot_desc, column.get()));
-            }
-        } else if (column_class == "java.time.LocalDateTime") {
-            DCHECK(slot_desc->type().type == TYPE_DATETIME);
-            for (int i = 0; i < num_rows; i++) {
-                RETURN_IF_ERROR(_append_localdatetime_val(helper.list_get(jcolumn, i), slot_desc, column.get()));
-            }
-        } else if (column_class == "java.math.BigDecimal") {
-            for (int i = 0; i < num_rows; i++) {
-                RETURN_IF_ERROR(_append_decimal_val(helper.list_get(jcolumn, i), slot_desc, column.get()));
-            }
-        } else {
-            return Status::InternalError(fmt::format("not support type {}", column_class));
-        }
-    }
-    return Status::OK();
-}
-
-Status JDBCScanner::_append_datetime_val(jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    DeferOp defer([&jval, this]() { _jni_env->DeleteLocalRef(jval); });
-
-    std::string origin_str = JVMFunctionHelper::getInstance().to_string(jval);
-    std::string datetime_str = origin_str.substr(0, origin_str.find('.'));
-    TimestampValue tsv;
-    if (!tsv.from_datetime_format_str(datetime_str.c_str(), datetime_str.size(), "%Y-%m-%d %H:%i:%s")) {
-        return Status::DataQualityError(fmt::format("Invalid datetime value occurs on column[{}], value is [{}]",
-                                                    slot_desc->col_name(), origin_str));
+        RETURN_IF_ERROR(_fill_column(jcolumn, col_idx, column.get()));
     }
-    _append_data<TYPE_DATETIME, TimestampValue>(column, tsv);
+    COUNTER_UPDATE(_profile.rows_read_counter, (*chunk)->num_rows());
     return Status::OK();
 }
 
-Status JDBCScanner::_append_localdatetime_val(jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    DeferOp defer([&jval, this]() { _jni_env->DeleteLocalRef(jval); });
-
-    std::string localdatetime_str = _get_localdatetime_string(jval);
-    TimestampValue tsv;
-    if (!tsv.from_datetime_format_str(localdatetime_str.c_str(), localdatetime_str.size(), "%Y-%m-%d %H:%i:%s")) {
-        return Status::DataQualityError(fmt::format("Invalid datetime value occurs on column[{}], value is [{}]",
-                                                    slot_desc->col_name(), localdatetime_str));
-    }
-    _append_data<TYPE_DATETIME, TimestampValue>(column, tsv);
-    return Status::OK();
-}
+// see JDBCColumnBuffer for the layout of jcolumn
+Status JDBCScanner::_fill_column(jobjectArray jcolumn, size_t col_idx, Column* column) {
+    SlotDescriptor* slot_desc = _slot_descs[col_idx];
+    const auto& column_class = _column_class_name[col_idx];
+    auto jnulls = static_cast<jbyteArray>(_jni_env->GetObjectArrayElement(jcolumn, 0));
+    jobject jvalues = _jni_env->GetObjectArrayElement(jcolumn, 1);
+    DeferOp defer([&jnulls, &jvalues, this]() {
+        _jni_env->DeleteLocalRef(jnulls);
+        _jni_env->DeleteLocalRef(jvalues);
+    });
 
-Status JDBCScanner::_append_date_val(jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    DeferOp defer([&jval, this]() { _jni_env->DeleteLocalRef(jval); });
+    int num_rows = _jni_env->GetArrayLength(jnulls);
+    NullData nulls(num_rows);
+    get_array_region(_jni_env, jnulls, num_rows, nulls.data());
+    bool has_null = num_rows > 0 && memchr(nulls.data(), 1, num_rows) != nullptr;
 
-    std::string date_str = _get_date_string(jval);
-    DateValue dv;
-    if (!dv.from_string(date_str.c_str(), date_str.size())) {
+    Column* data_column = column;
+    if (column->is_nullable()) {
+        auto* nullable_column = down_cast<NullableColumn*>(column);
+        data_column = nullable_column->data_column().get();
+        NullData& null_data = nullable_column->null_column_data();
+        null_data.insert(null_data.end(), nulls.begin(), nulls.end());
+        nullable_column->set_has_null(has_null);
+    } else if (has_null) {
         return Status::DataQualityError(
-                fmt::format("Invalid date value occurs on column[{}], value is [{}]", slot_desc->col_name(), date_str));
+                fmt::format("Unexpected NULL value occurs on NOT NULL column[{}]", slot_desc->col_name()));
     }
-    _append_data<TYPE_DATE, DateValue>(column, dv);
-    return Status::OK();
-}
-
-std::string JDBCScanner::_get_date_string(jobject jval) {
-    jstring date_str = (jstring)_jni_env->CallStaticObjectMethod(_jdbc_util_cls, _util_format_date, jval);
-    std::string result = JVMFunctionHelper::getInstance().to_string(date_str);
-    _jni_env->DeleteLocalRef(date_str);
-    return result;
-}
-
-std::string JDBCScanner::_get_localdatetime_string(jobject jval) {
-    jstring datetime_str = (jstring)_jni_env->CallStaticObjectMethod(_jdbc_util_cls, _util_format_localdatetime, jval);
-    std::string result = JVMFunctionHelper::getInstance().to_string(datetime_str);
-    _jni_env->DeleteLocalRef(datetime_str);
-    return result;
-}
-
-Status JDBCScanner::_append_decimal_val(jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    DeferOp defer([&jval, this]() { _jni_env->DeleteLocalRef(jval); });
 
     auto type = slot_desc->type().type;
-    int precision = slot_desc->type().precision;
-    int scale = slot_desc->type().scale;
-
-    std::string decimal_str = JVMFunctionHelper::getInstance().to_string(jval);
-    switch (type) {
-    case TYPE_DECIMAL32: {
-        int32_t cpp_val;
-        if (DecimalV3Cast::from_string<int32_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
+    if (column_class == "java.lang.Integer") {
+        auto jints = static_cast<jintArray>(jvalues);
+        switch (type) {
+        case TYPE_INT:
+            _append_array<TYPE_INT>(jints, num_rows, data_column);
+            return Status::OK();
+        case TYPE_TINYINT:
+            return _append_converted_array<TYPE_TINYINT, int32_t>(jints, num_rows, nulls, slot_desc, data_column);
+        case TYPE_SMALLINT:
+            return _append_converted_array<TYPE_SMALLINT, int32_t>(jints, num_rows, nulls, slot_desc, data_column);
+        case TYPE_BIGINT:
+            return _append_converted_array<TYPE_BIGINT, int32_t>(jints, num_rows, nulls, slot_desc, data_column);
+        default:
+            break;
         }
-        _append_data<TYPE_DECIMAL32, int32_t>(column, cpp_val);
-        break;
-    }
-    case TYPE_DECIMAL64: {
-        int64_t cpp_val;
-        if (DecimalV3Cast::from_string<int64_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
+    } else if (column_class == "java.lang.Long") {
+        if (type == TYPE_BIGINT) {
+            _append_array<TYPE_BIGINT>(static_cast<jlongArray>(jvalues), num_rows, data_column);
+            return Status::OK();
         }
-        _append_data<TYPE_DECIMAL64, int64_t>(column, cpp_val);
-        break;
-    }
-    case TYPE_DECIMAL128: {
-        int128_t cpp_val;
-        if (DecimalV3Cast::from_string<int128_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
+    } else if (column_class == "java.lang.Boolean") {
+        auto jbooleans = static_cast<jbyteArray>(jvalues);
+        switch (type) {
+        case TYPE_BOOLEAN:
+            _append_array<TYPE_BOOLEAN>(jbooleans, num_rows, data_column);
+            return Status::OK();
+        case TYPE_SMALLINT:
+            return _append_converted_array<TYPE_SMALLINT, uint8_t>(jbooleans, num_rows, nulls, slot_desc, data_column);
+        case TYPE_INT:
+            return _append_converted_array<TYPE_INT, uint8_t>(jbooleans, num_rows, nulls, slot_desc, data_column);
+        case TYPE_BIGINT:
+            return _append_converted_array<TYPE_BIGINT, uint8_t>(jbooleans, num_rows, nulls, slot_desc, data_column);
+        default:
+            break;
         }
-        _append_data<TYPE_DECIMAL128, int128_t>(column, cpp_val);
-        break;
-    }
-    default: {
-        DCHECK(false) << "unreachable path";
-        return Status::InternalError("unreachable path");
-    }
-    }
-
-    return Status::OK();
+    } else if (column_class == "java.lang.Float") {
+        if (type == TYPE_FLOAT) {
+            _append_array<TYPE_FLOAT>(static_cast<jfloatArray>(jvalues), num_rows, data_column);
+            return Status::OK();
+        }
+    } else if (column_class == "java.lang.Double") {
+        if (type == TYPE_DOUBLE) {
+            _append_array<TYPE_DOUBLE>(static_cast<jdoubleArray>(jvalues), num_rows, data_column);
+            return Status::OK();
+        }
+    } else {
+        // the other types are converted to strings
+        auto jbytes = static_cast<jbyteArray>(_jni_env->GetObjectArrayElement(jcolumn, 2));
+        DeferOp defer_bytes([&jbytes, this]() { _jni_env->DeleteLocalRef(jbytes); });
+        return _append_string_values(static_cast<jintArray>(jvalues), jbytes, num_rows, nulls, slot_desc,
+                                     data_column);
+    }
+    return Status::InternalError(fmt::format("unknown type {} on column[{}] for JDBC result type {}", type,
+                                             slot_desc->col_name(), column_class));
 }
 
-} // namespace starrocks::vectorized
\ No newline at end of file
+} // namespace starrocks::vectorized
@@ -3,6 +3,7 @@
 #pragma once
 
 #include "column/chunk.h"
+#include "column/nullable_column.h"
 #include "column/vectorized_fwd.h"
 #include "common/status.h"
 #include "exec/olap_common.h"
@@ -66,26 +67,23 @@ private:
 
     Status _fill_chunk(jobject jchunk, ChunkPtr* chunk);
 
-    Status _close_jdbc_scanner();
-
-    template <PrimitiveType type, typename CppType>
-    void _append_data(Column* column, CppType& value);
-
-    template <typename CppType>
-    Status _append_value_from_result(jobject jval, std::function<CppType(jobject)> get_value_func,
-                                     SlotDescriptor* slot_desc, Column* column);
+    Status _fill_column(jobjectArray jcolumn, size_t col_idx, Column* column);
 
-    Status _append_datetime_val(jobject jval, SlotDescriptor* slot_desc, Column* column);
-
-    Status _append_localdatetime_val(jobject jval, SlotDescriptor* slot_desc, Column* column);
+    Status _close_jdbc_scanner();
 
-    Status _append_date_val(jobject jval, SlotDescriptor* slot_desc, Column* column);
+    // copy the values of the java primitive array into the data column of the same type
+    template <PrimitiveType PT, typename JArrayType>
+    void _append_array(JArrayType jarray, int num_rows, Column* data_column);
 
-    Status _append_decimal_val(jobject jval, SlotDescriptor* slot_desc, Column* column);
+    // convert the values of the java primitive array into the data column of a wider or narrower type
+    template <PrimitiveType PT, typename SrcType, typename JArrayType>
+    Status _append_converted_array(JArrayType jarray, int num_rows, const NullData& nulls, SlotDescriptor* slot_desc,
+                                   Column* data_column);
 
-    std::string _get_date_string(jobject jval);
+    Status _append_string_values(jintArray joffsets, jbyteArray jbytes, int num_rows, const NullData& nulls,
+                                 SlotDescriptor* slot_desc, Column* data_column);
 
-    std::string _get_localdatetime_string(jobject jval);
+    Status _append_string_value(const Slice& value, SlotDescriptor* slot_desc, Column* data_column);
 
     JDBCScanContext _scan_ctx;
     // result tuple desc
@@ -99,14 +97,10 @@ private:
 
     jclass _jdbc_bridge_cls;
     jclass _jdbc_scanner_cls;
-    jclass _jdbc_util_cls;
 
     jmethodID _scanner_has_next;
     jmethodID _scanner_get_next_chunk;
     jmethodID _scanner_close;
-    // JDBCUtil method
-    jmethodID _util_format_date;
-    jmethodID _util_format_localdatetime;
     // _jdbc_bridge and _jdbc_scan_context are only used for cross-function passing,
     // they will be invalid after invoking _init_jdbc_scanner
     jobject _jdbc_bridge;
@@ -119,6 +113,5 @@ private:
     static constexpr const char* JDBC_BRIDGE_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCBridge";
     static constexpr const char* JDBC_SCAN_CONTEXT_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCScanContext";
     static constexpr const char* JDBC_SCANNER_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCScanner";
-    static constexpr const char* JDBC_UTIL_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCUtil";
 };
 } // namespace starrocks::vectorized
\ No newline at end of file
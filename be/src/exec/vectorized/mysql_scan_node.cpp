@@ -497,6 +497,19 @@ void MysqlScanNode::debug_string(int indentation_level, std::stringstream* out)
 }
 
 Status MysqlScanNode::set_scan_ranges(const std::vector<TScanRangeParams>& scan_ranges) {
+    // The scan ranges of a split table are ranges of the split column, the ranges assigned to this node
+    // are read by one query whose filter is the union of them.
+    std::string range_filter;
+    for (const auto& scan_range : scan_ranges) {
+        if (!scan_range.scan_range.__isset.remote_table_scan_range) {
+            continue;
+        }
+        range_filter += range_filter.empty() ? "(" : " OR (";
+        range_filter += scan_range.scan_range.remote_table_scan_range.range_filter + ")";
+    }
+    if (!range_filter.empty()) {
+        _filters.emplace_back(std::move(range_filter));
+    }
     return Status::OK();
 }
 
@@ -461,7 +461,8 @@ struct DictMergeState : DistinctAggregateStateV2<TYPE_VARCHAR, SumResultPT<TYPE_
 class DictMergeAggregateFunction final
         : public AggregateFunctionBatchHelper<DictMergeState, DictMergeAggregateFunction> {
 public:
-    static constexpr int DICT_DECODE_MAX_SIZE = 256;
+    // keep the same as DICT_DECODE_MAX_SIZE in runtime/global_dicts.h
+    static constexpr int DICT_DECODE_MAX_SIZE = 65535;
     static constexpr int FAKE_DICT_SIZE = DICT_DECODE_MAX_SIZE + 1;
 
     DictMergeState fake_dict_state(FunctionContext* ctx) const {
@@ -223,7 +223,14 @@ public:
 
     virtual void concat(JoinRuntimeFilter* rf) {
         _has_null |= rf->_has_null;
-        _hash_partition_bf.emplace_back(std::move(rf->_bf));
+        // rf may be concatenated already by a merge node of the multi-level merge.
+        if (rf->_hash_partition_number > 0) {
+            for (auto& bf : rf->_hash_partition_bf) {
+                _hash_partition_bf.emplace_back(std::move(bf));
+            }
+        } else {
+            _hash_partition_bf.emplace_back(std::move(rf->_bf));
+        }
         _hash_partition_number = _hash_partition_bf.size();
         _join_mode = rf->_join_mode;
         _size += rf->_size;
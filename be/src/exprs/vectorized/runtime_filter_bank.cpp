@@ -126,6 +126,9 @@ Status RuntimeFilterBuildDescriptor::init(ObjectPool* pool, const TRuntimeFilter
     if (desc.__isset.runtime_filter_merge_nodes) {
         _merge_nodes = desc.runtime_filter_merge_nodes;
     }
+    if (desc.__isset.builder_merge_nodes) {
+        _builder_merge_nodes = desc.builder_merge_nodes;
+    }
     _has_consumer = false;
     if (desc.__isset.plan_node_id_to_target_expr && desc.plan_node_id_to_target_expr.size() != 0) {
         _has_consumer = true;
@@ -59,6 +59,11 @@ public:
     bool has_consumer() const { return _has_consumer; }
     int8_t join_mode() const { return _join_mode; }
     const std::vector<TNetworkAddress>& merge_nodes() const { return _merge_nodes; }
+    // the merge node of the multi-level merge which the build instance sends RF to, or nullptr for merge_nodes().
+    const TRuntimeFilterMergeNode* builder_merge_node(int32_t be_number) const {
+        auto it = _builder_merge_nodes.find(be_number);
+        return it == _builder_merge_nodes.end() ? nullptr : &(it->second);
+    }
     void set_runtime_filter(JoinRuntimeFilter* rf) { _runtime_filter = rf; }
     JoinRuntimeFilter* runtime_filter() { return _runtime_filter; }
     void set_is_pipeline(bool flag) { _is_pipeline = flag; }
@@ -76,6 +81,7 @@ private:
     int8_t _join_mode;
     TUniqueId _sender_finst_id;
     std::vector<TNetworkAddress> _merge_nodes;
+    std::map<int32_t, TRuntimeFilterMergeNode> _builder_merge_nodes;
     JoinRuntimeFilter* _runtime_filter = nullptr;
     bool _is_pipeline = false;
 };
@@ -114,7 +114,7 @@ public:
 
 private:
     // res[i] = mapping[index[i]]
-    std::vector<uint32_t> _code_convert(const std::vector<int32_t>& index, const std::vector<int16_t>& mapping) {
+    std::vector<uint32_t> _code_convert(const std::vector<int32_t>& index, const std::vector<int32_t>& mapping) {
         std::vector<uint32_t> res(index.size());
         SIMDGather::gather(res.data(), mapping.data(), index.data(), mapping.size(), index.size());
         return res;
@@ -200,7 +200,9 @@ Status DictOptimizeParser::eval_expression(ExprContext* expr_ctx, DictOptimizeCo
     // assign convert mapping column
     dict_opt_ctx->convert_column = result_column;
     // build code convert map
-    dict_opt_ctx->code_convert_map.resize(DICT_DECODE_MAX_SIZE + 1);
+    DictId max_code = codes.empty() ? 0 : *std::max_element(codes.begin(), codes.end());
+    DCHECK_LE(max_code, DICT_DECODE_MAX_SIZE);
+    dict_opt_ctx->code_convert_map.resize(max_code + 1);
     for (int i = 0; i < codes.size(); ++i) {
         dict_opt_ctx->code_convert_map[codes[i]] = i;
     }
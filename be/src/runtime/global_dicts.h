@@ -64,15 +64,16 @@ using DictColumnsValidMap = phmap::flat_hash_map<std::string, bool, SliceHashWit
 using ColumnIdToGlobalDictMap = phmap::flat_hash_map<uint32_t, GlobalDictMap*>;
 static inline ColumnIdToGlobalDictMap EMPTY_GLOBAL_DICTMAPS;
 
-constexpr int DICT_DECODE_MAX_SIZE = 256;
+// the max size of a global dict, the codes of which are in [1, DICT_DECODE_MAX_SIZE] and 0 is for null
+constexpr int DICT_DECODE_MAX_SIZE = 65535;
 
 struct DictOptimizeContext {
     bool could_apply_dict_optimize = false;
     SlotId slot_id;
     // if input was not nullable but output was nullable this flag will set true
     bool result_nullable = false;
-    // size: DICT_DECODE_MAX_SIZE + 1
-    std::vector<int16_t> code_convert_map;
+    // size: max code of the dict + 1
+    std::vector<int32_t> code_convert_map;
     Column::Filter filter;
     // for no-string column convert map
     ColumnPtr convert_column;
@@ -111,6 +111,10 @@ Status PlanFragmentExecutor::prepare(const TExecPlanFragmentParams& request) {
         _is_runtime_filter_merge_node = true;
         _exec_env->runtime_filter_worker()->open_query(_query_id, request.query_options, params.runtime_filter_params,
                                                        false);
+    } else if (params.__isset.runtime_filter_params && params.runtime_filter_params.id_to_merge_nodes.size() != 0) {
+        // a build instance of the multi-level merges, which doesn't close the merger of the query.
+        _exec_env->runtime_filter_worker()->open_partial_merge(_query_id, request.query_options,
+                                                               params.runtime_filter_params, false);
     }
     _exec_env->stream_mgr()->prepare_pass_through_chunk_buffer(_query_id);
 
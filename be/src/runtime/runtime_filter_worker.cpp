@@ -99,6 +99,14 @@ void RuntimeFilterPort::publish_runtime_filters(std::list<vectorized::RuntimeFil
                 filter, reinterpret_cast<uint8_t*>(rf_data->data()));
         rf_data->resize(actual_size);
 
+        // send to the merge node of the multi-level merge if there is, otherwise to the root merge node.
+        const TRuntimeFilterMergeNode* merge_node = rf_desc->builder_merge_node(state->be_number());
+        if (merge_node != nullptr) {
+            params.set_merge_node_id(merge_node->merge_node_id);
+            state->exec_env()->runtime_filter_worker()->send_part_runtime_filter(std::move(params),
+                                                                                 {merge_node->address}, timeout_ms);
+            continue;
+        }
         state->exec_env()->runtime_filter_worker()->send_part_runtime_filter(std::move(params), rf_desc->merge_nodes(),
                                                                              timeout_ms);
     }
@@ -141,12 +149,62 @@ Status RuntimeFilterMerger::init(const TRuntimeFilterParams& params) {
         status.stop = false;
         _statuses.insert(std::make_pair(filter_id, std::move(status)));
     }
+    return init_partial_merge(params);
+}
+
+Status RuntimeFilterMerger::init_partial_merge(const TRuntimeFilterParams& params) {
+    // the merge nodes of the multi-level merges on this host, except the root merge nodes.
+    TNetworkAddress local;
+    local.hostname = BackendOptions::get_localhost();
+    local.port = config::brpc_port;
+    for (const auto& it : params.id_to_merge_nodes) {
+        int32_t filter_id = it.first;
+        std::map<int32_t, const TRuntimeFilterMergeNode*> id_to_nodes;
+        for (const auto& node : it.second) {
+            id_to_nodes[node.merge_node_id] = &node;
+        }
+        for (const auto& node : it.second) {
+            if (node.merge_node_id == 0 || node.address != local) continue;
+            auto parent_it = id_to_nodes.find(node.parent_merge_node_id);
+            if (parent_it == id_to_nodes.end()) {
+                return Status::InternalError("parent of runtime filter merge node not found");
+            }
+            auto key = std::make_pair(filter_id, node.merge_node_id);
+            // opened by another build instance on this host, which may have received some RFs.
+            if (_partial_statuses.find(key) != _partial_statuses.end()) continue;
+            RuntimeFilterMergerStatus status;
+            status.expect_number = node.expect_number;
+            status.max_size = params.runtime_filter_max_size;
+            status.current_size = 0;
+            status.stop = false;
+            _partial_statuses.insert(std::make_pair(key, std::move(status)));
+            _parents.insert(std::make_pair(key, *(parent_it->second)));
+        }
+    }
     return Status::OK();
 }
 
+bool RuntimeFilterMerger::is_partial_merge_finished() const {
+    for (const auto& it : _partial_statuses) {
+        if (!it.second.sent && !it.second.stop) return false;
+    }
+    return true;
+}
+
+const RuntimeFilterMergerStatus* RuntimeFilterMerger::get_partial_status(int32_t filter_id,
+                                                                         int32_t merge_node_id) const {
+    auto it = _partial_statuses.find(std::make_pair(filter_id, merge_node_id));
+    if (it == _partial_statuses.end()) return nullptr;
+    return &(it->second);
+}
+
 void RuntimeFilterMerger::merge_runtime_filter(PTransmitRuntimeFilterParams& params,
                                                RuntimeFilterRpcClosure* rpc_closure) {
     DCHECK(params.is_partial());
+    if (params.merge_node_id() != 0) {
+        _merge_partial_runtime_filter(params, rpc_closure);
+        return;
+    }
     int32_t filter_id = params.filter_id();
     int32_t be_number = params.build_be_number();
 
@@ -208,6 +266,79 @@ void RuntimeFilterMerger::merge_runtime_filter(PTransmitRuntimeFilterParams& par
     _send_total_runtime_filter(filter_id, rpc_closure);
 }
 
+void RuntimeFilterMerger::_merge_partial_runtime_filter(PTransmitRuntimeFilterParams& params,
+                                                        RuntimeFilterRpcClosure* rpc_closure) {
+    auto key = std::make_pair(params.filter_id(), params.merge_node_id());
+    int32_t be_number = params.build_be_number();
+
+    auto status_it = _partial_statuses.find(key);
+    if (status_it == _partial_statuses.end()) return;
+    RuntimeFilterMergerStatus* status = &(status_it->second);
+    if (status->arrives.find(be_number) != status->arrives.end() || status->stop || status->sent) {
+        return;
+    }
+
+    ObjectPool* pool = &(status->pool);
+    vectorized::JoinRuntimeFilter* rf = nullptr;
+    vectorized::RuntimeFilterHelper::deserialize_runtime_filter(
+            pool, &rf, reinterpret_cast<const uint8_t*>(params.data().data()), params.data().size());
+    if (rf == nullptr) {
+        return;
+    }
+
+    // the root merge node won't build it either, so don't send it.
+    status->current_size += rf->size();
+    if (status->current_size > status->max_size) {
+        VLOG_FILE << "RuntimeFilterMerger::merge_partial_runtime_filter. stop building since size too "
+                     "large. size = "
+                  << status->current_size;
+        status->stop = true;
+        return;
+    }
+
+    status->arrives.insert(be_number);
+    status->filters.insert(std::make_pair(be_number, rf));
+    if (status->filters.size() < status->expect_number) return;
+
+    // the inputs are adjacent build instances, so the merged one takes the place of them
+    // by the be number of the first one.
+    vectorized::JoinRuntimeFilter* out = status->filters.begin()->second->create_empty(pool);
+    for (auto it : status->filters) {
+        out->concat(it.second);
+    }
+
+    const TRuntimeFilterMergeNode& parent = _parents[key];
+    PTransmitRuntimeFilterParams request;
+    request.set_is_pipeline(params.is_pipeline());
+    request.set_filter_id(params.filter_id());
+    request.set_is_partial(true);
+    *request.mutable_query_id() = params.query_id();
+    request.set_build_be_number(status->filters.begin()->first);
+    request.set_merge_node_id(parent.merge_node_id);
+
+    std::string* send_data = request.mutable_data();
+    size_t max_size = vectorized::RuntimeFilterHelper::max_runtime_filter_serialized_size(out);
+    send_data->resize(max_size);
+    size_t actual_size = vectorized::RuntimeFilterHelper::serialize_runtime_filter(
+            out, reinterpret_cast<uint8_t*>(send_data->data()));
+    send_data->resize(actual_size);
+    int timeout_ms = default_send_rpc_runtime_filter_timeout_ms;
+    if (_query_options.__isset.runtime_filter_send_timeout_ms) {
+        timeout_ms = _query_options.runtime_filter_send_timeout_ms;
+    }
+
+    VLOG_FILE << "RuntimeFilterMerger::merge_partial_runtime_filter. parent = " << parent.address
+              << ", filter_id = " << request.filter_id() << ", merge_node_id = " << params.merge_node_id()
+              << ", filter_size = " << out->size();
+    doris::PBackendService_Stub* stub = _exec_env->brpc_stub_cache()->get_stub(parent.address);
+    send_rpc_runtime_filter(stub, rpc_closure, timeout_ms, request);
+    status->sent = true;
+
+    // we don't need to hold rf any more.
+    status->filters.clear();
+    pool->clear();
+}
+
 void RuntimeFilterMerger::_send_total_runtime_filter(int32_t filter_id, RuntimeFilterRpcClosure* rpc_closure) {
     auto status_it = _statuses.find(filter_id);
     DCHECK(status_it != _statuses.end());
@@ -345,6 +476,7 @@ enum EventType {
     OPEN_QUERY = 2,
     RECEIVE_PART_RF = 3,
     SEND_PART_RF = 4,
+    OPEN_PARTIAL_MERGE = 5,
 };
 
 struct RuntimeFilterWorkerEvent {
@@ -355,7 +487,7 @@ public:
 
     TUniqueId query_id;
 
-    /// For OPEN_QUERY.
+    /// For OPEN_QUERY and OPEN_PARTIAL_MERGE.
     TQueryOptions query_options;
     TRuntimeFilterParams create_rf_merger_request;
     bool is_opened_by_pipeline;
@@ -399,6 +531,18 @@ void RuntimeFilterWorker::close_query(const TUniqueId& query_id) {
     _queue.put(std::move(ev));
 }
 
+void RuntimeFilterWorker::open_partial_merge(const TUniqueId& query_id, const TQueryOptions& query_options,
+                                             const TRuntimeFilterParams& params, bool is_pipeline) {
+    VLOG_FILE << "RuntimeFilterWorker::open_partial_merge. query_id = " << query_id << ", params = " << params;
+    RuntimeFilterWorkerEvent ev;
+    ev.type = OPEN_PARTIAL_MERGE;
+    ev.query_id = query_id;
+    ev.query_options = query_options;
+    ev.create_rf_merger_request = params;
+    ev.is_opened_by_pipeline = is_pipeline;
+    _queue.put(std::move(ev));
+}
+
 void RuntimeFilterWorker::send_part_runtime_filter(PTransmitRuntimeFilterParams&& params,
                                                    const std::vector<TNetworkAddress>& addrs, int timeout_ms) {
     RuntimeFilterWorkerEvent ev;
@@ -513,6 +657,22 @@ void RuntimeFilterWorker::_receive_total_runtime_filter(PTransmitRuntimeFilterPa
     }
 }
 
+// the queries whose coordinator fragment isn't on this host may be cancelled before all the merge nodes
+// of the multi-level merges on this host are done.
+void RuntimeFilterWorker::_close_expired_partial_mergers() {
+    if (_partial_merger_deadlines.empty()) return;
+    int64_t now = UnixMillis();
+    for (auto it = _partial_merger_deadlines.begin(); it != _partial_merger_deadlines.end();) {
+        if (it->second > now) {
+            ++it;
+            continue;
+        }
+        VLOG_QUERY << "close expired partial rf merger. query_id = " << it->first;
+        _mergers.erase(it->first);
+        it = _partial_merger_deadlines.erase(it);
+    }
+}
+
 void RuntimeFilterWorker::execute() {
     LOG(INFO) << "RuntimeFilterWorker start working.";
     RuntimeFilterRpcClosure* rpc_closure = new RuntimeFilterRpcClosure();
@@ -535,13 +695,24 @@ void RuntimeFilterWorker::execute() {
             if (it != _mergers.end()) {
                 _mergers.erase(it);
             }
+            _partial_merger_deadlines.erase(ev.query_id);
             break;
         }
 
         case OPEN_QUERY: {
             auto it = _mergers.find(ev.query_id);
             if (it != _mergers.end()) {
-                VLOG_QUERY << "open query: rf merger already existed. query_id = " << ev.query_id;
+                auto deadline_it = _partial_merger_deadlines.find(ev.query_id);
+                if (deadline_it == _partial_merger_deadlines.end()) {
+                    VLOG_QUERY << "open query: rf merger already existed. query_id = " << ev.query_id;
+                    break;
+                }
+                // opened by the build instances on this host before, it's closed along with the query from now on.
+                _partial_merger_deadlines.erase(deadline_it);
+                Status st = it->second.init(ev.create_rf_merger_request);
+                if (!st.ok()) {
+                    VLOG_QUERY << "open query: rf merger initialization failed. error = " << st.get_error_msg();
+                }
                 break;
             }
             RuntimeFilterMerger merger(_exec_env, UniqueId(ev.query_id), ev.query_options, ev.is_opened_by_pipeline);
@@ -562,6 +733,33 @@ void RuntimeFilterWorker::execute() {
             }
             RuntimeFilterMerger& merger = it->second;
             merger.merge_runtime_filter(ev.transmit_rf_request, rpc_closure);
+            if (_partial_merger_deadlines.count(ev.query_id) > 0 && merger.is_partial_merge_finished()) {
+                _partial_merger_deadlines.erase(ev.query_id);
+                _mergers.erase(it);
+            }
+            break;
+        }
+
+        case OPEN_PARTIAL_MERGE: {
+            auto it = _mergers.find(ev.query_id);
+            if (it != _mergers.end()) {
+                Status st = it->second.init_partial_merge(ev.create_rf_merger_request);
+                if (!st.ok()) {
+                    VLOG_QUERY << "open partial merge: rf merger initialization failed. error = "
+                               << st.get_error_msg();
+                }
+                break;
+            }
+            RuntimeFilterMerger merger(_exec_env, UniqueId(ev.query_id), ev.query_options, ev.is_opened_by_pipeline);
+            Status st = merger.init_partial_merge(ev.create_rf_merger_request);
+            if (!st.ok()) {
+                VLOG_QUERY << "open partial merge: rf merger initialization failed. error = " << st.get_error_msg();
+                break;
+            }
+            // no merge node on this host.
+            if (merger.is_partial_merge_finished()) break;
+            _mergers.insert(std::make_pair(ev.query_id, std::move(merger)));
+            _partial_merger_deadlines[ev.query_id] = UnixMillis() + ev.query_options.query_timeout * 1000L;
             break;
         }
 
@@ -577,6 +775,7 @@ void RuntimeFilterWorker::execute() {
             VLOG_QUERY << "unknown event type = " << ev.type;
             break;
         }
+        _close_expired_partial_mergers();
     }
     LOG(INFO) << "RuntimeFilterWorker going to exit.";
 }
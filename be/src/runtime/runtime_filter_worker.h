@@ -56,6 +56,7 @@ public:
               current_size(other.current_size),
               max_size(other.max_size),
               stop(other.stop),
+              sent(other.sent),
               recv_first_filter_ts(other.recv_first_filter_ts),
               recv_last_filter_ts(other.recv_last_filter_ts),
               broadcast_filter_ts(other.broadcast_filter_ts) {}
@@ -69,6 +70,8 @@ public:
     size_t current_size = 0;
     size_t max_size = 0;
     bool stop = false;
+    // the merged RF is sent to the parent merge node.
+    bool sent = false;
 
     // statistics.
     // timestamp in ms since unix epoch;
@@ -84,13 +87,24 @@ class RuntimeFilterMerger {
 public:
     RuntimeFilterMerger(ExecEnv* env, const UniqueId& query_id, const TQueryOptions& query_options, bool is_pipeline);
     Status init(const TRuntimeFilterParams& params);
+    // set up the merge nodes of the multi-level merges on this host, the ones already set up are kept.
+    Status init_partial_merge(const TRuntimeFilterParams& params);
     void merge_runtime_filter(PTransmitRuntimeFilterParams& params, RuntimeFilterRpcClosure* rpc_closure);
+    // whether all the merge nodes of the multi-level merges on this host have sent or stopped building their RFs.
+    bool is_partial_merge_finished() const;
+    const RuntimeFilterMergerStatus* get_partial_status(int32_t filter_id, int32_t merge_node_id) const;
 
 private:
     void _send_total_runtime_filter(int32_t filter_id, RuntimeFilterRpcClosure* rpc_closure);
+    // merge partitioned RF for a merge node of the multi-level merge, and send merged RF to its parent.
+    void _merge_partial_runtime_filter(PTransmitRuntimeFilterParams& params, RuntimeFilterRpcClosure* rpc_closure);
     // filter_id -> where this filter should send to
     std::map<int32_t, std::vector<TRuntimeFilterProberParams>> _targets;
     std::map<int32_t, RuntimeFilterMergerStatus> _statuses;
+    // (filter_id, merge_node_id) -> status of the merge nodes of the multi-level merges on this host
+    std::map<std::pair<int32_t, int32_t>, RuntimeFilterMergerStatus> _partial_statuses;
+    // (filter_id, merge_node_id) -> the merge node it sends the merged RF to
+    std::map<std::pair<int32_t, int32_t>, TRuntimeFilterMergeNode> _parents;
     ExecEnv* _exec_env;
     UniqueId _query_id;
     TQueryOptions _query_options;
@@ -116,6 +130,11 @@ public:
     void open_query(const TUniqueId& query_id, const TQueryOptions& query_options, const TRuntimeFilterParams& params,
                     bool is_pipeline);
     void close_query(const TUniqueId& query_id);
+    // open the merge nodes of the multi-level merges on this host for a build instance, which doesn't
+    // close them. They are closed along with the query by the coordinator fragment on this host if any,
+    // or once they are all done, or when the query times out.
+    void open_partial_merge(const TUniqueId& query_id, const TQueryOptions& query_options,
+                            const TRuntimeFilterParams& params, bool is_pipeline);
     void receive_runtime_filter(const PTransmitRuntimeFilterParams& params);
     void execute();
     void send_part_runtime_filter(PTransmitRuntimeFilterParams&& params,
@@ -123,8 +142,11 @@ public:
 
 private:
     void _receive_total_runtime_filter(PTransmitRuntimeFilterParams& params, RuntimeFilterRpcClosure* rpc_closure);
+    void _close_expired_partial_mergers();
     UnboundedBlockingQueue<RuntimeFilterWorkerEvent> _queue;
     std::unordered_map<TUniqueId, RuntimeFilterMerger> _mergers;
+    // query_id -> deadline in ms of the mergers opened only by build instances.
+    std::unordered_map<TUniqueId, int64_t> _partial_merger_deadlines;
     ExecEnv* _exec_env;
     std::atomic<bool> _stop;
     std::thread _thread;
@@ -13,6 +13,7 @@
 namespace starrocks::vectorized {
 
 const int STATISTIC_DATA_VERSION1 = 1;
+const int HISTOGRAM_STATISTIC_DATA_VERSION = 2;
 const int DICT_STATISTIC_DATA_VERSION = 101;
 
 StatisticResultWriter::StatisticResultWriter(BufferControlBlock* sinker,
@@ -66,6 +67,8 @@ Status StatisticResultWriter::append_chunk(vectorized::Chunk* chunk) {
         _fill_statistic_data_v1(version, result_columns, chunk, result);
     } else if (version == DICT_STATISTIC_DATA_VERSION) {
         _fill_dict_statistic_data(version, result_columns, chunk, result);
+    } else if (version == HISTOGRAM_STATISTIC_DATA_VERSION) {
+        _fill_histogram_statistic_data(version, result_columns, chunk, result);
     }
 
     // Step 4: send
@@ -156,6 +159,40 @@ void StatisticResultWriter::_fill_statistic_data_v1(int version, const vectorize
     }
 }
 
+void StatisticResultWriter::_fill_histogram_statistic_data(int version, const vectorized::Columns& columns,
+                                                           const vectorized::Chunk* chunk, TFetchDataResult* result) {
+    SCOPED_TIMER(_serialize_timer);
+
+    // version, update_time, db_id, table_id, column_name, histogram
+    DCHECK(columns.size() == 6);
+
+    auto& updateTimes = ColumnHelper::cast_to_raw<TYPE_DATETIME>(columns[1])->get_data();
+    auto& dbIds = ColumnHelper::cast_to_raw<TYPE_BIGINT>(columns[2])->get_data();
+    auto& tableIds = ColumnHelper::cast_to_raw<TYPE_BIGINT>(columns[3])->get_data();
+    BinaryColumn* nameColumn = ColumnHelper::cast_to_raw<TYPE_VARCHAR>(columns[4]);
+    BinaryColumn* histogramColumn = ColumnHelper::cast_to_raw<TYPE_VARCHAR>(columns[5]);
+
+    std::vector<TStatisticData> data_list;
+    int num_rows = chunk->num_rows();
+
+    data_list.resize(num_rows);
+    for (int i = 0; i < num_rows; ++i) {
+        data_list[i].__set_updateTime(updateTimes[i].to_string());
+        data_list[i].__set_dbId(dbIds[i]);
+        data_list[i].__set_tableId(tableIds[i]);
+        data_list[i].__set_columnName(nameColumn->get_slice(i).to_string());
+        data_list[i].__set_histogram(histogramColumn->get_slice(i).to_string());
+    }
+
+    result->result_batch.rows.resize(num_rows);
+    result->result_batch.__set_statistic_version(version);
+
+    ThriftSerializer serializer(true, chunk->memory_usage());
+    for (int i = 0; i < num_rows; ++i) {
+        serializer.serialize(&data_list[i], &result->result_batch.rows[i]);
+    }
+}
+
 Status StatisticResultWriter::close() {
     COUNTER_SET(_sent_rows_counter, _written_rows);
     return Status::OK();
@@ -34,6 +34,8 @@ private:
                                  TFetchDataResult* result);
     void _fill_dict_statistic_data(int version, const vectorized::Columns& columns, const vectorized::Chunk* chunk,
                                    TFetchDataResult* result);
+    void _fill_histogram_statistic_data(int version, const vectorized::Columns& columns,
+                                        const vectorized::Chunk* chunk, TFetchDataResult* result);
 
 private:
     BufferControlBlock* _sinker;
@@ -149,6 +149,20 @@ void PInternalServiceImpl<T>::exec_plan_fragment(google::protobuf::RpcController
     st.to_protobuf(response->mutable_status());
 }
 
+template <typename T>
+void PInternalServiceImpl<T>::exec_batch_plan_fragments(google::protobuf::RpcController* cntl_base,
+                                                        const PExecBatchPlanFragmentsRequest* request,
+                                                        PExecPlanFragmentResult* response,
+                                                        google::protobuf::Closure* done) {
+    ClosureGuard closure_guard(done);
+    brpc::Controller* cntl = static_cast<brpc::Controller*>(cntl_base);
+    auto st = _exec_batch_plan_fragments(cntl);
+    if (!st.ok()) {
+        LOG(WARNING) << "exec batch plan fragments failed, errmsg=" << st.get_error_msg();
+    }
+    st.to_protobuf(response->mutable_status());
+}
+
 template <typename T>
 void PInternalServiceImpl<T>::tablet_writer_add_batch(google::protobuf::RpcController* controller,
                                                       const PTabletWriterAddBatchRequest* request,
@@ -187,6 +201,11 @@ Status PInternalServiceImpl<T>::_exec_plan_fragment(brpc::Controller* cntl) {
         uint32_t len = ser_request.size();
         RETURN_IF_ERROR(deserialize_thrift_msg(buf, &len, TProtocolType::BINARY, &t_request));
     }
+    return _exec_plan_fragment(t_request);
+}
+
+template <typename T>
+Status PInternalServiceImpl<T>::_exec_plan_fragment(const TExecPlanFragmentParams& t_request) {
     bool is_pipeline = t_request.__isset.is_pipeline && t_request.is_pipeline;
     LOG(INFO) << "exec plan fragment, fragment_instance_id=" << print_id(t_request.params.fragment_instance_id)
               << ", coord=" << t_request.coord << ", backend=" << t_request.backend_num
@@ -204,6 +223,39 @@ Status PInternalServiceImpl<T>::_exec_plan_fragment(brpc::Controller* cntl) {
     }
 }
 
+template <typename T>
+Status PInternalServiceImpl<T>::_exec_batch_plan_fragments(brpc::Controller* cntl) {
+    auto ser_request = cntl->request_attachment().to_string();
+    TExecBatchPlanFragmentsParams t_batch_requests;
+    {
+        const uint8_t* buf = (const uint8_t*)ser_request.data();
+        uint32_t len = ser_request.size();
+        RETURN_IF_ERROR(deserialize_thrift_msg(buf, &len, TProtocolType::BINARY, &t_batch_requests));
+    }
+    TExecPlanFragmentParams& common_request = t_batch_requests.common_param;
+    for (const auto& unique_request : t_batch_requests.unique_param_per_instance) {
+        TExecPlanFragmentParams t_request = common_request;
+        t_request.params.__set_fragment_instance_id(unique_request.params.fragment_instance_id);
+        t_request.params.__set_per_node_scan_ranges(unique_request.params.per_node_scan_ranges);
+        t_request.params.__set_sender_id(unique_request.params.sender_id);
+        t_request.__set_backend_num(unique_request.backend_num);
+        if (unique_request.__isset.fragment) {
+            t_request.__set_fragment(unique_request.fragment);
+        }
+        RETURN_IF_ERROR(_exec_plan_fragment(t_request));
+
+        // The pipeline engine shares the descriptor table among the instances of a query,
+        // so it is only created by the first instance of the batch.
+        if (t_request.__isset.is_pipeline && t_request.is_pipeline && common_request.__isset.desc_tbl &&
+            !(common_request.desc_tbl.__isset.is_cached && common_request.desc_tbl.is_cached)) {
+            TDescriptorTable cached_desc_tbl;
+            cached_desc_tbl.__set_is_cached(true);
+            common_request.__set_desc_tbl(cached_desc_tbl);
+        }
+    }
+    return Status::OK();
+}
+
 inline std::string cancel_reason_to_string(::starrocks::PPlanFragmentCancelReason reason) {
     switch (reason) {
     case LIMIT_REACH:
@@ -53,6 +53,10 @@ public:
     void exec_plan_fragment(google::protobuf::RpcController* controller, const PExecPlanFragmentRequest* request,
                             PExecPlanFragmentResult* result, google::protobuf::Closure* done) override;
 
+    void exec_batch_plan_fragments(google::protobuf::RpcController* controller,
+                                   const PExecBatchPlanFragmentsRequest* request,
+                                   PExecPlanFragmentResult* result, google::protobuf::Closure* done) override;
+
     void cancel_plan_fragment(google::protobuf::RpcController* controller, const PCancelPlanFragmentRequest* request,
                               PCancelPlanFragmentResult* result, google::protobuf::Closure* done) override;
 
@@ -83,6 +87,10 @@ public:
 private:
     Status _exec_plan_fragment(brpc::Controller* cntl);
 
+    Status _exec_plan_fragment(const TExecPlanFragmentParams& t_request);
+
+    Status _exec_batch_plan_fragments(brpc::Controller* cntl);
+
 private:
     ExecEnv* _exec_env;
 };
@@ -19,7 +19,7 @@ struct SIMDGather {
     // b[i] = a[c[i]];
     // T was int32_t or uint32_t
     template <class TB, class TC>
-    static void gather(TB* b, const int16_t* a, const TC* c, size_t buckets, int num_rows) {
+    static void gather(TB* b, const int32_t* a, const TC* c, size_t buckets, int num_rows) {
         static_assert(sizeof(TB) == 4);
         static_assert(std::is_integral_v<TB>);
         static_assert(sizeof(TC) == 4);
@@ -27,11 +27,9 @@ struct SIMDGather {
         int i = 0;
 #ifdef __AVX2__
         if (buckets < max_process_size) {
-            __m256i mask = _mm256_set1_epi32(0xFF);
             for (; i + 8 <= num_rows; i += 8) {
                 __m256i loaded = _mm256_loadu_si256(reinterpret_cast<const __m256i*>(c));
-                __m256i gathered = _mm256_i32gather_epi32((int32_t*)a, loaded, 2);
-                gathered = _mm256_and_si256(gathered, mask);
+                __m256i gathered = _mm256_i32gather_epi32(a, loaded, 4);
                 _mm256_storeu_si256(reinterpret_cast<__m256i*>(b), gathered);
                 c += 8;
                 b += 8;
@@ -51,7 +51,7 @@ Status ColumnDecoder::encode_to_global_id(vectorized::Column* datas, vectorized:
 
 void ColumnDecoder::check_global_dict() {
     if (_global_dict && _all_page_dict_encoded) {
-        std::vector<int16_t> code_convert_map;
+        std::vector<int32_t> code_convert_map;
         auto* scalar_iter = down_cast<ScalarColumnIterator*>(_iter);
         Status st = GlobalDictCodeColumnIterator::build_code_convert_map(scalar_iter, _global_dict, &code_convert_map);
         if (st.ok()) {
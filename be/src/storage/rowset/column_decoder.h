@@ -38,10 +38,10 @@ public:
         return (!_all_page_dict_encoded && _global_dict) || (!_code_convert_map.has_value() && _global_dict);
     }
 
-    int16_t* code_convert_data() { return _code_convert_map.has_value() ? _code_convert_map->data() + 1 : nullptr; }
+    int32_t* code_convert_data() { return _code_convert_map.has_value() ? _code_convert_map->data() + 1 : nullptr; }
 
 private:
-    std::optional<std::vector<int16_t>> _code_convert_map;
+    std::optional<std::vector<int32_t>> _code_convert_map;
     ColumnIterator* _iter = nullptr;
     vectorized::GlobalDictMap* _global_dict = nullptr;
     bool _all_page_dict_encoded = false;
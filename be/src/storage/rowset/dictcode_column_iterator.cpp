@@ -9,19 +9,19 @@ namespace starrocks {
 
 Status GlobalDictCodeColumnIterator::build_code_convert_map(ScalarColumnIterator* file_column_iter,
                                                             GlobalDictMap* global_dict,
-                                                            std::vector<int16_t>* code_convert_map) {
+                                                            std::vector<int32_t>* code_convert_map) {
     DCHECK(file_column_iter->all_page_dict_encoded());
 
     int dict_size = file_column_iter->dict_size();
 
     auto column = vectorized::BinaryColumn::create();
 
-    int dict_codes[dict_size];
+    std::vector<int> dict_codes(dict_size);
     for (int i = 0; i < dict_size; ++i) {
         dict_codes[i] = i;
     }
 
-    RETURN_IF_ERROR(file_column_iter->decode_dict_codes(dict_codes, dict_size, column.get()));
+    RETURN_IF_ERROR(file_column_iter->decode_dict_codes(dict_codes.data(), dict_size, column.get()));
 
     code_convert_map->resize(dict_size + 2);
     std::fill(code_convert_map->begin(), code_convert_map->end(), 0);
@@ -78,7 +78,7 @@ public:
     using GlobalDictMap = starrocks::vectorized::GlobalDictMap;
     using LowCardDictColumn = starrocks::vectorized::LowCardDictColumn;
 
-    GlobalDictCodeColumnIterator(ColumnId cid, ColumnIterator* iter, int16_t* code_convert_data, GlobalDictMap* gdict)
+    GlobalDictCodeColumnIterator(ColumnId cid, ColumnIterator* iter, int32_t* code_convert_data, GlobalDictMap* gdict)
             : _cid(cid), _col_iter(iter), _local_to_global(code_convert_data), _global_dict(gdict) {}
 
     ~GlobalDictCodeColumnIterator() = default;
@@ -167,7 +167,7 @@ public:
     }
 
     static Status build_code_convert_map(ScalarColumnIterator* file_column_iter, GlobalDictMap* global_dict,
-                                         std::vector<int16_t>* code_convert_map);
+                                         std::vector<int32_t>* code_convert_map);
 
 private:
     void _init_local_dict_col();
@@ -178,7 +178,7 @@ private:
     ColumnIterator* _col_iter;
 
     // _local_to_global[-1] is accessable
-    int16_t* _local_to_global;
+    int32_t* _local_to_global;
 
     // global dict
     GlobalDictMap* _global_dict;
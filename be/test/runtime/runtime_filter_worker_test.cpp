@@ -0,0 +1,132 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+#include "runtime/runtime_filter_worker.h"
+
+#include <gtest/gtest.h>
+
+#include "common/config.h"
+#include "exprs/vectorized/runtime_filter.h"
+#include "exprs/vectorized/runtime_filter_bank.h"
+#include "service/backend_options.h"
+
+namespace starrocks {
+
+class RuntimeFilterWorkerTest : public ::testing::Test {
+public:
+    void SetUp() override {
+        TNetworkAddress local;
+        local.hostname = BackendOptions::get_localhost();
+        local.port = config::brpc_port;
+        TNetworkAddress remote;
+        remote.hostname = "127.0.0.2";
+        remote.port = config::brpc_port;
+
+        // filter 1 is merged by merge node 1 on this host from be 0, 1 and 2, then by the root merge node.
+        TRuntimeFilterMergeNode root;
+        root.__set_merge_node_id(0);
+        root.__set_address(remote);
+        root.__set_expect_number(2);
+        TRuntimeFilterMergeNode node;
+        node.__set_merge_node_id(1);
+        node.__set_address(local);
+        node.__set_expect_number(3);
+        node.__set_parent_merge_node_id(0);
+        _params.id_to_merge_nodes[kFilterId] = {root, node};
+        _params.__isset.id_to_merge_nodes = true;
+        _params.__set_runtime_filter_max_size(64L * 1024 * 1024);
+    }
+
+protected:
+    static PTransmitRuntimeFilterParams _partial_filter(int32_t be_number) {
+        vectorized::RuntimeBloomFilter<TYPE_INT> bf;
+        bf.init(100);
+        for (int i = be_number * 100; i < be_number * 100 + 100; i++) {
+            bf.insert(&i);
+        }
+        PTransmitRuntimeFilterParams params;
+        params.set_filter_id(kFilterId);
+        params.set_is_partial(true);
+        params.set_build_be_number(be_number);
+        params.set_merge_node_id(1);
+        std::string* data = params.mutable_data();
+        data->resize(vectorized::RuntimeFilterHelper::max_runtime_filter_serialized_size(&bf));
+        size_t size = vectorized::RuntimeFilterHelper::serialize_runtime_filter(
+                &bf, reinterpret_cast<uint8_t*>(data->data()));
+        data->resize(size);
+        return params;
+    }
+
+    static constexpr int32_t kFilterId = 1;
+    TRuntimeFilterParams _params;
+    TQueryOptions _query_options;
+};
+
+// A build instance opens the merge nodes on its host, and closes before its sibling on the same host opens them
+// and sends its partial runtime filter, which are merged along with the received ones.
+TEST_F(RuntimeFilterWorkerTest, partial_merge_after_build_instance_closed) {
+    RuntimeFilterMerger merger(nullptr, UniqueId(1, 2), _query_options, false);
+    ASSERT_TRUE(merger.init_partial_merge(_params).ok());
+    ASSERT_FALSE(merger.is_partial_merge_finished());
+
+    auto first = _partial_filter(0);
+    merger.merge_runtime_filter(first, nullptr);
+
+    // the sibling build instance opens the merge nodes again.
+    ASSERT_TRUE(merger.init_partial_merge(_params).ok());
+    const RuntimeFilterMergerStatus* status = merger.get_partial_status(kFilterId, 1);
+    ASSERT_NE(nullptr, status);
+    ASSERT_EQ(1, status->arrives.size());
+    ASSERT_EQ(1, status->filters.size());
+
+    auto second = _partial_filter(1);
+    merger.merge_runtime_filter(second, nullptr);
+    // duplicated one
+    merger.merge_runtime_filter(second, nullptr);
+    ASSERT_EQ(2, status->arrives.size());
+    ASSERT_EQ(2, status->filters.size());
+    ASSERT_FALSE(status->sent);
+    ASSERT_FALSE(merger.is_partial_merge_finished());
+}
+
+// The coordinator fragment on the host opens the query after the build instances, which keeps the received
+// partial runtime filters.
+TEST_F(RuntimeFilterWorkerTest, open_query_after_partial_merge) {
+    RuntimeFilterMerger merger(nullptr, UniqueId(1, 2), _query_options, false);
+    ASSERT_TRUE(merger.init_partial_merge(_params).ok());
+    auto first = _partial_filter(0);
+    merger.merge_runtime_filter(first, nullptr);
+
+    TRuntimeFilterParams params = _params;
+    params.runtime_filter_builder_number[kFilterId] = 2;
+    params.__isset.runtime_filter_builder_number = true;
+    ASSERT_TRUE(merger.init(params).ok());
+    const RuntimeFilterMergerStatus* status = merger.get_partial_status(kFilterId, 1);
+    ASSERT_NE(nullptr, status);
+    ASSERT_EQ(1, status->arrives.size());
+    ASSERT_EQ(3, status->expect_number);
+}
+
+TEST_F(RuntimeFilterWorkerTest, partial_merge_stopped) {
+    _params.__set_runtime_filter_max_size(1);
+    RuntimeFilterMerger merger(nullptr, UniqueId(1, 2), _query_options, false);
+    ASSERT_TRUE(merger.init_partial_merge(_params).ok());
+    auto first = _partial_filter(0);
+    merger.merge_runtime_filter(first, nullptr);
+    const RuntimeFilterMergerStatus* status = merger.get_partial_status(kFilterId, 1);
+    ASSERT_NE(nullptr, status);
+    ASSERT_TRUE(status->stop);
+    ASSERT_TRUE(merger.is_partial_merge_finished());
+}
+
+// No merge node on this host.
+TEST_F(RuntimeFilterWorkerTest, no_local_merge_node) {
+    for (auto& node : _params.id_to_merge_nodes[kFilterId]) {
+        node.address.hostname = "127.0.0.2";
+    }
+    RuntimeFilterMerger merger(nullptr, UniqueId(1, 2), _query_options, false);
+    ASSERT_TRUE(merger.init_partial_merge(_params).ok());
+    ASSERT_EQ(nullptr, merger.get_partial_status(kFilterId, 1));
+    ASSERT_TRUE(merger.is_partial_merge_finished());
+}
+
+} // namespace starrocks
@@ -350,7 +350,8 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
             throw new AlterCancelException("Databasee " + dbId + " does not exist");
         }
 
-        db.readLock();
+        // the visible versions and the replicas are changed by publish and clone under the table write lock
+        List<OlapTable> tables = db.readLockTables(Lists.newArrayList(tableId));
         try {
             OlapTable tbl = (OlapTable) db.getTable(tableId);
             if (tbl == null) {
@@ -391,7 +392,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
                 }
             }
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(tables);
         }
 
         AgentTaskQueue.addBatchTask(rollupBatchTask);
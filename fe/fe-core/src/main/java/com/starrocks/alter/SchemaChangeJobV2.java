@@ -404,7 +404,8 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             throw new AlterCancelException("Databasee " + dbId + " does not exist");
         }
 
-        db.readLock();
+        // the visible versions and the replicas are changed by publish and clone under the table write lock
+        List<OlapTable> tables = db.readLockTables(Lists.newArrayList(tableId));
         try {
             OlapTable tbl = (OlapTable) db.getTable(tableId);
             if (tbl == null) {
@@ -444,7 +445,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
                 }
             } // end for partitions
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(tables);
         }
 
         AgentTaskQueue.addBatchTask(schemaChangeBatchTask);
@@ -349,6 +349,7 @@ public class BackupJob extends AbstractJob {
         // generate job id
         jobId = catalog.getNextId();
         AgentBatchTask batchTask = new AgentBatchTask();
+        List<OlapTable> lockedTables = Lists.newArrayList();
         db.readLock();
         try {
             // check all backup tables again
@@ -377,6 +378,21 @@ public class BackupJob extends AbstractJob {
                 }
             }
 
+            // the visible versions and the replicas are changed by publish and clone under the table write lock,
+            // lock the tables in id order as the writers do
+            List<OlapTable> backupTables = Lists.newArrayList();
+            for (TableRef tableRef : tableRefs) {
+                OlapTable tbl = (OlapTable) db.getTable(tableRef.getName().getTbl());
+                if (!backupTables.contains(tbl)) {
+                    backupTables.add(tbl);
+                }
+            }
+            backupTables.sort(Comparator.comparingLong(OlapTable::getId));
+            for (OlapTable tbl : backupTables) {
+                tbl.readLock();
+                lockedTables.add(tbl);
+            }
+
             unfinishedTaskIds.clear();
             taskProgress.clear();
             taskErrMsg.clear();
@@ -440,6 +456,9 @@ public class BackupJob extends AbstractJob {
             }
             backupMeta = new BackupMeta(copiedTables);
         } finally {
+            for (int i = lockedTables.size() - 1; i >= 0; i--) {
+                lockedTables.get(i).readUnlock();
+            }
             db.readUnlock();
         }
 
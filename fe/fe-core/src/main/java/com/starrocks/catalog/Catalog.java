@@ -4059,6 +4059,20 @@ public class Catalog {
                 PropertyAnalyzer.analyzeBooleanProp(properties, PropertyAnalyzer.PROPERTIES_ENABLE_PERSISTENT_INDEX, false);
         olapTable.setEnablePersistentIndex(enablePersistentIndex);
 
+        try {
+            List<UniqueConstraint> uniqueConstraints = PropertyAnalyzer.analyzeUniqueConstraint(properties, olapTable);
+            if (uniqueConstraints != null) {
+                olapTable.setUniqueConstraints(uniqueConstraints);
+            }
+            List<ForeignKeyConstraint> foreignKeyConstraints =
+                    PropertyAnalyzer.analyzeForeignKeyConstraint(properties, db, olapTable);
+            if (foreignKeyConstraints != null) {
+                olapTable.setForeignKeyConstraints(foreignKeyConstraints);
+            }
+        } catch (AnalysisException e) {
+            throw new DdlException(e.getMessage());
+        }
+
         TTabletType tabletType = TTabletType.TABLET_TYPE_DISK;
         try {
             tabletType = PropertyAnalyzer.analyzeTabletType(properties);
@@ -4674,6 +4688,17 @@ public class Catalog {
             sb.append(",\n\"").append(PropertyAnalyzer.PROPERTIES_ENABLE_PERSISTENT_INDEX).append("\" = \"");
             sb.append(olapTable.enablePersistentIndex()).append("\"");            
 
+            // unenforced constraints
+            Map<String, String> tableProperties = olapTable.getTableProperty().getProperties();
+            if (tableProperties.containsKey(PropertyAnalyzer.PROPERTIES_UNIQUE_CONSTRAINT)) {
+                sb.append(",\n\"").append(PropertyAnalyzer.PROPERTIES_UNIQUE_CONSTRAINT).append("\" = \"");
+                sb.append(tableProperties.get(PropertyAnalyzer.PROPERTIES_UNIQUE_CONSTRAINT)).append("\"");
+            }
+            if (tableProperties.containsKey(PropertyAnalyzer.PROPERTIES_FOREIGN_KEY_CONSTRAINT)) {
+                sb.append(",\n\"").append(PropertyAnalyzer.PROPERTIES_FOREIGN_KEY_CONSTRAINT).append("\" = \"");
+                sb.append(tableProperties.get(PropertyAnalyzer.PROPERTIES_FOREIGN_KEY_CONSTRAINT)).append("\"");
+            }
+
             // storage media
             Map<String, String> properties = olapTable.getTableProperty().getProperties();
             if (!properties.containsKey(PropertyAnalyzer.PROPERTIES_STORAGE_MEDIUM)) {
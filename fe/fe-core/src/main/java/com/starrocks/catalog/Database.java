@@ -37,6 +37,7 @@ import com.starrocks.common.io.Writable;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.common.util.QueryableReentrantReadWriteLock;
 import com.starrocks.common.util.Util;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.persist.CreateTableInfo;
 import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
@@ -47,11 +48,13 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -121,7 +124,7 @@ public class Database extends MetaObject implements Writable {
     }
 
     public void readLock() {
-        this.rwLock.readLock().lock();
+        this.rwLock.lockAndProfile(rwLock.readLock(), "db", id, MetricRepo.HISTO_DB_LOCK_WAIT_LATENCY);
     }
 
     public boolean tryReadLock(long timeout, TimeUnit unit) {
@@ -145,7 +148,7 @@ public class Database extends MetaObject implements Writable {
     }
 
     public void writeLock() {
-        this.rwLock.writeLock().lock();
+        this.rwLock.lockAndProfile(rwLock.writeLock(), "db", id, MetricRepo.HISTO_DB_LOCK_WAIT_LATENCY);
     }
 
     public boolean tryWriteLock(long timeout, TimeUnit unit) {
@@ -172,6 +175,74 @@ public class Database extends MetaObject implements Writable {
         return this.rwLock.writeLock().isHeldByCurrentThread();
     }
 
+    /*
+     * Lock hierarchy: db lock -> table locks in the order of table id.
+     * Loads change the data and replicas of their tables only, so they take the db read lock and the write
+     * locks of their tables. Loads to different tables of this db don't block each other then, and a db write
+     * lock, which is still held to change the schema or the partitions of a table, excludes all of them.
+     * Tables that don't exist or are not OlapTable are skipped.
+     * Returns the locked tables, which must be unlocked by writeUnlockTables().
+     */
+    public List<OlapTable> writeLockTables(Collection<Long> tableIds) {
+        readLock();
+        List<OlapTable> tables = getOlapTablesSortedById(tableIds);
+        for (OlapTable table : tables) {
+            table.writeLock();
+        }
+        return tables;
+    }
+
+    // Same as writeLockTables(), but returns null if the locks can't be acquired in timeout
+    public List<OlapTable> tryWriteLockTables(Collection<Long> tableIds, long timeout, TimeUnit unit) {
+        long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+        if (!tryReadLock(timeout, unit)) {
+            return null;
+        }
+        List<OlapTable> tables = getOlapTablesSortedById(tableIds);
+        for (int i = 0; i < tables.size(); i++) {
+            if (!tables.get(i).tryWriteLock(Math.max(0, deadlineNs - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                writeUnlockTables(tables.subList(0, i));
+                return null;
+            }
+        }
+        return tables;
+    }
+
+    public void writeUnlockTables(List<OlapTable> tables) {
+        for (int i = tables.size() - 1; i >= 0; i--) {
+            tables.get(i).writeUnlock();
+        }
+        readUnlock();
+    }
+
+    // Take the db read lock and the read locks of tables, to read consistent data and replicas of them
+    public List<OlapTable> readLockTables(Collection<Long> tableIds) {
+        readLock();
+        List<OlapTable> tables = getOlapTablesSortedById(tableIds);
+        for (OlapTable table : tables) {
+            table.readLock();
+        }
+        return tables;
+    }
+
+    public void readUnlockTables(List<OlapTable> tables) {
+        for (int i = tables.size() - 1; i >= 0; i--) {
+            tables.get(i).readUnlock();
+        }
+        readUnlock();
+    }
+
+    private List<OlapTable> getOlapTablesSortedById(Collection<Long> tableIds) {
+        List<OlapTable> tables = new ArrayList<>();
+        for (long tableId : new TreeSet<>(tableIds)) {
+            Table table = getTable(tableId);
+            if (table instanceof OlapTable) {
+                tables.add((OlapTable) table);
+            }
+        }
+        return tables;
+    }
+
     public long getId() {
         return id;
     }
@@ -0,0 +1,88 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.catalog;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A foreign key of an OLAP table declared by the property
+ * "foreign_key_constraints" = "(c1, c2) REFERENCES db.parent(k1, k2); (c3) REFERENCES parent2(k3)".
+ * The referenced columns are a unique key of the parent table. It isn't enforced, the optimizer trusts that every
+ * non-null foreign key exists in the parent table.
+ */
+public class ForeignKeyConstraint {
+    private static final Pattern CONSTRAINT_PATTERN =
+            Pattern.compile("^\\(([^)]+)\\)\\s*REFERENCES\\s+([\\w.]+)\\s*\\(([^)]+)\\)$", Pattern.CASE_INSENSITIVE);
+
+    private final List<String> columns;
+    // null if the parent table is in the same database
+    private final String parentDbName;
+    private final String parentTableName;
+    private final List<String> parentColumns;
+
+    public ForeignKeyConstraint(List<String> columns, String parentDbName, String parentTableName,
+                                List<String> parentColumns) {
+        this.columns = columns;
+        this.parentDbName = parentDbName;
+        this.parentTableName = parentTableName;
+        this.parentColumns = parentColumns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String getParentDbName() {
+        return parentDbName;
+    }
+
+    public String getParentTableName() {
+        return parentTableName;
+    }
+
+    public List<String> getParentColumns() {
+        return parentColumns;
+    }
+
+    public static List<ForeignKeyConstraint> parse(String constraintDescs) {
+        List<ForeignKeyConstraint> constraints = Lists.newArrayList();
+        for (String constraintDesc : Splitter.on(";").trimResults().omitEmptyStrings().split(constraintDescs)) {
+            Matcher matcher = CONSTRAINT_PATTERN.matcher(constraintDesc);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid foreign key constraint: " + constraintDesc);
+            }
+            List<String> columns = Splitter.on(",").trimResults().splitToList(matcher.group(1));
+            List<String> parentColumns = Splitter.on(",").trimResults().splitToList(matcher.group(3));
+            if (columns.size() != parentColumns.size() || columns.stream().anyMatch(String::isEmpty) ||
+                    parentColumns.stream().anyMatch(String::isEmpty)) {
+                throw new IllegalArgumentException("Invalid foreign key constraint: " + constraintDesc);
+            }
+
+            List<String> parentNames = Splitter.on(".").splitToList(matcher.group(2));
+            if (parentNames.size() > 2) {
+                throw new IllegalArgumentException("Invalid foreign key constraint: " + constraintDesc);
+            }
+            String parentDbName = parentNames.size() == 2 ? parentNames.get(0) : null;
+            String parentTableName = parentNames.get(parentNames.size() - 1);
+            constraints.add(new ForeignKeyConstraint(columns, parentDbName, parentTableName, parentColumns));
+        }
+        return constraints;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("(").append(Joiner.on(", ").join(columns)).append(") REFERENCES ");
+        if (parentDbName != null) {
+            sb.append(parentDbName).append(".");
+        }
+        sb.append(parentTableName).append("(").append(Joiner.on(", ").join(parentColumns)).append(")");
+        return sb.toString();
+    }
+}
@@ -250,9 +250,25 @@ public class FunctionSet {
                     .add("rand")
                     .add("random")
                     .add("uuid")
+                    .add("uuid_numeric")
                     .add("sleep")
                     .build();
 
+    // Without arguments, these functions return the time when the statement is executed
+    public static final Set<String> currentTimeFunctions =
+            ImmutableSet.<String>builder()
+                    .add(FunctionSet.NOW)
+                    .add(FunctionSet.CURRENT_TIMESTAMP)
+                    .add("localtime")
+                    .add("localtimestamp")
+                    .add("curtime")
+                    .add(FunctionSet.CURRENT_TIME)
+                    .add(FunctionSet.CURDATE)
+                    .add("current_date")
+                    .add(FunctionSet.UNIX_TIMESTAMP)
+                    .add(FunctionSet.UTC_TIMESTAMP)
+                    .build();
+
     public FunctionSet() {
         vectorizedFunctions = Maps.newHashMap();
     }
@@ -18,6 +18,7 @@ import org.apache.parquet.Strings;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +31,7 @@ public class JDBCTable extends Table {
 
     private String resourceName;
     private String jdbcTable;
+    private RemoteTableSplitProperty splitProperty;
 
     public JDBCTable() {
         super(TableType.JDBC);
@@ -48,6 +50,10 @@ public class JDBCTable extends Table {
         return jdbcTable;
     }
 
+    public RemoteTableSplitProperty getSplitProperty() {
+        return splitProperty;
+    }
+
     private void validate(Map<String, String> properties) throws DdlException {
         if (properties == null) {
             throw new DdlException("Please set properties of jdbc table, they are: table and resource");
@@ -71,6 +77,7 @@ public class JDBCTable extends Table {
             throw new DdlException("resource [" + resourceName + "] is not jdbc resource");
         }
 
+        splitProperty = RemoteTableSplitProperty.create(properties, fullSchema);
     }
 
     @Override
@@ -99,6 +106,11 @@ public class JDBCTable extends Table {
         JsonObject obj = new JsonObject();
         obj.addProperty(TABLE, jdbcTable);
         obj.addProperty(RESOURCE, resourceName);
+        if (splitProperty != null) {
+            Map<String, String> splitProperties = new HashMap<>();
+            splitProperty.toProperties(splitProperties);
+            splitProperties.forEach(obj::addProperty);
+        }
         Text.writeString(out, obj.toString());
     }
 
@@ -109,6 +121,11 @@ public class JDBCTable extends Table {
         JsonObject obj = JsonParser.parseString(jsonStr).getAsJsonObject();
         jdbcTable = obj.getAsJsonPrimitive(TABLE).getAsString();
         resourceName = obj.getAsJsonPrimitive(RESOURCE).getAsString();
+        if (obj.has(RemoteTableSplitProperty.SPLIT_COLUMN)) {
+            Map<String, String> splitProperties = new HashMap<>();
+            obj.entrySet().forEach(entry -> splitProperties.put(entry.getKey(), entry.getValue().getAsString()));
+            splitProperty = RemoteTableSplitProperty.fromProperties(splitProperties);
+        }
     }
 
     @Override
@@ -61,6 +61,7 @@ public class MysqlTable extends Table {
     private String passwd;
     private String mysqlDatabaseName;
     private String mysqlTableName;
+    private RemoteTableSplitProperty splitProperty;
 
     public MysqlTable() {
         super(TableType.MYSQL);
@@ -123,6 +124,8 @@ public class MysqlTable extends Table {
             throw new DdlException("Database of MySQL table is null. "
                     + "Please add properties('table'='xxxx') when create table");
         }
+
+        splitProperty = RemoteTableSplitProperty.create(properties, fullSchema);
     }
 
     private String getPropertyFromResource(String propertyName) {
@@ -176,6 +179,10 @@ public class MysqlTable extends Table {
         return mysqlTableName;
     }
 
+    public RemoteTableSplitProperty getSplitProperty() {
+        return splitProperty;
+    }
+
     @Override
     public TTableDescriptor toThrift(List<ReferencedPartitionInfo> partitions) {
         TMySQLTable tMySQLTable =
@@ -230,6 +237,9 @@ public class MysqlTable extends Table {
         serializeMap.put(MYSQL_PASSWORD, passwd);
         serializeMap.put(MYSQL_DATABASE, mysqlDatabaseName);
         serializeMap.put(MYSQL_TABLE, mysqlTableName);
+        if (splitProperty != null) {
+            splitProperty.toProperties(serializeMap);
+        }
 
         int size = (int) serializeMap.values().stream().filter(v -> v != null).count();
         out.writeInt(size);
@@ -261,6 +271,7 @@ public class MysqlTable extends Table {
             passwd = serializeMap.get(MYSQL_PASSWORD);
             mysqlDatabaseName = serializeMap.get(MYSQL_DATABASE);
             mysqlTableName = serializeMap.get(MYSQL_TABLE);
+            splitProperty = RemoteTableSplitProperty.fromProperties(serializeMap);
         } else {
             host = Text.readString(in);
             port = Text.readString(in);
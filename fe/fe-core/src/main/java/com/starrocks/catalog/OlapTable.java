@@ -21,6 +21,7 @@
 
 package com.starrocks.catalog;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -46,8 +47,10 @@ import com.starrocks.common.Pair;
 import com.starrocks.common.io.DeepCopy;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.util.PropertyAnalyzer;
+import com.starrocks.common.util.QueryableReentrantReadWriteLock;
 import com.starrocks.common.util.RangeUtils;
 import com.starrocks.common.util.Util;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.OriginStatement;
 import com.starrocks.system.SystemInfoService;
 import com.starrocks.thrift.TOlapTable;
@@ -72,6 +75,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.Adler32;
 
 /**
@@ -135,6 +139,11 @@ public class OlapTable extends Table {
 
     protected TableProperty tableProperty;
 
+    // Protects the data and replicas of this table, i.e. partition versions and replica states.
+    // It must be taken with the db read lock held, see Database.writeLockTables().
+    // Changes to the schema or to the set of partitions still hold the db write lock.
+    private QueryableReentrantReadWriteLock rwLock = new QueryableReentrantReadWriteLock(true);
+
     public OlapTable() {
         // for persist
         super(TableType.OLAP);
@@ -185,6 +194,58 @@ public class OlapTable extends Table {
         this.tableProperty = null;
     }
 
+    public void readLock() {
+        rwLock.lockAndProfile(rwLock.readLock(), "table", id, MetricRepo.HISTO_TABLE_LOCK_WAIT_LATENCY);
+    }
+
+    public boolean tryReadLock(long timeout, TimeUnit unit) {
+        try {
+            if (!rwLock.readLock().tryLock(timeout, unit)) {
+                Thread owner = rwLock.getOwner();
+                if (owner != null) {
+                    LOG.warn("table lock is held by: {}", Util.dumpThread(owner, 50));
+                }
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try read lock at table[" + id + "]", e);
+            return false;
+        }
+    }
+
+    public void readUnlock() {
+        rwLock.readLock().unlock();
+    }
+
+    public void writeLock() {
+        rwLock.lockAndProfile(rwLock.writeLock(), "table", id, MetricRepo.HISTO_TABLE_LOCK_WAIT_LATENCY);
+    }
+
+    public boolean tryWriteLock(long timeout, TimeUnit unit) {
+        try {
+            if (!rwLock.writeLock().tryLock(timeout, unit)) {
+                Thread owner = rwLock.getOwner();
+                if (owner != null) {
+                    LOG.warn("table lock is held by: {}", Util.dumpThread(owner, 50));
+                }
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try write lock at table[" + id + "]", e);
+            return false;
+        }
+    }
+
+    public void writeUnlock() {
+        rwLock.writeLock().unlock();
+    }
+
+    public boolean isWriteLockHeldByCurrentThread() {
+        return rwLock.writeLock().isHeldByCurrentThread();
+    }
+
     public void setTableProperty(TableProperty tableProperty) {
         this.tableProperty = tableProperty;
     }
@@ -1464,6 +1525,49 @@ public class OlapTable extends Table {
         tableProperty.buildEnablePersistentIndex();
     }
 
+    // The unique keys implied by the keys of the table, and the declared ones
+    public List<UniqueConstraint> getUniqueConstraints() {
+        List<UniqueConstraint> constraints = Lists.newArrayList();
+        if (keysType != KeysType.DUP_KEYS) {
+            List<String> keyColumns = Lists.newArrayList();
+            for (Column column : getBaseSchema()) {
+                if (column.isKey()) {
+                    keyColumns.add(column.getName());
+                }
+            }
+            constraints.add(new UniqueConstraint(keyColumns));
+        }
+        if (tableProperty != null) {
+            constraints.addAll(tableProperty.getUniqueConstraints());
+        }
+        return constraints;
+    }
+
+    public void setUniqueConstraints(List<UniqueConstraint> uniqueConstraints) {
+        if (tableProperty == null) {
+            tableProperty = new TableProperty(new HashMap<>());
+        }
+        tableProperty.modifyTableProperties(PropertyAnalyzer.PROPERTIES_UNIQUE_CONSTRAINT,
+                Joiner.on("; ").join(uniqueConstraints));
+        tableProperty.buildConstraint();
+    }
+
+    public List<ForeignKeyConstraint> getForeignKeyConstraints() {
+        if (tableProperty != null) {
+            return tableProperty.getForeignKeyConstraints();
+        }
+        return Collections.emptyList();
+    }
+
+    public void setForeignKeyConstraints(List<ForeignKeyConstraint> foreignKeyConstraints) {
+        if (tableProperty == null) {
+            tableProperty = new TableProperty(new HashMap<>());
+        }
+        tableProperty.modifyTableProperties(PropertyAnalyzer.PROPERTIES_FOREIGN_KEY_CONSTRAINT,
+                Joiner.on("; ").join(foreignKeyConstraints));
+        tableProperty.buildConstraint();
+    }
+
     public void setStorageMedium(TStorageMedium storageMedium) {
         if (tableProperty == null) {
             tableProperty = new TableProperty(new HashMap<>());
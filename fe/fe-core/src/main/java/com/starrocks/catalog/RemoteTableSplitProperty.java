@@ -0,0 +1,180 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.catalog;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.starrocks.common.DdlException;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The split column of a jdbc or mysql table. A scan on the table is split into the scans of the ranges of the
+ * column between the lower and upper bound, each of which is a separate query to the remote database, so that
+ * they can be run in parallel on the backends.
+ * <p>
+ * The first and the last range are open, so that the rows out of the bounds, and the rows whose split column is
+ * NULL, are read by them too. The bounds only decide how even the ranges are.
+ */
+public class RemoteTableSplitProperty {
+    public static final String SPLIT_COLUMN = "split_column";
+    public static final String SPLIT_NUM = "split_num";
+    public static final String SPLIT_LOWER_BOUND = "split_lower_bound";
+    public static final String SPLIT_UPPER_BOUND = "split_upper_bound";
+
+    private static final int DEFAULT_SPLIT_NUM = 8;
+    private static final int MAX_SPLIT_NUM = 1024;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String column;
+    private final int splitNum;
+    private final String lowerBound;
+    private final String upperBound;
+
+    private RemoteTableSplitProperty(String column, int splitNum, String lowerBound, String upperBound) {
+        this.column = column;
+        this.splitNum = splitNum;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * Create the split property from the table properties, return null if the split column is not set.
+     */
+    public static RemoteTableSplitProperty create(Map<String, String> properties, List<Column> schema)
+            throws DdlException {
+        String column = properties.get(SPLIT_COLUMN);
+        if (Strings.isNullOrEmpty(column)) {
+            return null;
+        }
+
+        Column splitColumn = schema.stream().filter(c -> c.getName().equalsIgnoreCase(column)).findFirst()
+                .orElseThrow(() -> new DdlException("split column " + column + " does not exist"));
+        Type type = splitColumn.getType();
+        if (!type.isIntegerType() && !type.isDateType()) {
+            throw new DdlException("split column " + column + " must be of integer, date or datetime type");
+        }
+
+        int splitNum = DEFAULT_SPLIT_NUM;
+        String splitNumStr = properties.get(SPLIT_NUM);
+        if (!Strings.isNullOrEmpty(splitNumStr)) {
+            try {
+                splitNum = Integer.parseInt(splitNumStr);
+            } catch (NumberFormatException e) {
+                throw new DdlException("property " + SPLIT_NUM + " must be a number");
+            }
+            if (splitNum <= 0 || splitNum > MAX_SPLIT_NUM) {
+                throw new DdlException("property " + SPLIT_NUM + " must be in [1, " + MAX_SPLIT_NUM + "]");
+            }
+        }
+
+        String lowerBound = properties.get(SPLIT_LOWER_BOUND);
+        String upperBound = properties.get(SPLIT_UPPER_BOUND);
+        if (Strings.isNullOrEmpty(lowerBound) || Strings.isNullOrEmpty(upperBound)) {
+            throw new DdlException("property " + SPLIT_LOWER_BOUND + " and " + SPLIT_UPPER_BOUND
+                    + " must be set with " + SPLIT_COLUMN);
+        }
+        try {
+            if (toLong(type, lowerBound).compareTo(toLong(type, upperBound)) > 0) {
+                throw new DdlException("property " + SPLIT_LOWER_BOUND + " must not be greater than "
+                        + SPLIT_UPPER_BOUND);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new DdlException(e.getMessage());
+        }
+        return new RemoteTableSplitProperty(splitColumn.getName(), splitNum, lowerBound, upperBound);
+    }
+
+    /**
+     * Read the split property written by {@link #toProperties}, return null if there is none.
+     */
+    public static RemoteTableSplitProperty fromProperties(Map<String, String> properties) {
+        String column = properties.get(SPLIT_COLUMN);
+        if (column == null) {
+            return null;
+        }
+        return new RemoteTableSplitProperty(column, Integer.parseInt(properties.get(SPLIT_NUM)),
+                properties.get(SPLIT_LOWER_BOUND), properties.get(SPLIT_UPPER_BOUND));
+    }
+
+    public void toProperties(Map<String, String> properties) {
+        properties.put(SPLIT_COLUMN, column);
+        properties.put(SPLIT_NUM, String.valueOf(splitNum));
+        properties.put(SPLIT_LOWER_BOUND, lowerBound);
+        properties.put(SPLIT_UPPER_BOUND, upperBound);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getSplitNum() {
+        return splitNum;
+    }
+
+    /**
+     * Return the predicates of the ranges on the split column, whose name in the query is quotedColumn,
+     * or an empty list if the column can't be split into more than one range.
+     */
+    public List<String> getRangeFilters(Type type, String quotedColumn) {
+        BigInteger lower = toLong(type, lowerBound);
+        BigInteger span = toLong(type, upperBound).subtract(lower).add(BigInteger.ONE);
+        int numRanges = span.min(BigInteger.valueOf(splitNum)).intValue();
+        if (numRanges <= 1) {
+            return Lists.newArrayList();
+        }
+
+        List<String> boundaries = Lists.newArrayList();
+        for (int i = 1; i < numRanges; i++) {
+            BigInteger boundary = lower.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(numRanges)));
+            boundaries.add(toLiteral(type, boundary));
+        }
+
+        List<String> filters = Lists.newArrayList();
+        filters.add(quotedColumn + " < " + boundaries.get(0) + " OR " + quotedColumn + " IS NULL");
+        for (int i = 1; i < boundaries.size(); i++) {
+            filters.add(quotedColumn + " >= " + boundaries.get(i - 1) + " AND " + quotedColumn + " < "
+                    + boundaries.get(i));
+        }
+        filters.add(quotedColumn + " >= " + boundaries.get(boundaries.size() - 1));
+        return filters;
+    }
+
+    // integer value, days of date or seconds of datetime
+    private static BigInteger toLong(Type type, String value) {
+        try {
+            if (type.isDate()) {
+                return BigInteger.valueOf(LocalDate.parse(value, DATE_FORMATTER).toEpochDay());
+            } else if (type.isDatetime()) {
+                return BigInteger.valueOf(
+                        LocalDateTime.parse(value, DATETIME_FORMATTER).toEpochSecond(ZoneOffset.UTC));
+            } else {
+                return new BigInteger(value);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid split bound " + value + " of type " + type, e);
+        }
+    }
+
+    private static String toLiteral(Type type, BigInteger value) {
+        if (type.isDate()) {
+            return "'" + LocalDate.ofEpochDay(value.longValue()).format(DATE_FORMATTER) + "'";
+        } else if (type.isDatetime()) {
+            return "'" + LocalDateTime.ofEpochSecond(value.longValue(), 0, ZoneOffset.UTC).format(DATETIME_FORMATTER)
+                    + "'";
+        } else {
+            Preconditions.checkState(type.isIntegerType());
+            return value.toString();
+        }
+    }
+}
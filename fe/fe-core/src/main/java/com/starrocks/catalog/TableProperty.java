@@ -34,7 +34,9 @@ import com.starrocks.thrift.TStorageFormat;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,6 +59,10 @@ public class TableProperty implements Writable {
 
     private boolean enablePersistentIndex = false;
 
+    // unenforced constraints used by the optimizer
+    private List<UniqueConstraint> uniqueConstraints = Collections.emptyList();
+    private List<ForeignKeyConstraint> foreignKeyConstraints = Collections.emptyList();
+
     /*
      * the default storage format of this table.
      * DEFAULT: depends on BE's config 'default_rowset_type'
@@ -138,6 +144,14 @@ public class TableProperty implements Writable {
         return this;
     }
 
+    public TableProperty buildConstraint() {
+        uniqueConstraints = UniqueConstraint.parse(
+                properties.getOrDefault(PropertyAnalyzer.PROPERTIES_UNIQUE_CONSTRAINT, ""));
+        foreignKeyConstraints = ForeignKeyConstraint.parse(
+                properties.getOrDefault(PropertyAnalyzer.PROPERTIES_FOREIGN_KEY_CONSTRAINT, ""));
+        return this;
+    }
+
     public void modifyTableProperties(Map<String, String> modifyProperties) {
         properties.putAll(modifyProperties);
     }
@@ -166,6 +180,14 @@ public class TableProperty implements Writable {
         return enablePersistentIndex;
     }
 
+    public List<UniqueConstraint> getUniqueConstraints() {
+        return uniqueConstraints;
+    }
+
+    public List<ForeignKeyConstraint> getForeignKeyConstraints() {
+        return foreignKeyConstraints;
+    }
+
     public TStorageFormat getStorageFormat() {
         return storageFormat;
     }
@@ -198,6 +220,7 @@ public class TableProperty implements Writable {
                 .buildReplicationNum()
                 .buildInMemory()
                 .buildStorageFormat()
-                .buildEnablePersistentIndex();
+                .buildEnablePersistentIndex()
+                .buildConstraint();
     }
 }
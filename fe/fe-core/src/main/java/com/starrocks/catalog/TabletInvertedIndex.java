@@ -24,6 +24,7 @@ package com.starrocks.catalog;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -109,7 +110,13 @@ public class TabletInvertedIndex {
         this.lock.writeLock().unlock();
     }
 
-    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
+    /**
+     * Diff the tablets reported by backend with the replicas on it in meta.
+     * If removedTabletIds is not null, the report is incremental: backendTablets only contains the tablets
+     * changed since the last report and removedTabletIds are the tablets dropped since then, so only the
+     * replicas of these tablets are checked.
+     */
+    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, Set<Long> removedTabletIds,
                              final HashMap<Long, TStorageMedium> storageMediumMap,
                              ListMultimap<Long, Long> tabletSyncMap,
                              ListMultimap<Long, Long> tabletDeleteFromMeta,
@@ -140,6 +147,16 @@ public class TabletInvertedIndex {
         try {
             LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
             Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
+            if (replicaMetaWithBackend != null && removedTabletIds != null) {
+                Map<Long, Replica> changedReplicas = Maps.newHashMap();
+                for (long tabletId : Iterables.concat(backendTablets.keySet(), removedTabletIds)) {
+                    Replica replica = replicaMetaWithBackend.get(tabletId);
+                    if (replica != null) {
+                        changedReplicas.put(tabletId, replica);
+                    }
+                }
+                replicaMetaWithBackend = changedReplicas;
+            }
             if (replicaMetaWithBackend != null) {
                 // traverse replicas in meta with this backend
                 for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
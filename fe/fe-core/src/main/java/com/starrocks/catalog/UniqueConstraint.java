@@ -0,0 +1,48 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.catalog;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A unique key of an OLAP table, which is implied by the keys of a UNIQUE/PRIMARY/AGGREGATE table, or declared by
+ * the property "unique_constraints" = "c1, c2; c3". The declared ones aren't enforced, the optimizer trusts them.
+ */
+public class UniqueConstraint {
+    private final List<String> columns;
+
+    public UniqueConstraint(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    // Whether the given columns contain this unique key, then the given columns are unique too
+    public boolean isContainedBy(Collection<String> columnNames) {
+        return columns.stream().allMatch(column -> columnNames.stream().anyMatch(column::equalsIgnoreCase));
+    }
+
+    public static List<UniqueConstraint> parse(String constraintDescs) {
+        List<UniqueConstraint> constraints = Lists.newArrayList();
+        for (String constraintDesc : Splitter.on(";").trimResults().omitEmptyStrings().split(constraintDescs)) {
+            List<String> columns = Splitter.on(",").trimResults().splitToList(constraintDesc);
+            if (columns.stream().anyMatch(String::isEmpty)) {
+                throw new IllegalArgumentException("Invalid unique constraint: " + constraintDesc);
+            }
+            constraints.add(new UniqueConstraint(columns));
+        }
+        return constraints;
+    }
+
+    @Override
+    public String toString() {
+        return Joiner.on(", ").join(columns);
+    }
+}
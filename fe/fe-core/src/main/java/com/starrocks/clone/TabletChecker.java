@@ -218,91 +218,97 @@ public class TabletChecker extends MasterDaemon {
                     }
 
                     OlapTable olapTbl = (OlapTable) table;
-                    for (Partition partition : catalog.getAllPartitionsIncludeRecycleBin(olapTbl)) {
-                        if (partition.isUseStarOS()) {
-                            // replicas are managed by StarOS and cloud storage.
-                            continue;
-                        }
-
-                        if (partition.getState() != PartitionState.NORMAL) {
-                            // when alter job is in FINISHING state, partition state will be set to NORMAL,
-                            // and we can schedule the tablets in it.
-                            continue;
-                        }
-                        short replicaNum = catalog.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
-                                partition.getId());
-                        if (replicaNum == (short) -1) {
-                            continue;
-                        }
-                        boolean isInPrios = isInPrios(dbId, table.getId(), partition.getId());
-                        boolean prioPartIsHealthy = true;
-                        /*
-                         * Tablet in SHADOW index can not be repaired of balanced
-                         */
-                        for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
-                            for (Tablet tablet : idx.getTablets()) {
-                                LocalTablet localTablet = (LocalTablet) tablet;
-                                totalTabletNum++;
-
-                                if (tabletScheduler.containsTablet(tablet.getId())) {
-                                    tabletInScheduler++;
-                                    continue;
-                                }
-
-                                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
-                                        localTablet.getHealthStatusWithPriority(
-                                                infoService,
-                                                db.getClusterName(),
-                                                partition.getVisibleVersion(),
-                                                replicaNum,
-                                                aliveBeIdsInCluster);
-
-                                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                                    // Only set last status check time when status is healthy.
-                                    localTablet.setLastStatusCheckTime(start);
-                                    continue;
-                                } else if (isInPrios) {
-                                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                                    prioPartIsHealthy = false;
-                                }
-
-                                unhealthyTabletNum++;
-
-                                if (!localTablet.readyToBeRepaired(statusWithPrio.second)) {
-                                    tabletNotReady++;
-                                    continue;
-                                }
+                    // replicas and versions of the table are changed under its write lock
+                    olapTbl.readLock();
+                    try {
+                        for (Partition partition : catalog.getAllPartitionsIncludeRecycleBin(olapTbl)) {
+                            if (partition.isUseStarOS()) {
+                                // replicas are managed by StarOS and cloud storage.
+                                continue;
+                            }
 
-                                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                                        TabletSchedCtx.Type.REPAIR,
-                                        db.getClusterName(),
-                                        db.getId(), olapTbl.getId(),
-                                        partition.getId(), idx.getId(), tablet.getId(),
-                                        System.currentTimeMillis());
-                                // the tablet status will be set again when being scheduled
-                                tabletCtx.setTabletStatus(statusWithPrio.first);
-                                tabletCtx.setOrigPriority(statusWithPrio.second);
-
-                                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                                if (res == AddResult.LIMIT_EXCEED) {
-                                    LOG.info("number of scheduling tablets in tablet scheduler"
-                                            + " exceed to limit. stop tablet checker");
-                                    break OUT;
-                                } else if (res == AddResult.ADDED) {
-                                    addToSchedulerTabletNum++;
+                            if (partition.getState() != PartitionState.NORMAL) {
+                                // when alter job is in FINISHING state, partition state will be set to NORMAL,
+                                // and we can schedule the tablets in it.
+                                continue;
+                            }
+                            short replicaNum = catalog.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
+                                    partition.getId());
+                            if (replicaNum == (short) -1) {
+                                continue;
+                            }
+                            boolean isInPrios = isInPrios(dbId, table.getId(), partition.getId());
+                            boolean prioPartIsHealthy = true;
+                            /*
+                             * Tablet in SHADOW index can not be repaired of balanced
+                             */
+                            for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+                                for (Tablet tablet : idx.getTablets()) {
+                                    LocalTablet localTablet = (LocalTablet) tablet;
+                                    totalTabletNum++;
+
+                                    if (tabletScheduler.containsTablet(tablet.getId())) {
+                                        tabletInScheduler++;
+                                        continue;
+                                    }
+
+                                    Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
+                                            localTablet.getHealthStatusWithPriority(
+                                                    infoService,
+                                                    db.getClusterName(),
+                                                    partition.getVisibleVersion(),
+                                                    replicaNum,
+                                                    aliveBeIdsInCluster);
+
+                                    if (statusWithPrio.first == TabletStatus.HEALTHY) {
+                                        // Only set last status check time when status is healthy.
+                                        localTablet.setLastStatusCheckTime(start);
+                                        continue;
+                                    } else if (isInPrios) {
+                                        statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+                                        prioPartIsHealthy = false;
+                                    }
+
+                                    unhealthyTabletNum++;
+
+                                    if (!localTablet.readyToBeRepaired(statusWithPrio.second)) {
+                                        tabletNotReady++;
+                                        continue;
+                                    }
+
+                                    TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                                            TabletSchedCtx.Type.REPAIR,
+                                            db.getClusterName(),
+                                            db.getId(), olapTbl.getId(),
+                                            partition.getId(), idx.getId(), tablet.getId(),
+                                            System.currentTimeMillis());
+                                    // the tablet status will be set again when being scheduled
+                                    tabletCtx.setTabletStatus(statusWithPrio.first);
+                                    tabletCtx.setOrigPriority(statusWithPrio.second);
+
+                                    AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+                                    if (res == AddResult.LIMIT_EXCEED) {
+                                        LOG.info("number of scheduling tablets in tablet scheduler"
+                                                + " exceed to limit. stop tablet checker");
+                                        break OUT;
+                                    } else if (res == AddResult.ADDED) {
+                                        addToSchedulerTabletNum++;
+                                    }
                                 }
+                            } // indices
+
+                            if (prioPartIsHealthy && isInPrios) {
+                                // if all replicas in this partition are healthy, remove this partition from
+                                // priorities.
+                                LOG.debug("partition is healthy, remove from prios: {}-{}-{}",
+                                        db.getId(), olapTbl.getId(), partition.getId());
+                                removePrios(new RepairTabletInfo(db.getId(),
+                                        olapTbl.getId(), Lists.newArrayList(partition.getId())));
                             }
-                        } // indices
-
-                        if (prioPartIsHealthy && isInPrios) {
-                            // if all replicas in this partition are healthy, remove this partition from
-                            // priorities.
-                            LOG.debug("partition is healthy, remove from prios: {}-{}-{}",
-                                    db.getId(), olapTbl.getId(), partition.getId());
-                            removePrios(new RepairTabletInfo(db.getId(),
-                                    olapTbl.getId(), Lists.newArrayList(partition.getId())));
-                        }
-                    } // partitions
+                        } // partitions
+                    } finally {
+                        olapTbl.readUnlock();
+                    }
                 } // tables
             } finally {
                 db.readUnlock();
@@ -33,6 +33,7 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Replica.ReplicaState;
+import com.starrocks.catalog.Table;
 import com.starrocks.clone.DiskAndTabletLoadReBalancer.BalanceType;
 import com.starrocks.clone.SchedException.Status;
 import com.starrocks.clone.TabletScheduler.PathSlot;
@@ -647,7 +648,14 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
             // clear all CLONE replicas
             Database db = Catalog.getCurrentCatalog().getDbIncludeRecycleBin(dbId);
             if (db != null) {
-                db.writeLock();
+                // this may be called in TabletScheduler.scheduleTablet(), which holds the db read lock,
+                // so the db write lock can't be taken here
+                db.readLock();
+                Table tbl = Catalog.getCurrentCatalog().getTableIncludeRecycleBin(db, tblId);
+                OlapTable lockedTbl = tbl instanceof OlapTable ? (OlapTable) tbl : null;
+                if (lockedTbl != null) {
+                    lockedTbl.writeLock();
+                }
                 try {
                     List<Replica> cloneReplicas = Lists.newArrayList();
                     tablet.getReplicas().stream().filter(r -> r.getState() == ReplicaState.CLONE).forEach(
@@ -658,7 +666,10 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
                     }
 
                 } finally {
-                    db.writeUnlock();
+                    if (lockedTbl != null) {
+                        lockedTbl.writeUnlock();
+                    }
+                    db.readUnlock();
                 }
             }
         }
@@ -830,12 +841,16 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
         if (db == null) {
             throw new SchedException(Status.UNRECOVERABLE, "db does not exist");
         }
-        db.writeLock();
+        // only replicas of this table are changed, so hold the table write lock under the db read lock
+        OlapTable lockedTbl = null;
+        db.readLock();
         try {
             OlapTable olapTable = (OlapTable) catalog.getTableIncludeRecycleBin(db, tblId);
             if (olapTable == null) {
                 throw new SchedException(Status.UNRECOVERABLE, "tbl does not exist");
             }
+            olapTable.writeLock();
+            lockedTbl = olapTable;
 
             Partition partition = catalog.getPartitionIncludeRecycleBin(olapTable, partitionId);
             if (partition == null) {
@@ -880,7 +895,10 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
             }
             throw e;
         } finally {
-            db.writeUnlock();
+            if (lockedTbl != null) {
+                lockedTbl.writeUnlock();
+            }
+            db.readUnlock();
         }
 
         if (request.isSetCopy_size()) {
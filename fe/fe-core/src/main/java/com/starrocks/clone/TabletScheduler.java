@@ -502,12 +502,16 @@ public class TabletScheduler extends MasterDaemon {
         }
 
         Pair<TabletStatus, TabletSchedCtx.Priority> statusPair;
-        db.writeLock();
+        // only replicas of this table are changed, so hold the table write lock under the db read lock
+        OlapTable lockedTbl = null;
+        db.readLock();
         try {
             OlapTable tbl = (OlapTable) catalog.getTableIncludeRecycleBin(db, tabletCtx.getTblId());
             if (tbl == null) {
                 throw new SchedException(Status.UNRECOVERABLE, "tbl does not exist");
             }
+            tbl.writeLock();
+            lockedTbl = tbl;
 
             boolean isColocateTable = colocateTableIndex.isColocateTable(tbl.getId());
 
@@ -609,7 +613,10 @@ public class TabletScheduler extends MasterDaemon {
 
             handleTabletByTypeAndStatus(statusPair.first, tabletCtx, batchTask);
         } finally {
-            db.writeUnlock();
+            if (lockedTbl != null) {
+                lockedTbl.writeUnlock();
+            }
+            db.readUnlock();
         }
     }
 
@@ -216,6 +216,25 @@ public class Config extends ConfigBase {
     @ConfField
     public static String tmp_dir = StarRocksFE.STARROCKS_HOME_DIR + "/temp_dir";
 
+    /**
+     * The compressed query profiles kept in memory, older profiles are spilled to files under tmp_dir/profile.
+     */
+    @ConfField(mutable = true)
+    public static long profile_max_memory_bytes = 64L * 1024 * 1024;
+
+    /**
+     * The number of files which the spilled query profiles are written to in turn,
+     * the profiles in a file are dropped when it is written again. 0 means profiles are not spilled.
+     */
+    @ConfField
+    public static int profile_spill_file_num = 8;
+
+    /**
+     * The max size of each profile spill file.
+     */
+    @ConfField(mutable = true)
+    public static long profile_spill_file_max_bytes = 64L * 1024 * 1024;
+
     /**
      * Edit log type.
      * BDB: write log to bdbje
@@ -236,6 +255,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * The max number of meta journals written to bdbje in one transaction by the master FE.
+     * Journals logged concurrently are committed together, which shares one sync and replication.
+     */
+    @ConfField(mutable = true)
+    public static int edit_log_write_batch_max_num = 1024;
+
     /**
      * whether ignore unknown log id
      * when fe rolls back to low version, there may be log id that low version fe can not recognise
@@ -442,6 +468,22 @@ public class Config extends ConfigBase {
     @ConfField
     public static boolean enable_brpc_share_channel = true;
 
+    /**
+     * The number of fetch data rpcs the FE keeps in flight for the result of a query,
+     * so that the next batch is transferred while the current batch is sent to the client.
+     */
+    @ConfField(mutable = true)
+    public static int result_fetch_prefetch_num = 2;
+
+    /**
+     * Whether to deploy the instances of a fragment on the same backend with one rpc,
+     * in which the parts shared by these instances are serialized only once.
+     * Only enable it after all backends are upgraded to a version with the exec_batch_plan_fragments rpc,
+     * queries fail on the backends without it.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_batch_deploy_fragments = false;
+
     /**
      * FE mysql server port
      */
@@ -834,6 +876,46 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_query_retry_time = 2;
 
+    /**
+     * The max number of statements prepared by COM_STMT_PREPARE in one connection.
+     */
+    @ConfField(mutable = true)
+    public static int max_prepared_statement_per_connection = 1024;
+
+    /**
+     * The max number of cached plans for one prepared statement, one plan for each distinct set of
+     * bound parameters, evicted in LRU order.
+     */
+    @ConfField(mutable = true)
+    public static int max_cached_plan_per_prepared_statement = 16;
+
+    /**
+     * A cached plan is re-planned after this many seconds even if none of its tables changed,
+     * so that replica and backend changes are picked up.
+     */
+    @ConfField(mutable = true)
+    public static long cached_plan_expire_second = 600;
+
+    /**
+     * The max number of plans in the plan cache shared by all connections of this FE,
+     * the plan cache is used by queries with session variable enable_plan_cache = true.
+     */
+    @ConfField
+    public static int plan_cache_capacity = 4096;
+
+    /**
+     * The max bytes of query results cached in this FE,
+     * the result cache is used by queries with session variable enable_query_result_cache = true.
+     */
+    @ConfField
+    public static long query_result_cache_max_bytes = 256L * 1024 * 1024;
+
+    /**
+     * The result of a query is not cached if it is larger than this.
+     */
+    @ConfField(mutable = true)
+    public static long query_result_cache_max_bytes_per_query = 1024L * 1024;
+
     /**
      * In order not to wait too long for create table(index), set a max timeout.
      */
@@ -894,6 +976,12 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long catalog_try_lock_timeout_ms = 5000; // 5 sec
 
+    /**
+     * If a database or table lock is waited for longer than this, the owner and the waiters of the lock are logged.
+     */
+    @ConfField(mutable = true)
+    public static long slow_lock_threshold_ms = 3000;
+
     /**
      * if this is set to true
      * all pending load job will failed when call begin txn api
@@ -987,6 +1075,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int report_queue_size = 100;
 
+    /**
+     * If true, backends send only the tablets changed since the last acked tablet report,
+     * instead of all tablets every time.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_incremental_tablet_report = true;
+
+    /**
+     * Max interval between two full tablet reports of a backend when incremental tablet report is enabled.
+     * A full report is still needed to find replicas which are changed in meta only.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_report_full_interval_second = 1800;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1248,6 +1350,45 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean enable_statistic_collect = true;
 
+    /**
+     * Whether to collect the histogram and the most common values of columns with the column statistics
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_statistic_collect_histogram = true;
+
+    /**
+     * The bucket number of the equi-height histogram of a column
+     */
+    @ConfField(mutable = true)
+    public static long histogram_buckets_size = 64;
+
+    /**
+     * The number of the most common values of a column
+     */
+    @ConfField(mutable = true)
+    public static long histogram_mcv_size = 100;
+
+    /**
+     * Whether the full statistics collection is done by partition, only the partitions which are changed since
+     * the last collection are scanned, and the statistics of the partitions are merged into the table's
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_statistic_collect_by_partition = true;
+
+    /**
+     * Whether to collect and use the distinct values of the column groups which are specified in the
+     * 'column_groups' property of analyze, e.g. 'city,country;product,category'
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_statistic_collect_multi_column = true;
+
+    /**
+     * The max number of the values of a low cardinality string column's global dict, not more than 65535.
+     * Whether a column with a dict is rewritten is decided by the estimated benefit.
+     */
+    @ConfField(mutable = true)
+    public static int low_cardinality_dict_max_size = 65535;
+
     /**
      * If set to true, Planner will try to select replica of tablet on same host as this Frontend.
      * This may reduce network transmission in following case:
@@ -1294,6 +1435,16 @@ public class Config extends ConfigBase {
     @ConfField
     public static long hive_meta_cache_ttl_s = 3600L * 24L;
 
+    /**
+     * If set to true, the file listings and stats of hive partitions are also kept on local disk, so that they
+     * are reused after fe restarts as long as the partition directories are not modified.
+     */
+    @ConfField
+    public static boolean enable_hive_meta_persistent_cache = false;
+
+    @ConfField
+    public static String hive_meta_persistent_cache_dir = StarRocksFE.STARROCKS_HOME_DIR + "/hive_meta_cache";
+
     /**
      * Hive MetaStore Client socket timeout in seconds.
      */
@@ -1343,6 +1494,30 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long hive_max_split_size = 64L * 1024L * 1024L;
 
+    /**
+     * Number of scan ranges of an external table which are created and assigned to backends at a time.
+     * Larger batches balance the scanned bytes among backends better, but need more memory.
+     */
+    @ConfField(mutable = true)
+    public static int external_scan_range_batch_size = 4096;
+
+    /**
+     * If set to true, the data files of the latest planned snapshot of every iceberg table are cached, so that
+     * planning and statistics of the same snapshot read no manifest, and a newer snapshot only reads the
+     * manifests written since the cached one.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_iceberg_manifest_cache = true;
+
+    /**
+     * Max number of data files cached by the iceberg manifest cache, of all the tables.
+     */
+    @ConfField
+    public static long iceberg_manifest_cache_max_file_num = 500000L;
+
+    @ConfField
+    public static long iceberg_manifest_cache_ttl_s = 3600L * 24L;
+
     /**
      * fe will call es api to get es index shard info every es_state_sync_interval_secs
      */
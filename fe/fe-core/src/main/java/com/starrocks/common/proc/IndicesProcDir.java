@@ -133,7 +133,7 @@ public class IndicesProcDir implements ProcDirInterface {
             if (materializedIndex == null) {
                 throw new AnalysisException("Index[" + indexId + "] does not exist.");
             }
-            return new TabletsProcDir(db, partition, materializedIndex);
+            return new TabletsProcDir(db, olapTable, partition, materializedIndex);
         } finally {
             db.readUnlock();
         }
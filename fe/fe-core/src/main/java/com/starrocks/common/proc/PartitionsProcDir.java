@@ -219,6 +219,8 @@ public class PartitionsProcDir implements ProcDirInterface {
         // get info
         List<List<Comparable>> partitionInfos = new ArrayList<List<Comparable>>();
         db.readLock();
+        // versions, sizes and row counts of the partitions are changed under the table write lock
+        olapTable.readLock();
         try {
             List<Long> partitionIds;
             PartitionInfo tblPartitionInfo = olapTable.getPartitionInfo();
@@ -304,6 +306,7 @@ public class PartitionsProcDir implements ProcDirInterface {
                 partitionInfos.add(partitionInfo);
             }
         } finally {
+            olapTable.readUnlock();
             db.readUnlock();
         }
         return partitionInfos;
@@ -128,41 +128,47 @@ public class StatisticProcDir implements ProcDirInterface {
                     ++dbTableNum;
                     OlapTable olapTable = (OlapTable) table;
 
-                    for (Partition partition : olapTable.getAllPartitions()) {
-                        boolean useStarOS = partition.isUseStarOS();
-                        short replicationNum = olapTable.getPartitionInfo().getReplicationNum(partition.getId());
-                        ++dbPartitionNum;
-                        for (MaterializedIndex materializedIndex : partition
-                                .getMaterializedIndices(IndexExtState.VISIBLE)) {
-                            ++dbIndexNum;
-                            for (Tablet tablet : materializedIndex.getTablets()) {
-                                ++dbTabletNum;
-
-                                if (useStarOS) {
-                                    continue;
-                                }
-
-                                LocalTablet localTablet = (LocalTablet) tablet;
-                                dbReplicaNum += localTablet.getReplicas().size();
-
-                                Pair<TabletStatus, Priority> res = localTablet.getHealthStatusWithPriority(
-                                        infoService, db.getClusterName(),
-                                        partition.getVisibleVersion(),
-                                        replicationNum, aliveBeIdsInCluster);
-
-                                // here we treat REDUNDANT as HEALTHY, for user friendly.
-                                if (res.first != TabletStatus.HEALTHY && res.first != TabletStatus.REDUNDANT
-                                        && res.first != TabletStatus.COLOCATE_REDUNDANT &&
-                                        res.first != TabletStatus.NEED_FURTHER_REPAIR) {
-                                    unhealthyTabletIds.put(dbId, tablet.getId());
-                                }
-
-                                if (!localTablet.isConsistent()) {
-                                    inconsistentTabletIds.put(dbId, tablet.getId());
-                                }
-                            } // end for tablets
-                        } // end for indices
-                    } // end for partitions
+                    // replicas and versions of the table are changed under its write lock
+                    olapTable.readLock();
+                    try {
+                        for (Partition partition : olapTable.getAllPartitions()) {
+                            boolean useStarOS = partition.isUseStarOS();
+                            short replicationNum = olapTable.getPartitionInfo().getReplicationNum(partition.getId());
+                            ++dbPartitionNum;
+                            for (MaterializedIndex materializedIndex : partition
+                                    .getMaterializedIndices(IndexExtState.VISIBLE)) {
+                                ++dbIndexNum;
+                                for (Tablet tablet : materializedIndex.getTablets()) {
+                                    ++dbTabletNum;
+
+                                    if (useStarOS) {
+                                        continue;
+                                    }
+
+                                    LocalTablet localTablet = (LocalTablet) tablet;
+                                    dbReplicaNum += localTablet.getReplicas().size();
+
+                                    Pair<TabletStatus, Priority> res = localTablet.getHealthStatusWithPriority(
+                                            infoService, db.getClusterName(),
+                                            partition.getVisibleVersion(),
+                                            replicationNum, aliveBeIdsInCluster);
+
+                                    // here we treat REDUNDANT as HEALTHY, for user friendly.
+                                    if (res.first != TabletStatus.HEALTHY && res.first != TabletStatus.REDUNDANT
+                                            && res.first != TabletStatus.COLOCATE_REDUNDANT &&
+                                            res.first != TabletStatus.NEED_FURTHER_REPAIR) {
+                                        unhealthyTabletIds.put(dbId, tablet.getId());
+                                    }
+
+                                    if (!localTablet.isConsistent()) {
+                                        inconsistentTabletIds.put(dbId, tablet.getId());
+                                    }
+                                } // end for tablets
+                            } // end for indices
+                        } // end for partitions
+                    } finally {
+                        olapTable.readUnlock();
+                    }
                 } // end for tables
 
                 List<Comparable> oneLine = new ArrayList<Comparable>(TITLE_NAMES.size());
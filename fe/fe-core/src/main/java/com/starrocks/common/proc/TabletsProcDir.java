@@ -29,6 +29,7 @@ import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.LocalTablet;
 import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.StarOSTablet;
@@ -67,11 +68,13 @@ public class TabletsProcDir implements ProcDirInterface {
     }
 
     private final Database db;
+    private final OlapTable table;
     private final Partition partition;
     private final MaterializedIndex index;
 
-    public TabletsProcDir(Database db, Partition partition, MaterializedIndex index) {
+    public TabletsProcDir(Database db, OlapTable table, Partition partition, MaterializedIndex index) {
         this.db = db;
+        this.table = table;
         this.partition = partition;
         this.index = index;
     }
@@ -88,11 +91,14 @@ public class TabletsProcDir implements ProcDirInterface {
 
     public List<List<Comparable>> fetchComparableResult(long version, long backendId, Replica.ReplicaState state) {
         Preconditions.checkNotNull(db);
+        Preconditions.checkNotNull(table);
         Preconditions.checkNotNull(index);
         ImmutableMap<Long, Backend> backendMap = Catalog.getCurrentSystemInfo().getIdToBackend();
 
         List<List<Comparable>> tabletInfos = new ArrayList<List<Comparable>>();
         db.readLock();
+        // replicas and versions of the table are changed under its write lock
+        table.readLock();
         try {
             if (partition.isUseStarOS()) {
                 for (Tablet tablet : index.getTablets()) {
@@ -218,6 +224,7 @@ public class TabletsProcDir implements ProcDirInterface {
                 }
             }
         } finally {
+            table.readUnlock();
             db.readUnlock();
         }
         return tabletInfos;
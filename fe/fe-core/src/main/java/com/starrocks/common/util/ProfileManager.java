@@ -24,20 +24,28 @@ package com.starrocks.common.util;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /*
  * if you want to visit the atrribute(such as queryID,defaultDb)
@@ -47,11 +55,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
  * why the element in the finished profile arary is not RuntimeProfile,
  * the purpose is let coordinator can destruct earlier(the fragment profile is in Coordinator)
  *
+ * A finished profile is kept serialized by RuntimeProfile.write() and compressed, and it is only printed
+ * when it is requested. The newest profiles are kept in memory up to profile_max_memory_bytes, older ones
+ * are spilled to a ring of profile_spill_file_num files under tmp_dir, and dropped when their file is reused.
+ * Only writing the spill files is serialized, pushing, evicting and looking up profiles are lock-free.
  */
 public class ProfileManager {
     private static final Logger LOG = LogManager.getLogger(ProfileManager.class);
     private static ProfileManager INSTANCE = null;
-    private static final int ARRAY_SIZE = 1000;
     public static final String QUERY_ID = "Query ID";
     public static final String START_TIME = "Start Time";
     public static final String END_TIME = "End Time";
@@ -66,51 +77,76 @@ public class ProfileManager {
             Arrays.asList(QUERY_ID, USER, DEFAULT_DB, SQL_STATEMENT, QUERY_TYPE,
                     START_TIME, END_TIME, TOTAL_TIME, QUERY_STATE));
 
-    private class ProfileElement {
-        public Map<String, String> infoStrings = Maps.newHashMap();
-        public String profileContent;
-    }
+    private static class ProfileElement {
+        private final Map<String, String> infoStrings = Maps.newHashMap();
+        private final int contentLength;
+        // compressed profile, null after it is spilled
+        private volatile byte[] profileContent;
+        // position in the spill files, spillOffset is set before spillFileSeq
+        private volatile long spillOffset = 0;
+        private volatile long spillFileSeq = -1;
+
+        ProfileElement(byte[] profileContent) {
+            this.profileContent = profileContent;
+            this.contentLength = profileContent.length;
+        }
 
-    // only protect profileDeque; profileMap is concurrent, no need to protect
-    private ReentrantReadWriteLock lock;
-    private ReadLock readLock;
-    private WriteLock writeLock;
+        String getQueryId() {
+            return infoStrings.get(QUERY_ID);
+        }
+    }
 
-    private Deque<ProfileElement> profileDeque;
-    private Map<String, ProfileElement> profileMap; // from QueryId to RuntimeProfile
+    // all the kept profiles, in pushing order
+    private final Deque<ProfileElement> profileDeque = new ConcurrentLinkedDeque<>();
+    // profiles whose content is in memory, in pushing order
+    private final Deque<ProfileElement> memoryDeque = new ConcurrentLinkedDeque<>();
+    private final Map<String, ProfileElement> profileMap = new ConcurrentHashMap<>(); // from QueryId to profile
+    private final AtomicLong memoryBytes = new AtomicLong(0);
+    private final ProfileSpiller spiller;
 
     public static ProfileManager getInstance() {
         if (INSTANCE == null) {
-            INSTANCE = new ProfileManager();
+            INSTANCE = new ProfileManager(new File(Config.tmp_dir, "profile"), Config.profile_spill_file_num);
         }
         return INSTANCE;
     }
 
-    private ProfileManager() {
-        lock = new ReentrantReadWriteLock(true);
-        readLock = lock.readLock();
-        writeLock = lock.writeLock();
-        profileDeque = new LinkedList<ProfileElement>();
-        profileMap = new ConcurrentHashMap<String, ProfileElement>();
+    ProfileManager(File spillDir, int spillFileNum) {
+        spiller = new ProfileSpiller(spillDir, spillFileNum);
     }
 
-    public ProfileElement createElement(RuntimeProfile profile) {
-        ProfileElement element = new ProfileElement();
+    private ProfileElement createElement(RuntimeProfile profile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            profile.write(out);
+        }
+        ProfileElement element = new ProfileElement(bytes.toByteArray());
         RuntimeProfile summaryProfile = profile.getChildList().get(0).first;
         for (String header : PROFILE_HEADERS) {
             element.infoStrings.put(header, summaryProfile.getInfoString(header));
         }
-        element.profileContent = profile.toString();
         return element;
     }
 
-    public String pushProfile(RuntimeProfile profile) {
+    private static RuntimeProfile readProfile(byte[] content) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(content)))) {
+            return RuntimeProfile.read(in);
+        }
+    }
+
+    public void pushProfile(RuntimeProfile profile) {
         if (profile == null) {
-            return "";
+            return;
         }
 
-        ProfileElement element = createElement(profile);
-        String queryId = element.infoStrings.get(ProfileManager.QUERY_ID);
+        ProfileElement element;
+        try {
+            element = createElement(profile);
+        } catch (IOException e) {
+            LOG.warn("failed to serialize profile", e);
+            return;
+        }
+        String queryId = element.getQueryId();
         // check when push in, which can ensure every element in the list has QUERY_ID column,
         // so there is no need to check when remove element from list.
         if (Strings.isNullOrEmpty(queryId)) {
@@ -119,52 +155,152 @@ public class ProfileManager {
         }
 
         profileMap.put(queryId, element);
-        writeLock.lock();
-        try {
-            if (profileDeque.size() >= ARRAY_SIZE) {
-                profileMap.remove(profileDeque.getFirst().infoStrings.get(QUERY_ID));
-                profileDeque.removeFirst();
+        profileDeque.addLast(element);
+        memoryDeque.addLast(element);
+        memoryBytes.addAndGet(element.contentLength);
+
+        while (memoryBytes.get() > Config.profile_max_memory_bytes) {
+            ProfileElement oldest = memoryDeque.pollFirst();
+            if (oldest == null) {
+                break;
+            }
+            if (!spiller.spill(oldest)) {
+                removeElement(oldest);
             }
-            profileDeque.addLast(element);
-        } finally {
-            writeLock.unlock();
+            memoryBytes.addAndGet(-oldest.contentLength);
         }
+    }
 
-        return element.profileContent;
+    private void removeElement(ProfileElement element) {
+        profileMap.remove(element.getQueryId(), element);
+        profileDeque.remove(element);
     }
 
     public List<List<String>> getAllQueries() {
         List<List<String>> result = Lists.newArrayList();
-        readLock.lock();
-        try {
-            Iterator reverse = profileDeque.descendingIterator();
-            while (reverse.hasNext()) {
-                ProfileElement element = (ProfileElement) reverse.next();
-                Map<String, String> infoStrings = element.infoStrings;
-
-                List<String> row = Lists.newArrayList();
-                for (String str : PROFILE_HEADERS) {
-                    row.add(infoStrings.get(str));
-                }
-                result.add(row);
+        Iterator<ProfileElement> reverse = profileDeque.descendingIterator();
+        while (reverse.hasNext()) {
+            ProfileElement element = reverse.next();
+            Map<String, String> infoStrings = element.infoStrings;
+
+            List<String> row = Lists.newArrayList();
+            for (String str : PROFILE_HEADERS) {
+                row.add(infoStrings.get(str));
             }
-        } finally {
-            readLock.unlock();
+            result.add(row);
         }
         return result;
     }
 
     public String getProfile(String queryID) {
-        readLock.lock();
-        try {
-            ProfileElement element = profileMap.get(queryID);
-            if (element == null) {
+        ProfileElement element = profileMap.get(queryID);
+        if (element == null) {
+            return null;
+        }
+
+        byte[] content = element.profileContent;
+        if (content == null) {
+            content = spiller.read(element);
+            if (content == null) {
                 return null;
             }
+        }
+        try {
+            return readProfile(content).toString();
+        } catch (IOException e) {
+            LOG.warn("failed to read profile of {}", queryID, e);
+            return null;
+        }
+    }
+
+    // Appends profiles to the current spill file, and moves to the next file of the ring when it is full.
+    // The file of seq is profile.(seq % fileNum), the profiles in it are dropped when it is reused.
+    private class ProfileSpiller {
+        private final File dir;
+        private final int fileNum;
+        private volatile long currentFileSeq = -1;
+        private RandomAccessFile currentFile = null;
+        private long currentFileSize = 0;
+
+        ProfileSpiller(File dir, int fileNum) {
+            this.dir = dir;
+            this.fileNum = fileNum;
+        }
+
+        private File getFile(long seq) {
+            return new File(dir, "profile." + (seq % fileNum));
+        }
 
-            return element.profileContent;
-        } finally {
-            readLock.unlock();
+        private boolean isValid(long seq) {
+            return seq >= 0 && currentFileSeq < seq + fileNum;
+        }
+
+        // return false if the profile can't be spilled
+        synchronized boolean spill(ProfileElement element) {
+            if (fileNum <= 0) {
+                return false;
+            }
+            try {
+                if (currentFile == null
+                        || (currentFileSize > 0
+                        && currentFileSize + element.contentLength > Config.profile_spill_file_max_bytes)) {
+                    nextFile();
+                }
+                currentFile.seek(currentFileSize);
+                currentFile.write(element.profileContent);
+            } catch (IOException e) {
+                LOG.warn("failed to spill profile of {}", element.getQueryId(), e);
+                return false;
+            }
+            element.spillOffset = currentFileSize;
+            element.spillFileSeq = currentFileSeq;
+            element.profileContent = null;
+            currentFileSize += element.contentLength;
+            return true;
+        }
+
+        private void nextFile() throws IOException {
+            if (currentFile != null) {
+                currentFile.close();
+                currentFile = null;
+            }
+            // invalidate the profiles in the reused file before overwriting it
+            long seq = currentFileSeq + 1;
+            currentFileSeq = seq;
+            if (seq >= fileNum) {
+                long reusedSeq = seq - fileNum;
+                Iterator<ProfileElement> iterator = profileDeque.iterator();
+                while (iterator.hasNext()) {
+                    ProfileElement element = iterator.next();
+                    if (element.spillFileSeq == reusedSeq) {
+                        iterator.remove();
+                        profileMap.remove(element.getQueryId(), element);
+                    }
+                }
+            }
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IOException("failed to create profile spill dir " + dir);
+            }
+            currentFile = new RandomAccessFile(getFile(seq), "rw");
+            currentFile.setLength(0);
+            currentFileSize = 0;
+        }
+
+        byte[] read(ProfileElement element) {
+            long seq = element.spillFileSeq;
+            if (!isValid(seq)) {
+                return null;
+            }
+            byte[] content = new byte[element.contentLength];
+            try (RandomAccessFile file = new RandomAccessFile(getFile(seq), "r")) {
+                file.seek(element.spillOffset);
+                file.readFully(content);
+            } catch (IOException e) {
+                LOG.warn("failed to read spilled profile of {}", element.getQueryId(), e);
+                return null;
+            }
+            // the file may be reused while reading
+            return isValid(seq) ? content : null;
         }
     }
 }
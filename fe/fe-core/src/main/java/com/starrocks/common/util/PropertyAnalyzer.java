@@ -23,15 +23,24 @@ package com.starrocks.common.util;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.DateLiteral;
 import com.starrocks.catalog.AggregateType;
+import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.DataProperty;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.ForeignKeyConstraint;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
+import com.starrocks.catalog.UniqueConstraint;
+import com.starrocks.cluster.ClusterNamespace;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
+import com.starrocks.system.SystemInfoService;
 import com.starrocks.thrift.TStorageFormat;
 import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.thrift.TStorageType;
@@ -84,6 +93,9 @@ public class PropertyAnalyzer {
 
     public static final String PROPERTIES_TABLET_TYPE = "tablet_type";
 
+    public static final String PROPERTIES_UNIQUE_CONSTRAINT = "unique_constraints";
+    public static final String PROPERTIES_FOREIGN_KEY_CONSTRAINT = "foreign_key_constraints";
+
     public static final String PROPERTIES_STRICT_RANGE = "strict_range";
     public static final String PROPERTIES_USE_TEMP_PARTITION_NAME = "use_temp_partition_name";
 
@@ -433,4 +445,76 @@ public class PropertyAnalyzer {
         }
         return type;
     }
+
+    // analyze property like : "unique_constraints" = "c1, c2; c3"
+    public static List<UniqueConstraint> analyzeUniqueConstraint(Map<String, String> properties, OlapTable table)
+            throws AnalysisException {
+        if (properties == null || !properties.containsKey(PROPERTIES_UNIQUE_CONSTRAINT)) {
+            return null;
+        }
+        String constraintDescs = properties.remove(PROPERTIES_UNIQUE_CONSTRAINT);
+        List<UniqueConstraint> constraints = Lists.newArrayList();
+        try {
+            for (UniqueConstraint constraint : UniqueConstraint.parse(constraintDescs)) {
+                constraints.add(new UniqueConstraint(analyzeConstraintColumns(table, constraint.getColumns())));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new AnalysisException(e.getMessage());
+        }
+        return constraints;
+    }
+
+    // analyze property like : "foreign_key_constraints" = "(c1, c2) REFERENCES db.parent(k1, k2); (c3) REFERENCES t(k3)"
+    // the referenced columns should be a unique key of the parent table
+    public static List<ForeignKeyConstraint> analyzeForeignKeyConstraint(Map<String, String> properties,
+                                                                         Database db, OlapTable table)
+            throws AnalysisException {
+        if (properties == null || !properties.containsKey(PROPERTIES_FOREIGN_KEY_CONSTRAINT)) {
+            return null;
+        }
+        String constraintDescs = properties.remove(PROPERTIES_FOREIGN_KEY_CONSTRAINT);
+        List<ForeignKeyConstraint> constraints = Lists.newArrayList();
+        try {
+            for (ForeignKeyConstraint constraint : ForeignKeyConstraint.parse(constraintDescs)) {
+                String parentDbName = constraint.getParentDbName() == null ?
+                        ClusterNamespace.getNameFromFullName(db.getFullName()) : constraint.getParentDbName();
+                Database parentDb = Catalog.getCurrentCatalog().getDb(
+                        ClusterNamespace.getFullName(SystemInfoService.DEFAULT_CLUSTER, parentDbName));
+                Table parentTable = parentDb == null ? null : parentDb.getTable(constraint.getParentTableName());
+                if (!(parentTable instanceof OlapTable)) {
+                    throw new AnalysisException("Invalid foreign key constraint: OLAP table " + parentDbName + "." +
+                            constraint.getParentTableName() + " does not exist");
+                }
+
+                List<String> parentColumns = analyzeConstraintColumns(parentTable, constraint.getParentColumns());
+                if (((OlapTable) parentTable).getUniqueConstraints().stream()
+                        .noneMatch(uniqueConstraint -> uniqueConstraint.isContainedBy(parentColumns))) {
+                    throw new AnalysisException("Invalid foreign key constraint: " + parentColumns +
+                            " is not a unique key of " + parentTable.getName());
+                }
+                constraints.add(new ForeignKeyConstraint(analyzeConstraintColumns(table, constraint.getColumns()),
+                        parentDbName, parentTable.getName(), parentColumns));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new AnalysisException(e.getMessage());
+        }
+        return constraints;
+    }
+
+    private static List<String> analyzeConstraintColumns(Table table, List<String> columnNames)
+            throws AnalysisException {
+        List<String> columns = Lists.newArrayList();
+        for (String columnName : columnNames) {
+            Column column = table.getColumn(columnName);
+            if (column == null) {
+                throw new AnalysisException(String.format("Invalid constraint column '%s': not exists in %s",
+                        columnName, table.getName()));
+            }
+            if (columns.contains(column.getName())) {
+                throw new AnalysisException(String.format("Duplicate constraint column '%s'", columnName));
+            }
+            columns.add(column.getName());
+        }
+        return columns;
+    }
 }
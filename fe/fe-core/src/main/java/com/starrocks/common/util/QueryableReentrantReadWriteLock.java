@@ -2,6 +2,14 @@
 
 package com.starrocks.common.util;
 
+import com.codahale.metrics.Histogram;
+import com.starrocks.common.Config;
+import com.starrocks.metric.MetricRepo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /*
@@ -9,6 +17,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * which is a protected method of ReentrantReadWriteLock
  */
 public class QueryableReentrantReadWriteLock extends ReentrantReadWriteLock {
+    private static final Logger LOG = LogManager.getLogger(QueryableReentrantReadWriteLock.class);
 
     public QueryableReentrantReadWriteLock(boolean fair) {
         super(fair);
@@ -18,4 +27,33 @@ public class QueryableReentrantReadWriteLock extends ReentrantReadWriteLock {
     public Thread getOwner() {
         return super.getOwner();
     }
+
+    /*
+     * Acquire lock, which is the read or write lock of this lock, like Lock.lock().
+     * If it can't be acquired in Config.slow_lock_threshold_ms, the owner and the waiters are logged,
+     * so that the thread holding a lock for a long time can be found.
+     * The wait time is recorded in waitHistogram if it's not null.
+     */
+    public void lockAndProfile(Lock lock, String type, long id, Histogram waitHistogram) {
+        long startNs = System.nanoTime();
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(Config.slow_lock_threshold_ms, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!locked) {
+            Thread owner = getOwner();
+            LOG.warn("wait for lock of {} {} more than {} ms, read lock count: {}, queue length: {}, owner: {}",
+                    type, id, Config.slow_lock_threshold_ms, getReadLockCount(), getQueueLength(),
+                    owner == null ? "none" : Util.dumpThread(owner, 50));
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_META_LOCK_SLOW_WAIT.increase(1L);
+            }
+            lock.lock();
+        }
+        if (waitHistogram != null && MetricRepo.isInit) {
+            waitHistogram.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs));
+        }
+    }
 }
@@ -27,6 +27,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.common.Pair;
 import com.starrocks.common.Reference;
+import com.starrocks.common.io.Text;
 import com.starrocks.thrift.TCounter;
 import com.starrocks.thrift.TRuntimeProfileNode;
 import com.starrocks.thrift.TRuntimeProfileTree;
@@ -36,6 +37,9 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Formatter;
@@ -256,6 +260,91 @@ public class RuntimeProfile {
         return builder.toString();
     }
 
+    // Serialize everything printed by prettyPrint, children are written in preorder.
+    // Used to keep finished profiles in a compact form until they are printed.
+    public void write(DataOutput out) throws IOException {
+        Text.writeString(out, name);
+        out.writeDouble(localTimePercent);
+
+        out.writeInt(infoStringsDisplayOrder.size());
+        for (String key : infoStringsDisplayOrder) {
+            Text.writeString(out, key);
+            String value = infoStrings.get(key);
+            out.writeBoolean(value != null);
+            if (value != null) {
+                Text.writeString(out, value);
+            }
+        }
+
+        out.writeInt(counterMap.size());
+        for (Map.Entry<String, Counter> entry : counterMap.entrySet()) {
+            Text.writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().getType().getValue());
+            out.writeLong(entry.getValue().getValue());
+        }
+
+        out.writeInt(childCounterMap.size());
+        for (Map.Entry<String, TreeSet<String>> entry : childCounterMap.entrySet()) {
+            Text.writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String childCounterName : entry.getValue()) {
+                Text.writeString(out, childCounterName);
+            }
+        }
+
+        out.writeInt(childList.size());
+        for (Pair<RuntimeProfile, Boolean> pair : childList) {
+            out.writeBoolean(pair.second);
+            pair.first.write(out);
+        }
+    }
+
+    public static RuntimeProfile read(DataInput in) throws IOException {
+        RuntimeProfile profile = new RuntimeProfile(Text.readString(in));
+        profile.localTimePercent = in.readDouble();
+
+        int infoStringNum = in.readInt();
+        for (int i = 0; i < infoStringNum; i++) {
+            String key = Text.readString(in);
+            String value = in.readBoolean() ? Text.readString(in) : null;
+            profile.infoStrings.put(key, value);
+            profile.infoStringsDisplayOrder.add(key);
+        }
+
+        int counterNum = in.readInt();
+        for (int i = 0; i < counterNum; i++) {
+            String counterName = Text.readString(in);
+            TUnit type = TUnit.findByValue(in.readInt());
+            long value = in.readLong();
+            if (counterName.equals("TotalTime")) {
+                profile.counterTotalTime.setType(type);
+                profile.counterTotalTime.setValue(value);
+            } else {
+                profile.counterMap.put(counterName, new Counter(type, value));
+            }
+        }
+
+        int parentCounterNum = in.readInt();
+        for (int i = 0; i < parentCounterNum; i++) {
+            String parentCounterName = Text.readString(in);
+            int childCounterNum = in.readInt();
+            TreeSet<String> childCounters = new TreeSet<>();
+            for (int j = 0; j < childCounterNum; j++) {
+                childCounters.add(Text.readString(in));
+            }
+            profile.childCounterMap.put(parentCounterName, childCounters);
+        }
+
+        int childNum = in.readInt();
+        for (int i = 0; i < childNum; i++) {
+            boolean indent = in.readBoolean();
+            RuntimeProfile child = read(in);
+            profile.childMap.put(child.name, child);
+            profile.childList.add(Pair.create(child, indent));
+        }
+        return profile;
+    }
+
     private void printChildCounters(String prefix, String counterName, StringBuilder builder) {
         if (childCounterMap.get(counterName) == null) {
             return;
@@ -138,75 +138,79 @@ public class CheckConsistencyJob {
                 return false;
             }
             OlapTable olapTable = (OlapTable) table;
+            // replicas and versions of the table are changed under its write lock
+            olapTable.readLock();
+            try {
+                Partition partition = olapTable.getPartition(tabletMeta.getPartitionId());
+                if (partition == null) {
+                    LOG.debug("partition[{}] does not exist", tabletMeta.getPartitionId());
+                    return false;
+                }
 
-            Partition partition = olapTable.getPartition(tabletMeta.getPartitionId());
-            if (partition == null) {
-                LOG.debug("partition[{}] does not exist", tabletMeta.getPartitionId());
-                return false;
-            }
-
-            // check partition's replication num. if 1 replication. skip
-            short replicationNum = olapTable.getPartitionInfo().getReplicationNum(partition.getId());
-            if (replicationNum == (short) 1) {
-                LOG.debug("partition[{}]'s replication num is 1. skip consistency check", partition.getId());
-                return false;
-            }
+                // check partition's replication num. if 1 replication. skip
+                short replicationNum = olapTable.getPartitionInfo().getReplicationNum(partition.getId());
+                if (replicationNum == (short) 1) {
+                    LOG.debug("partition[{}]'s replication num is 1. skip consistency check", partition.getId());
+                    return false;
+                }
 
-            MaterializedIndex index = partition.getIndex(tabletMeta.getIndexId());
-            if (index == null) {
-                LOG.debug("index[{}] does not exist", tabletMeta.getIndexId());
-                return false;
-            }
+                MaterializedIndex index = partition.getIndex(tabletMeta.getIndexId());
+                if (index == null) {
+                    LOG.debug("index[{}] does not exist", tabletMeta.getIndexId());
+                    return false;
+                }
 
-            tablet = (LocalTablet) index.getTablet(tabletId);
-            if (tablet == null) {
-                LOG.debug("tablet[{}] does not exist", tabletId);
-                return false;
-            }
+                tablet = (LocalTablet) index.getTablet(tabletId);
+                if (tablet == null) {
+                    LOG.debug("tablet[{}] does not exist", tabletId);
+                    return false;
+                }
 
-            checkedVersion = partition.getVisibleVersion();
-            checkedSchemaHash = olapTable.getSchemaHashByIndexId(tabletMeta.getIndexId());
+                checkedVersion = partition.getVisibleVersion();
+                checkedSchemaHash = olapTable.getSchemaHashByIndexId(tabletMeta.getIndexId());
 
-            int sentTaskReplicaNum = 0;
-            long maxDataSize = 0;
-            for (Replica replica : tablet.getReplicas()) {
-                // 1. if state is CLONE, do not send task at this time
-                if (replica.getState() == ReplicaState.CLONE
-                        || replica.getState() == ReplicaState.DECOMMISSION) {
-                    continue;
-                }
+                int sentTaskReplicaNum = 0;
+                long maxDataSize = 0;
+                for (Replica replica : tablet.getReplicas()) {
+                    // 1. if state is CLONE, do not send task at this time
+                    if (replica.getState() == ReplicaState.CLONE
+                            || replica.getState() == ReplicaState.DECOMMISSION) {
+                        continue;
+                    }
 
-                if (replica.getDataSize() > maxDataSize) {
-                    maxDataSize = replica.getDataSize();
-                }
+                    if (replica.getDataSize() > maxDataSize) {
+                        maxDataSize = replica.getDataSize();
+                    }
 
-                CheckConsistencyTask task = new CheckConsistencyTask(resourceInfo, replica.getBackendId(),
-                        tabletMeta.getDbId(),
-                        tabletMeta.getTableId(),
-                        tabletMeta.getPartitionId(),
-                        tabletMeta.getIndexId(),
-                        tabletId, checkedSchemaHash,
-                        checkedVersion);
+                    CheckConsistencyTask task = new CheckConsistencyTask(resourceInfo, replica.getBackendId(),
+                            tabletMeta.getDbId(),
+                            tabletMeta.getTableId(),
+                            tabletMeta.getPartitionId(),
+                            tabletMeta.getIndexId(),
+                            tabletId, checkedSchemaHash,
+                            checkedVersion);
 
-                // add task to send
-                batchTask.addTask(task);
+                    // add task to send
+                    batchTask.addTask(task);
 
-                // init checksum as '-1'
-                checksumMap.put(replica.getBackendId(), -1L);
+                    // init checksum as '-1'
+                    checksumMap.put(replica.getBackendId(), -1L);
 
-                ++sentTaskReplicaNum;
-            }
+                    ++sentTaskReplicaNum;
+                }
 
-            if (sentTaskReplicaNum < replicationNum / 2 + 1) {
-                LOG.info("tablet[{}] does not have enough replica to check.", tabletId);
-            } else {
-                if (maxDataSize > 0) {
-                    timeoutMs = maxDataSize / 1000 / 1000 / 1000 * CHECK_CONSISTENCT_TIME_COST_PER_GIGABYTE_MS;
+                if (sentTaskReplicaNum < replicationNum / 2 + 1) {
+                    LOG.info("tablet[{}] does not have enough replica to check.", tabletId);
+                } else {
+                    if (maxDataSize > 0) {
+                        timeoutMs = maxDataSize / 1000 / 1000 / 1000 * CHECK_CONSISTENCT_TIME_COST_PER_GIGABYTE_MS;
+                    }
+                    timeoutMs = Math.max(timeoutMs, Config.check_consistency_default_timeout_second * 1000L);
+                    state = JobState.RUNNING;
                 }
-                timeoutMs = Math.max(timeoutMs, Config.check_consistency_default_timeout_second * 1000L);
-                state = JobState.RUNNING;
+            } finally {
+                olapTable.readUnlock();
             }
-
         } finally {
             db.readUnlock();
         }
@@ -275,75 +275,81 @@ public class ConsistencyChecker extends MasterDaemon {
                     while ((chosenOne = tableQueue.poll()) != null) {
                         OlapTable table = (OlapTable) chosenOne;
 
-                        // sort partitions
-                        Queue<MetaObject> partitionQueue =
-                                new PriorityQueue<>(Math.max(table.getAllPartitions().size(), 1), COMPARATOR);
-                        for (Partition partition : table.getPartitions()) {
-                            if (partition.isUseStarOS()) {
-                                // replicas are managed by StarOS and cloud storage.
-                                continue;
+                        // replicas and versions of the table are changed under its write lock
+                        table.readLock();
+                        try {
+                            // sort partitions
+                            Queue<MetaObject> partitionQueue =
+                                    new PriorityQueue<>(Math.max(table.getAllPartitions().size(), 1), COMPARATOR);
+                            for (Partition partition : table.getPartitions()) {
+                                if (partition.isUseStarOS()) {
+                                    // replicas are managed by StarOS and cloud storage.
+                                    continue;
+                                }
+
+                                // check partition's replication num. if 1 replication. skip
+                                if (table.getPartitionInfo().getReplicationNum(partition.getId()) == (short) 1) {
+                                    LOG.debug("partition[{}]'s replication num is 1. ignore", partition.getId());
+                                    continue;
+                                }
+
+                                // check if this partition has no data
+                                if (partition.getVisibleVersion() == Partition.PARTITION_INIT_VERSION) {
+                                    LOG.debug("partition[{}]'s version is {}. ignore", partition.getId(),
+                                            Partition.PARTITION_INIT_VERSION);
+                                    continue;
+                                }
+                                partitionQueue.add(partition);
                             }
 
-                            // check partition's replication num. if 1 replication. skip
-                            if (table.getPartitionInfo().getReplicationNum(partition.getId()) == (short) 1) {
-                                LOG.debug("partition[{}]'s replication num is 1. ignore", partition.getId());
-                                continue;
-                            }
+                            while ((chosenOne = partitionQueue.poll()) != null) {
+                                Partition partition = (Partition) chosenOne;
 
-                            // check if this partition has no data
-                            if (partition.getVisibleVersion() == Partition.PARTITION_INIT_VERSION) {
-                                LOG.debug("partition[{}]'s version is {}. ignore", partition.getId(),
-                                        Partition.PARTITION_INIT_VERSION);
-                                continue;
-                            }
-                            partitionQueue.add(partition);
-                        }
+                                // sort materializedIndices
+                                List<MaterializedIndex> visibleIndexs =
+                                        partition.getMaterializedIndices(IndexExtState.VISIBLE);
+                                Queue<MetaObject> indexQueue =
+                                        new PriorityQueue<>(Math.max(visibleIndexs.size(), 1), COMPARATOR);
+                                indexQueue.addAll(visibleIndexs);
 
-                        while ((chosenOne = partitionQueue.poll()) != null) {
-                            Partition partition = (Partition) chosenOne;
-
-                            // sort materializedIndices
-                            List<MaterializedIndex> visibleIndexs =
-                                    partition.getMaterializedIndices(IndexExtState.VISIBLE);
-                            Queue<MetaObject> indexQueue =
-                                    new PriorityQueue<>(Math.max(visibleIndexs.size(), 1), COMPARATOR);
-                            indexQueue.addAll(visibleIndexs);
-
-                            while ((chosenOne = indexQueue.poll()) != null) {
-                                MaterializedIndex index = (MaterializedIndex) chosenOne;
-
-                                // sort tablets
-                                Queue<MetaObject> tabletQueue =
-                                        new PriorityQueue<>(Math.max(index.getTablets().size(), 1), COMPARATOR);
-                                tabletQueue.addAll(index.getTablets());
-
-                                while ((chosenOne = tabletQueue.poll()) != null) {
-                                    LocalTablet tablet = (LocalTablet) chosenOne;
-                                    long chosenTabletId = tablet.getId();
-
-                                    if (this.jobs.containsKey(chosenTabletId)) {
-                                        continue;
-                                    }
-
-                                    // check if version has already been checked
-                                    if (partition.getVisibleVersion() == tablet.getCheckedVersion()) {
-                                        if (tablet.isConsistent()) {
-                                            LOG.debug("tablet[{}]'s version[{}-{}] has been checked. ignore",
-                                                    chosenTabletId, tablet.getCheckedVersion());
-                                        }
-                                    } else {
-                                        LOG.info("chose tablet[{}-{}-{}-{}-{}] to check consistency", db.getId(),
-                                                table.getId(), partition.getId(), index.getId(), chosenTabletId);
+                                while ((chosenOne = indexQueue.poll()) != null) {
+                                    MaterializedIndex index = (MaterializedIndex) chosenOne;
 
-                                        chosenTablets.add(chosenTabletId);
-                                    }
-                                } // end while tabletQueue
-                            } // end while indexQueue
+                                    // sort tablets
+                                    Queue<MetaObject> tabletQueue =
+                                            new PriorityQueue<>(Math.max(index.getTablets().size(), 1), COMPARATOR);
+                                    tabletQueue.addAll(index.getTablets());
 
-                            if (chosenTablets.size() >= MAX_JOB_NUM) {
-                                return chosenTablets;
-                            }
-                        } // end while partitionQueue
+                                    while ((chosenOne = tabletQueue.poll()) != null) {
+                                        LocalTablet tablet = (LocalTablet) chosenOne;
+                                        long chosenTabletId = tablet.getId();
+
+                                        if (this.jobs.containsKey(chosenTabletId)) {
+                                            continue;
+                                        }
+
+                                        // check if version has already been checked
+                                        if (partition.getVisibleVersion() == tablet.getCheckedVersion()) {
+                                            if (tablet.isConsistent()) {
+                                                LOG.debug("tablet[{}]'s version[{}-{}] has been checked. ignore",
+                                                        chosenTabletId, tablet.getCheckedVersion());
+                                            }
+                                        } else {
+                                            LOG.info("chose tablet[{}-{}-{}-{}-{}] to check consistency", db.getId(),
+                                                    table.getId(), partition.getId(), index.getId(), chosenTabletId);
+
+                                            chosenTablets.add(chosenTabletId);
+                                        }
+                                    } // end while tabletQueue
+                                } // end while indexQueue
+
+                                if (chosenTablets.size() >= MAX_JOB_NUM) {
+                                    return chosenTablets;
+                                }
+                            } // end while partitionQueue
+                        } finally {
+                            table.readUnlock();
+                        }
                     } // end while tableQueue
                 } finally {
                     db.readUnlock();
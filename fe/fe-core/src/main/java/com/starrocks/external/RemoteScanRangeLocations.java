@@ -27,31 +27,52 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * Scan ranges of a hive or hudi table, one per split of the file blocks in the selected partitions.
+ * <p>
+ * The partitions are loaded when the plan is built, but the scan ranges are only created when they
+ * are consumed, either all at once by getScanRangeLocations or batch by batch from getSplitSource.
+ */
 public class RemoteScanRangeLocations {
     private static final Logger LOG = LogManager.getLogger(RemoteScanRangeLocations.class);
 
-    private final List<TScanRangeLocations> result = new ArrayList<>();
+    private final List<Long> partitionIds = new ArrayList<>();
+    private final List<HivePartition> partitions = new ArrayList<>();
+    // NOTE: Config.hive_max_split_size is saved when partitions are loaded, so that the scan ranges are
+    // the same as counted by scanRangeLocationsSize even if it's changed after that.
+    private long splitSize = Config.hive_max_split_size;
+    private int scanRangeLocationsSize = 0;
+    private List<TScanRangeLocations> allScanRangeLocations = null;
 
     private void addScanRangeLocations(long partitionId, HivePartition partition, HdfsFileDesc fileDesc,
-                                       HdfsFileBlockDesc blockDesc
-    ) {
-        // NOTE: Config.hive_max_split_size should be extracted to a local variable,
-        // because it may be changed before calling 'splitScanRangeLocations'
-        // and after needSplit has been calculated.
-        long splitSize = Config.hive_max_split_size;
-        boolean needSplit = fileDesc.isSplittable() && blockDesc.getLength() > splitSize;
-        if (needSplit) {
-            splitScanRangeLocations(partitionId, partition, fileDesc, blockDesc, splitSize);
+                                       HdfsFileBlockDesc blockDesc, List<TScanRangeLocations> result) {
+        if (needSplit(fileDesc, blockDesc)) {
+            splitScanRangeLocations(partitionId, partition, fileDesc, blockDesc, result);
         } else {
             createScanRangeLocationsForSplit(partitionId, partition, fileDesc, blockDesc, blockDesc.getOffset(),
-                    blockDesc.getLength());
+                    blockDesc.getLength(), result);
         }
     }
 
+    private boolean needSplit(HdfsFileDesc fileDesc, HdfsFileBlockDesc blockDesc) {
+        return fileDesc.isSplittable() && blockDesc.getLength() > splitSize;
+    }
+
+    // number of scan ranges created by splitScanRangeLocations, see below
+    private int getSplitNum(HdfsFileDesc fileDesc, HdfsFileBlockDesc blockDesc) {
+        if (!needSplit(fileDesc, blockDesc)) {
+            return 1;
+        }
+        long length = blockDesc.getLength();
+        // splits of splitSize until the remaining bytes are in (splitSize, 2 * splitSize], which are split in half
+        long fullSplitNum = length > 2 * splitSize ? (length - 2 * splitSize + splitSize - 1) / splitSize : 0;
+        return (int) fullSplitNum + 2;
+    }
+
     private void splitScanRangeLocations(long partitionId, HivePartition partition,
                                          HdfsFileDesc fileDesc,
                                          HdfsFileBlockDesc blockDesc,
-                                         long splitSize) {
+                                         List<TScanRangeLocations> result) {
         long remainingBytes = blockDesc.getLength();
         long length = blockDesc.getLength();
         long offset = blockDesc.getOffset();
@@ -59,20 +80,20 @@ public class RemoteScanRangeLocations {
             if (remainingBytes <= splitSize) {
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes,
-                        remainingBytes);
+                        remainingBytes, result);
                 remainingBytes = 0;
             } else if (remainingBytes <= 2 * splitSize) {
                 long mid = (remainingBytes + 1) / 2;
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
-                        blockDesc, offset + length - remainingBytes, mid);
+                        blockDesc, offset + length - remainingBytes, mid, result);
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes + mid,
-                        remainingBytes - mid);
+                        remainingBytes - mid, result);
                 remainingBytes = 0;
             } else {
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes,
-                        splitSize);
+                        splitSize, result);
                 remainingBytes -= splitSize;
             }
         } while (remainingBytes > 0);
@@ -81,7 +102,8 @@ public class RemoteScanRangeLocations {
     private void createScanRangeLocationsForSplit(long partitionId, HivePartition partition,
                                                   HdfsFileDesc fileDesc,
                                                   HdfsFileBlockDesc blockDesc,
-                                                  long offset, long length) {
+                                                  long offset, long length,
+                                                  List<TScanRangeLocations> result) {
         TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
 
         THdfsScanRange hdfsScanRange = new THdfsScanRange();
@@ -127,31 +149,89 @@ public class RemoteScanRangeLocations {
             partitionKeys.add(partitionKey);
             partitionInfos.add(new DescriptorTable.ReferencedPartitionInfo(partitionId, partitionKey));
         }
-        List<HivePartition> partitions = hiveMetaStoreTable.getPartitions(partitionKeys);
+        partitions.addAll(hiveMetaStoreTable.getPartitions(partitionKeys));
+        splitSize = Config.hive_max_split_size;
 
         for (int i = 0; i < partitions.size(); i++) {
             descTbl.addReferencedPartitions(table, partitionInfos.get(i));
+            partitionIds.add(partitionInfos.get(i).getId());
             for (HdfsFileDesc fileDesc : partitions.get(i).getFiles()) {
                 if (fileDesc.getLength() == 0) {
                     continue;
                 }
                 for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
-                    addScanRangeLocations(partitionInfos.get(i).getId(), partitions.get(i), fileDesc, blockDesc);
-                    LOG.debug("Add scan range success. partition: {}, file: {}, block: {}-{}",
-                            partitions.get(i).getFullPath(), fileDesc.getFileName(), blockDesc.getOffset(),
-                            blockDesc.getLength());
+                    scanRangeLocationsSize += getSplitNum(fileDesc, blockDesc);
                 }
             }
         }
-        LOG.debug("Get {} scan range locations cost: {} ms",
-                getScanRangeLocationsSize(), (System.currentTimeMillis() - start));
+        LOG.debug("Get {} partitions with {} scan range locations cost: {} ms", partitions.size(),
+                scanRangeLocationsSize, (System.currentTimeMillis() - start));
     }
 
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
-        return result;
+        if (allScanRangeLocations == null) {
+            List<TScanRangeLocations> scanRangeLocations = new ArrayList<>(scanRangeLocationsSize);
+            PartitionSplitSource splitSource = new PartitionSplitSource();
+            boolean hasMore;
+            do {
+                hasMore = splitSource.addNextBlock(scanRangeLocations);
+            } while (hasMore);
+            allScanRangeLocations = scanRangeLocations;
+        }
+        return allScanRangeLocations;
+    }
+
+    public SplitSource getSplitSource() {
+        return new PartitionSplitSource();
     }
 
     public int getScanRangeLocationsSize() {
-        return result.size();
+        return scanRangeLocationsSize;
+    }
+
+    /**
+     * Creates the scan ranges block by block, in the same order as getScanRangeLocations.
+     */
+    private class PartitionSplitSource implements SplitSource {
+        private int partitionIndex = 0;
+        private int fileIndex = 0;
+        private int blockIndex = 0;
+
+        @Override
+        public List<TScanRangeLocations> getNextBatch(int maxSize) {
+            List<TScanRangeLocations> batch = new ArrayList<>();
+            // a block may be split into more than one scan range, so the batch may be a little larger
+            while (batch.size() < maxSize) {
+                if (!addNextBlock(batch)) {
+                    break;
+                }
+            }
+            return batch;
+        }
+
+        // add the scan ranges of the next block to result, return false if there is no more block
+        private boolean addNextBlock(List<TScanRangeLocations> result) {
+            while (partitionIndex < partitions.size()) {
+                HivePartition partition = partitions.get(partitionIndex);
+                if (fileIndex >= partition.getFiles().size()) {
+                    partitionIndex++;
+                    fileIndex = 0;
+                    continue;
+                }
+                HdfsFileDesc fileDesc = partition.getFiles().get(fileIndex);
+                if (fileDesc.getLength() == 0 || blockIndex >= fileDesc.getBlockDescs().size()) {
+                    fileIndex++;
+                    blockIndex = 0;
+                    continue;
+                }
+                HdfsFileBlockDesc blockDesc = fileDesc.getBlockDescs().get(blockIndex++);
+                addScanRangeLocations(partitionIds.get(partitionIndex), partition, fileDesc, blockDesc, result);
+                LOG.debug("Add scan range success. partition: {}, file: {}, block: {}-{}",
+                        partition.getFullPath(), fileDesc.getFileName(), blockDesc.getOffset(),
+                        blockDesc.getLength());
+                return true;
+            }
+            return false;
+        }
     }
 }
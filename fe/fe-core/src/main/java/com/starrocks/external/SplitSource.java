@@ -0,0 +1,19 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.external;
+
+import com.starrocks.common.UserException;
+import com.starrocks.thrift.TScanRangeLocations;
+
+import java.util.List;
+
+/**
+ * Enumerates the scan ranges of a scan node over external files lazily, batch by batch, so that
+ * the scan ranges can be assigned to backends without keeping all of them in memory at once.
+ */
+public interface SplitSource {
+    /**
+     * Return the next scan ranges, at most maxSize of them, or an empty list if there is no more.
+     */
+    List<TScanRangeLocations> getNextBatch(int maxSize) throws UserException;
+}
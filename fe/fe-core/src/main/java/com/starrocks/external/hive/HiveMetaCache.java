@@ -37,6 +37,8 @@ public class HiveMetaCache {
     private static final long MAX_PARTITION_CACHE_SIZE = MAX_TABLE_CACHE_SIZE * 1000L;
 
     private final HiveMetaClient client;
+    // second tier of partitionsCache and partitionStatsCache which survives restarts, null if disabled
+    private final HiveMetaPersistentCache persistentCache;
 
     // HivePartitionKeysKey => ImmutableMap<PartitionKey -> PartitionId>
     // for unPartitioned table, partition map is: ImmutableMap<>.of(new PartitionKey(), PartitionId)
@@ -54,7 +56,12 @@ public class HiveMetaCache {
     LoadingCache<HiveTableColumnsKey, ImmutableMap<String, HiveColumnStats>> tableColumnStatsCache;
 
     public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor) {
+        this(hiveMetaClient, executor, null);
+    }
+
+    public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor, HiveMetaPersistentCache persistentCache) {
         this.client = hiveMetaClient;
+        this.persistentCache = persistentCache;
         init(executor);
     }
 
@@ -122,7 +129,42 @@ public class HiveMetaCache {
         return ImmutableMap.copyOf(partitionKeys);
     }
 
+    /**
+     * Return the persisted entry of the partition if its directory isn't modified since it was listed.
+     * If partition is not null, it's the current partition, otherwise the modification time is checked
+     * against the file system.
+     */
+    private HiveMetaPersistentCache.Entry getPersistedEntry(HivePartitionKey key, HivePartition partition) {
+        if (persistentCache == null || key.getTableType() == Table.TableType.HUDI) {
+            return null;
+        }
+        HiveMetaPersistentCache.Entry entry = persistentCache.getPartition(key);
+        if (entry == null) {
+            return null;
+        }
+        long modificationTime = partition != null ? partition.getModificationTime() :
+                client.getModificationTime(entry.getPartition().getFullPath());
+        if (modificationTime <= 0 || modificationTime != entry.getPartition().getModificationTime()) {
+            LOG.debug("persisted partition {}.{}{} is stale", key.getDatabaseName(), key.getTableName(),
+                    key.getPartitionValues());
+            return null;
+        }
+        return entry;
+    }
+
     private HivePartition loadPartition(HivePartitionKey key) throws DdlException {
+        HiveMetaPersistentCache.Entry entry = getPersistedEntry(key, null);
+        if (entry != null) {
+            return entry.getPartition();
+        }
+        HivePartition partition = loadPartitionFromRemote(key);
+        if (persistentCache != null && key.getTableType() != Table.TableType.HUDI) {
+            persistentCache.putPartition(key, partition, null);
+        }
+        return partition;
+    }
+
+    private HivePartition loadPartitionFromRemote(HivePartitionKey key) throws DdlException {
         if (key.getTableType() == Table.TableType.HUDI) {
             return client.getHudiPartition(key.getDatabaseName(), key.getTableName(), key.getPartitionValues());
         } else {
@@ -135,14 +177,22 @@ public class HiveMetaCache {
     }
 
     private HivePartitionStats loadPartitionStats(HivePartitionKey key) throws Exception {
+        HivePartition partition = partitionsCache.get(key);
+        HiveMetaPersistentCache.Entry entry = getPersistedEntry(key, partition);
+        if (entry != null && entry.getStats() != null) {
+            return entry.getStats();
+        }
+
         HivePartitionStats partitionStats =
                 client.getPartitionStats(key.getDatabaseName(), key.getTableName(), key.getPartitionValues());
-        HivePartition partition = partitionsCache.get(key);
         long totalFileBytes = 0;
         for (HdfsFileDesc fileDesc : partition.getFiles()) {
             totalFileBytes += fileDesc.getLength();
         }
         partitionStats.setTotalFileBytes(totalFileBytes);
+        if (persistentCache != null && key.getTableType() != Table.TableType.HUDI) {
+            persistentCache.putPartition(key, partition, partitionStats);
+        }
         return partitionStats;
     }
 
@@ -242,6 +292,9 @@ public class HiveMetaCache {
         partitionKeysCache.put(hivePartitionKeysKey, ImmutableMap.copyOf(partitions));
         partitionsCache.invalidate(hivePartitionKey);
         partitionStatsCache.invalidate(hivePartitionKey);
+        if (persistentCache != null) {
+            persistentCache.removePartition(hivePartitionKey);
+        }
     }
 
     private HivePartition getPartitionByEvent(StorageDescriptor sd) throws Exception {
@@ -249,8 +302,11 @@ public class HiveMetaCache {
         String path = ObjectStorageUtils.formatObjectStoragePath(sd.getLocation());
         boolean isSplittable = ObjectStorageUtils.isObjectStorage(path) ||
                 HdfsFileFormat.isSplittable(sd.getInputFormat());
+        long modificationTime = persistentCache != null ? client.getModificationTime(path) : -1;
         List<HdfsFileDesc> fileDescs = client.getHdfsFileDescs(path, isSplittable, sd);
-        return new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+        HivePartition partition = new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+        partition.setModificationTime(modificationTime);
+        return partition;
     }
 
     public void alterPartitionByEvent(HivePartitionKey hivePartitionKey,
@@ -265,6 +321,9 @@ public class HiveMetaCache {
         }
         partitionStats.setTotalFileBytes(totalFileBytes);
         partitionStatsCache.put(hivePartitionKey, partitionStats);
+        if (persistentCache != null && hivePartitionKey.getTableType() != Table.TableType.HUDI) {
+            persistentCache.putPartition(hivePartitionKey, updatedHivePartition, partitionStats);
+        }
     }
 
     public synchronized void dropPartitionKeyByEvent(HivePartitionKeysKey hivePartitionKeysKey,
@@ -279,6 +338,18 @@ public class HiveMetaCache {
         partitionKeysCache.put(hivePartitionKeysKey, ImmutableMap.copyOf(partitions));
         partitionsCache.invalidate(hivePartitionKey);
         partitionStatsCache.invalidate(hivePartitionKey);
+        if (persistentCache != null) {
+            persistentCache.removePartition(hivePartitionKey);
+        }
+    }
+
+    /**
+     * Remove everything persisted for the resource of this cache, which is not usable any more.
+     */
+    public void dropPersistentCache() {
+        if (persistentCache != null) {
+            persistentCache.drop();
+        }
     }
 
     public boolean tableExistInCache(HiveTableKey tableKey) {
@@ -309,8 +380,7 @@ public class HiveMetaCache {
             if (partColumns.size() <= 0) {
                 HivePartitionKey hivePartitionKey = new HivePartitionKey(dbName, tableName,
                         hmsTable.getTableType(), new ArrayList<>());
-                partitionsCache.put(hivePartitionKey, loadPartition(hivePartitionKey));
-                partitionStatsCache.put(hivePartitionKey, loadPartitionStats(hivePartitionKey));
+                refreshPartition(hivePartitionKey);
             }
         } catch (Exception e) {
             LOG.warn("refresh table cache failed", e);
@@ -327,8 +397,7 @@ public class HiveMetaCache {
                 List<String> partValues = client.partitionNameToVals(partName);
                 HivePartitionKey key = new HivePartitionKey(hmsTable.getDb(), hmsTable.getTable(),
                         hmsTable.getTableType(), partValues);
-                partitionsCache.put(key, loadPartition(key));
-                partitionStatsCache.put(key, loadPartitionStats(key));
+                refreshPartition(key);
             }
         } catch (Exception e) {
             LOG.warn("refresh partition cache failed", e);
@@ -338,6 +407,15 @@ public class HiveMetaCache {
         }
     }
 
+    // reload the partition from remote even if the persisted one looks valid
+    private void refreshPartition(HivePartitionKey key) throws Exception {
+        if (persistentCache != null) {
+            persistentCache.removePartition(key);
+        }
+        partitionsCache.put(key, loadPartition(key));
+        partitionStatsCache.put(key, loadPartitionStats(key));
+    }
+
     public void refreshColumnStats(HiveMetaStoreTableInfo hmsTable)
             throws DdlException {
         List<Column> partColumns = getPartitionColumns(hmsTable);
@@ -357,6 +435,9 @@ public class HiveMetaCache {
         partitionKeysCache.invalidate(hivePartitionKeysKey);
         tableStatsCache.invalidate(HiveTableKey.gen(dbName, tableName));
         tableColumnStatsCache.invalidate(HiveTableColumnsKey.gen(dbName, tableName, null, null));
+        if (persistentCache != null) {
+            persistentCache.removeTable(dbName, tableName);
+        }
         if (partitionKeys != null) {
             for (Map.Entry<PartitionKey, Long> entry : partitionKeys.entrySet()) {
                 HivePartitionKey pKey =
@@ -217,10 +217,14 @@ public class HiveMetaClient {
             }
 
             String path = ObjectStorageUtils.formatObjectStoragePath(sd.getLocation());
+            // get the modification time before listing, so that files added during listing make the listing stale
+            long modificationTime = Config.enable_hive_meta_persistent_cache ? getModificationTime(path) : -1;
             List<HdfsFileDesc> fileDescs = getHdfsFileDescs(path,
                     ObjectStorageUtils.isObjectStorage(path) || HdfsFileFormat.isSplittable(sd.getInputFormat()),
                     sd);
-            return new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+            HivePartition hivePartition = new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+            hivePartition.setModificationTime(modificationTime);
+            return hivePartition;
         } catch (NoSuchObjectException e) {
             throw new DdlException("get hive partition meta data failed: "
                     + "partition not exists, partValues: "
@@ -593,6 +597,25 @@ public class HiveMetaClient {
         return fileDescs;
     }
 
+    /**
+     * Return the modification time of the partition directory, or -1 if it's unknown, e.g. the directory
+     * doesn't exist or is on object storage, which has no directory modification time.
+     */
+    public long getModificationTime(String dirPath) {
+        if (ObjectStorageUtils.isObjectStorage(dirPath)) {
+            return -1;
+        }
+        try {
+            URI uri = new URI(dirPath);
+            FileSystem fileSystem = getFileSystem(uri);
+            long modificationTime = fileSystem.getFileStatus(new Path(uri.getPath())).getModificationTime();
+            return modificationTime > 0 ? modificationTime : -1;
+        } catch (Exception e) {
+            LOG.debug("get modification time of {} failed", dirPath, e);
+            return -1;
+        }
+    }
+
     public CurrentNotificationEventId getCurrentNotificationEventId() throws DdlException {
         try (AutoCloseClient client = getClient()) {
             return client.hiveClient.getCurrentNotificationEventId();
@@ -695,6 +718,14 @@ public class HiveMetaClient {
         return storageHashToId.computeIfAbsent(storageHash, k -> (storageId++));
     }
 
+    public String getHdfsBlockHost(long hostId) {
+        return idToBlockHost.get(hostId);
+    }
+
+    public long getHdfsBlockHostId(String hostName) {
+        return getHostId(hostName);
+    }
+
     public String getHdfsDataNodeIp(long hostId) {
         String hostPort = idToBlockHost.get(hostId);
         return hostPort.split(":")[0];
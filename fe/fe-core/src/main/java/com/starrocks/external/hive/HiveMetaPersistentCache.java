@@ -0,0 +1,323 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.external.hive;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.DatabaseNotFoundException;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
+import com.starrocks.common.io.Text;
+import com.starrocks.external.hive.text.TextFileFormatDesc;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Second tier of HiveMetaCache which survives FE restarts.
+ * <p>
+ * The file listing and stats of every loaded hive partition are kept in a local bdbje database per hive resource,
+ * under hive_meta_persistent_cache_dir. An entry records the modification time of the partition directory when it
+ * was listed, and is only used if the directory hasn't been modified since, which costs one getFileStatus call
+ * instead of listing the files and their block locations again. Partitions whose directory has no modification
+ * time, e.g. on object storage, are never persisted.
+ * <p>
+ * Block locations are stored with the host names, because the host ids of HdfsFileBlockDesc are assigned by each
+ * HiveMetaClient.
+ */
+public class HiveMetaPersistentCache {
+    private static final Logger LOG = LogManager.getLogger(HiveMetaPersistentCache.class);
+    private static final byte FORMAT_VERSION = 1;
+    private static final long ENV_CACHE_SIZE = 32L * 1024 * 1024;
+    private static final char KEY_SEPARATOR = '\u0001';
+
+    private static Environment env;
+
+    private final String resourceName;
+    private final Database db;
+    private final HiveMetaClient client;
+
+    private HiveMetaPersistentCache(String resourceName, Database db, HiveMetaClient client) {
+        this.resourceName = resourceName;
+        this.db = db;
+        this.client = client;
+    }
+
+    /**
+     * Partition file listing and stats loaded from the persistent cache.
+     */
+    public static class Entry {
+        private final HivePartition partition;
+        // null if the stats weren't loaded when the entry was written
+        private final HivePartitionStats stats;
+
+        Entry(HivePartition partition, HivePartitionStats stats) {
+            this.partition = partition;
+            this.stats = stats;
+        }
+
+        public HivePartition getPartition() {
+            return partition;
+        }
+
+        public HivePartitionStats getStats() {
+            return stats;
+        }
+    }
+
+    private static synchronized Environment getEnvironment() throws DdlException {
+        if (env == null) {
+            File dir = new File(Config.hive_meta_persistent_cache_dir);
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new DdlException("failed to create hive meta persistent cache dir " + dir.getAbsolutePath());
+            }
+            EnvironmentConfig envConfig = new EnvironmentConfig();
+            envConfig.setAllowCreate(true);
+            envConfig.setTransactional(false);
+            envConfig.setCacheSize(ENV_CACHE_SIZE);
+            env = new Environment(dir, envConfig);
+        }
+        return env;
+    }
+
+    public static synchronized HiveMetaPersistentCache open(String resourceName, HiveMetaClient client)
+            throws DdlException {
+        try {
+            DatabaseConfig dbConfig = new DatabaseConfig();
+            dbConfig.setAllowCreate(true);
+            dbConfig.setTransactional(false);
+            Database db = getEnvironment().openDatabase(null, resourceName, dbConfig);
+            return new HiveMetaPersistentCache(resourceName, db, client);
+        } catch (DatabaseException e) {
+            LOG.warn("open hive meta persistent cache of resource {} failed", resourceName, e);
+            throw new DdlException("open hive meta persistent cache failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close and remove all the entries of the resource, e.g. when the resource is dropped or altered.
+     */
+    public void drop() {
+        try {
+            db.close();
+        } catch (DatabaseException e) {
+            LOG.warn("close hive meta persistent cache of resource {} failed", resourceName, e);
+        }
+        remove(resourceName);
+    }
+
+    /**
+     * Remove all the entries of the resource, whose cache must not be open.
+     */
+    public static synchronized void remove(String resourceName) {
+        try {
+            getEnvironment().removeDatabase(null, resourceName);
+        } catch (DatabaseNotFoundException e) {
+            // nothing persisted
+        } catch (DatabaseException | DdlException e) {
+            LOG.warn("remove hive meta persistent cache of resource {} failed", resourceName, e);
+        }
+    }
+
+    /**
+     * Return the persisted entry of the partition, or null if there is none or it can't be read.
+     * The caller must validate it against the modification time of the partition directory.
+     */
+    public Entry getPartition(HivePartitionKey key) {
+        DatabaseEntry value = new DatabaseEntry();
+        try {
+            if (db.get(null, toDbKey(key), value, LockMode.READ_UNCOMMITTED) != OperationStatus.SUCCESS) {
+                return null;
+            }
+            return deserialize(value.getData());
+        } catch (DatabaseException | IOException | IllegalArgumentException e) {
+            LOG.warn("read hive meta persistent cache of partition {}.{}{} failed", key.getDatabaseName(),
+                    key.getTableName(), key.getPartitionValues(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Persist the partition, stats can be null if they are not loaded yet.
+     */
+    public void putPartition(HivePartitionKey key, HivePartition partition, HivePartitionStats stats) {
+        if (partition.getModificationTime() <= 0) {
+            // can't be validated after restart
+            removePartition(key);
+            return;
+        }
+        try {
+            db.put(null, toDbKey(key), new DatabaseEntry(serialize(partition, stats)));
+        } catch (DatabaseException | IOException e) {
+            LOG.warn("write hive meta persistent cache of partition {}.{}{} failed", key.getDatabaseName(),
+                    key.getTableName(), key.getPartitionValues(), e);
+        }
+    }
+
+    public void removePartition(HivePartitionKey key) {
+        try {
+            db.delete(null, toDbKey(key));
+        } catch (DatabaseException e) {
+            LOG.warn("remove hive meta persistent cache of partition {}.{}{} failed", key.getDatabaseName(),
+                    key.getTableName(), key.getPartitionValues(), e);
+        }
+    }
+
+    public void removeTable(String dbName, String tableName) {
+        byte[] prefix = (dbName + KEY_SEPARATOR + tableName + KEY_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        DatabaseEntry key = new DatabaseEntry(prefix);
+        DatabaseEntry value = new DatabaseEntry();
+        value.setPartial(0, 0, true);
+        int removed = 0;
+        Cursor cursor = null;
+        try {
+            cursor = db.openCursor(null, null);
+            OperationStatus status = cursor.getSearchKeyRange(key, value, LockMode.DEFAULT);
+            while (status == OperationStatus.SUCCESS && startsWith(key.getData(), prefix)) {
+                cursor.delete();
+                removed++;
+                status = cursor.getNext(key, value, LockMode.DEFAULT);
+            }
+        } catch (DatabaseException e) {
+            LOG.warn("remove hive meta persistent cache of table {}.{} failed", dbName, tableName, e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        LOG.debug("removed {} partitions of table {}.{} from hive meta persistent cache", removed, dbName, tableName);
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // db, table and table type come first so that all the partitions of a table can be removed by prefix
+    private static DatabaseEntry toDbKey(HivePartitionKey key) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(key.getDatabaseName()).append(KEY_SEPARATOR)
+                .append(key.getTableName()).append(KEY_SEPARATOR)
+                .append(key.getTableType().name());
+        for (String value : key.getPartitionValues()) {
+            sb.append(KEY_SEPARATOR).append(value);
+        }
+        return new DatabaseEntry(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    byte[] serialize(HivePartition partition, HivePartitionStats stats) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(partition.getModificationTime());
+        Text.writeString(out, partition.getFormat().name());
+        Text.writeString(out, partition.getFullPath());
+        out.writeBoolean(stats != null);
+        if (stats != null) {
+            out.writeLong(stats.getNumRows());
+            out.writeLong(stats.getTotalFileBytes());
+        }
+
+        out.writeInt(partition.getFiles().size());
+        for (HdfsFileDesc file : partition.getFiles()) {
+            Text.writeString(out, file.getFileName());
+            Text.writeString(out, Strings.nullToEmpty(file.getCompression()));
+            out.writeLong(file.getLength());
+            out.writeBoolean(file.isSplittable());
+            TextFileFormatDesc textDesc = file.getTextFileFormatDesc();
+            out.writeBoolean(textDesc != null);
+            if (textDesc != null) {
+                Text.writeString(out, textDesc.getFieldDelim());
+                Text.writeString(out, textDesc.getLineDelim());
+            }
+
+            out.writeInt(file.getBlockDescs().size());
+            for (HdfsFileBlockDesc block : file.getBlockDescs()) {
+                out.writeLong(block.getOffset());
+                out.writeLong(block.getLength());
+                out.writeInt(block.getReplicaHostIds().length);
+                for (long hostId : block.getReplicaHostIds()) {
+                    Text.writeString(out, client.getHdfsBlockHost(hostId));
+                }
+                out.writeInt(block.getDiskIds().length);
+                for (long diskId : block.getDiskIds()) {
+                    out.writeLong(diskId);
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    Entry deserialize(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readByte() != FORMAT_VERSION) {
+            return null;
+        }
+        long modificationTime = in.readLong();
+        HdfsFileFormat format = HdfsFileFormat.valueOf(Text.readString(in));
+        String fullPath = Text.readString(in);
+        HivePartitionStats stats = null;
+        if (in.readBoolean()) {
+            stats = new HivePartitionStats(in.readLong());
+            stats.setTotalFileBytes(in.readLong());
+        }
+
+        int fileNum = in.readInt();
+        ImmutableList.Builder<HdfsFileDesc> files = ImmutableList.builder();
+        for (int i = 0; i < fileNum; i++) {
+            String fileName = Text.readString(in);
+            String compression = Text.readString(in);
+            long length = in.readLong();
+            boolean splittable = in.readBoolean();
+            TextFileFormatDesc textDesc = null;
+            if (in.readBoolean()) {
+                textDesc = new TextFileFormatDesc(Text.readString(in), Text.readString(in));
+            }
+
+            int blockNum = in.readInt();
+            ImmutableList.Builder<HdfsFileBlockDesc> blocks = ImmutableList.builder();
+            for (int j = 0; j < blockNum; j++) {
+                long offset = in.readLong();
+                long blockLength = in.readLong();
+                long[] hostIds = new long[in.readInt()];
+                for (int k = 0; k < hostIds.length; k++) {
+                    hostIds[k] = client.getHdfsBlockHostId(Text.readString(in));
+                }
+                long[] diskIds = new long[in.readInt()];
+                for (int k = 0; k < diskIds.length; k++) {
+                    diskIds[k] = in.readLong();
+                }
+                blocks.add(new HdfsFileBlockDesc(offset, blockLength, hostIds, diskIds, client));
+            }
+            files.add(new HdfsFileDesc(fileName, compression, length, blocks.build(), splittable, textDesc));
+        }
+
+        HivePartition partition = new HivePartition(format, files.build(), fullPath);
+        partition.setModificationTime(modificationTime);
+        return new Entry(partition, stats);
+    }
+}
@@ -8,6 +8,8 @@ public class HivePartition {
     private HdfsFileFormat format;
     private ImmutableList<HdfsFileDesc> files;
     private String fullPath;
+    // modification time of the partition directory before listing the files, -1 if unknown
+    private long modificationTime = -1;
 
     public HivePartition(HdfsFileFormat format, ImmutableList<HdfsFileDesc> files, String fullPath) {
         this.format = format;
@@ -31,4 +33,12 @@ public class HivePartition {
         return fullPath;
     }
 
+    public long getModificationTime() {
+        return modificationTime;
+    }
+
+    public void setModificationTime(long modificationTime) {
+        this.modificationTime = modificationTime;
+    }
+
 }
@@ -105,7 +105,15 @@ public class HiveRepository {
                 return hiveMetaCache;
             }
 
-            hiveMetaCache = new HiveMetaCache(metaClient, executor);
+            HiveMetaPersistentCache persistentCache = null;
+            if (Config.enable_hive_meta_persistent_cache) {
+                try {
+                    persistentCache = HiveMetaPersistentCache.open(resourceName, metaClient);
+                } catch (DdlException e) {
+                    LOG.warn("hive meta persistent cache of resource {} is disabled", resourceName, e);
+                }
+            }
+            hiveMetaCache = new HiveMetaCache(metaClient, executor, persistentCache);
             metaCaches.put(resourceName, hiveMetaCache);
             return hiveMetaCache;
         } finally {
@@ -207,12 +215,18 @@ public class HiveRepository {
     }
 
     public void clearCache(String resourceName) {
+        HiveMetaCache metaCache;
         metaCachesLock.writeLock().lock();
         try {
-            metaCaches.remove(resourceName);
+            metaCache = metaCaches.remove(resourceName);
         } finally {
             metaCachesLock.writeLock().unlock();
         }
+        if (metaCache != null) {
+            metaCache.dropPersistentCache();
+        } else if (Config.enable_hive_meta_persistent_cache) {
+            HiveMetaPersistentCache.remove(resourceName);
+        }
 
         metaClientsLock.writeLock().lock();
         try {
@@ -13,6 +13,14 @@ public class TextFileFormatDesc {
         this.lineDelim = lDelim;
     }
 
+    public String getFieldDelim() {
+        return fieldDelim;
+    }
+
+    public String getLineDelim() {
+        return lineDelim;
+    }
+
     public TTextFileDesc toThrift() {
         TTextFileDesc desc = new TTextFileDesc();
         desc.field_delim = fieldDelim;
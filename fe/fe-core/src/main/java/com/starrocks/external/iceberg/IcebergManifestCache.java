@@ -0,0 +1,205 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.external.iceberg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.starrocks.common.Config;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.Projections;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the data files, with their column stats, of the latest planned snapshot of every iceberg table.
+ * <p>
+ * Planning a scan or estimating the statistics of an iceberg table reads all the manifests of the snapshot.
+ * With this cache, queries on a snapshot which is already cached read no manifest, and queries on a newer
+ * snapshot only read the manifests written by the snapshots committed since the cached one, applying their
+ * added and deleted data files to the cached ones. If the cached snapshot isn't an ancestor of the new one
+ * anymore, e.g. after a rollback or snapshot expiration, all the manifests of the new snapshot are read.
+ * <p>
+ * The cache is bounded by the total number of cached data files.
+ */
+public class IcebergManifestCache {
+    private static final Logger LOG = LogManager.getLogger(IcebergManifestCache.class);
+    // max number of snapshots applied incrementally to a cached snapshot, reload all the files if there are more
+    private static final int MAX_INCREMENTAL_SNAPSHOTS = 100;
+
+    private static final IcebergManifestCache INSTANCE = new IcebergManifestCache(
+            Config.iceberg_manifest_cache_max_file_num, Config.iceberg_manifest_cache_ttl_s);
+
+    // table location -> data files of the latest planned snapshot
+    private final Cache<String, SnapshotFiles> cache;
+
+    @VisibleForTesting
+    IcebergManifestCache(long maxFileNum, long ttlSeconds) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxFileNum)
+                .weigher((String location, SnapshotFiles files) -> files.getDataFiles().size() + 1)
+                .expireAfterAccess(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public static IcebergManifestCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Data files of a snapshot, which must not be modified.
+     */
+    public static class SnapshotFiles {
+        private final long snapshotId;
+        // file path -> data file
+        private final Map<String, DataFile> dataFiles;
+        private final boolean hasDeleteFiles;
+
+        SnapshotFiles(long snapshotId, Map<String, DataFile> dataFiles, boolean hasDeleteFiles) {
+            this.snapshotId = snapshotId;
+            this.dataFiles = dataFiles;
+            this.hasDeleteFiles = hasDeleteFiles;
+        }
+
+        public long getSnapshotId() {
+            return snapshotId;
+        }
+
+        public Collection<DataFile> getDataFiles() {
+            return Collections.unmodifiableCollection(dataFiles.values());
+        }
+
+        /**
+         * Whether any data file of the snapshot may have position or equality delete files.
+         */
+        public boolean hasDeleteFiles() {
+            return hasDeleteFiles;
+        }
+
+        /**
+         * Return the data files which may have rows matching the predicates, the same ones as planned by
+         * a table scan with the predicates.
+         */
+        public List<DataFile> getDataFiles(Table table, List<Expression> icebergPredicates) {
+            if (icebergPredicates.isEmpty()) {
+                return new ArrayList<>(dataFiles.values());
+            }
+
+            Expression filter = icebergPredicates.stream().reduce(Expressions.alwaysTrue(), Expressions::and);
+            InclusiveMetricsEvaluator metricsEvaluator = new InclusiveMetricsEvaluator(table.schema(), filter, true);
+            Map<Integer, Evaluator> specIdToPartitionEvaluator = new HashMap<>();
+            List<DataFile> result = new ArrayList<>();
+            for (DataFile file : dataFiles.values()) {
+                Evaluator partitionEvaluator = specIdToPartitionEvaluator.computeIfAbsent(file.specId(), specId -> {
+                    PartitionSpec spec = table.specs().get(specId);
+                    return new Evaluator(spec.partitionType(), Projections.inclusive(spec, true).project(filter), true);
+                });
+                if (partitionEvaluator.eval(file.partition()) && metricsEvaluator.eval(file)) {
+                    result.add(file);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Return the data files of the snapshot of the table, loading them from the manifests if they are not cached.
+     */
+    public SnapshotFiles getSnapshotFiles(Table table, Snapshot snapshot) {
+        String location = table.location();
+        SnapshotFiles cached = cache.getIfPresent(location);
+        if (cached != null && cached.getSnapshotId() == snapshot.snapshotId()) {
+            return cached;
+        }
+
+        SnapshotFiles files = null;
+        if (cached != null) {
+            files = loadIncrementally(table, snapshot, cached);
+        }
+        if (files == null) {
+            files = load(table, snapshot);
+        }
+        cache.put(location, files);
+        return files;
+    }
+
+    public void invalidate(Table table) {
+        cache.invalidate(table.location());
+    }
+
+    private SnapshotFiles load(Table table, Snapshot snapshot) {
+        long start = System.currentTimeMillis();
+        Map<String, DataFile> dataFiles = new LinkedHashMap<>();
+        try (CloseableIterable<FileScanTask> fileScanTasks =
+                     table.newScan().useSnapshot(snapshot.snapshotId()).includeColumnStats().planFiles()) {
+            for (FileScanTask fileScanTask : fileScanTasks) {
+                DataFile file = fileScanTask.file();
+                dataFiles.put(file.path().toString(), file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOG.debug("load {} data files of snapshot {} of iceberg table {} cost: {} ms", dataFiles.size(),
+                snapshot.snapshotId(), table.name(), System.currentTimeMillis() - start);
+        return new SnapshotFiles(snapshot.snapshotId(), dataFiles, !snapshot.deleteManifests().isEmpty());
+    }
+
+    // return null if the cached snapshot isn't a recent ancestor of the snapshot
+    private SnapshotFiles loadIncrementally(Table table, Snapshot snapshot, SnapshotFiles cached) {
+        List<Snapshot> snapshots = getSnapshotsSince(table, snapshot, cached.getSnapshotId());
+        if (snapshots == null) {
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        // copy on write, the cached files may be in use by other queries
+        Map<String, DataFile> dataFiles = new LinkedHashMap<>(cached.dataFiles);
+        for (Snapshot current : snapshots) {
+            for (DataFile file : current.deletedFiles()) {
+                dataFiles.remove(file.path().toString());
+            }
+            for (DataFile file : current.addedFiles()) {
+                dataFiles.put(file.path().toString(), file);
+            }
+        }
+        LOG.debug("apply {} snapshots to snapshot {} of iceberg table {} cost: {} ms", snapshots.size(),
+                cached.getSnapshotId(), table.name(), System.currentTimeMillis() - start);
+        return new SnapshotFiles(snapshot.snapshotId(), dataFiles, !snapshot.deleteManifests().isEmpty());
+    }
+
+    // snapshots committed after the base snapshot up to the snapshot, from the oldest one
+    private static List<Snapshot> getSnapshotsSince(Table table, Snapshot snapshot, long baseSnapshotId) {
+        List<Snapshot> snapshots = new ArrayList<>();
+        Snapshot current = snapshot;
+        while (current != null && snapshots.size() <= MAX_INCREMENTAL_SNAPSHOTS) {
+            if (current.snapshotId() == baseSnapshotId) {
+                Collections.reverse(snapshots);
+                return snapshots;
+            }
+            snapshots.add(current);
+            Long parentId = current.parentId();
+            current = parentId == null ? null : table.snapshot(parentId);
+        }
+        return null;
+    }
+}
@@ -4,6 +4,8 @@ package com.starrocks.external.iceberg.cost;
 
 import com.google.common.collect.ImmutableList;
 import com.starrocks.catalog.Column;
+import com.starrocks.common.Config;
+import com.starrocks.external.iceberg.IcebergManifestCache;
 import com.starrocks.external.iceberg.IcebergUtil;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
@@ -36,7 +38,6 @@ import java.util.stream.Collectors;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.stream.Collectors.toSet;
 
-// TODO @caneGuy add cache for statistics, currently getting stats from iceberg metafiles is not time consuming
 public class IcebergTableStatisticCalculator {
     private static final Logger LOG = LogManager.getLogger(IcebergTableStatisticCalculator.class);
 
@@ -220,39 +221,51 @@ public class IcebergTableStatisticCalculator {
                 .filter(column -> !identityPartitionIds.contains(column.fieldId()) && column.type().isPrimitiveType())
                 .collect(toImmutableList());
 
+        if (Config.enable_iceberg_manifest_cache) {
+            List<DataFile> dataFiles = IcebergManifestCache.getInstance().getSnapshotFiles(icebergTable, snapshot.get())
+                    .getDataFiles(icebergTable, icebergPredicates);
+            return generateIcebergFileStats(dataFiles, idToTypeMapping, partitionFields, nonPartitionPrimitiveColumns);
+        }
+
         TableScan tableScan = IcebergUtil.getTableScan(icebergTable,
                 snapshot.get(), icebergPredicates, true);
-
-        IcebergFileStats icebergFileStats = null;
         try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
-            for (FileScanTask fileScanTask : fileScanTasks) {
-                DataFile dataFile = fileScanTask.file();
-                if (icebergFileStats == null) {
-                    icebergFileStats = new IcebergFileStats(
-                            idToTypeMapping,
-                            nonPartitionPrimitiveColumns,
-                            dataFile.partition(),
-                            dataFile.recordCount(),
-                            dataFile.fileSizeInBytes(),
-                            IcebergFileStats.toMap(idToTypeMapping, dataFile.lowerBounds()),
-                            IcebergFileStats.toMap(idToTypeMapping, dataFile.upperBounds()),
-                            dataFile.nullValueCounts(),
-                            dataFile.columnSizes());
-                } else {
-                    icebergFileStats.incrementFileCount();
-                    icebergFileStats.incrementRecordCount(dataFile.recordCount());
-                    icebergFileStats.incrementSize(dataFile.fileSizeInBytes());
-                    updateSummaryMin(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
-                            dataFile.lowerBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
-                    updateSummaryMax(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
-                            dataFile.upperBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
-                    icebergFileStats.updateNullCount(dataFile.nullValueCounts());
-                    updateColumnSizes(icebergFileStats, dataFile.columnSizes());
-                }
-            }
+            return generateIcebergFileStats(CloseableIterable.transform(fileScanTasks, FileScanTask::file),
+                    idToTypeMapping, partitionFields, nonPartitionPrimitiveColumns);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+    }
+
+    private IcebergFileStats generateIcebergFileStats(Iterable<DataFile> dataFiles,
+                                                      Map<Integer, Type.PrimitiveType> idToTypeMapping,
+                                                      List<PartitionField> partitionFields,
+                                                      List<Types.NestedField> nonPartitionPrimitiveColumns) {
+        IcebergFileStats icebergFileStats = null;
+        for (DataFile dataFile : dataFiles) {
+            if (icebergFileStats == null) {
+                icebergFileStats = new IcebergFileStats(
+                        idToTypeMapping,
+                        nonPartitionPrimitiveColumns,
+                        dataFile.partition(),
+                        dataFile.recordCount(),
+                        dataFile.fileSizeInBytes(),
+                        IcebergFileStats.toMap(idToTypeMapping, dataFile.lowerBounds()),
+                        IcebergFileStats.toMap(idToTypeMapping, dataFile.upperBounds()),
+                        dataFile.nullValueCounts(),
+                        dataFile.columnSizes());
+            } else {
+                icebergFileStats.incrementFileCount();
+                icebergFileStats.incrementRecordCount(dataFile.recordCount());
+                icebergFileStats.incrementSize(dataFile.fileSizeInBytes());
+                updateSummaryMin(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
+                        dataFile.lowerBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
+                updateSummaryMax(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
+                        dataFile.upperBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
+                icebergFileStats.updateNullCount(dataFile.nullValueCounts());
+                updateColumnSizes(icebergFileStats, dataFile.columnSizes());
+            }
+        }
         return icebergFileStats;
     }
 
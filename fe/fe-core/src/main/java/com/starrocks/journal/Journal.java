@@ -52,6 +52,13 @@ public interface Journal {
     // Write a journal and sync to disk
     public void write(short op, Writable writable);
 
+    // Write journals in order and sync to disk
+    public default void batchWrite(List<JournalEntity> entities) {
+        for (JournalEntity entity : entities) {
+            write(entity.getOpCode(), entity.getData());
+        }
+    }
+
     // Delete journals whose max id is less than deleteToJournalId
     public void deleteJournals(long deleteJournalToId);
 
@@ -21,11 +21,13 @@
 
 package com.starrocks.journal.bdbje;
 
+import com.google.common.collect.Lists;
 import com.sleepycat.bind.tuple.TupleBinding;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -194,6 +196,85 @@ public class BDBJEJournal implements Journal {
         }
     }
 
+    /*
+     * Write the journals in one bdb transaction, so they share one sync and one replication round trip.
+     * The journals are either all written or none is written.
+     */
+    @Override
+    public synchronized void batchWrite(List<JournalEntity> entities) {
+        List<DatabaseEntry> datas = Lists.newArrayListWithCapacity(entities.size());
+        for (JournalEntity entity : entities) {
+            DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+            try {
+                entity.write(buffer);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            DatabaseEntry theData = new DatabaseEntry(buffer.getData());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase((long) theData.getSize());
+            }
+            datas.add(theData);
+        }
+
+        long firstId = nextJournalId.get();
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        boolean writeSuccessed = false;
+        for (int i = 0; i < RETRY_TIME && !writeSuccessed; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean allPut = true;
+                for (int j = 0; j < datas.size(); j++) {
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(firstId + j, theKey);
+                    if (currentJournalDB.put(txn, theKey, datas.get(j)) != OperationStatus.SUCCESS) {
+                        allPut = false;
+                        break;
+                    }
+                }
+                if (allPut) {
+                    txn.commit();
+                    writeSuccessed = true;
+                    LOG.debug("master write journal {} to {} finished. db name {}", firstId,
+                            firstId + datas.size() - 1, currentJournalDB.getDb().getDatabaseName());
+                } else {
+                    txn.abort();
+                }
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing to database. sleep and retry. journal id {} to {}",
+                        firstId, firstId + datas.size() - 1, e);
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException abortException) {
+                        LOG.warn("failed to abort the transaction of journal {}", firstId, abortException);
+                    }
+                }
+                try {
+                    this.wait(5 * 1000);
+                } catch (InterruptedException e1) {
+                    e1.printStackTrace();
+                }
+            }
+        }
+
+        if (writeSuccessed) {
+            nextJournalId.addAndGet(datas.size());
+            return;
+        }
+        if (entities.stream().allMatch(entity -> entity.getOpCode() == OperationType.OP_TIMESTAMP)) {
+            // same as write(), do not exit if only OP_TIMESTAMP fails
+            LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+            return;
+        }
+        String msg = "write bdb failed. will exit. journalId: " + firstId + ", bdb database Name: " +
+                currentJournalDB.getDb().getDatabaseName();
+        LOG.error(msg);
+        Util.stdoutWithTime(msg);
+        System.exit(-1);
+    }
+
     @Deprecated
     @Override
     public JournalEntity read(long journalId) {
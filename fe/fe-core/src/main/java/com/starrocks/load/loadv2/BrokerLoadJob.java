@@ -49,6 +49,7 @@ import com.starrocks.qe.OriginStatement;
 import com.starrocks.service.FrontendOptions;
 import com.starrocks.thrift.TUniqueId;
 import com.starrocks.transaction.BeginTransactionException;
+import com.starrocks.transaction.GlobalTransactionMgr;
 import com.starrocks.transaction.TransactionState;
 import com.starrocks.transaction.TransactionState.TxnCoordinator;
 import com.starrocks.transaction.TransactionState.TxnSourceType;
@@ -178,7 +179,9 @@ public class BrokerLoadJob extends BulkLoadJob {
     private void createLoadingTask(Database db, BrokerPendingTaskAttachment attachment) throws UserException {
         // divide job into broker loading task by table
         List<LoadLoadingTask> newLoadingTasks = Lists.newArrayList();
-        db.readLock();
+        // partitions and replicas of the tables are read in planning, which are changed by the loads
+        // committed or published concurrently under the table write lock
+        List<OlapTable> tables = db.readLockTables(fileGroupAggInfo.getAllTableIds());
         try {
             for (Map.Entry<FileGroupAggKey, List<BrokerFileGroup>> entry : fileGroupAggInfo.getAggKeyToFileGroups()
                     .entrySet()) {
@@ -219,7 +222,7 @@ public class BrokerLoadJob extends BulkLoadJob {
             }
 
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(tables);
         }
 
         // Submit task outside the database lock, cause it may take a while if task queue is full.
@@ -284,7 +287,7 @@ public class BrokerLoadJob extends BulkLoadJob {
             cancelJobWithoutCheck(new FailMsg(FailMsg.CancelType.LOAD_RUN_FAIL, e.getMessage()), true, true);
             return;
         }
-        db.writeLock();
+        List<OlapTable> tables = db.writeLockTables(GlobalTransactionMgr.getCommitTableIds(commitInfos));
         try {
             LOG.info(new LogBuilder(LogKey.LOAD_JOB, id)
                     .add("txn_id", transactionId)
@@ -319,7 +322,7 @@ public class BrokerLoadJob extends BulkLoadJob {
             cancelJobWithoutCheck(new FailMsg(FailMsg.CancelType.LOAD_RUN_FAIL, e.getMessage()), true, true);
             return;
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tables);
         }
     }
 
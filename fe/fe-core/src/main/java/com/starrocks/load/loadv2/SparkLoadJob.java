@@ -90,6 +90,7 @@ import com.starrocks.thrift.TPriority;
 import com.starrocks.thrift.TPushType;
 import com.starrocks.thrift.TUniqueId;
 import com.starrocks.transaction.BeginTransactionException;
+import com.starrocks.transaction.GlobalTransactionMgr;
 import com.starrocks.transaction.TabletCommitInfo;
 import com.starrocks.transaction.TabletQuorumFailedException;
 import com.starrocks.transaction.TransactionState;
@@ -644,7 +645,7 @@ public class SparkLoadJob extends BulkLoadJob {
                 .add("msg", "Load job try to commit txn")
                 .build());
         Database db = getDb();
-        db.writeLock();
+        List<OlapTable> tables = db.writeLockTables(GlobalTransactionMgr.getCommitTableIds(commitInfos));
         try {
             Catalog.getCurrentGlobalTransactionMgr().commitTransaction(
                     dbId, transactionId, commitInfos,
@@ -653,7 +654,7 @@ public class SparkLoadJob extends BulkLoadJob {
         } catch (TabletQuorumFailedException e) {
             // retry in next loop
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tables);
         }
     }
 
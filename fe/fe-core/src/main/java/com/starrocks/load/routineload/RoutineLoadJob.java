@@ -692,7 +692,9 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         if (db == null) {
             throw new MetaNotFoundException("db " + dbId + " does not exist");
         }
-        db.readLock();
+        // partitions and replicas of the table are read in planning, which are changed by the loads
+        // committed or published concurrently under the table write lock
+        List<OlapTable> tables = db.readLockTables(Lists.newArrayList(this.tableId));
         try {
             Table table = db.getTable(this.tableId);
             if (table == null) {
@@ -710,7 +712,7 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
 
             return planParams;
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(tables);
         }
     }
 
@@ -103,6 +103,11 @@ public class ReportHandler extends Daemon {
 
     private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
 
+    // backend id -> id of the last tablet report acked, which the next incremental tablet report is based on
+    private final Map<Long, Long> backendToAckedTabletReportId = Maps.newConcurrentMap();
+    // backend id -> time of the last full tablet report
+    private final Map<Long, Long> backendToLastFullTabletReportTime = Maps.newConcurrentMap();
+
     public ReportHandler() {
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
@@ -136,6 +141,7 @@ public class ReportHandler extends Daemon {
         Map<TTaskType, Set<Long>> tasks = null;
         Map<String, TDisk> disks = null;
         Map<Long, TTablet> tablets = null;
+        Set<Long> removedTabletIds = null;
         List<TWorkGroup> activeWorkGroups = null;
         long reportVersion = -1;
 
@@ -161,6 +167,20 @@ public class ReportHandler extends Daemon {
             reportType += "tablet";
         }
 
+        if (tablets != null && request.isSetBase_tablet_report_id()) {
+            // an incremental report only makes sense on top of the report it's based on
+            Long ackedTabletReportId = backendToAckedTabletReportId.get(beId);
+            if (ackedTabletReportId == null || ackedTabletReportId != request.getBase_tablet_report_id()) {
+                LOG.info("ignore incremental tablet report from be {}, base report: {}, acked report: {}",
+                        beId, request.getBase_tablet_report_id(), ackedTabletReportId);
+                tablets = null;
+            } else {
+                removedTabletIds = request.isSetRemoved_tablet_ids() ?
+                        Sets.newHashSet(request.getRemoved_tablet_ids()) : Sets.newHashSet();
+                reportType += "(incremental)";
+            }
+        }
+
         if (request.isSetTablet_max_compaction_score()) {
             backend.setTabletMaxCompactionScore(request.getTablet_max_compaction_score());
         }
@@ -171,7 +191,18 @@ public class ReportHandler extends Daemon {
         List<TWorkGroupOp> workGroupOps = Catalog.getCurrentCatalog().getWorkGroupMgr().getWorkGroupsNeedToDeliver(beId);
         result.setWorkgroup_ops(workGroupOps);
 
-        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion, activeWorkGroups);
+        long ackedTabletReportId = -1L;
+        if (request.isSetTablet_report_id()) {
+            // the acked report is recorded after it's applied, see ReportTask.exec(), an incremental report
+            // received before that is ignored and the backend falls back to a full report
+            backendToAckedTabletReportId.remove(beId);
+            if (tablets != null && ackTabletReport(beId, removedTabletIds == null)) {
+                ackedTabletReportId = request.getTablet_report_id();
+            }
+        }
+
+        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, removedTabletIds, reportVersion,
+                ackedTabletReportId, activeWorkGroups);
         try {
             putToQueue(reportTask);
         } catch (Exception e) {
@@ -183,11 +214,35 @@ public class ReportHandler extends Daemon {
             return result;
         }
 
+        if (ackedTabletReportId != -1L) {
+            result.setAcked_tablet_report_id(ackedTabletReportId);
+        }
+
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
                 backend.getId(), reportType, reportQueue.size());
         return result;
     }
 
+    /*
+     * Whether the next tablet report of the backend can be incremental based on the current one.
+     * An incremental report only contains the tablets changed on backend, so replicas changed in meta only,
+     * e.g. versions to republish, are found by the full report, which is required every
+     * tablet_report_full_interval_second.
+     */
+    private boolean ackTabletReport(long beId, boolean isFullReport) {
+        if (!Config.enable_incremental_tablet_report) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (isFullReport) {
+            backendToLastFullTabletReportTime.put(beId, now);
+            return true;
+        }
+        Long lastFullReportTime = backendToLastFullTabletReportTime.get(beId);
+        return lastFullReportTime != null
+                && now - lastFullReportTime < Config.tablet_report_full_interval_second * 1000L;
+    }
+
     private void putToQueue(ReportTask reportTask) throws Exception {
         int currentSize = reportQueue.size();
         if (currentSize > Config.report_queue_size) {
@@ -217,18 +272,23 @@ public class ReportHandler extends Daemon {
         private Map<TTaskType, Set<Long>> tasks;
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
+        private Set<Long> removedTabletIds;
         private long reportVersion;
+        // id of the tablet report acked to the backend, -1 if it's not acked
+        private long ackedTabletReportId;
         private List<TWorkGroup> activeWorkGroups;
 
         public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
-                          Map<Long, TTablet> tablets, long reportVersion,
-                          List<TWorkGroup> activeWorkGroups) {
+                          Map<Long, TTablet> tablets, Set<Long> removedTabletIds, long reportVersion,
+                          long ackedTabletReportId, List<TWorkGroup> activeWorkGroups) {
             this.beId = beId;
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
+            this.removedTabletIds = removedTabletIds;
             this.reportVersion = reportVersion;
+            this.ackedTabletReportId = ackedTabletReportId;
             this.activeWorkGroups = activeWorkGroups;
         }
 
@@ -241,7 +301,14 @@ public class ReportHandler extends Daemon {
                 ReportHandler.diskReport(beId, disks);
             }
             if (tablets != null) {
-                ReportHandler.tabletReport(beId, tablets, reportVersion);
+                // the next incremental report only contains the tablets changed since this one, so it can be
+                // based on this one only if all the tablets in this one are applied
+                boolean isApplied = ReportHandler.tabletReport(beId, tablets, removedTabletIds, reportVersion);
+                if (isApplied && ackedTabletReportId != -1L) {
+                    backendToAckedTabletReportId.put(beId, ackedTabletReportId);
+                } else {
+                    backendToAckedTabletReportId.remove(beId);
+                }
             }
             if (activeWorkGroups != null) {
                 ReportHandler.workgroupReport(beId, activeWorkGroups);
@@ -249,10 +316,14 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    // return false if some tablets in the report are skipped, e.g. the report is stale
+    private static boolean tabletReport(long backendId, Map<Long, TTablet> backendTablets, Set<Long> removedTabletIds,
+                                        long backendReportVersion) {
         long start = System.currentTimeMillis();
-        LOG.info("backend[{}] reports {} tablet(s). report version: {}",
-                backendId, backendTablets.size(), backendReportVersion);
+        LOG.info("backend[{}] reports {} tablet(s){}. report version: {}",
+                backendId, backendTablets.size(),
+                removedTabletIds == null ? "" : " and " + removedTabletIds.size() + " removed tablet(s) incrementally",
+                backendReportVersion);
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap = Catalog.getCurrentCatalog().getPartitionIdToStorageMediumMap();
@@ -278,7 +349,7 @@ public class ReportHandler extends Daemon {
         Set<Pair<Long, Integer>> tabletWithoutPartitionId = Sets.newHashSet();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        Catalog.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        Catalog.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, removedTabletIds, storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 foundTabletsWithValidSchema,
@@ -290,11 +361,11 @@ public class ReportHandler extends Daemon {
                 tabletWithoutPartitionId);
 
         // 2. sync
-        sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
+        int skippedNum = sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
 
         // 3. delete (meta - be)
         // BE will automatically drop defective tablets. these tablets should also be dropped in catalog
-        deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
+        skippedNum += deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
 
         // 4. handle (be - meta)
         deleteFromBackend(backendTablets, foundTabletsWithValidSchema, foundTabletsWithInvalidSchema, backendId);
@@ -325,7 +396,18 @@ public class ReportHandler extends Daemon {
         }
 
         long end = System.currentTimeMillis();
-        LOG.info("tablet report from backend[{}] cost: {} ms", backendId, (end - start));
+        if (MetricRepo.isInit) {
+            if (removedTabletIds == null) {
+                MetricRepo.COUNTER_TABLET_REPORT_FULL.increase(1L);
+            } else {
+                MetricRepo.COUNTER_TABLET_REPORT_INCREMENTAL.increase(1L);
+            }
+            MetricRepo.HISTO_TABLET_REPORT_SIZE.update(backendTablets.size());
+            MetricRepo.HISTO_TABLET_REPORT_LATENCY.update(end - start);
+        }
+        LOG.info("tablet report from backend[{}] cost: {} ms, skipped tablets: {}", backendId, (end - start),
+                skippedNum);
+        return skippedNum == 0;
     }
 
     private static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
@@ -399,10 +481,12 @@ public class ReportHandler extends Daemon {
                 backendId, System.currentTimeMillis() - start, workGroups.size());
     }
 
-    private static void sync(Map<Long, TTablet> backendTablets, ListMultimap<Long, Long> tabletSyncMap,
-                             long backendId, long backendReportVersion) {
+    // return the number of tablets which are not synced for now, e.g. the replica is under schema change
+    private static int sync(Map<Long, TTablet> backendTablets, ListMultimap<Long, Long> tabletSyncMap,
+                            long backendId, long backendReportVersion) {
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
         Catalog catalog = Catalog.getCurrentCatalog();
+        int skippedNum = 0;
         for (Long dbId : tabletSyncMap.keySet()) {
             Database db = catalog.getDbIncludeRecycleBin(dbId);
             if (db == null) {
@@ -456,7 +540,9 @@ public class ReportHandler extends Daemon {
                     // the fe will sync the replica with the original replica, but ignore the schema change replica.
                     // if the last failed version is changed, then fe will think schema change successfully.
                     // this is an fatal error.
-                    if (replica.getState() == ReplicaState.NORMAL) {
+                    if (replica.getState() != ReplicaState.NORMAL) {
+                        ++skippedNum;
+                    } else {
                         long metaVersion = replica.getVersion();
                         long backendVersion = -1L;
                         long rowCount = -1L;
@@ -490,6 +576,7 @@ public class ReportHandler extends Daemon {
 
                             if (backendReportVersion < Catalog.getCurrentSystemInfo()
                                     .getBackendReportVersion(backendId)) {
+                                ++skippedNum;
                                 continue;
                             }
 
@@ -527,11 +614,14 @@ public class ReportHandler extends Daemon {
                 db.writeUnlock();
             }
         } // end for dbs
+        return skippedNum;
     }
 
-    private static void deleteFromMeta(ListMultimap<Long, Long> tabletDeleteFromMeta, long backendId,
-                                       long backendReportVersion) {
+    // return the number of tablets which are not deleted for now because the report is stale
+    private static int deleteFromMeta(ListMultimap<Long, Long> tabletDeleteFromMeta, long backendId,
+                                      long backendReportVersion) {
         AgentBatchTask createReplicaBatchTask = new AgentBatchTask();
+        int skippedNum = 0;
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
         Catalog catalog = Catalog.getCurrentCatalog();
         for (Long dbId : tabletDeleteFromMeta.keySet()) {
@@ -592,6 +682,7 @@ public class ReportHandler extends Daemon {
                     long currentBackendReportVersion =
                             Catalog.getCurrentSystemInfo().getBackendReportVersion(backendId);
                     if (backendReportVersion < currentBackendReportVersion) {
+                        ++skippedNum;
                         continue;
                     }
 
@@ -684,6 +775,7 @@ public class ReportHandler extends Daemon {
             AgentTaskQueue.addBatchTask(createReplicaBatchTask);
             AgentTaskExecutor.submit(createReplicaBatchTask);
         }
+        return skippedNum;
     }
 
     private static void deleteFromBackend(Map<Long, TTablet> backendTablets,
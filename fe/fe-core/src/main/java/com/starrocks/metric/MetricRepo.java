@@ -50,6 +50,7 @@ import com.starrocks.monitor.jvm.JvmStats;
 import com.starrocks.proto.PKafkaOffsetProxyRequest;
 import com.starrocks.proto.PKafkaOffsetProxyResult;
 import com.starrocks.service.ExecuteEnv;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
@@ -96,9 +97,22 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_EVICTION;
+    public static LongCounterMetric COUNTER_QUERY_RESULT_CACHE_HIT;
+    public static LongCounterMetric COUNTER_QUERY_RESULT_CACHE_MISS;
+    public static LongCounterMetric COUNTER_META_LOCK_SLOW_WAIT;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_WRITE_BATCH_SIZE;
+    public static Histogram HISTO_DB_LOCK_WAIT_LATENCY;
+    public static Histogram HISTO_TABLE_LOCK_WAIT_LATENCY;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_FULL;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_INCREMENTAL;
+    public static Histogram HISTO_TABLET_REPORT_SIZE;
+    public static Histogram HISTO_TABLET_REPORT_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -224,6 +238,16 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(scheduledTabletNum);
 
+        // plan cache size
+        GaugeMetric<Long> planCacheSize = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                "plan_cache_size", MetricUnit.NOUNIT, "number of plans in plan cache") {
+            @Override
+            public Long getValue() {
+                return PlanCache.INSTANCE.size();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(planCacheSize);
+
         // routine load jobs
         RoutineLoadManager routineLoadManger = Catalog.getCurrentCatalog().getRoutineLoadManager();
         for (RoutineLoadJob.JobState state : RoutineLoadJob.JobState.values()) {
@@ -358,10 +382,45 @@ public final class MetricRepo {
                 "total error rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
 
+        COUNTER_PLAN_CACHE_HIT = new LongCounterMetric("plan_cache_hit", MetricUnit.REQUESTS,
+                "counter of queries which reuse a cached plan");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PLAN_CACHE_HIT);
+        COUNTER_PLAN_CACHE_MISS = new LongCounterMetric("plan_cache_miss", MetricUnit.REQUESTS,
+                "counter of queries which find no valid plan in plan cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PLAN_CACHE_MISS);
+        COUNTER_PLAN_CACHE_EVICTION = new LongCounterMetric("plan_cache_eviction", MetricUnit.OPERATIONS,
+                "counter of plans evicted from plan cache because it is full");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PLAN_CACHE_EVICTION);
+        COUNTER_QUERY_RESULT_CACHE_HIT = new LongCounterMetric("query_result_cache_hit", MetricUnit.REQUESTS,
+                "counter of queries answered from result cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_QUERY_RESULT_CACHE_HIT);
+        COUNTER_QUERY_RESULT_CACHE_MISS = new LongCounterMetric("query_result_cache_miss", MetricUnit.REQUESTS,
+                "counter of queries which find no valid result in result cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_QUERY_RESULT_CACHE_MISS);
+        COUNTER_META_LOCK_SLOW_WAIT = new LongCounterMetric("meta_lock_slow_wait", MetricUnit.OPERATIONS,
+                "counter of database or table lock waits longer than slow_lock_threshold_ms");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_META_LOCK_SLOW_WAIT);
+        COUNTER_TABLET_REPORT_FULL = new LongCounterMetric("tablet_report_full", MetricUnit.REQUESTS,
+                "counter of full tablet reports handled");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_TABLET_REPORT_FULL);
+        COUNTER_TABLET_REPORT_INCREMENTAL = new LongCounterMetric("tablet_report_incremental", MetricUnit.REQUESTS,
+                "counter of incremental tablet reports handled");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_TABLET_REPORT_INCREMENTAL);
+
         // 3. histogram
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("query", "latency", "ms"));
         HISTO_EDIT_LOG_WRITE_LATENCY =
                 METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_WRITE_BATCH_SIZE =
+                METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "write", "batch", "size"));
+        HISTO_DB_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("meta", "lock", "db", "wait", "ms"));
+        HISTO_TABLE_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("meta", "lock", "table", "wait", "ms"));
+        HISTO_TABLET_REPORT_SIZE =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_report", "size"));
+        HISTO_TABLET_REPORT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_report", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -0,0 +1,169 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.mysql;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Convert result rows from the text protocol (ProtocolText::ResultsetRow), which is what backends produce,
+ * into the binary protocol (ProtocolBinary::ResultsetRow) used to answer COM_STMT_EXECUTE.
+ * https://dev.mysql.com/doc/internals/en/binary-protocol-resultset-row.html
+ */
+public class MysqlBinaryRowConverter {
+    private static final int NULL_MARKER = 251;
+    // The null bitmap of a binary row starts at bit 2
+    private static final int NULL_BITMAP_OFFSET = 2;
+
+    private final List<MysqlColType> columnTypes;
+    private final MysqlSerializer serializer = MysqlSerializer.newInstance();
+
+    public MysqlBinaryRowConverter(List<MysqlColType> columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+
+    public ByteBuffer convert(ByteBuffer textRow) {
+        ByteBuffer row = textRow.duplicate();
+        int numColumns = columnTypes.size();
+        byte[][] values = new byte[numColumns][];
+        byte[] nullBitmap = new byte[(numColumns + 7 + NULL_BITMAP_OFFSET) / 8];
+        for (int i = 0; i < numColumns; i++) {
+            if ((row.get(row.position()) & 0xFF) == NULL_MARKER) {
+                row.get();
+                int bit = i + NULL_BITMAP_OFFSET;
+                nullBitmap[bit / 8] |= (byte) (1 << (bit % 8));
+            } else {
+                values[i] = MysqlProto.readLenEncodedString(row);
+            }
+        }
+
+        serializer.reset();
+        // packet header of binary row
+        serializer.writeInt1(0x00);
+        serializer.writeBytes(nullBitmap);
+        for (int i = 0; i < numColumns; i++) {
+            if (values[i] != null) {
+                writeValue(columnTypes.get(i), values[i]);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    private void writeValue(MysqlColType type, byte[] text) {
+        String value;
+        switch (type) {
+            case MYSQL_TYPE_TINY:
+                serializer.writeInt1((int) Long.parseLong(new String(text, StandardCharsets.UTF_8)));
+                break;
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR:
+                serializer.writeInt2((int) Long.parseLong(new String(text, StandardCharsets.UTF_8)));
+                break;
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24:
+                serializer.writeInt4((int) Long.parseLong(new String(text, StandardCharsets.UTF_8)));
+                break;
+            case MYSQL_TYPE_LONGLONG:
+                serializer.writeInt8(Long.parseLong(new String(text, StandardCharsets.UTF_8)));
+                break;
+            case MYSQL_TYPE_FLOAT:
+                serializer.writeInt4(Float.floatToIntBits(Float.parseFloat(new String(text, StandardCharsets.UTF_8))));
+                break;
+            case MYSQL_TYPE_DOUBLE:
+                serializer.writeInt8(
+                        Double.doubleToLongBits(Double.parseDouble(new String(text, StandardCharsets.UTF_8))));
+                break;
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                writeDateTime(new String(text, StandardCharsets.UTF_8));
+                break;
+            case MYSQL_TYPE_TIME:
+                writeTime(new String(text, StandardCharsets.UTF_8));
+                break;
+            default:
+                // decimal, string and all other types are length encoded strings in the binary protocol too
+                serializer.writeVInt(text.length);
+                serializer.writeBytes(text);
+                break;
+        }
+    }
+
+    // text format: yyyy-MM-dd[ HH:mm:ss[.ffffff]]
+    private void writeDateTime(String value) {
+        int year = Integer.parseInt(value.substring(0, 4));
+        int month = Integer.parseInt(value.substring(5, 7));
+        int day = Integer.parseInt(value.substring(8, 10));
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int microSecond = 0;
+        if (value.length() >= 19) {
+            hour = Integer.parseInt(value.substring(11, 13));
+            minute = Integer.parseInt(value.substring(14, 16));
+            second = Integer.parseInt(value.substring(17, 19));
+            if (value.length() > 20) {
+                microSecond = parseMicroSecond(value.substring(20));
+            }
+        }
+
+        if (microSecond != 0) {
+            serializer.writeInt1(11);
+        } else if (hour != 0 || minute != 0 || second != 0) {
+            serializer.writeInt1(7);
+        } else {
+            serializer.writeInt1(4);
+        }
+        serializer.writeInt2(year);
+        serializer.writeInt1(month);
+        serializer.writeInt1(day);
+        if (hour != 0 || minute != 0 || second != 0 || microSecond != 0) {
+            serializer.writeInt1(hour);
+            serializer.writeInt1(minute);
+            serializer.writeInt1(second);
+            if (microSecond != 0) {
+                serializer.writeInt4(microSecond);
+            }
+        }
+    }
+
+    // text format: [-]HH:mm:ss[.ffffff], hours may be larger than 24
+    private void writeTime(String value) {
+        boolean isNegative = value.startsWith("-");
+        String[] parts = (isNegative ? value.substring(1) : value).split(":");
+        long hours = Long.parseLong(parts[0]);
+        int minute = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+        int second = 0;
+        int microSecond = 0;
+        if (parts.length > 2) {
+            int dot = parts[2].indexOf('.');
+            if (dot >= 0) {
+                second = Integer.parseInt(parts[2].substring(0, dot));
+                microSecond = parseMicroSecond(parts[2].substring(dot + 1));
+            } else {
+                second = Integer.parseInt(parts[2]);
+            }
+        }
+        if (hours == 0 && minute == 0 && second == 0 && microSecond == 0) {
+            serializer.writeInt1(0);
+            return;
+        }
+        serializer.writeInt1(microSecond != 0 ? 12 : 8);
+        serializer.writeInt1(isNegative ? 1 : 0);
+        serializer.writeInt4((int) (hours / 24));
+        serializer.writeInt1((int) (hours % 24));
+        serializer.writeInt1(minute);
+        serializer.writeInt1(second);
+        if (microSecond != 0) {
+            serializer.writeInt4(microSecond);
+        }
+    }
+
+    private static int parseMicroSecond(String fraction) {
+        StringBuilder digits = new StringBuilder(fraction.length() > 6 ? fraction.substring(0, 6) : fraction);
+        while (digits.length() < 6) {
+            digits.append('0');
+        }
+        return Integer.parseInt(digits.toString());
+    }
+}
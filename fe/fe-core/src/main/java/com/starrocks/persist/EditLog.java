@@ -22,6 +22,7 @@
 package com.starrocks.persist;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.starrocks.alter.AlterJobV2;
 import com.starrocks.alter.BatchAlterJobPersistInfo;
 import com.starrocks.alter.DecommissionBackendJob;
@@ -74,6 +75,10 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
 
 /**
  * EditLog maintains a log of the memory modifications.
@@ -91,6 +96,19 @@ public class EditLog {
 
     private final Journal journal;
 
+    // An operation waiting to be written by the journal writer
+    private static class JournalTask {
+        private final JournalEntity entity;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        JournalTask(JournalEntity entity) {
+            this.entity = entity;
+        }
+    }
+
+    private final BlockingQueue<JournalTask> journalQueue = new LinkedBlockingQueue<>();
+    private volatile Thread journalWriter = null;
+
     public EditLog(String nodeName) {
         journal = JournalFactory.create(nodeName);
     }
@@ -836,9 +854,10 @@ public class EditLog {
     }
 
     /**
-     * Write an operation to the edit log. Do not sync to persistent store yet.
+     * Write an operation to the edit log, and wait until it is synced to the persistent store.
+     * Operations logged concurrently are written together by the journal writer thread, see writeJournals().
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -849,38 +868,90 @@ public class EditLog {
         Preconditions.checkState(Catalog.getCurrentCatalog().isMaster(),
                 "non-master fe can not write bdb log");
 
-        try {
-            journal.write(op, writable);
-        } catch (Exception e) {
-            LOG.error("Fatal Error : write stream Exception", e);
-            System.exit(-1);
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(op);
+        entity.setData(writable);
+        JournalTask task = new JournalTask(entity);
+        if (journalWriter == null) {
+            startJournalWriter();
+        }
+        journalQueue.add(task);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                task.latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
-
-        // get a new transactionId
-        txId++;
 
         // update statistics
         long end = System.currentTimeMillis();
-        numTransactions++;
-        totalTimeTransactions += (end - start);
         if (MetricRepo.isInit) {
             MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
         }
+    }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {}",
-                    txId, numTransactions, totalTimeTransactions, op);
+    private synchronized void startJournalWriter() {
+        if (journalWriter != null) {
+            return;
         }
+        journalWriter = new Thread(this::writeJournals, "edit-log-writer");
+        journalWriter.setDaemon(true);
+        journalWriter.start();
+    }
+
+    // Take all the journals waiting in journalQueue and write them in one batch
+    private void writeJournals() {
+        List<JournalTask> batch = Lists.newArrayList();
+        while (true) {
+            try {
+                batch.add(journalQueue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            journalQueue.drainTo(batch, Math.max(Config.edit_log_write_batch_max_num, 1) - 1);
+            List<JournalEntity> entities = batch.stream().map(task -> task.entity).collect(Collectors.toList());
+            long start = System.currentTimeMillis();
+            try {
+                journal.batchWrite(entities);
+            } catch (Exception e) {
+                LOG.error("Fatal Error : write stream Exception", e);
+                System.exit(-1);
+            }
+            long end = System.currentTimeMillis();
 
-        if (txId >= Config.edit_log_roll_num) {
-            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.",
-                    txId, Config.edit_log_roll_num);
-            rollEditLog();
-            txId = 0;
-        }
+            synchronized (this) {
+                // get new transactionIds
+                txId += batch.size();
+                numTransactions += batch.size();
+                totalTimeTransactions += (end - start);
 
-        if (MetricRepo.isInit) {
-            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, batch size = {}",
+                            txId, numTransactions, totalTimeTransactions, batch.size());
+                }
+
+                if (txId >= Config.edit_log_roll_num) {
+                    LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.",
+                            txId, Config.edit_log_roll_num);
+                    rollEditLog();
+                    txId = 0;
+                }
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_EDIT_LOG_WRITE_BATCH_SIZE.update(batch.size());
+            }
+
+            for (JournalTask task : batch) {
+                task.latch.countDown();
+            }
+            batch.clear();
         }
     }
 
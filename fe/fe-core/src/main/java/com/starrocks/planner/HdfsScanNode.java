@@ -9,6 +9,7 @@ import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.common.UserException;
 import com.starrocks.external.RemoteScanRangeLocations;
+import com.starrocks.external.SplitSource;
 import com.starrocks.sql.plan.HDFSScanNodePredicates;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.THdfsScanNode;
@@ -71,6 +72,11 @@ public class HdfsScanNode extends ScanNode {
         return scanRangeLocations.getScanRangeLocations(maxScanRangeLength);
     }
 
+    @Override
+    public SplitSource getSplitSource() {
+        return scanRangeLocations.getSplitSource();
+    }
+
     @Override
     protected String getNodeExplainString(String prefix, TExplainLevel detailLevel) {
         StringBuilder output = new StringBuilder();
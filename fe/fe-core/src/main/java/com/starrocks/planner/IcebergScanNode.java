@@ -4,6 +4,7 @@ package com.starrocks.planner;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterators;
 import com.starrocks.analysis.Analyzer;
 import com.starrocks.analysis.DescriptorTable;
 import com.starrocks.analysis.Expr;
@@ -11,10 +12,15 @@ import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.IcebergTable;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.UserException;
 import com.starrocks.external.PredicateUtils;
+import com.starrocks.external.SplitSource;
 import com.starrocks.external.iceberg.ExpressionConverter;
+import com.starrocks.external.iceberg.IcebergManifestCache;
 import com.starrocks.external.iceberg.IcebergUtil;
+import com.starrocks.sql.common.ErrorType;
+import com.starrocks.sql.common.StarRocksPlannerException;
 import com.starrocks.system.Backend;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.THdfsScanNode;
@@ -29,13 +35,21 @@ import org.apache.iceberg.CombinedScanTask;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.exceptions.ValidationException;
 import org.apache.iceberg.expressions.Binder;
 import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,7 +58,14 @@ public class IcebergScanNode extends ScanNode {
 
     private IcebergTable srIcebergTable; // table definition in starRocks
 
-    private List<TScanRangeLocations> result = new ArrayList<>();
+    // scan of the current snapshot, whose tasks are only planned when the scan ranges are consumed.
+    // null if the table has no snapshot or the data files are got from IcebergManifestCache.
+    private TableScan tableScan = null;
+    // data files of the current snapshot matching the predicates, got from IcebergManifestCache
+    private List<DataFile> dataFiles = null;
+    private boolean hasDeleteFiles = false;
+    private long splitSize = TableProperties.SPLIT_SIZE_DEFAULT;
+    private List<TScanRangeLocations> result = null;
 
     // Exprs in icebergConjuncts converted to Iceberg Expression.
     private List<Expression> icebergPredicates = null;
@@ -123,7 +144,7 @@ public class IcebergScanNode extends ScanNode {
 
         LOG.debug("IcebergScanNode finalize. Tuple: {}", desc);
         try {
-            getScanRangeLocations();
+            setupScanRangeLocations();
         } catch (AnalysisException e) {
             throw new UserException(e.getMessage());
         }
@@ -139,10 +160,39 @@ public class IcebergScanNode extends ScanNode {
 
     @Override
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
+        if (result == null) {
+            List<TScanRangeLocations> scanRangeLocations = new ArrayList<>();
+            SplitSource splitSource = getSplitSource();
+            try {
+                List<TScanRangeLocations> batch;
+                do {
+                    batch = splitSource.getNextBatch(Integer.MAX_VALUE);
+                    scanRangeLocations.addAll(batch);
+                } while (!batch.isEmpty());
+            } catch (UserException e) {
+                throw new StarRocksPlannerException(e.getMessage(), ErrorType.INTERNAL_ERROR);
+            }
+            result = scanRangeLocations;
+        }
         return result;
     }
 
-    public void getScanRangeLocations() throws UserException {
+    @Override
+    public SplitSource getSplitSource() {
+        if (dataFiles != null) {
+            Iterator<IcebergSplit> splits = dataFiles.stream().flatMap(file -> splitDataFile(file).stream()).iterator();
+            return new IcebergSplitSource(splits, null);
+        }
+        if (tableScan == null) {
+            return maxSize -> Collections.emptyList();
+        }
+        CloseableIterable<CombinedScanTask> combinedScanTasks = tableScan.planTasks();
+        Iterator<FileScanTask> fileScanTasks = Iterators.concat(
+                Iterators.transform(combinedScanTasks.iterator(), task -> task.files().iterator()));
+        return new IcebergSplitSource(Iterators.transform(fileScanTasks, IcebergSplit::new), combinedScanTasks);
+    }
+
+    public void setupScanRangeLocations() throws UserException {
         Optional<Snapshot> snapshot = IcebergUtil.getCurrentTableSnapshot(
                 srIcebergTable.getIcebergTable(), true);
         if (!snapshot.isPresent()) {
@@ -150,39 +200,175 @@ public class IcebergScanNode extends ScanNode {
             return;
         }
         preProcessConjuncts();
-        for (CombinedScanTask combinedScanTask : IcebergUtil.getTableScan(
-                srIcebergTable.getIcebergTable(), snapshot.get(),
-                icebergPredicates, true).planTasks()) {
-            for (FileScanTask task : combinedScanTask.files()) {
-                DataFile file = task.file();
+        org.apache.iceberg.Table icebergTable = srIcebergTable.getIcebergTable();
+        if (Config.enable_iceberg_manifest_cache) {
+            IcebergManifestCache.SnapshotFiles snapshotFiles =
+                    IcebergManifestCache.getInstance().getSnapshotFiles(icebergTable, snapshot.get());
+            dataFiles = snapshotFiles.getDataFiles(icebergTable, icebergPredicates);
+            hasDeleteFiles = snapshotFiles.hasDeleteFiles();
+            splitSize = PropertyUtil.propertyAsLong(icebergTable.properties(), TableProperties.SPLIT_SIZE,
+                    TableProperties.SPLIT_SIZE_DEFAULT);
+            return;
+        }
+        tableScan = IcebergUtil.getTableScan(icebergTable, snapshot.get(), icebergPredicates, true);
+    }
+
+    /**
+     * Split the data file like a table scan does, by the split offsets of the file if there are,
+     * otherwise by the split size.
+     */
+    private List<IcebergSplit> splitDataFile(DataFile file) {
+        List<IcebergSplit> splits = new ArrayList<>();
+        long fileLength = file.fileSizeInBytes();
+        if (!file.format().isSplittable()) {
+            splits.add(new IcebergSplit(file, 0, fileLength, hasDeleteFiles));
+            return splits;
+        }
+
+        List<Long> offsets = file.splitOffsets();
+        if (!isValidSplitOffsets(offsets, fileLength)) {
+            for (long start = 0; start < fileLength; start += splitSize) {
+                splits.add(new IcebergSplit(file, start, Math.min(splitSize, fileLength - start), hasDeleteFiles));
+            }
+            return splits;
+        }
+
+        // combine the adjacent ranges between the offsets up to the split size
+        int index = 0;
+        while (index < offsets.size()) {
+            long start = offsets.get(index);
+            long end = index + 1 < offsets.size() ? offsets.get(index + 1) : fileLength;
+            index++;
+            while (index < offsets.size()) {
+                long nextEnd = index + 1 < offsets.size() ? offsets.get(index + 1) : fileLength;
+                if (nextEnd - start > splitSize) {
+                    break;
+                }
+                end = nextEnd;
+                index++;
+            }
+            splits.add(new IcebergSplit(file, start, end - start, hasDeleteFiles));
+        }
+        return splits;
+    }
+
+    private static boolean isValidSplitOffsets(List<Long> offsets, long fileLength) {
+        if (offsets == null || offsets.isEmpty()) {
+            return false;
+        }
+        for (int i = 1; i < offsets.size(); i++) {
+            if (offsets.get(i) <= offsets.get(i - 1)) {
+                return false;
+            }
+        }
+        return offsets.get(offsets.size() - 1) < fileLength;
+    }
+
+    /**
+     * Range of a data file to scan.
+     */
+    private static class IcebergSplit {
+        private final DataFile file;
+        private final long start;
+        private final long length;
+        private final boolean hasDeletes;
+
+        IcebergSplit(DataFile file, long start, long length, boolean hasDeletes) {
+            this.file = file;
+            this.start = start;
+            this.length = length;
+            this.hasDeletes = hasDeletes;
+        }
+
+        IcebergSplit(FileScanTask task) {
+            this(task.file(), task.start(), task.length(), !task.deletes().isEmpty());
+        }
+    }
+
+    /**
+     * Creates the scan ranges of the splits lazily. If the splits are planned by the table scan, the manifests
+     * are only read as far as the scan ranges are consumed.
+     * <p>
+     * If the scan has a limit and no predicates, it stops after the data files known to have enough records,
+     * like for "select * from t limit 10". Only the data files scanned as a whole without delete files count,
+     * since the record count is of the whole data file before deletes.
+     */
+    private class IcebergSplitSource implements SplitSource {
+        private final Iterator<IcebergSplit> splits;
+        // closed when finished, null if there is nothing to close
+        private final Closeable closeable;
+        private long knownRecords = 0;
+        private boolean isFinished = false;
+
+        IcebergSplitSource(Iterator<IcebergSplit> splits, Closeable closeable) {
+            this.splits = splits;
+            this.closeable = closeable;
+        }
+
+        @Override
+        public List<TScanRangeLocations> getNextBatch(int maxSize) {
+            List<TScanRangeLocations> batch = new ArrayList<>();
+            while (batch.size() < maxSize && !isFinished) {
+                if (hasLimit() && conjuncts.isEmpty() && knownRecords >= limit) {
+                    LOG.debug("stop planning iceberg scan tasks of {} after {} records for limit {}",
+                            srIcebergTable.getTable(), knownRecords, limit);
+                    finish();
+                    break;
+                }
+                if (!splits.hasNext()) {
+                    finish();
+                    break;
+                }
+
+                IcebergSplit split = splits.next();
+                DataFile file = split.file;
                 LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
                 if (file.fileSizeInBytes() == 0) {
                     continue;
                 }
+                if (split.start == 0 && split.length >= file.fileSizeInBytes() && !split.hasDeletes) {
+                    knownRecords += file.recordCount();
+                }
+                batch.add(createScanRangeLocations(split));
+            }
+            return batch;
+        }
 
-                TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
-
-                THdfsScanRange hdfsScanRange = new THdfsScanRange();
-                hdfsScanRange.setFull_path(file.path().toString());
-                hdfsScanRange.setOffset(task.start());
-                hdfsScanRange.setLength(task.length());
-                // For iceberg table we do not need partition id
-                hdfsScanRange.setPartition_id(-1);
-                hdfsScanRange.setFile_length(file.fileSizeInBytes());
-                hdfsScanRange.setFile_format(IcebergUtil.getHdfsFileFormat(file.format()).toThrift());
-                TScanRange scanRange = new TScanRange();
-                scanRange.setHdfs_scan_range(hdfsScanRange);
-                scanRangeLocations.setScan_range(scanRange);
-
-                // TODO: get hdfs block location information for scheduling, use iceberg meta cache
-                TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
-                scanRangeLocations.addToLocations(scanRangeLocation);
-
-                result.add(scanRangeLocations);
+        private void finish() {
+            isFinished = true;
+            if (closeable == null) {
+                return;
+            }
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                LOG.warn("close iceberg scan tasks of {} failed", srIcebergTable.getTable(), e);
             }
         }
     }
 
+    private static TScanRangeLocations createScanRangeLocations(IcebergSplit split) {
+        DataFile file = split.file;
+        TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
+
+        THdfsScanRange hdfsScanRange = new THdfsScanRange();
+        hdfsScanRange.setFull_path(file.path().toString());
+        hdfsScanRange.setOffset(split.start);
+        hdfsScanRange.setLength(split.length);
+        // For iceberg table we do not need partition id
+        hdfsScanRange.setPartition_id(-1);
+        hdfsScanRange.setFile_length(file.fileSizeInBytes());
+        hdfsScanRange.setFile_format(IcebergUtil.getHdfsFileFormat(file.format()).toThrift());
+        TScanRange scanRange = new TScanRange();
+        scanRange.setHdfs_scan_range(hdfsScanRange);
+        scanRangeLocations.setScan_range(scanRange);
+
+        // TODO: get hdfs block location information for scheduling, use iceberg meta cache
+        TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
+        scanRangeLocations.addToLocations(scanRangeLocation);
+        return scanRangeLocations;
+    }
+
     @Override
     protected String debugString() {
         MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
@@ -242,7 +428,11 @@ public class IcebergScanNode extends ScanNode {
 
     @Override
     public int getNumInstances() {
-        return result.size();
+        if (result != null) {
+            return result.size();
+        }
+        // the scan tasks are not planned yet, assume that every backend has some
+        return Math.max(1, Catalog.getCurrentSystemInfo().getBackendIds(true).size());
     }
 
     @Override
@@ -253,7 +443,7 @@ public class IcebergScanNode extends ScanNode {
                 cardinality = Math.min(cardinality, limit);
             }
 
-            numNodes = Math.min(hostToBeId.size(), result.size());
+            numNodes = hostToBeId.keySet().size();
         }
         // even current node scan has no data, at least one backend will be assigned when the fragment actually execute
         numNodes = numNodes <= 0 ? 1 : numNodes;
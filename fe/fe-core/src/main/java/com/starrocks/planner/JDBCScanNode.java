@@ -11,15 +11,20 @@ import com.starrocks.analysis.ExprSubstitutionMap;
 import com.starrocks.analysis.SlotDescriptor;
 import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.TupleDescriptor;
+import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.JDBCTable;
+import com.starrocks.catalog.RemoteTableSplitProperty;
 import com.starrocks.common.UserException;
+import com.starrocks.system.Backend;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.TJDBCScanNode;
-import com.starrocks.thrift.TMySQLScanNode;
-import com.starrocks.thrift.TPlan;
+import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TPlanNode;
 import com.starrocks.thrift.TPlanNodeType;
+import com.starrocks.thrift.TRemoteTableScanRange;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeLocation;
 import com.starrocks.thrift.TScanRangeLocations;
 
 import java.util.ArrayList;
@@ -27,16 +32,21 @@ import java.util.List;
 
 /**
  *  full scan on JDBC table.
+ *  If the table has a split column, the scan is split into the scans of the ranges of the column,
+ *  which are the scan ranges of the node.
  */
 public class JDBCScanNode extends ScanNode {
 
     private final List<String> columns = new ArrayList<>();
     private final List<String> filters = new ArrayList<>();
+    private final List<String> rangeFilters = new ArrayList<>();
     private String tableName;
+    private final JDBCTable table;
 
     public JDBCScanNode(PlanNodeId id, TupleDescriptor desc, JDBCTable tbl) {
         super(id, desc, "SCAN JDBC");
         tableName = "`" + tbl.getJdbcTable() + "`";
+        table = tbl;
     }
 
     @Override
@@ -49,12 +59,18 @@ public class JDBCScanNode extends ScanNode {
     public void finalizeStats(Analyzer analyzer) throws UserException {
         createJDBCTableColumns();
         createJDBCTableFilters();
+        createJDBCTableRangeFilters();
         computeStats(analyzer);
     }
 
     public void computeColumnsAndFilters() {
         createJDBCTableColumns();
         createJDBCTableFilters();
+        createJDBCTableRangeFilters();
+    }
+
+    public boolean isSplit() {
+        return !rangeFilters.isEmpty();
     }
 
     @Override
@@ -62,6 +78,10 @@ public class JDBCScanNode extends ScanNode {
         StringBuilder output = new StringBuilder();
         output.append(prefix).append("TABLE: ").append(tableName).append("\n");
         output.append(prefix).append("QUERY: ").append(getJDBCQueryStr()).append("\n");
+        if (isSplit()) {
+            output.append(prefix).append("SPLIT: ").append(table.getSplitProperty().getColumn())
+                    .append(", ranges=").append(rangeFilters.size()).append("\n");
+        }
         return output.toString();
     }
 
@@ -111,6 +131,44 @@ public class JDBCScanNode extends ScanNode {
         }
     }
 
+    // a query with limit is not split, it usually reads only a few rows
+    private void createJDBCTableRangeFilters() {
+        rangeFilters.clear();
+        RemoteTableSplitProperty splitProperty = table.getSplitProperty();
+        if (splitProperty == null || hasLimit()) {
+            return;
+        }
+        Column column = table.getColumn(splitProperty.getColumn());
+        rangeFilters.addAll(splitProperty.getRangeFilters(column.getType(), column.getName()));
+    }
+
+    // create a scan range for every range filter, which can be scanned on any alive backend
+    static List<TScanRangeLocations> createRangeFilterScanRanges(List<String> rangeFilters) {
+        List<TScanRangeLocation> backendLocations = new ArrayList<>();
+        for (Backend be : Catalog.getCurrentSystemInfo().getIdToBackend().values()) {
+            if (be.isAlive()) {
+                TScanRangeLocation location = new TScanRangeLocation();
+                location.setBackend_id(be.getId());
+                location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
+                backendLocations.add(location);
+            }
+        }
+
+        List<TScanRangeLocations> result = new ArrayList<>();
+        for (String rangeFilter : rangeFilters) {
+            TRemoteTableScanRange remoteTableScanRange = new TRemoteTableScanRange();
+            remoteTableScanRange.setRange_filter(rangeFilter);
+            TScanRange scanRange = new TScanRange();
+            scanRange.setRemote_table_scan_range(remoteTableScanRange);
+
+            TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
+            scanRangeLocations.setScan_range(scanRange);
+            scanRangeLocations.setLocations(new ArrayList<>(backendLocations));
+            result.add(scanRangeLocations);
+        }
+        return result;
+    }
+
     @Override
     public boolean canUsePipeLine() {
         return true;
@@ -129,12 +187,15 @@ public class JDBCScanNode extends ScanNode {
 
     @Override
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
-        return null;
+        if (!isSplit()) {
+            return null;
+        }
+        return createRangeFilterScanRanges(rangeFilters);
     }
 
     @Override
     public int getNumInstances() {
-        return 1;
+        return Math.max(1, rangeFilters.size());
     }
 
     @Override
@@ -32,6 +32,7 @@ import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.MysqlTable;
+import com.starrocks.catalog.RemoteTableSplitProperty;
 import com.starrocks.common.UserException;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.TMySQLScanNode;
@@ -46,6 +47,8 @@ import java.util.List;
 
 /**
  * Full scan of an MySQL table.
+ * If the table has a split column, the scan is split into the scans of the ranges of the column,
+ * which are the scan ranges of the node.
  */
 // Our new cost based query optimizer is more powerful and stable than old query optimizer,
 // The old query optimizer related codes could be deleted safely.
@@ -55,7 +58,9 @@ public class MysqlScanNode extends ScanNode {
 
     private final List<String> columns = new ArrayList<String>();
     private final List<String> filters = new ArrayList<String>();
+    private final List<String> rangeFilters = new ArrayList<String>();
     private String tblName;
+    private final MysqlTable table;
 
     /**
      * Constructs node to scan given data files of table 'tbl'.
@@ -63,6 +68,7 @@ public class MysqlScanNode extends ScanNode {
     public MysqlScanNode(PlanNodeId id, TupleDescriptor desc, MysqlTable tbl) {
         super(id, desc, "SCAN MYSQL");
         tblName = "`" + tbl.getMysqlTableName() + "`";
+        table = tbl;
     }
 
     @Override
@@ -76,12 +82,18 @@ public class MysqlScanNode extends ScanNode {
         // Convert predicates to MySQL columns and filters.
         createMySQLColumns();
         createMySQLFilters();
+        createMySQLRangeFilters();
         computeStats(analyzer);
     }
 
     public void computeColumnsAndFilters() {
         createMySQLColumns();
         createMySQLFilters();
+        createMySQLRangeFilters();
+    }
+
+    public boolean isSplit() {
+        return !rangeFilters.isEmpty();
     }
 
     @Override
@@ -89,6 +101,10 @@ public class MysqlScanNode extends ScanNode {
         StringBuilder output = new StringBuilder();
         output.append(prefix).append("TABLE: ").append(tblName).append("\n");
         output.append(prefix).append("Query: ").append(getMysqlQueryStr()).append("\n");
+        if (isSplit()) {
+            output.append(prefix).append("SPLIT: ").append(table.getSplitProperty().getColumn())
+                    .append(", ranges=").append(rangeFilters.size()).append("\n");
+        }
         return output.toString();
     }
 
@@ -140,6 +156,17 @@ public class MysqlScanNode extends ScanNode {
         }
     }
 
+    // a query with limit is not split, it usually reads only a few rows
+    private void createMySQLRangeFilters() {
+        rangeFilters.clear();
+        RemoteTableSplitProperty splitProperty = table.getSplitProperty();
+        if (splitProperty == null || hasLimit()) {
+            return;
+        }
+        Column column = table.getColumn(splitProperty.getColumn());
+        rangeFilters.addAll(splitProperty.getRangeFilters(column.getType(), "`" + column.getName() + "`"));
+    }
+
     @Override
     protected void toThrift(TPlanNode msg) {
         msg.node_type = TPlanNodeType.MYSQL_SCAN_NODE;
@@ -153,12 +180,15 @@ public class MysqlScanNode extends ScanNode {
      */
     @Override
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
-        return null;
+        if (!isSplit()) {
+            return null;
+        }
+        return JDBCScanNode.createRangeFilterScanRanges(rangeFilters);
     }
 
     @Override
     public int getNumInstances() {
-        return 1;
+        return Math.max(1, rangeFilters.size());
     }
 
     @Override
@@ -120,6 +120,8 @@ public class OlapScanNode extends ScanNode {
     private long selectedIndexId = -1;
     private int selectedPartitionNum = 0;
     private Collection<Long> selectedPartitionIds = Lists.newArrayList();
+    // partition id -> the version which the scan ranges of the partition read
+    private final Map<Long, Long> scanPartitionVersions = Maps.newHashMap();
     private long totalBytes = 0;
     private long actualRows = 0;
 
@@ -172,6 +174,10 @@ public class OlapScanNode extends ScanNode {
         return selectedPartitionIds;
     }
 
+    public Map<Long, Long> getScanPartitionVersions() {
+        return scanPartitionVersions;
+    }
+
     // The dict id int column ids to dict string column ids
     private Map<Integer, Integer> dictStringIdToIntIds = Maps.newHashMap();
 
@@ -399,6 +405,7 @@ public class OlapScanNode extends ScanNode {
         String schemaHashStr = String.valueOf(schemaHash);
         long visibleVersion = partition.getVisibleVersion();
         String visibleVersionStr = String.valueOf(visibleVersion);
+        scanPartitionVersions.put(partition.getId(), visibleVersion);
         boolean useStarOS = partition.isUseStarOS();
 
         for (Tablet tablet : tablets) {
@@ -889,6 +896,14 @@ public class OlapScanNode extends ScanNode {
         this.totalTabletsNum = totalTabletsNum;
     }
 
+    public long getTotalTabletsNum() {
+        return totalTabletsNum;
+    }
+
+    public long getSelectedTabletsNum() {
+        return selectedTabletsNum;
+    }
+
     @Override
     public boolean canDoReplicatedJoin() {
         return Utils.canDoReplicatedJoin(olapTable, selectedIndexId, selectedPartitionIds, scanTabletIds);
@@ -365,9 +365,10 @@ public class PlanFragment extends TreeNode<PlanFragment> {
             globalDict.setColumnId(dictPair.first);
             List<String> strings = Lists.newArrayList();
             List<Integer> integers = Lists.newArrayList();
-            for (Map.Entry<String, Integer> kv : dictPair.second.getDict().entrySet()) {
-                strings.add(kv.getKey());
-                integers.add(kv.getValue());
+            ColumnDict dict = dictPair.second;
+            for (int i = 0; i < dict.size(); i++) {
+                strings.add(dict.getString(i));
+                integers.add(dict.getId(i));
             }
             globalDict.setStrings(strings);
             globalDict.setIds(integers);
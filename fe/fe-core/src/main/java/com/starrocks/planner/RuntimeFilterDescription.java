@@ -7,6 +7,7 @@ import com.starrocks.qe.SessionVariable;
 import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TRuntimeFilterBuildJoinMode;
 import com.starrocks.thrift.TRuntimeFilterDescription;
+import com.starrocks.thrift.TRuntimeFilterMergeNode;
 import com.starrocks.thrift.TUniqueId;
 
 import java.util.ArrayList;
@@ -26,6 +27,8 @@ public class RuntimeFilterDescription {
     private final Map<Integer, Expr> nodeIdToProbeExpr;
     private boolean hasRemoteTargets;
     private final List<TNetworkAddress> mergeNodes;
+    // be number of the build instance -> the merge node of the multi-level merge it sends the partial filter to
+    private final Map<Integer, TRuntimeFilterMergeNode> builderMergeNodes;
     private HashJoinNode.DistributionMode joinMode;
     private TUniqueId senderFragmentInstanceId;
     private int equalCount;
@@ -38,6 +41,7 @@ public class RuntimeFilterDescription {
     public RuntimeFilterDescription(SessionVariable sv) {
         nodeIdToProbeExpr = new HashMap<>();
         mergeNodes = new ArrayList<>();
+        builderMergeNodes = new HashMap<>();
         filterId = 0;
         exprOrder = 0;
         hasRemoteTargets = false;
@@ -144,6 +148,10 @@ public class RuntimeFilterDescription {
         return joinMode.equals(HashJoinNode.DistributionMode.BROADCAST);
     }
 
+    public boolean isPartitionedJoin() {
+        return joinMode.equals(HashJoinNode.DistributionMode.PARTITIONED);
+    }
+
     public boolean canPushAcrossExchangeNode() {
         // if runtime filter is shuffle-aware implementation, then only rf generated by partitioned/bucket shuffle hash join
         // can be pushed down across exchange node.
@@ -168,6 +176,15 @@ public class RuntimeFilterDescription {
         mergeNodes.add(addr);
     }
 
+    public void setBuilderMergeNode(int beNumber, TRuntimeFilterMergeNode mergeNode) {
+        builderMergeNodes.put(beNumber, mergeNode);
+    }
+
+    public void clearMergeNodes() {
+        mergeNodes.clear();
+        builderMergeNodes.clear();
+    }
+
     public void setSenderFragmentInstanceId(TUniqueId value) {
         senderFragmentInstanceId = value;
     }
@@ -199,6 +216,9 @@ public class RuntimeFilterDescription {
         if (!mergeNodes.isEmpty()) {
             t.setRuntime_filter_merge_nodes(mergeNodes);
         }
+        if (!builderMergeNodes.isEmpty()) {
+            t.setBuilder_merge_nodes(builderMergeNodes);
+        }
         if (senderFragmentInstanceId != null) {
             t.setSender_finst_id(senderFragmentInstanceId);
         }
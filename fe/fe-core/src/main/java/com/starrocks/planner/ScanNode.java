@@ -26,6 +26,7 @@ import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.SlotDescriptor;
 import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.common.UserException;
+import com.starrocks.external.SplitSource;
 import com.starrocks.thrift.TScanRangeLocations;
 
 import java.util.List;
@@ -76,6 +77,14 @@ public abstract class ScanNode extends PlanNode {
      */
     public abstract List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength);
 
+    /**
+     * Returns a source which creates the scan ranges batch by batch when they are assigned to backends,
+     * or null if the scan ranges are only available from getScanRangeLocations.
+     */
+    public SplitSource getSplitSource() {
+        return null;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("tid", desc.getId().asInt()).add("tblName",
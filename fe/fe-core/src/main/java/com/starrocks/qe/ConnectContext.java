@@ -22,6 +22,7 @@
 package com.starrocks.qe;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.UserIdentity;
 import com.starrocks.catalog.Catalog;
@@ -41,6 +42,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.nio.channels.SocketChannel;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -138,6 +140,10 @@ public class ConnectContext {
 
     protected PlannerProfile plannerProfile;
 
+    // Statements prepared by COM_STMT_PREPARE, keyed by statement id
+    protected Map<Integer, PreparedStatementContext> preparedStatements = Maps.newHashMap();
+    protected int nextPreparedStmtId = 1;
+
     public static ConnectContext get() {
         return threadLocalInfo.get();
     }
@@ -449,6 +455,30 @@ public class ConnectContext {
         return plannerProfile;
     }
 
+    public int getNextPreparedStmtId() {
+        return nextPreparedStmtId++;
+    }
+
+    public int getPreparedStatementNum() {
+        return preparedStatements.size();
+    }
+
+    public void addPreparedStatement(PreparedStatementContext preparedStatement) {
+        preparedStatements.put(preparedStatement.getStmtId(), preparedStatement);
+    }
+
+    public PreparedStatementContext getPreparedStatement(int stmtId) {
+        return preparedStatements.get(stmtId);
+    }
+
+    public void removePreparedStatement(int stmtId) {
+        preparedStatements.remove(stmtId);
+    }
+
+    public void clearPreparedStatements() {
+        preparedStatements.clear();
+    }
+
     // kill operation with no protect.
     public void kill(boolean killConnection) {
         LOG.warn("kill timeout query, {}, kill connection: {}",
@@ -22,6 +22,7 @@
 package com.starrocks.qe;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.starrocks.analysis.KillStmt;
 import com.starrocks.analysis.QueryStmt;
 import com.starrocks.analysis.SqlParser;
@@ -32,6 +33,7 @@ import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.Table;
+import com.starrocks.catalog.Type;
 import com.starrocks.cluster.ClusterNamespace;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
@@ -52,8 +54,12 @@ import com.starrocks.mysql.MysqlServerStatusFlag;
 import com.starrocks.plugin.AuditEvent.EventType;
 import com.starrocks.proto.PQueryStatistics;
 import com.starrocks.service.FrontendOptions;
+import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.common.SqlDigestBuilder;
 import com.starrocks.sql.parser.ParsingException;
+import com.starrocks.sql.plan.CachedPlan;
+import com.starrocks.sql.plan.PlanCache;
+import com.starrocks.sql.plan.PlanCacheKey;
 import com.starrocks.thrift.TMasterOpRequest;
 import com.starrocks.thrift.TMasterOpResult;
 import com.starrocks.thrift.TQueryOptions;
@@ -66,6 +72,7 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
@@ -135,6 +142,8 @@ public class ConnectProcessor {
         ctx.getSerializer().setCapability(ctx.getCapability());
         // reset session variable
         ctx.resetSessionVariable();
+        // deallocate prepared statements
+        ctx.clearPreparedStatements();
     }
 
     private void auditAfterExec(String origStmt, StatementBase parsedStmt, PQueryStatistics statistics) {
@@ -258,13 +267,27 @@ public class ConnectProcessor {
         StatementBase parsedStmt = null;
         try {
             ctx.setQueryId(UUIDUtil.genUUID());
+            PlanCacheKey planCacheKey = null;
+            CachedPlan cachedPlan = null;
+            if (ctx.getSessionVariable().isEnablePlanCache()) {
+                planCacheKey = PlanCacheKey.create(originStmt, ctx);
+                if (planCacheKey != null) {
+                    cachedPlan = PlanCache.INSTANCE.acquire(planCacheKey, ctx);
+                }
+            }
+
             List<StatementBase> stmts;
-            try {
-                stmts = com.starrocks.sql.parser.SqlParser.parse(originStmt, ctx.getSessionVariable().getSqlMode());
-            } catch (ParsingException parsingException) {
-                throw new AnalysisException(parsingException.getMessage());
-            } catch (Exception e) {
-                stmts = analyze(originStmt);
+            if (cachedPlan != null) {
+                stmts = Lists.newArrayList(cachedPlan.getStatement());
+            } else {
+                try {
+                    stmts = com.starrocks.sql.parser.SqlParser.parse(originStmt,
+                            ctx.getSessionVariable().getSqlMode());
+                } catch (ParsingException parsingException) {
+                    throw new AnalysisException(parsingException.getMessage());
+                } catch (Exception e) {
+                    stmts = analyze(originStmt);
+                }
             }
 
             for (int i = 0; i < stmts.size(); ++i) {
@@ -277,6 +300,9 @@ public class ConnectProcessor {
                 parsedStmt.setOrigStmt(new OriginStatement(originStmt, i));
 
                 executor = new StmtExecutor(ctx, parsedStmt);
+                if (planCacheKey != null) {
+                    executor.setPlanCacheKey(planCacheKey, cachedPlan);
+                }
                 ctx.setExecutor(executor);
 
                 ctx.setIsLastStmt(i == stmts.size() - 1);
@@ -331,6 +357,156 @@ public class ConnectProcessor {
         addFinishedQueryDetail();
     }
 
+    // COM_STMT_PREPARE: only a single query can be prepared, clients fall back to
+    // client side prepared statements when the server fails to prepare one.
+    private void handleStmtPrepare() throws IOException {
+        String originStmt = new String(packetBuf.array(), 1, packetBuf.limit() - 1, StandardCharsets.UTF_8);
+        if (ctx.getPreparedStatementNum() >= Config.max_prepared_statement_per_connection) {
+            ctx.getState().setError("Too many prepared statements, max is "
+                    + Config.max_prepared_statement_per_connection);
+            return;
+        }
+        PreparedStatementContext preparedStatement =
+                new PreparedStatementContext(ctx.getNextPreparedStmtId(), originStmt);
+        try {
+            List<StatementBase> stmts = com.starrocks.sql.parser.SqlParser.parse(
+                    preparedStatement.toSqlWithNullParams(), ctx.getSessionVariable().getSqlMode());
+            if (stmts.size() != 1 || !(stmts.get(0) instanceof QueryStatement) || stmts.get(0).isExplain()) {
+                ctx.getState().setError("Only a single query statement can be prepared");
+                return;
+            }
+        } catch (ParsingException e) {
+            ctx.getState().setError(e.getMessage());
+            return;
+        } catch (Exception e) {
+            LOG.warn("Prepare statement failed: " + originStmt, e);
+            ctx.getState().setError("Failed to prepare statement: " + e.getMessage());
+            return;
+        }
+        ctx.addPreparedStatement(preparedStatement);
+
+        // COM_STMT_PREPARE_OK
+        MysqlSerializer serializer = ctx.getSerializer();
+        MysqlChannel channel = ctx.getMysqlChannel();
+        serializer.reset();
+        serializer.writeInt1(0x00);
+        serializer.writeInt4(preparedStatement.getStmtId());
+        // num_columns, the column definitions are sent with the result set of COM_STMT_EXECUTE
+        serializer.writeInt2(0);
+        serializer.writeInt2(preparedStatement.getNumParams());
+        // reserved
+        serializer.writeInt1(0);
+        // warning_count
+        serializer.writeInt2(0);
+        if (preparedStatement.getNumParams() == 0) {
+            channel.sendAndFlush(serializer.toByteBuffer());
+            ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+            return;
+        }
+        channel.sendOnePacket(serializer.toByteBuffer());
+        for (int i = 0; i < preparedStatement.getNumParams(); i++) {
+            serializer.reset();
+            serializer.writeField("?", Type.VARCHAR);
+            channel.sendOnePacket(serializer.toByteBuffer());
+        }
+        // EOF after parameter definitions
+        ctx.getState().setEof();
+    }
+
+    // COM_STMT_EXECUTE: bind parameters and execute a prepared statement, reuse its cached plan if still valid.
+    private void handleStmtExecute() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStatementContext preparedStatement = ctx.getPreparedStatement(stmtId);
+        if (preparedStatement == null) {
+            ctx.getState().setError("Unknown prepared statement handler (" + stmtId + ") given to COM_STMT_EXECUTE");
+            return;
+        }
+        // flags and iteration_count, cursors are not supported
+        MysqlProto.readInt1(packetBuf);
+        MysqlProto.readInt4(packetBuf);
+
+        String originStmt = preparedStatement.getOriginStmt();
+        StatementBase parsedStmt = null;
+        ctx.getAuditEventBuilder().reset();
+        ctx.getAuditEventBuilder()
+                .setTimestamp(System.currentTimeMillis())
+                .setClientIp(ctx.getMysqlChannel().getRemoteHostPortString())
+                .setUser(ctx.getQualifiedUser())
+                .setDb(ctx.getDatabase());
+        ctx.getPlannerProfile().reset();
+        try {
+            originStmt = preparedStatement.bind(packetBuf);
+            ctx.setQueryId(UUIDUtil.genUUID());
+
+            CachedPlan cachedPlan = preparedStatement.getCachedPlan(originStmt, ctx);
+            if (cachedPlan != null) {
+                parsedStmt = cachedPlan.getStatement();
+            } else {
+                try {
+                    parsedStmt = com.starrocks.sql.parser.SqlParser.parse(
+                            originStmt, ctx.getSessionVariable().getSqlMode()).get(0);
+                } catch (ParsingException parsingException) {
+                    throw new AnalysisException(parsingException.getMessage());
+                }
+            }
+
+            executor = new StmtExecutor(ctx, parsedStmt);
+            executor.setPreparedStatement(preparedStatement, cachedPlan);
+            ctx.setExecutor(executor);
+            ctx.setIsLastStmt(true);
+            executor.execute();
+        } catch (IOException e) {
+            // Client failed.
+            LOG.warn("Process one prepared statement failed because IOException: ", e);
+            ctx.getState().setError("StarRocks process failed");
+        } catch (UserException e) {
+            LOG.warn("Process one prepared statement failed because.", e);
+            ctx.getState().setError(e.getMessage());
+            ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
+        } catch (Throwable e) {
+            LOG.warn("Process one prepared statement failed because unknown reason: ", e);
+            ctx.getState().setError("Unexpected exception: " + e.getMessage());
+        }
+
+        if (executor != null) {
+            auditAfterExec(originStmt, executor.getParsedStmt(), executor.getQueryStatisticsForAuditLog());
+        } else {
+            auditAfterExec(originStmt, null, null);
+        }
+        addFinishedQueryDetail();
+    }
+
+    // COM_STMT_SEND_LONG_DATA: append data to a parameter, no response
+    private void handleStmtSendLongData() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        int paramId = MysqlProto.readInt2(packetBuf);
+        PreparedStatementContext preparedStatement = ctx.getPreparedStatement(stmtId);
+        if (preparedStatement != null) {
+            preparedStatement.appendLongData(paramId, MysqlProto.readEofString(packetBuf));
+        }
+        ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+    }
+
+    // COM_STMT_RESET: clear the data sent by COM_STMT_SEND_LONG_DATA
+    private void handleStmtReset() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStatementContext preparedStatement = ctx.getPreparedStatement(stmtId);
+        if (preparedStatement == null) {
+            ctx.getState().setError("Unknown prepared statement handler (" + stmtId + ") given to COM_STMT_RESET");
+            return;
+        }
+        preparedStatement.reset();
+        ctx.getState().setOk();
+    }
+
+    // COM_STMT_CLOSE: deallocate a prepared statement, no response
+    private void handleStmtClose() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        ctx.removePreparedStatement(stmtId);
+        ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+    }
+
     // analyze the origin stmt and return multi-statements
     private List<StatementBase> analyze(String originStmt) throws AnalysisException {
         LOG.debug("the originStmts are: {}", originStmt);
@@ -443,6 +619,22 @@ public class ConnectProcessor {
             case COM_PING:
                 handlePing();
                 break;
+            case COM_STMT_PREPARE:
+                handleStmtPrepare();
+                break;
+            case COM_STMT_EXECUTE:
+                handleStmtExecute();
+                ctx.setStartTime();
+                break;
+            case COM_STMT_SEND_LONG_DATA:
+                handleStmtSendLongData();
+                break;
+            case COM_STMT_RESET:
+                handleStmtReset();
+                break;
+            case COM_STMT_CLOSE:
+                handleStmtClose();
+                break;
             default:
                 ctx.getState().setError("Unsupported command(" + command + ")");
                 LOG.warn("Unsupported command(" + command + ")");
@@ -513,8 +705,8 @@ public class ConnectProcessor {
         MysqlChannel channel = ctx.getMysqlChannel();
         channel.sendAndFlush(packet);
 
-        // only change lastQueryId when current command is COM_QUERY
-        if (ctx.getCommand() == MysqlCommand.COM_QUERY) {
+        // only change lastQueryId when current command is COM_QUERY or COM_STMT_EXECUTE
+        if (ctx.getCommand() == MysqlCommand.COM_QUERY || ctx.getCommand() == MysqlCommand.COM_STMT_EXECUTE) {
             ctx.setLastQueryId(ctx.queryId);
             ctx.setQueryId(null);
         }
@@ -21,6 +21,7 @@
 
 package com.starrocks.qe;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultimap;
@@ -39,12 +40,14 @@ import com.starrocks.common.MarkedCountDownLatch;
 import com.starrocks.common.Pair;
 import com.starrocks.common.Reference;
 import com.starrocks.common.Status;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.Counter;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.common.util.ListUtil;
 import com.starrocks.common.util.RuntimeProfile;
 import com.starrocks.common.util.TimeUtils;
+import com.starrocks.external.SplitSource;
 import com.starrocks.load.loadv2.LoadJob;
 import com.starrocks.planner.DataPartition;
 import com.starrocks.planner.DataSink;
@@ -79,6 +82,7 @@ import com.starrocks.task.LoadEtlTask;
 import com.starrocks.thrift.InternalServiceVersion;
 import com.starrocks.thrift.TDescriptorTable;
 import com.starrocks.thrift.TEsScanRange;
+import com.starrocks.thrift.TExecBatchPlanFragmentsParams;
 import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TInternalScanRange;
 import com.starrocks.thrift.TNetworkAddress;
@@ -90,6 +94,7 @@ import com.starrocks.thrift.TQueryOptions;
 import com.starrocks.thrift.TQueryType;
 import com.starrocks.thrift.TReportExecStatusParams;
 import com.starrocks.thrift.TResourceInfo;
+import com.starrocks.thrift.TRuntimeFilterMergeNode;
 import com.starrocks.thrift.TRuntimeFilterParams;
 import com.starrocks.thrift.TRuntimeFilterProberParams;
 import com.starrocks.thrift.TScanRangeLocation;
@@ -112,6 +117,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -121,6 +127,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -137,6 +144,10 @@ public class Coordinator {
 
     // Random is used to shuffle instances of partitioned
     private static final Random instanceRandom = new Random();
+
+    // serialize the requests of deploying fragments to different backends in parallel
+    private static final ExecutorService DEPLOY_EXECUTOR = ThreadPoolManager.newDaemonFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), 1024, "fragment-deploy-pool", false);
     // parallel execute
     private final TUniqueId nextInstanceId;
     // Overall status of the entire query; set to the first reported fragment error
@@ -413,6 +424,8 @@ public class Coordinator {
 
         computeFragmentExecParams();
 
+        assignBackendIds();
+
         traceInstance();
 
         // create result receiver
@@ -466,7 +479,6 @@ public class Coordinator {
         lock();
         try {
             // execute all instances from up to bottom
-            int backendId = 0;
             int profileFragmentId = 0;
 
             // Disable pipeline engine for `INSERT INTO`.
@@ -484,16 +496,6 @@ public class Coordinator {
                 Preconditions.checkState(instanceNum > 0);
                 List<List<FInstanceExecParam>> infightFInstanceExecParamList = new LinkedList<>();
 
-                // Fragment instances' ordinals in FragmentExecParams.instanceExecParams determine
-                // shuffle partitions'ordinals in DataStreamSink. backendIds of Fragment instances that
-                // contains shuffle join determine the ordinals of GRF components in the GRF. For a
-                // shuffle join, its shuffle partitions and corresponding one-map-one GRF components
-                // should have the same ordinals. so here assign monotonic unique backendIds to
-                // Fragment instances to keep consistent order with Fragment instances in
-                // FragmentExecParams.instanceExecParams.
-                for (FInstanceExecParam fInstanceExecParam : params.instanceExecParams) {
-                    fInstanceExecParam.backendId = backendId++;
-                }
                 if (isEnablePipelineEngine) {
                     List<FInstanceExecParam> firstFInstanceParamList = new ArrayList<>();
                     List<FInstanceExecParam> remainingFInstanceParamList = new ArrayList<>();
@@ -531,7 +533,7 @@ public class Coordinator {
                             fInstanceExecParamList.stream().collect(Collectors.toMap(f -> f.instanceId, f -> f.host));
                     List<TExecPlanFragmentParams> tParams =
                             params.toThrift(instanceId2Host.keySet(), descTable, isEnablePipelineEngine);
-                    List<Pair<BackendExecState, Future<PExecPlanFragmentResult>>> futures = Lists.newArrayList();
+                    List<BackendExecState> execStates = Lists.newArrayList();
 
                     boolean needCheckBackendState = false;
                     if (queryOptions.getQuery_type() == TQueryType.LOAD && profileFragmentId == 0) {
@@ -555,7 +557,16 @@ public class Coordinator {
                                         fragment.getFragmentId().asInt(), jobId);
                             }
                         }
-                        futures.add(Pair.create(execState, execState.execRemoteFragmentAsync()));
+                        execStates.add(execState);
+                    }
+                    List<Pair<BackendExecState, Future<PExecPlanFragmentResult>>> futures;
+                    if (Config.enable_batch_deploy_fragments) {
+                        futures = execRemoteFragmentsInBatch(fragment, execStates);
+                    } else {
+                        futures = Lists.newArrayList();
+                        for (BackendExecState execState : execStates) {
+                            futures.add(Pair.create(execState, execState.execRemoteFragmentAsync()));
+                        }
                     }
                     for (Pair<BackendExecState, Future<PExecPlanFragmentResult>> pair : futures) {
                         TStatusCode code;
@@ -607,6 +618,87 @@ public class Coordinator {
         }
     }
 
+    /**
+     * Deploy the instances of fragment on the same backend with one rpc. The fields shared by these
+     * instances are serialized once for each backend, and the requests of different backends are
+     * serialized in parallel. The returned futures contain one exec state of each backend.
+     */
+    private List<Pair<BackendExecState, Future<PExecPlanFragmentResult>>> execRemoteFragmentsInBatch(
+            PlanFragment fragment, List<BackendExecState> execStates) throws Exception {
+        Map<TNetworkAddress, List<BackendExecState>> hostToExecStates = new LinkedHashMap<>();
+        for (BackendExecState execState : execStates) {
+            hostToExecStates.computeIfAbsent(execState.address, k -> Lists.newArrayList()).add(execState);
+        }
+        // The output sink of these fragments is different for each instance
+        boolean isUniqueFragment = fragment instanceof MultiCastPlanFragment || fragment.getSink() instanceof ExportSink;
+
+        List<Pair<BackendExecState, Future<Future<PExecPlanFragmentResult>>>> deployFutures = Lists.newArrayList();
+        List<Pair<BackendExecState, Future<PExecPlanFragmentResult>>> futures = Lists.newArrayList();
+        boolean isFirst = true;
+        for (List<BackendExecState> hostExecStates : hostToExecStates.values()) {
+            BackendExecState firstExecState = hostExecStates.get(0);
+            for (BackendExecState execState : hostExecStates) {
+                execState.initiated = true;
+            }
+            if (isFirst) {
+                // serialize the first backend in this thread
+                isFirst = false;
+                continue;
+            }
+            deployFutures.add(Pair.create(firstExecState, DEPLOY_EXECUTOR.submit(() ->
+                    firstExecState.execRemoteBatchFragmentsAsync(toBatchThrift(hostExecStates, isUniqueFragment)))));
+        }
+        List<BackendExecState> firstHostExecStates = hostToExecStates.values().iterator().next();
+        futures.add(Pair.create(firstHostExecStates.get(0), firstHostExecStates.get(0)
+                .execRemoteBatchFragmentsAsync(toBatchThrift(firstHostExecStates, isUniqueFragment))));
+        for (Pair<BackendExecState, Future<Future<PExecPlanFragmentResult>>> pair : deployFutures) {
+            try {
+                futures.add(Pair.create(pair.first, pair.second.get()));
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return futures;
+    }
+
+    private static TExecBatchPlanFragmentsParams toBatchThrift(List<BackendExecState> execStates,
+                                                               boolean isUniqueFragment) {
+        TExecPlanFragmentParams commonParams = execStates.get(0).rpcParams.deepCopy();
+        commonParams.params.setPer_node_scan_ranges(Collections.emptyMap());
+        commonParams.unsetBackend_num();
+        if (isUniqueFragment) {
+            commonParams.unsetFragment();
+        }
+
+        List<TExecPlanFragmentParams> uniqueParamsList = Lists.newArrayList();
+        for (BackendExecState execState : execStates) {
+            TExecPlanFragmentParams rpcParams = execState.rpcParams;
+            TPlanFragmentExecParams instanceParams = new TPlanFragmentExecParams();
+            instanceParams.setQuery_id(rpcParams.params.query_id);
+            instanceParams.setFragment_instance_id(rpcParams.params.fragment_instance_id);
+            instanceParams.setPer_node_scan_ranges(rpcParams.params.per_node_scan_ranges);
+            instanceParams.setPer_exch_num_senders(Collections.emptyMap());
+            instanceParams.setSender_id(rpcParams.params.sender_id);
+
+            TExecPlanFragmentParams uniqueParams = new TExecPlanFragmentParams();
+            uniqueParams.setProtocol_version(InternalServiceVersion.V1);
+            uniqueParams.setParams(instanceParams);
+            uniqueParams.setBackend_num(rpcParams.backend_num);
+            if (isUniqueFragment) {
+                uniqueParams.setFragment(rpcParams.fragment);
+            }
+            uniqueParamsList.add(uniqueParams);
+        }
+
+        TExecBatchPlanFragmentsParams batchParams = new TExecBatchPlanFragmentsParams();
+        batchParams.setCommon_param(commonParams);
+        batchParams.setUnique_param_per_instance(uniqueParamsList);
+        return batchParams;
+    }
+
     private final Map<TNetworkAddress, Integer> hostToNumbers = Maps.newHashMap();
 
     // Compute the fragment instance numbers in every BE for one query
@@ -621,8 +713,29 @@ public class Coordinator {
         }
     }
 
+    // Fragment instances' ordinals in FragmentExecParams.instanceExecParams determine
+    // shuffle partitions'ordinals in DataStreamSink. backendIds of Fragment instances that
+    // contains shuffle join determine the ordinals of GRF components in the GRF. For a
+    // shuffle join, its shuffle partitions and corresponding one-map-one GRF components
+    // should have the same ordinals. so here assign monotonic unique backendIds to
+    // Fragment instances to keep consistent order with Fragment instances in
+    // FragmentExecParams.instanceExecParams.
+    private void assignBackendIds() {
+        int backendId = 0;
+        for (PlanFragment fragment : fragments) {
+            FragmentExecParams params = fragmentExecParamsMap.get(fragment.getFragmentId());
+            for (FInstanceExecParam fInstanceExecParam : params.instanceExecParams) {
+                fInstanceExecParam.backendId = backendId++;
+            }
+        }
+    }
+
     private void setGlobalRuntimeFilterParams(FragmentExecParams topParams, TNetworkAddress mergeHost)
             throws Exception {
+        int mergeFanIn = 0;
+        if (ConnectContext.get() != null) {
+            mergeFanIn = ConnectContext.get().getSessionVariable().getGlobalRuntimeFilterMergeFanIn();
+        }
         for (PlanFragment fragment : fragments) {
             fragment.collectBuildRuntimeFilters(fragment.getPlanRoot());
             fragment.collectProbeRuntimeFilters(fragment.getPlanRoot());
@@ -641,12 +754,36 @@ public class Coordinator {
             for (Map.Entry<Integer, RuntimeFilterDescription> kv : fragment.getBuildRuntimeFilters().entrySet()) {
                 int rid = kv.getKey();
                 RuntimeFilterDescription rf = kv.getValue();
+                // The plan may be cached and executed again with other hosts
+                rf.clearMergeNodes();
                 if (rf.isHasRemoteTargets()) {
                     if (rf.isBroadcastJoin()) {
                         // for broadcast join, we just need to send one copy.
                         // and we need to specify one instance to send that copy.
                         topParams.runtimeFilterParams.putToRuntime_filter_builder_number(rid, 1);
                         rf.setSenderFragmentInstanceId(params.instanceExecParams.get(0).instanceId);
+                    } else if (rf.isPartitionedJoin() && mergeFanIn > 1 &&
+                            params.instanceExecParams.size() > mergeFanIn) {
+                        // The build side of a partitioned join is fed by the fragments deployed after all the
+                        // instances of this fragment, so the merge nodes on the build hosts are set up before any
+                        // partial runtime filter arrives. It's not the case for a colocate or bucket shuffle join,
+                        // whose instances build from the local scan once deployed.
+                        Map<Integer, TNetworkAddress> builders = Maps.newLinkedHashMap();
+                        for (FInstanceExecParam builder : params.instanceExecParams) {
+                            builders.put(builder.backendId, toBrpcHost(builder.host));
+                        }
+                        int rootExpectNumber = setRuntimeFilterMergeNodes(topParams.runtimeFilterParams, rid, rf,
+                                builders, mergeHost, mergeFanIn);
+                        topParams.runtimeFilterParams.putToRuntime_filter_builder_number(rid, rootExpectNumber);
+                        // The merge nodes may be on any host of the build instances. The build instances only get
+                        // the merge nodes, but not the probers, so that they don't open the runtime filter merger
+                        // of the query, which is closed along with the instance.
+                        if (params != topParams && topParams.runtimeFilterParams.isSetId_to_merge_nodes() &&
+                                topParams.runtimeFilterParams.getId_to_merge_nodes().containsKey(rid)) {
+                            List<TRuntimeFilterMergeNode> mergeNodes =
+                                    topParams.runtimeFilterParams.getId_to_merge_nodes().get(rid);
+                            params.runtimeFilterParams.putToId_to_merge_nodes(rid, mergeNodes);
+                        }
                     } else {
                         topParams.runtimeFilterParams
                                 .putToRuntime_filter_builder_number(rid, params.instanceExecParams.size());
@@ -658,11 +795,105 @@ public class Coordinator {
 
         if (ConnectContext.get() != null) {
             SessionVariable sessionVariable = ConnectContext.get().getSessionVariable();
-            topParams.runtimeFilterParams.setRuntime_filter_max_size(
-                    sessionVariable.getGlobalRuntimeFilterBuildMaxSize());
+            for (FragmentExecParams params : fragmentExecParamsMap.values()) {
+                if (params == topParams || params.runtimeFilterParams.isSetId_to_merge_nodes()) {
+                    params.runtimeFilterParams.setRuntime_filter_max_size(
+                            sessionVariable.getGlobalRuntimeFilterBuildMaxSize());
+                }
+            }
         }
     }
 
+    // A build instance or a merge node, which sends its partial runtime filter to a merge node
+    private static class RuntimeFilterMergeInput {
+        private final TNetworkAddress host;
+        // be number of the build instance
+        private final int beNumber;
+        // null for a build instance
+        private final TRuntimeFilterMergeNode mergeNode;
+
+        private RuntimeFilterMergeInput(TNetworkAddress host, int beNumber, TRuntimeFilterMergeNode mergeNode) {
+            this.host = host;
+            this.beNumber = beNumber;
+            this.mergeNode = mergeNode;
+        }
+    }
+
+    // Merge the partial runtime filters of a partitioned join level by level, so that the root merge node doesn't
+    // receive and merge all of them. The partial runtime filters of the build instances on the same host are merged
+    // on the host first, then the merge nodes are merged by every fanIn of them, until the root merge node on
+    // mergeHost merges at most fanIn of them. A merge node only merges adjacent build instances, so the partitions
+    // of the total runtime filter are still in the order of the build instances.
+    // builders are the be numbers of the build instances to their hosts, in the order of the build instances.
+    // Returns the number of the partial runtime filters the root merge node merges.
+    @VisibleForTesting
+    static int setRuntimeFilterMergeNodes(TRuntimeFilterParams runtimeFilterParams, int filterId,
+                                          RuntimeFilterDescription rf, Map<Integer, TNetworkAddress> builders,
+                                          TNetworkAddress mergeHost, int fanIn) {
+        List<TRuntimeFilterMergeNode> mergeNodes = Lists.newArrayList();
+        TRuntimeFilterMergeNode root = new TRuntimeFilterMergeNode();
+        root.setMerge_node_id(0);
+        root.setAddress(mergeHost);
+        mergeNodes.add(root);
+
+        List<RuntimeFilterMergeInput> inputs = Lists.newArrayList();
+        for (Map.Entry<Integer, TNetworkAddress> builder : builders.entrySet()) {
+            inputs.add(new RuntimeFilterMergeInput(builder.getValue(), builder.getKey(), null));
+        }
+        inputs = mergeRuntimeFilterInputs(inputs, fanIn, true, rf, mergeNodes);
+        while (inputs.size() > fanIn) {
+            inputs = mergeRuntimeFilterInputs(inputs, fanIn, false, rf, mergeNodes);
+        }
+        for (RuntimeFilterMergeInput input : inputs) {
+            if (input.mergeNode != null) {
+                input.mergeNode.setParent_merge_node_id(root.getMerge_node_id());
+            }
+        }
+        root.setExpect_number(inputs.size());
+
+        if (mergeNodes.size() > 1) {
+            runtimeFilterParams.putToId_to_merge_nodes(filterId, mergeNodes);
+        }
+        return inputs.size();
+    }
+
+    private static List<RuntimeFilterMergeInput> mergeRuntimeFilterInputs(List<RuntimeFilterMergeInput> inputs,
+                                                                          int fanIn, boolean sameHost,
+                                                                          RuntimeFilterDescription rf,
+                                                                          List<TRuntimeFilterMergeNode> mergeNodes) {
+        List<RuntimeFilterMergeInput> outputs = Lists.newArrayList();
+        int begin = 0;
+        while (begin < inputs.size()) {
+            RuntimeFilterMergeInput first = inputs.get(begin);
+            int end = begin + 1;
+            while (end < inputs.size() && end - begin < fanIn &&
+                    (!sameHost || inputs.get(end).host.equals(first.host))) {
+                end++;
+            }
+            if (end - begin == 1) {
+                outputs.add(first);
+                begin = end;
+                continue;
+            }
+
+            TRuntimeFilterMergeNode mergeNode = new TRuntimeFilterMergeNode();
+            mergeNode.setMerge_node_id(mergeNodes.size());
+            mergeNode.setAddress(first.host);
+            mergeNode.setExpect_number(end - begin);
+            mergeNodes.add(mergeNode);
+            for (RuntimeFilterMergeInput input : inputs.subList(begin, end)) {
+                if (input.mergeNode == null) {
+                    rf.setBuilderMergeNode(input.beNumber, mergeNode);
+                } else {
+                    input.mergeNode.setParent_merge_node_id(mergeNode.getMerge_node_id());
+                }
+            }
+            outputs.add(new RuntimeFilterMergeInput(first.host, first.beNumber, mergeNode));
+            begin = end;
+        }
+        return outputs;
+    }
+
     public List<String> getExportFiles() {
         return exportFiles;
     }
@@ -1471,6 +1702,17 @@ public class Coordinator {
     private void computeScanRangeAssignment() throws Exception {
         // set scan ranges/locations for scan nodes
         for (ScanNode scanNode : scanNodes) {
+            if ((scanNode instanceof HdfsScanNode) || (scanNode instanceof IcebergScanNode) ||
+                    scanNode instanceof HudiScanNode) {
+                // scan ranges are created and assigned batch by batch, instead of creating all of them first
+                FragmentScanRangeAssignment assignment =
+                        fragmentExecParamsMap.get(scanNode.getFragmentId()).scanRangeAssignment;
+                HDFSBackendSelector selector = new HDFSBackendSelector(scanNode, scanNode.getSplitSource(),
+                        assignment, ScanRangeAssignType.SCAN_DATA_SIZE);
+                selector.computeScanRangeAssignment();
+                continue;
+            }
+
             // the parameters of getScanRangeLocations may ignore, It dosn't take effect
             List<TScanRangeLocations> locations = scanNode.getScanRangeLocations(0);
             if (locations == null) {
@@ -1480,32 +1722,20 @@ public class Coordinator {
 
             FragmentScanRangeAssignment assignment =
                     fragmentExecParamsMap.get(scanNode.getFragmentId()).scanRangeAssignment;
-            if ((scanNode instanceof HdfsScanNode) || (scanNode instanceof IcebergScanNode) ||
-                    scanNode instanceof HudiScanNode) {
-                HDFSBackendSelector selector = new HDFSBackendSelector(scanNode, locations, assignment,
-                        ScanRangeAssignType.SCAN_DATA_SIZE);
-                List<Long> scanRangesBytes = Lists.newArrayList();
-                for (TScanRangeLocations scanRangeLocations : locations) {
-                    scanRangesBytes.add(scanRangeLocations.scan_range.hdfs_scan_range.length);
-                }
-                selector.setScanRangesBytes(scanRangesBytes);
+            boolean hasColocate = isColocateFragment(scanNode.getFragment().getPlanRoot());
+            boolean hasBucket =
+                    isBucketShuffleJoin(scanNode.getFragmentId().asInt(), scanNode.getFragment().getPlanRoot());
+            boolean hasReplicated = isReplicatedFragment(scanNode.getFragment().getPlanRoot());
+            if (assignment.size() > 0 && hasReplicated && scanNode.canDoReplicatedJoin()) {
+                BackendSelector selector = new RelicatedBackendSelector(scanNode, locations, assignment);
+                selector.computeScanRangeAssignment();
+                replicateScanIds.add(scanNode.getId().asInt());
+            } else if (hasColocate || hasBucket) {
+                BackendSelector selector = new ColocatedBackendSelector((OlapScanNode) scanNode, assignment);
                 selector.computeScanRangeAssignment();
             } else {
-                boolean hasColocate = isColocateFragment(scanNode.getFragment().getPlanRoot());
-                boolean hasBucket =
-                        isBucketShuffleJoin(scanNode.getFragmentId().asInt(), scanNode.getFragment().getPlanRoot());
-                boolean hasReplicated = isReplicatedFragment(scanNode.getFragment().getPlanRoot());
-                if (assignment.size() > 0 && hasReplicated && scanNode.canDoReplicatedJoin()) {
-                    BackendSelector selector = new RelicatedBackendSelector(scanNode, locations, assignment);
-                    selector.computeScanRangeAssignment();
-                    replicateScanIds.add(scanNode.getId().asInt());
-                } else if (hasColocate || hasBucket) {
-                    BackendSelector selector = new ColocatedBackendSelector((OlapScanNode) scanNode, assignment);
-                    selector.computeScanRangeAssignment();
-                } else {
-                    BackendSelector selector = new NormalBackendSelector(scanNode, locations, assignment);
-                    selector.computeScanRangeAssignment();
-                }
+                BackendSelector selector = new NormalBackendSelector(scanNode, locations, assignment);
+                selector.computeScanRangeAssignment();
             }
         }
     }
@@ -1590,6 +1820,9 @@ public class Coordinator {
             for (int i = 1; i < fragmentProfiles.size(); ++i) {
                 fragmentProfiles.get(i).sortChildren();
             }
+            if (receiver != null) {
+                receiver.updateProfile(queryProfile);
+            }
         } finally {
             unlock();
         }
@@ -1771,7 +2004,8 @@ public class Coordinator {
     }
 
     // For HybridBackendSelector
-    private enum ScanRangeAssignType {
+    @VisibleForTesting
+    enum ScanRangeAssignType {
         SCAN_RANGE_NUM,
         SCAN_DATA_SIZE
     }
@@ -1947,40 +2181,60 @@ public class Coordinator {
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
-                return new Future<PExecPlanFragmentResult>() {
-                    @Override
-                    public boolean cancel(boolean mayInterruptIfRunning) {
-                        return false;
-                    }
+                return newRpcFailedFuture(e);
+            }
+        }
 
-                    @Override
-                    public boolean isCancelled() {
-                        return false;
-                    }
+        // Deploy the instances of batchParams, which are all on the backend of this exec state
+        public Future<PExecPlanFragmentResult> execRemoteBatchFragmentsAsync(TExecBatchPlanFragmentsParams batchParams)
+                throws TException {
+            TNetworkAddress brpcAddress;
+            try {
+                brpcAddress = new TNetworkAddress(backend.getHost(), backend.getBrpcPort());
+            } catch (Exception e) {
+                throw new TException(e.getMessage());
+            }
+            try {
+                return BackendServiceProxy.getInstance().execBatchPlanFragmentsAsync(brpcAddress, batchParams);
+            } catch (RpcException e) {
+                return newRpcFailedFuture(e);
+            }
+        }
 
-                    @Override
-                    public boolean isDone() {
-                        return true;
-                    }
+        private Future<PExecPlanFragmentResult> newRpcFailedFuture(RpcException e) {
+            return new Future<PExecPlanFragmentResult>() {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    return false;
+                }
 
-                    @Override
-                    public PExecPlanFragmentResult get() {
-                        PExecPlanFragmentResult result = new PExecPlanFragmentResult();
-                        PStatus pStatus = new PStatus();
-                        pStatus.errorMsgs = Lists.newArrayList();
-                        pStatus.errorMsgs.add(e.getMessage());
-                        // use THRIFT_RPC_ERROR so that this BE will be added to the blacklist later.
-                        pStatus.statusCode = TStatusCode.THRIFT_RPC_ERROR.getValue();
-                        result.status = pStatus;
-                        return result;
-                    }
+                @Override
+                public boolean isCancelled() {
+                    return false;
+                }
 
-                    @Override
-                    public PExecPlanFragmentResult get(long timeout, TimeUnit unit) {
-                        return get();
-                    }
-                };
-            }
+                @Override
+                public boolean isDone() {
+                    return true;
+                }
+
+                @Override
+                public PExecPlanFragmentResult get() {
+                    PExecPlanFragmentResult result = new PExecPlanFragmentResult();
+                    PStatus pStatus = new PStatus();
+                    pStatus.errorMsgs = Lists.newArrayList();
+                    pStatus.errorMsgs.add(e.getMessage());
+                    // use THRIFT_RPC_ERROR so that this BE will be added to the blacklist later.
+                    pStatus.statusCode = TStatusCode.THRIFT_RPC_ERROR.getValue();
+                    result.status = pStatus;
+                    return result;
+                }
+
+                @Override
+                public PExecPlanFragmentResult get(long timeout, TimeUnit unit) {
+                    return get();
+                }
+            };
         }
 
         public FragmentInstanceInfo buildFragmentInstanceInfo() {
@@ -2079,7 +2333,8 @@ public class Coordinator {
                 params.params.setDestinations(destinations);
                 params.params.setSender_id(i);
                 params.params.setNum_senders(instanceExecParams.size());
-                if (runtimeFilterParams.isSetRuntime_filter_builder_number()) {
+                if (runtimeFilterParams.isSetRuntime_filter_builder_number() ||
+                        runtimeFilterParams.isSetId_to_merge_nodes()) {
                     params.params.setRuntime_filter_params(runtimeFilterParams);
                 }
                 params.setCoord(coordAddress);
@@ -2422,7 +2677,8 @@ public class Coordinator {
      * If force_schedule_local variable is set, HybridBackendSelector will force to
      * assign scan ranges to local backend if there has one.
      */
-    private class HDFSBackendSelector implements BackendSelector {
+    @VisibleForTesting
+    class HDFSBackendSelector implements BackendSelector {
         // be -> assigned scans
         // type:
         //     SCAN_RANGE_NUM: assigned scan range num
@@ -2431,36 +2687,28 @@ public class Coordinator {
         // be host -> bes
         Multimap<String, Backend> hostToBes = HashMultimap.create();
         private final ScanNode scanNode;
-        private final List<TScanRangeLocations> locations;
+        private final SplitSource splitSource;
         private final FragmentScanRangeAssignment assignment;
         private final ScanRangeAssignType assignType;
-        // for SCAN_DATA_SIZE assign type
-        private List<Long> scanRangesBytes = Lists.newArrayList();
-        private final List<Long> remoteScanRangesBytes = Lists.newArrayList();
+        // total scans of the scan ranges created so far
+        private long totalScans = 0L;
         // TODO: disk stats
 
-        public HDFSBackendSelector(ScanNode scanNode, List<TScanRangeLocations> locations,
+        public HDFSBackendSelector(ScanNode scanNode, SplitSource splitSource,
                                    FragmentScanRangeAssignment assignment, ScanRangeAssignType assignType) {
             this.scanNode = scanNode;
-            this.locations = locations;
+            this.splitSource = splitSource;
             this.assignment = assignment;
             this.assignType = assignType;
         }
 
-        /**
-         * Must be set when using SCAN_DATA_SIZE assign type
-         *
-         * @param scanRangesBytes: has the same size with locations
-         */
-        public void setScanRangesBytes(List<Long> scanRangesBytes) {
-            this.scanRangesBytes = scanRangesBytes;
+        private long getScans(TScanRangeLocations scanRangeLocations) {
+            return assignType == ScanRangeAssignType.SCAN_DATA_SIZE ?
+                    scanRangeLocations.scan_range.hdfs_scan_range.length : 1;
         }
 
         @Override
         public void computeScanRangeAssignment() throws Exception {
-            Preconditions.checkArgument(assignType != ScanRangeAssignType.SCAN_DATA_SIZE
-                    || locations.size() == scanRangesBytes.size());
-
             for (Backend backend : idToBackend.values()) {
                 if (!backend.isAlive() || SimpleScheduler.isInBlacklist(backend.getId())) {
                     continue;
@@ -2473,26 +2721,31 @@ public class Coordinator {
                 throw new UserException("Backend not found. Check if any backend is down or not");
             }
 
-            // total scans / alive bes
+            // Scan ranges are created and assigned batch by batch, so all the scan ranges of
+            // a big table never have to be in memory at the same time.
+            int batchSize = Math.max(1, Config.external_scan_range_batch_size);
+            while (true) {
+                List<TScanRangeLocations> locations = splitSource.getNextBatch(batchSize);
+                if (locations.isEmpty()) {
+                    break;
+                }
+                computeScanRangeAssignment(locations);
+            }
+        }
+
+        private void computeScanRangeAssignment(List<TScanRangeLocations> locations) {
+            // total scans created so far / alive bes
             long avgScansPerBe = -1;
             if (!forceScheduleLocal) {
-                int numBes = assignedScansPerBe.size();
-                if (assignType == ScanRangeAssignType.SCAN_DATA_SIZE) {
-                    long totalBytes = 0L;
-                    for (long scanRangeBytes : scanRangesBytes) {
-                        totalBytes += scanRangeBytes;
-                    }
-                    avgScansPerBe = totalBytes / numBes + (totalBytes % numBes == 0 ? 0 : 1);
-                } else {
-                    // SCAN_RANGE_NUM
-                    int numLocations = locations.size();
-                    avgScansPerBe = numLocations / numBes + (numLocations % numBes == 0 ? 0 : 1);
+                for (TScanRangeLocations scanRangeLocations : locations) {
+                    totalScans += getScans(scanRangeLocations);
                 }
+                int numBes = assignedScansPerBe.size();
+                avgScansPerBe = totalScans / numBes + (totalScans % numBes == 0 ? 0 : 1);
             }
 
             List<TScanRangeLocations> remoteScanRangeLocations = Lists.newArrayList();
-            for (int i = 0; i < locations.size(); ++i) {
-                TScanRangeLocations scanRangeLocations = locations.get(i);
+            for (TScanRangeLocations scanRangeLocations : locations) {
                 long minAssignedScanRanges = Long.MAX_VALUE;
                 Backend minBe = null;
                 for (final TScanRangeLocation location : scanRangeLocations.getLocations()) {
@@ -2513,23 +2766,12 @@ public class Coordinator {
                 }
                 if (minBe == null) {
                     remoteScanRangeLocations.add(scanRangeLocations);
-                    if (assignType == ScanRangeAssignType.SCAN_DATA_SIZE) {
-                        remoteScanRangesBytes.add(scanRangesBytes.get(i));
-                    }
                     continue;
                 }
-                long scansToAdd = (assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? scanRangesBytes.get(i) : 1);
-                recordScanRangeAssignment(minBe, scanRangeLocations, scansToAdd);
-            }
-
-            if (remoteScanRangeLocations.isEmpty()) {
-                return;
+                recordScanRangeAssignment(minBe, scanRangeLocations, getScans(scanRangeLocations));
             }
 
-            Preconditions.checkArgument(assignType != ScanRangeAssignType.SCAN_DATA_SIZE
-                    || remoteScanRangeLocations.size() == remoteScanRangesBytes.size());
-            for (int i = 0; i < remoteScanRangeLocations.size(); ++i) {
-                TScanRangeLocations scanRangeLocations = remoteScanRangeLocations.get(i);
+            for (TScanRangeLocations scanRangeLocations : remoteScanRangeLocations) {
                 long minAssignedScanRanges = Long.MAX_VALUE;
                 Backend minBe = null;
                 for (Map.Entry<Backend, Long> entry : assignedScansPerBe.entrySet()) {
@@ -2540,8 +2782,7 @@ public class Coordinator {
                         minBe = backend;
                     }
                 }
-                long scansToAdd = (assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? remoteScanRangesBytes.get(i) : 1);
-                recordScanRangeAssignment(minBe, scanRangeLocations, scansToAdd);
+                recordScanRangeAssignment(minBe, scanRangeLocations, getScans(scanRangeLocations));
             }
         }
 
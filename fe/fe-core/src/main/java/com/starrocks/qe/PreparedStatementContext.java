@@ -0,0 +1,283 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.qe;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
+import com.starrocks.mysql.MysqlColType;
+import com.starrocks.mysql.MysqlProto;
+import com.starrocks.sql.plan.CachedPlan;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A statement prepared by COM_STMT_PREPARE in one connection.
+ * <p>
+ * The statement text is split at its '?' placeholders. COM_STMT_EXECUTE binds the parameter values sent in
+ * the binary protocol back into the text, and the analyzed statement and ExecPlan of every bound text are
+ * kept in a small LRU, so executing the statement again with the same values skips parse, analyze and
+ * optimize entirely as long as the CachedPlan is still valid.
+ */
+public class PreparedStatementContext {
+    // unsigned flag in the high byte of a parameter type
+    private static final int UNSIGNED_FLAG = 0x80;
+
+    private final int stmtId;
+    private final String originStmt;
+    // numParams + 1 segments
+    private final List<String> segments;
+    // parameter types sent by the last COM_STMT_EXECUTE with new-params-bound-flag
+    private int[] paramTypes;
+    // data sent by COM_STMT_SEND_LONG_DATA
+    private final Map<Integer, ByteArrayOutputStream> longData = Maps.newHashMap();
+
+    private final LinkedHashMap<String, CachedPlan> cachedPlans =
+            new LinkedHashMap<String, CachedPlan>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedPlan> eldest) {
+                    return size() > Config.max_cached_plan_per_prepared_statement;
+                }
+            };
+
+    public PreparedStatementContext(int stmtId, String originStmt) {
+        this.stmtId = stmtId;
+        this.originStmt = originStmt;
+        this.segments = splitByPlaceholder(originStmt);
+    }
+
+    public int getStmtId() {
+        return stmtId;
+    }
+
+    public String getOriginStmt() {
+        return originStmt;
+    }
+
+    public int getNumParams() {
+        return segments.size() - 1;
+    }
+
+    // Replace every placeholder with NULL, used to check the syntax when preparing
+    public String toSqlWithNullParams() {
+        List<String> params = Lists.newArrayList();
+        for (int i = 0; i < getNumParams(); i++) {
+            params.add("NULL");
+        }
+        return bind(params);
+    }
+
+    public void appendLongData(int paramId, byte[] data) {
+        longData.computeIfAbsent(paramId, k -> new ByteArrayOutputStream()).write(data, 0, data.length);
+    }
+
+    public void reset() {
+        longData.clear();
+    }
+
+    public CachedPlan getCachedPlan(String sql, ConnectContext context) {
+        CachedPlan plan = cachedPlans.get(sql);
+        if (plan != null && !plan.isValid(context)) {
+            cachedPlans.remove(sql);
+            return null;
+        }
+        return plan;
+    }
+
+    public void putCachedPlan(String sql, CachedPlan plan) {
+        cachedPlans.put(sql, plan);
+    }
+
+    /**
+     * Read the parameters of COM_STMT_EXECUTE and return the statement text with all of them bound.
+     * The buffer is positioned after iteration_count.
+     * https://dev.mysql.com/doc/internals/en/com-stmt-execute.html
+     */
+    public String bind(ByteBuffer packet) throws AnalysisException {
+        int numParams = getNumParams();
+        if (numParams == 0) {
+            return originStmt;
+        }
+        try {
+            byte[] nullBitmap = MysqlProto.readFixedString(packet, (numParams + 7) / 8);
+            int newParamsBound = MysqlProto.readInt1(packet);
+            if (newParamsBound == 1) {
+                paramTypes = new int[numParams];
+                for (int i = 0; i < numParams; i++) {
+                    paramTypes[i] = MysqlProto.readInt2(packet);
+                }
+            } else if (paramTypes == null) {
+                throw new AnalysisException("Missing parameter types of prepared statement " + stmtId);
+            }
+
+            List<String> params = Lists.newArrayListWithCapacity(numParams);
+            for (int i = 0; i < numParams; i++) {
+                if ((nullBitmap[i / 8] & (1 << (i % 8))) != 0) {
+                    params.add("NULL");
+                } else if (longData.containsKey(i)) {
+                    params.add(quote(longData.get(i).toByteArray()));
+                } else {
+                    params.add(readParam(packet, paramTypes[i]));
+                }
+            }
+            longData.clear();
+            return bind(params);
+        } catch (BufferUnderflowException | NumberFormatException e) {
+            throw new AnalysisException("Malformed parameters of prepared statement " + stmtId);
+        }
+    }
+
+    private String bind(List<String> params) {
+        StringBuilder sb = new StringBuilder(segments.get(0));
+        for (int i = 0; i < params.size(); i++) {
+            sb.append(params.get(i)).append(segments.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+    private static String readParam(ByteBuffer packet, int paramType) {
+        boolean isUnsigned = ((paramType >> 8) & UNSIGNED_FLAG) != 0;
+        int typeCode = paramType & 0xFF;
+        if (typeCode == MysqlColType.MYSQL_TYPE_TINY.getCode()) {
+            int value = MysqlProto.readInt1(packet);
+            return Integer.toString(isUnsigned ? value : (byte) value);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_SHORT.getCode()
+                || typeCode == MysqlColType.MYSQL_TYPE_YEAR.getCode()) {
+            int value = MysqlProto.readInt2(packet);
+            return Integer.toString(isUnsigned ? value : (short) value);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_LONG.getCode()
+                || typeCode == MysqlColType.MYSQL_TYPE_INT24.getCode()) {
+            int value = MysqlProto.readInt4(packet);
+            return isUnsigned ? Long.toString(value & 0xFFFFFFFFL) : Integer.toString(value);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_LONGLONG.getCode()) {
+            long value = MysqlProto.readInt8(packet);
+            return isUnsigned ? Long.toUnsignedString(value) : Long.toString(value);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_FLOAT.getCode()) {
+            float value = Float.intBitsToFloat(MysqlProto.readInt4(packet));
+            return new BigDecimal(Float.toString(value)).toPlainString();
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_DOUBLE.getCode()) {
+            double value = Double.longBitsToDouble(MysqlProto.readInt8(packet));
+            return new BigDecimal(Double.toString(value)).toPlainString();
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_DATE.getCode()
+                || typeCode == MysqlColType.MYSQL_TYPE_DATETIME.getCode()
+                || typeCode == MysqlColType.MYSQL_TYPE_TIMESTAMP.getCode()) {
+            return readDateTime(packet);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_TIME.getCode()) {
+            return readTime(packet);
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_DECIMAL.getCode()
+                || typeCode == MysqlColType.MYSQL_TYPE_NEWDECIMAL.getCode()) {
+            String value = new String(MysqlProto.readLenEncodedString(packet), StandardCharsets.UTF_8);
+            // make sure the value is a number before putting it into sql unquoted
+            return new BigDecimal(value).toPlainString();
+        } else if (typeCode == MysqlColType.MYSQL_TYPE_NULL.getCode()) {
+            return "NULL";
+        } else {
+            // strings, blobs and other types are all sent as length encoded strings
+            return quote(MysqlProto.readLenEncodedString(packet));
+        }
+    }
+
+    private static String readDateTime(ByteBuffer packet) {
+        int length = MysqlProto.readInt1(packet);
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int microSecond = 0;
+        if (length >= 4) {
+            year = MysqlProto.readInt2(packet);
+            month = MysqlProto.readInt1(packet);
+            day = MysqlProto.readInt1(packet);
+        }
+        if (length >= 7) {
+            hour = MysqlProto.readInt1(packet);
+            minute = MysqlProto.readInt1(packet);
+            second = MysqlProto.readInt1(packet);
+        }
+        if (length >= 11) {
+            microSecond = MysqlProto.readInt4(packet);
+        }
+        String value = String.format("%04d-%02d-%02d %02d:%02d:%02d", year, month, day, hour, minute, second);
+        if (microSecond != 0) {
+            value += String.format(".%06d", microSecond);
+        }
+        return "'" + value + "'";
+    }
+
+    private static String readTime(ByteBuffer packet) {
+        int length = MysqlProto.readInt1(packet);
+        if (length == 0) {
+            return "'00:00:00'";
+        }
+        boolean isNegative = MysqlProto.readInt1(packet) == 1;
+        long days = MysqlProto.readInt4(packet) & 0xFFFFFFFFL;
+        int hour = MysqlProto.readInt1(packet);
+        int minute = MysqlProto.readInt1(packet);
+        int second = MysqlProto.readInt1(packet);
+        int microSecond = length >= 12 ? MysqlProto.readInt4(packet) : 0;
+        String value = String.format("%s%02d:%02d:%02d", isNegative ? "-" : "", days * 24 + hour, minute, second);
+        if (microSecond != 0) {
+            value += String.format(".%06d", microSecond);
+        }
+        return "'" + value + "'";
+    }
+
+    private static String quote(byte[] value) {
+        String str = new String(value, StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(str.length() + 2);
+        sb.append('\'');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '\'' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        sb.append('\'');
+        return sb.toString();
+    }
+
+    // Split sql by '?' which are not in quotes or comments
+    static List<String> splitByPlaceholder(String sql) {
+        List<String> segments = Lists.newArrayList();
+        int start = 0;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i++;
+                while (i < length && sql.charAt(i) != c) {
+                    if (sql.charAt(i) == '\\' && c != '`') {
+                        i++;
+                    }
+                    i++;
+                }
+                i++;
+            } else if (c == '#' || (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-')) {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '?') {
+                segments.add(sql.substring(start, i));
+                start = ++i;
+            } else {
+                i++;
+            }
+        }
+        segments.add(sql.substring(start));
+        return segments;
+    }
+}
@@ -0,0 +1,135 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.qe;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.planner.OlapScanNode;
+import com.starrocks.planner.ScanNode;
+import com.starrocks.sql.plan.PlanCacheKey;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result rows of queries over OlapTables shared by all connections of this FE.
+ * <p>
+ * An entry is keyed by the normalized sql (PlanCacheKey) and records the version of every partition
+ * the query read, as planned in OlapScanNode. The result is reusable only while all of these partitions
+ * are still at the same version, otherwise it is replaced by the result of the next execution.
+ * Rows are kept as they come from backends in TResultBatch, i.e. in the mysql text protocol.
+ * <p>
+ * A result is reused as a whole or not at all. Since the rows are final, the result of a query can't be
+ * merged with the one of the changed partitions only, so a change of any partition re-executes the whole query.
+ * Only deterministic queries are cached, see CachedPlan.isDeterministic().
+ */
+public class ResultCache {
+    public static final ResultCache INSTANCE = new ResultCache(Config.query_result_cache_max_bytes);
+
+    private final Cache<PlanCacheKey, Entry> cache;
+
+    ResultCache(long capacityBytes) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(capacityBytes)
+                .<PlanCacheKey, Entry>weigher((key, entry) -> (int) Math.min(entry.bytes, Integer.MAX_VALUE))
+                .build();
+    }
+
+    /**
+     * Return the partition versions read by scanNodes, or null if the result of a query over
+     * scanNodes can't be cached.
+     */
+    public static Map<Long, Long> getScanPartitionVersions(List<ScanNode> scanNodes) {
+        if (scanNodes.isEmpty()) {
+            return null;
+        }
+        Map<Long, Long> partitionVersions = Maps.newHashMap();
+        for (ScanNode scanNode : scanNodes) {
+            if (!(scanNode instanceof OlapScanNode)) {
+                return null;
+            }
+            partitionVersions.putAll(((OlapScanNode) scanNode).getScanPartitionVersions());
+        }
+        return partitionVersions;
+    }
+
+    /**
+     * Return the cached rows of key if they were produced from the same partition versions, otherwise null.
+     * The returned buffers must not be modified, use duplicate() to send them.
+     */
+    public List<ByteBuffer> get(PlanCacheKey key, Map<Long, Long> partitionVersions) {
+        Entry entry = cache.getIfPresent(key);
+        List<ByteBuffer> rows = null;
+        if (entry != null) {
+            if (entry.partitionVersions.equals(partitionVersions)) {
+                rows = entry.rows;
+            } else {
+                // some partition has new data, the next execution will replace the result
+                cache.asMap().remove(key, entry);
+            }
+        }
+        if (MetricRepo.isInit) {
+            if (rows != null) {
+                MetricRepo.COUNTER_QUERY_RESULT_CACHE_HIT.increase(1L);
+            } else {
+                MetricRepo.COUNTER_QUERY_RESULT_CACHE_MISS.increase(1L);
+            }
+        }
+        return rows;
+    }
+
+    public void put(PlanCacheKey key, Map<Long, Long> partitionVersions, Builder builder) {
+        cache.put(key, new Entry(partitionVersions, builder.rows, builder.bytes));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Copies the rows of one query while they are sent to the client, and gives up once the result is
+     * larger than query_result_cache_max_bytes_per_query.
+     */
+    public static class Builder {
+        private final List<ByteBuffer> rows = Lists.newArrayList();
+        private long bytes = 0;
+        private boolean isOversize = false;
+
+        // must be called before the row is sent, which consumes the buffer
+        public void addRow(ByteBuffer row) {
+            if (isOversize) {
+                return;
+            }
+            bytes += row.remaining();
+            if (bytes > Config.query_result_cache_max_bytes_per_query) {
+                isOversize = true;
+                rows.clear();
+                return;
+            }
+            ByteBuffer copy = ByteBuffer.allocate(row.remaining());
+            copy.put(row.duplicate());
+            copy.flip();
+            rows.add(copy);
+        }
+
+        public boolean isOversize() {
+            return isOversize;
+        }
+    }
+
+    private static class Entry {
+        private final Map<Long, Long> partitionVersions;
+        private final List<ByteBuffer> rows;
+        private final long bytes;
+
+        Entry(Map<Long, Long> partitionVersions, List<ByteBuffer> rows, long bytes) {
+            this.partitionVersions = partitionVersions;
+            this.rows = rows;
+            this.bytes = bytes;
+        }
+    }
+}
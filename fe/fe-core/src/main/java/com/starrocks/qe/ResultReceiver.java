@@ -21,7 +21,10 @@
 
 package com.starrocks.qe;
 
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.Status;
+import com.starrocks.common.util.RuntimeProfile;
 import com.starrocks.metric.MetricRepo;
 import com.starrocks.proto.PFetchDataResult;
 import com.starrocks.proto.PUniqueId;
@@ -32,11 +35,15 @@ import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TResultBatch;
 import com.starrocks.thrift.TStatusCode;
 import com.starrocks.thrift.TUniqueId;
+import com.starrocks.thrift.TUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +60,31 @@ public class ResultReceiver {
     private final Long backendId;
     private Thread currentThread;
 
+    // Fetch rpcs sent ahead, so that the backend can send the next batch while the rows
+    // of the current batch are sent to the client. In sending order.
+    private final Deque<PendingFetch> pendingFetches = new ArrayDeque<>();
+    // Fetch results which arrived before the packet to return next, by packet seq
+    private final Map<Long, PendingFetch> receivedFetches = Maps.newHashMap();
+    private final TDeserializer deserializer = new TDeserializer();
+
+    // statistics of fetching results, reported in the query profile
+    private long fetchRpcNum = 0;
+    private long fetchBytes = 0;
+    private long fetchRows = 0;
+    private long fetchWaitTimeNs = 0;
+    private long deserializeTimeNs = 0;
+
+    private static class PendingFetch {
+        private final PFetchDataRequest request;
+        private final Future<PFetchDataResult> future;
+        private PFetchDataResult result = null;
+
+        PendingFetch(PFetchDataRequest request, Future<PFetchDataResult> future) {
+            this.request = request;
+            this.future = future;
+        }
+    }
+
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, int timeoutMs) {
         this.finstId = new PUniqueId();
         this.finstId.hi = tid.hi;
@@ -69,32 +101,29 @@ public class ResultReceiver {
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                PFetchDataRequest request = new PFetchDataRequest(finstId);
-
                 currentThread = Thread.currentThread();
-                Future<PFetchDataResult> future = BackendServiceProxy.getInstance().fetchDataAsync(address, request);
-                PFetchDataResult pResult = null;
-                while (pResult == null) {
-                    long currentTs = System.currentTimeMillis();
-                    if (currentTs >= timeoutTs) {
-                        throw new TimeoutException("query timeout");
+                sendFetches();
+
+                PendingFetch fetch = receivedFetches.remove(packetIdx);
+                if (fetch == null) {
+                    fetch = waitFirstPendingFetch();
+                    if (fetch == null) {
+                        status.setStatus(Status.CANCELLED);
+                        return null;
                     }
-                    try {
-                        pResult = future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
-                    } catch (InterruptedException e) {
-                        // continue to get result
-                        LOG.info("future get interrupted Exception");
-                        if (isCancel) {
-                            status.setStatus(Status.CANCELLED);
-                            return null;
-                        }
+                    TStatusCode code = TStatusCode.findByValue(fetch.result.status.statusCode);
+                    if (code != TStatusCode.OK) {
+                        status.setPstatus(fetch.result.status);
+                        return null;
+                    }
+                    if (fetch.result.packetSeq > packetIdx) {
+                        // the backend answers fetch rpcs in the order they arrived,
+                        // which may be different from the order they were sent
+                        receivedFetches.put(fetch.result.packetSeq, fetch);
+                        continue;
                     }
                 }
-                TStatusCode code = TStatusCode.findByValue(pResult.status.statusCode);
-                if (code != TStatusCode.OK) {
-                    status.setPstatus(pResult.status);
-                    return null;
-                }
+                PFetchDataResult pResult = fetch.result;
 
                 rowBatch.setQueryStatistics(pResult.queryStatistics);
 
@@ -107,13 +136,21 @@ public class ResultReceiver {
                 packetIdx++;
                 isDone = pResult.eos;
 
-                byte[] serialResult = request.getSerializedResult();
+                byte[] serialResult = fetch.request.getSerializedResult();
                 if (serialResult != null && serialResult.length > 0) {
+                    long startTime = System.nanoTime();
                     TResultBatch resultBatch = new TResultBatch();
-                    TDeserializer deserializer = new TDeserializer();
                     deserializer.deserialize(resultBatch, serialResult);
+                    deserializeTimeNs += System.nanoTime() - startTime;
+                    fetchBytes += serialResult.length;
+                    fetchRows += resultBatch.getRowsSize();
+
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.eos);
+                    if (!isDone) {
+                        // keep the backend busy while the caller sends this batch
+                        sendFetches();
+                    }
                     return rowBatch;
                 }
             }
@@ -137,6 +174,10 @@ public class ResultReceiver {
                 MetricRepo.COUNTER_QUERY_TIMEOUT.increase(1L);
             }
         } finally {
+            if (isDone || isCancel || !status.ok()) {
+                // no more results will be fetched
+                clearFetches();
+            }
             synchronized (this) {
                 currentThread = null;
             }
@@ -148,6 +189,60 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    // Keep result_fetch_prefetch_num fetch rpcs in flight
+    private void sendFetches() throws RpcException {
+        int prefetchNum = Math.max(1, Config.result_fetch_prefetch_num);
+        while (pendingFetches.isEmpty() || pendingFetches.size() + receivedFetches.size() < prefetchNum) {
+            PFetchDataRequest request = new PFetchDataRequest(finstId);
+            Future<PFetchDataResult> future = BackendServiceProxy.getInstance().fetchDataAsync(address, request);
+            pendingFetches.addLast(new PendingFetch(request, future));
+            fetchRpcNum++;
+        }
+    }
+
+    // Wait for the result of the earliest sent fetch rpc, return null if cancelled
+    private PendingFetch waitFirstPendingFetch() throws ExecutionException, TimeoutException {
+        PendingFetch fetch = pendingFetches.pollFirst();
+        long startTime = System.nanoTime();
+        try {
+            while (fetch.result == null) {
+                long currentTs = System.currentTimeMillis();
+                if (currentTs >= timeoutTs) {
+                    throw new TimeoutException("query timeout");
+                }
+                try {
+                    fetch.result = fetch.future.get(timeoutTs - currentTs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // continue to get result
+                    LOG.info("future get interrupted Exception");
+                    if (isCancel) {
+                        return null;
+                    }
+                }
+            }
+        } finally {
+            fetchWaitTimeNs += System.nanoTime() - startTime;
+        }
+        return fetch;
+    }
+
+    // Cancel the fetch rpcs in flight and drop the results not returned yet
+    private void clearFetches() {
+        for (PendingFetch fetch : pendingFetches) {
+            fetch.future.cancel(true);
+        }
+        pendingFetches.clear();
+        receivedFetches.clear();
+    }
+
+    public void updateProfile(RuntimeProfile profile) {
+        profile.addCounter("ResultFetchRpcNum", TUnit.UNIT).setValue(fetchRpcNum);
+        profile.addCounter("ResultFetchBytes", TUnit.BYTES).setValue(fetchBytes);
+        profile.addCounter("ResultFetchRows", TUnit.UNIT).setValue(fetchRows);
+        profile.addCounter("ResultFetchWaitTime", TUnit.TIME_NS).setValue(fetchWaitTimeNs);
+        profile.addCounter("ResultDeserializeTime", TUnit.TIME_NS).setValue(deserializeTimeNs);
+    }
+
     public void cancel() {
         isCancel = true;
         synchronized (this) {
@@ -21,6 +21,7 @@
 
 package com.starrocks.qe;
 
+import com.google.common.collect.ImmutableSet;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.common.FeMetaVersion;
 import com.starrocks.common.io.Text;
@@ -41,6 +42,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.Set;
 
 // System variable
 public class SessionVariable implements Serializable, Writable, Cloneable {
@@ -165,12 +167,21 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String CBO_ENABLE_DP_JOIN_REORDER = "cbo_enable_dp_join_reorder";
     public static final String CBO_MAX_REORDER_NODE_USE_DP = "cbo_max_reorder_node_use_dp";
     public static final String CBO_ENABLE_GREEDY_JOIN_REORDER = "cbo_enable_greedy_join_reorder";
+    public static final String CBO_ENABLE_PARALLEL_JOIN_REORDER = "cbo_enable_parallel_join_reorder";
     public static final String CBO_ENABLE_REPLICATED_JOIN = "cbo_enable_replicated_join";
     public static final String CBO_USE_CORRELATED_JOIN_ESTIMATE = "cbo_use_correlated_join_estimate";
     public static final String CBO_ENABLE_LOW_CARDINALITY_OPTIMIZE = "cbo_enable_low_cardinality_optimize";
     public static final String CBO_USE_NTH_EXEC_PLAN = "cbo_use_nth_exec_plan";
     public static final String CBO_CTE_REUSE = "cbo_cte_reuse";
     public static final String CBO_CTE_REUSE_RATE = "cbo_cte_reuse_rate";
+    public static final String CBO_ENABLE_EAGER_AGGREGATION = "cbo_enable_eager_aggregation";
+    public static final String CBO_EAGER_AGGREGATION_RATIO = "cbo_eager_aggregation_ratio";
+    public static final String CBO_ENABLE_CONSTRAINT_REWRITE = "cbo_enable_constraint_rewrite";
+    public static final String CBO_ENABLE_LOCAL_PARTITION_TOPN = "cbo_enable_local_partition_topn";
+    public static final String CBO_ENABLE_JOIN_PARTITION_PRUNE = "cbo_enable_join_partition_prune";
+    public static final String CBO_JOIN_PARTITION_PRUNE_MAX_VALUES = "cbo_join_partition_prune_max_values";
+    public static final String CBO_JOIN_PARTITION_PRUNE_TIMEOUT = "cbo_join_partition_prune_timeout";
+    public static final String CBO_JOIN_PARTITION_PRUNE_MAX_ROWS = "cbo_join_partition_prune_max_rows";
     public static final String ENABLE_SQL_DIGEST = "enable_sql_digest";
     // --------  New planner session variables end --------
 
@@ -186,6 +197,7 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String GLOBAL_RUNTIME_FILTER_PROBE_MIN_SIZE = "global_runtime_filter_probe_min_size";
     public static final String GLOBAL_RUNTIME_FILTER_PROBE_MIN_SELECTIVITY =
             "global_runtime_filter_probe_min_selectivity";
+    public static final String GLOBAL_RUNTIME_FILTER_MERGE_FANIN = "global_runtime_filter_merge_fanin";
 
     public static final String ENABLE_COLUMN_EXPR_PREDICATE = "enable_column_expr_predicate";
     public static final String ENABLE_EXCHANGE_PASS_THROUGH = "enable_exchange_pass_through";
@@ -196,6 +208,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
 
     public static final String ENABLE_HIVE_COLUMN_STATS = "enable_hive_column_stats";
 
+    public static final String ENABLE_PLAN_CACHE = "enable_plan_cache";
+
+    public static final String ENABLE_QUERY_RESULT_CACHE = "enable_query_result_cache";
+
     @VariableMgr.VarAttr(name = ENABLE_PIPELINE, alias = ENABLE_PIPELINE_ENGINE, show = ENABLE_PIPELINE_ENGINE)
     private boolean enablePipelineEngine = true;
 
@@ -342,6 +358,37 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = CBO_CTE_REUSE_RATE, flag = VariableMgr.INVISIBLE)
     private double cboCTERuseRatio = 1.2;
 
+    // Push down the aggregation below the inner joins if it reduces the rows
+    @VarAttr(name = CBO_ENABLE_EAGER_AGGREGATION)
+    private boolean cboEnableEagerAggregation = false;
+
+    // The max ratio of the estimated rows of the pushed down aggregation to its input rows
+    @VarAttr(name = CBO_EAGER_AGGREGATION_RATIO, flag = VariableMgr.INVISIBLE)
+    private double cboEagerAggregationRatio = 0.5;
+
+    // Eliminate joins and simplify group by with the unique keys and foreign keys of tables
+    @VarAttr(name = CBO_ENABLE_CONSTRAINT_REWRITE)
+    private boolean cboEnableConstraintRewrite = true;
+
+    // Keep the top N rows of each window partition before the shuffle for the filter on row_number, rank and dense_rank
+    @VarAttr(name = CBO_ENABLE_LOCAL_PARTITION_TOPN)
+    private boolean cboEnableLocalPartitionTopN = true;
+
+    // Query the join keys of a filtered small table at plan time to prune the partitions of the joined table
+    @VarAttr(name = CBO_ENABLE_JOIN_PARTITION_PRUNE)
+    private boolean cboEnableJoinPartitionPrune = false;
+
+    @VarAttr(name = CBO_JOIN_PARTITION_PRUNE_MAX_VALUES)
+    private int cboJoinPartitionPruneMaxValues = 1024;
+
+    // seconds
+    @VarAttr(name = CBO_JOIN_PARTITION_PRUNE_TIMEOUT)
+    private int cboJoinPartitionPruneTimeout = 5;
+
+    // The join keys aren't queried if the filtered table has more rows
+    @VarAttr(name = CBO_JOIN_PARTITION_PRUNE_MAX_ROWS)
+    private long cboJoinPartitionPruneMaxRows = 10000000;
+
     @VarAttr(name = ENABLE_SQL_DIGEST, flag = VariableMgr.INVISIBLE)
     private boolean enableSQLDigest = false;
 
@@ -405,6 +452,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = CBO_ENABLE_GREEDY_JOIN_REORDER)
     private boolean cboEnableGreedyJoinReorder = true;
 
+    // run the DP and greedy join reorder algorithms concurrently
+    @VariableMgr.VarAttr(name = CBO_ENABLE_PARALLEL_JOIN_REORDER)
+    private boolean cboEnableParallelJoinReorder = false;
+
     @VariableMgr.VarAttr(name = CBO_ENABLE_REPLICATED_JOIN)
     private boolean enableReplicationJoin = true;
 
@@ -452,6 +503,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     private long globalRuntimeFilterProbeMinSize = 100 * 1024;
     @VariableMgr.VarAttr(name = GLOBAL_RUNTIME_FILTER_PROBE_MIN_SELECTIVITY, flag = VariableMgr.INVISIBLE)
     private float globalRuntimeFilterProbeMinSelectivity = 0.5f;
+    // The max number of the partial runtime filters merged by a merge node of the multi-level merge of a
+    // partitioned global runtime filter. 0 means all of them are merged by one merge node.
+    @VariableMgr.VarAttr(name = GLOBAL_RUNTIME_FILTER_MERGE_FANIN, flag = VariableMgr.INVISIBLE)
+    private int globalRuntimeFilterMergeFanIn = 0;
 
     //In order to be compatible with the logic of the old planner,
     //When the column name is the same as the alias name,
@@ -503,6 +558,71 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         return enableHiveColumnStats;
     }
 
+    @VariableMgr.VarAttr(name = ENABLE_PLAN_CACHE)
+    private boolean enablePlanCache = false;
+
+    public boolean isEnablePlanCache() {
+        return enablePlanCache;
+    }
+
+    public void setEnablePlanCache(boolean enablePlanCache) {
+        this.enablePlanCache = enablePlanCache;
+    }
+
+    // The variables which only affect the execution or the connection, but not the plan of a query
+    private static final Set<String> NON_PLAN_VARIABLES = ImmutableSet.of(EXEC_MEM_LIMIT, QUERY_TIMEOUT,
+            MAX_EXECUTION_TIME, IS_REPORT_SUCCESS, PROFILING, RESOURCE_VARIABLE, AUTO_COMMIT, TX_ISOLATION,
+            CHARACTER_SET_CLIENT, CHARACTER_SET_CONNNECTION, CHARACTER_SET_RESULTS, CHARACTER_SET_SERVER,
+            COLLATION_CONNECTION, COLLATION_DATABASE, COLLATION_SERVER, MAX_ALLOWED_PACKET, AUTO_INCREMENT_INCREMENT,
+            QUERY_CACHE_TYPE, INTERACTIVE_TIMTOUT, WAIT_TIMEOUT, NET_WRITE_TIMEOUT, NET_READ_TIMEOUT,
+            SQL_SAFE_UPDATES, NET_BUFFER_LENGTH, LOAD_MEM_LIMIT, EVENT_SCHEDULER, STORAGE_ENGINE,
+            PIPELINE_PROFILE_LEVEL, TRANSACTION_VISIBLE_WAIT_TIMEOUT, FOREIGN_KEY_CHECKS,
+            NEW_PLANNER_OPTIMIZER_TIMEOUT, ENABLE_PLAN_CACHE, ENABLE_QUERY_RESULT_CACHE);
+
+    // Built by getPlanFingerprint(), and reset when a variable is set by VariableMgr
+    private transient String planFingerprint = null;
+
+    /**
+     * The values of the variables which may change the plan of a query, to tell whether a cached plan is
+     * planned with the same variables. It's kept until a variable is set, instead of built for every query.
+     */
+    public String getPlanFingerprint() {
+        String fingerprint = planFingerprint;
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (Field field : SessionVariable.class.getDeclaredFields()) {
+                VarAttr attr = field.getAnnotation(VarAttr.class);
+                if (attr == null || NON_PLAN_VARIABLES.contains(attr.name())) {
+                    continue;
+                }
+                sb.append(attr.name()).append('=').append(field.get(this)).append(';');
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        fingerprint = sb.toString();
+        planFingerprint = fingerprint;
+        return fingerprint;
+    }
+
+    void resetPlanFingerprint() {
+        planFingerprint = null;
+    }
+
+    @VariableMgr.VarAttr(name = ENABLE_QUERY_RESULT_CACHE)
+    private boolean enableQueryResultCache = false;
+
+    public boolean isEnableQueryResultCache() {
+        return enableQueryResultCache;
+    }
+
+    public void setEnableQueryResultCache(boolean enableQueryResultCache) {
+        this.enableQueryResultCache = enableQueryResultCache;
+    }
+
     public long getMaxExecMemByte() {
         return maxExecMemByte;
     }
@@ -717,6 +837,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.cboEnableGreedyJoinReorder = true;
     }
 
+    public boolean isCboEnableParallelJoinReorder() {
+        return cboEnableParallelJoinReorder;
+    }
+
+    public void setCboEnableParallelJoinReorder(boolean cboEnableParallelJoinReorder) {
+        this.cboEnableParallelJoinReorder = cboEnableParallelJoinReorder;
+    }
+
     public long getTransactionVisibleWaitTimeout() {
         return transactionVisibleWaitTimeout;
     }
@@ -785,6 +913,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         return globalRuntimeFilterProbeMinSelectivity;
     }
 
+    public int getGlobalRuntimeFilterMergeFanIn() {
+        return globalRuntimeFilterMergeFanIn;
+    }
+
+    public void setGlobalRuntimeFilterMergeFanIn(int value) {
+        globalRuntimeFilterMergeFanIn = value;
+    }
+
     public boolean isEnablePipelineEngine() {
         return enablePipelineEngine;
     }
@@ -904,6 +1040,62 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.cboCTERuseRatio = cboCTERuseRatio;
     }
 
+    public boolean isCboEnableEagerAggregation() {
+        return cboEnableEagerAggregation;
+    }
+
+    public void setCboEnableEagerAggregation(boolean cboEnableEagerAggregation) {
+        this.cboEnableEagerAggregation = cboEnableEagerAggregation;
+    }
+
+    public double getCboEagerAggregationRatio() {
+        return cboEagerAggregationRatio;
+    }
+
+    public void setCboEagerAggregationRatio(double cboEagerAggregationRatio) {
+        this.cboEagerAggregationRatio = cboEagerAggregationRatio;
+    }
+
+    public boolean isCboEnableConstraintRewrite() {
+        return cboEnableConstraintRewrite;
+    }
+
+    public void setCboEnableConstraintRewrite(boolean cboEnableConstraintRewrite) {
+        this.cboEnableConstraintRewrite = cboEnableConstraintRewrite;
+    }
+
+    public boolean isCboEnableLocalPartitionTopN() {
+        return cboEnableLocalPartitionTopN;
+    }
+
+    public void setCboEnableLocalPartitionTopN(boolean cboEnableLocalPartitionTopN) {
+        this.cboEnableLocalPartitionTopN = cboEnableLocalPartitionTopN;
+    }
+
+    public boolean isCboEnableJoinPartitionPrune() {
+        return cboEnableJoinPartitionPrune;
+    }
+
+    public void setCboEnableJoinPartitionPrune(boolean cboEnableJoinPartitionPrune) {
+        this.cboEnableJoinPartitionPrune = cboEnableJoinPartitionPrune;
+    }
+
+    public int getCboJoinPartitionPruneMaxValues() {
+        return cboJoinPartitionPruneMaxValues;
+    }
+
+    public int getCboJoinPartitionPruneTimeout() {
+        return cboJoinPartitionPruneTimeout;
+    }
+
+    public long getCboJoinPartitionPruneMaxRows() {
+        return cboJoinPartitionPruneMaxRows;
+    }
+
+    public void setCboJoinPartitionPruneMaxRows(long cboJoinPartitionPruneMaxRows) {
+        this.cboJoinPartitionPruneMaxRows = cboJoinPartitionPruneMaxRows;
+    }
+
     public boolean isEnableSQLDigest() {
         return enableSQLDigest;
     }
@@ -1091,6 +1283,7 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         } catch (Exception e) {
             LOG.warn("failed to read session variable: {}", e.getMessage());
         }
+        resetPlanFingerprint();
     }
 
     @Override
@@ -81,7 +81,10 @@ import com.starrocks.meta.SqlBlackList;
 import com.starrocks.metric.MetricRepo;
 import com.starrocks.metric.TableMetricsEntity;
 import com.starrocks.metric.TableMetricsRegistry;
+import com.starrocks.mysql.MysqlBinaryRowConverter;
 import com.starrocks.mysql.MysqlChannel;
+import com.starrocks.mysql.MysqlColType;
+import com.starrocks.mysql.MysqlCommand;
 import com.starrocks.mysql.MysqlEofPacket;
 import com.starrocks.mysql.MysqlSerializer;
 import com.starrocks.mysql.privilege.PrivPredicate;
@@ -96,13 +99,17 @@ import com.starrocks.rpc.RpcException;
 import com.starrocks.service.FrontendOptions;
 import com.starrocks.sql.PlannerProfile;
 import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.analyzer.PrivilegeChecker;
 import com.starrocks.sql.analyzer.SemanticException;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.SelectRelation;
 import com.starrocks.sql.common.ErrorType;
 import com.starrocks.sql.common.MetaUtils;
 import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.plan.CachedPlan;
 import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.sql.plan.PlanCache;
+import com.starrocks.sql.plan.PlanCacheKey;
 import com.starrocks.statistic.AnalyzeJob;
 import com.starrocks.statistic.Constants;
 import com.starrocks.statistic.StatisticExecutor;
@@ -151,6 +158,11 @@ public class StmtExecutor {
     private final boolean isProxy;
     private ShowResultSet proxyResultSet = null;
     private PQueryStatistics statisticsForAuditLog;
+    // set when executing a statement prepared by COM_STMT_PREPARE
+    private PreparedStatementContext preparedStatement = null;
+    private CachedPlan cachedPlan = null;
+    // set when the plan of this statement is looked up in PlanCache
+    private PlanCacheKey planCacheKey = null;
 
     // this constructor is mainly for proxy
     public StmtExecutor(ConnectContext context, OriginStatement originStmt, boolean isProxy) {
@@ -174,6 +186,18 @@ public class StmtExecutor {
         this.isProxy = false;
     }
 
+    // cachedPlan is the valid plan of this statement cached in preparedStatement, may be null
+    public void setPreparedStatement(PreparedStatementContext preparedStatement, CachedPlan cachedPlan) {
+        this.preparedStatement = preparedStatement;
+        this.cachedPlan = cachedPlan;
+    }
+
+    // cachedPlan is the plan acquired from PlanCache by planCacheKey, may be null
+    public void setPlanCacheKey(PlanCacheKey planCacheKey, CachedPlan cachedPlan) {
+        this.planCacheKey = planCacheKey;
+        this.cachedPlan = cachedPlan;
+    }
+
     // At the end of query execution, we begin to add up profile
     public void initProfile(long beginTimeInNanoSecond) {
         profile = new RuntimeProfile("Query");
@@ -295,9 +319,23 @@ public class StmtExecutor {
             // execPlan is the output of new planner
             ExecPlan execPlan = null;
             boolean execPlanBuildByNewPlanner = false;
+            // the plan to put into PlanCache after executed successfully
+            CachedPlan planToCache = cachedPlan;
 
             // Entrance to the new planner
-            if (isStatisticsOrAnalyzer(parsedStmt, context) || StatementPlanner.supportedByNewAnalyzer(parsedStmt)) {
+            if (cachedPlan != null) {
+                // the cached plan of this statement is still valid, skip analyze and optimize,
+                // but the privileges may be revoked since it's cached
+                try {
+                    PrivilegeChecker.check(parsedStmt, context);
+                } catch (SemanticException e) {
+                    throw new AnalysisException(e.getMessage());
+                }
+                redirectStatus = parsedStmt.getRedirectStatus();
+                execPlan = cachedPlan.getExecPlan();
+                execPlanBuildByNewPlanner = true;
+            } else if (isStatisticsOrAnalyzer(parsedStmt, context)
+                    || StatementPlanner.supportedByNewAnalyzer(parsedStmt)) {
                 try (PlannerProfile.ScopedTimer _ = PlannerProfile.getScopedTimer("Total")) {
                     redirectStatus = parsedStmt.getRedirectStatus();
                     if (!isForwardToMaster()) {
@@ -315,6 +353,12 @@ public class StmtExecutor {
                             execPlan = new StatementPlanner().plan(parsedStmt, context);
                         }
                         execPlanBuildByNewPlanner = true;
+                        if (preparedStatement != null || planCacheKey != null) {
+                            planToCache = CachedPlan.create(parsedStmt, execPlan, context, sessionVariableBackup);
+                            if (planToCache != null && preparedStatement != null) {
+                                preparedStatement.putCachedPlan(originStmt.originStmt, planToCache);
+                            }
+                        }
                     }
                 } catch (SemanticException e) {
                     dumpException(e);
@@ -390,6 +434,10 @@ public class StmtExecutor {
                         if (context.getSessionVariable().isReportSucc()) {
                             writeProfile(beginTimeInNanoSecond);
                         }
+                        if (planCacheKey != null && planToCache != null
+                                && context.getState().getStateType() != QueryState.MysqlStateType.ERR) {
+                            PlanCache.INSTANCE.release(planCacheKey, planToCache);
+                        }
                         break;
                     } catch (RpcException e) {
                         if (i == retryTime - 1) {
@@ -568,11 +616,9 @@ public class StmtExecutor {
     private void writeProfile(long beginTimeInNanoSecond) {
         initProfile(beginTimeInNanoSecond);
         profile.computeTimeInChildProfile();
-        StringBuilder builder = new StringBuilder();
-        profile.prettyPrint(builder, "");
-        String profileContent = ProfileManager.getInstance().pushProfile(profile);
+        ProfileManager.getInstance().pushProfile(profile);
         if (context.getQueryDetail() != null) {
-            context.getQueryDetail().setProfile(profileContent);
+            context.getQueryDetail().setProfile(profile.toString());
         }
     }
 
@@ -685,6 +731,25 @@ public class StmtExecutor {
             context.getQueryDetail().setExplain(explainString);
         }
 
+        // answer from the result cache if none of the scanned partitions changed
+        PlanCacheKey resultCacheKey = null;
+        Map<Long, Long> partitionVersions = null;
+        ResultCache.Builder resultCacheBuilder = null;
+        if (isResultCacheable(queryStmt)) {
+            partitionVersions = ResultCache.getScanPartitionVersions(scanNodes);
+            if (partitionVersions != null) {
+                resultCacheKey = PlanCacheKey.create(originStmt.originStmt, context);
+            }
+            if (resultCacheKey != null) {
+                List<ByteBuffer> cachedRows = ResultCache.INSTANCE.get(resultCacheKey, partitionVersions);
+                if (cachedRows != null) {
+                    sendCachedResult(cachedRows, colNames, outputExprs);
+                    return;
+                }
+                resultCacheBuilder = new ResultCache.Builder();
+            }
+        }
+
         coord = new Coordinator(context, fragments, scanNodes, descTable);
 
         QeProcessorImpl.INSTANCE.registerQuery(context.getExecutionId(),
@@ -708,6 +773,7 @@ public class StmtExecutor {
         } else if (queryStmt instanceof QueryStatement) {
             isOutfileQuery = ((QueryStatement) queryStmt).hasOutFileClause();
         }
+        MysqlBinaryRowConverter binaryRowConverter = createBinaryRowConverter(outputExprs);
         boolean isSendFields = false;
         while (true) {
             batch = coord.getNext();
@@ -729,7 +795,10 @@ public class StmtExecutor {
                 }
 
                 for (ByteBuffer row : batch.getBatch().getRows()) {
-                    channel.sendOnePacket(row);
+                    if (resultCacheBuilder != null) {
+                        resultCacheBuilder.addRow(row);
+                    }
+                    channel.sendOnePacket(binaryRowConverter == null ? row : binaryRowConverter.convert(row));
                 }
                 context.updateReturnRows(batch.getBatch().getRows().size());
             }
@@ -741,6 +810,10 @@ public class StmtExecutor {
             sendFields(colNames, outputExprs);
         }
 
+        if (resultCacheBuilder != null && !resultCacheBuilder.isOversize()) {
+            ResultCache.INSTANCE.put(resultCacheKey, partitionVersions, resultCacheBuilder);
+        }
+
         statisticsForAuditLog = batch.getQueryStatistics();
         if (!isOutfileQuery) {
             context.getState().setEof();
@@ -765,6 +838,39 @@ public class StmtExecutor {
         }
     }
 
+    private boolean isResultCacheable(StatementBase queryStmt) {
+        if (!context.getSessionVariable().isEnableQueryResultCache() || !(queryStmt instanceof QueryStatement)) {
+            return false;
+        }
+        return !((QueryStatement) queryStmt).hasOutFileClause()
+                && CachedPlan.isDeterministic(queryStmt);
+    }
+
+    // COM_STMT_EXECUTE is answered with rows in binary protocol
+    private MysqlBinaryRowConverter createBinaryRowConverter(List<Expr> outputExprs) {
+        if (context.getCommand() != MysqlCommand.COM_STMT_EXECUTE) {
+            return null;
+        }
+        List<MysqlColType> columnTypes = Lists.newArrayList();
+        for (Expr expr : outputExprs) {
+            columnTypes.add(expr.getOriginType().getMysqlResultType());
+        }
+        return new MysqlBinaryRowConverter(columnTypes);
+    }
+
+    private void sendCachedResult(List<ByteBuffer> rows, List<String> colNames, List<Expr> outputExprs)
+            throws IOException {
+        MysqlBinaryRowConverter binaryRowConverter = createBinaryRowConverter(outputExprs);
+        MysqlChannel channel = context.getMysqlChannel();
+        sendFields(colNames, outputExprs);
+        for (ByteBuffer row : rows) {
+            ByteBuffer packet = row.duplicate();
+            channel.sendOnePacket(binaryRowConverter == null ? packet : binaryRowConverter.convert(packet));
+        }
+        context.updateReturnRows(rows.size());
+        context.getState().setEof();
+    }
+
     private void handleAnalyzeStmt() throws Exception {
         AnalyzeStmt analyzeStmt = (AnalyzeStmt) parsedStmt;
         StatisticExecutor statisticExecutor = new StatisticExecutor();
@@ -784,6 +890,7 @@ public class StmtExecutor {
         try {
             statisticExecutor.collectStatisticSync(db.getId(), table.getId(), analyzeStmt.getColumnNames(),
                     analyzeStmt.isSample(), job.getSampleCollectRows());
+            statisticExecutor.collectMultiColumnStatisticSync(db.getId(), table.getId(), job.getColumnGroups());
             Catalog.getCurrentStatisticStorage().expireColumnStatistics(table, job.getColumns());
         } catch (Exception e) {
             job.setReason(e.getMessage());
@@ -222,6 +222,9 @@ public class VariableMgr {
             ErrorReport.reportDdlException(ErrorCode.ERR_WRONG_VALUE_FOR_VAR, attr.name(), value);
         }
 
+        if (obj instanceof SessionVariable) {
+            ((SessionVariable) obj).resetPlanFingerprint();
+        }
         return true;
     }
 
@@ -890,18 +890,28 @@ public class FrontendServiceImpl implements FrontendService.Iface {
             if (!(table instanceof OlapTable)) {
                 throw new UserException("load table type is not OlapTable, type=" + table.getClass());
             }
-            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request, db);
-            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
-            TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
-            // add table indexes to transaction state
-            TransactionState txnState =
-                    Catalog.getCurrentGlobalTransactionMgr().getTransactionState(db.getId(), request.getTxnId());
-            if (txnState == null) {
-                throw new UserException("txn does not exist: " + request.getTxnId());
+            // partitions and replicas of the table are read in planning, which are changed by the loads
+            // committed or published concurrently under the table write lock
+            OlapTable olapTable = (OlapTable) table;
+            if (!olapTable.tryReadLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new UserException("get table read lock timeout, table=" + request.getTbl());
             }
-            txnState.addTableIndexes((OlapTable) table);
+            try {
+                StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request, db);
+                StreamLoadPlanner planner = new StreamLoadPlanner(db, olapTable, streamLoadTask);
+                TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
+                // add table indexes to transaction state
+                TransactionState txnState =
+                        Catalog.getCurrentGlobalTransactionMgr().getTransactionState(db.getId(), request.getTxnId());
+                if (txnState == null) {
+                    throw new UserException("txn does not exist: " + request.getTxnId());
+                }
+                txnState.addTableIndexes(olapTable);
 
-            return plan;
+                return plan;
+            } finally {
+                olapTable.readUnlock();
+            }
         } finally {
             db.readUnlock();
         }
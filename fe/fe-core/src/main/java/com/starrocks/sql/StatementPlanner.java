@@ -20,6 +20,7 @@ import com.starrocks.analysis.ShowWorkGroupStmt;
 import com.starrocks.analysis.StatementBase;
 import com.starrocks.analysis.UpdateStmt;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.planner.PlanFragment;
 import com.starrocks.planner.ResultSink;
@@ -40,6 +41,7 @@ import com.starrocks.sql.optimizer.transformer.RelationTransformer;
 import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.sql.plan.PlanFragmentBuilder;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -51,20 +53,22 @@ public class StatementPlanner {
 
         if (stmt instanceof QueryStatement) {
             Map<String, Database> dbs = AnalyzerUtils.collectAllDatabase(session, stmt);
+            List<OlapTable> tables = collectOlapTables(stmt);
             try {
-                lock(dbs);
+                lock(dbs, tables);
                 session.setCurrentSqlDbIds(dbs.values().stream().map(Database::getId).collect(Collectors.toSet()));
                 ExecPlan plan = createQueryPlan(((QueryStatement) stmt).getQueryRelation(), session);
                 setOutfileSink((QueryStatement) stmt, plan);
 
                 return plan;
             } finally {
-                unLock(dbs);
+                unLock(dbs, tables);
             }
         } else if (stmt instanceof DmlStmt) {
             Map<String, Database> dbs = AnalyzerUtils.collectAllDatabase(session, stmt);
+            List<OlapTable> tables = collectOlapTables(stmt);
             try {
-                lock(dbs);
+                lock(dbs, tables);
                 if (stmt instanceof InsertStmt) {
                     return new InsertPlanner().plan((InsertStmt) stmt, session);
                 } else if (stmt instanceof UpdateStmt) {
@@ -73,7 +77,7 @@ public class StatementPlanner {
                     return new DeletePlanner().plan((DeleteStmt) stmt, session);
                 }
             } finally {
-                unLock(dbs);
+                unLock(dbs, tables);
             }
         }
         return null;
@@ -111,21 +115,41 @@ public class StatementPlanner {
         }
     }
 
-    // Lock all database before analyze
-    private void lock(Map<String, Database> dbs) {
+    // OlapTables are read locked after their databases in the order of table id, see Database.writeLockTables()
+    private List<OlapTable> collectOlapTables(StatementBase stmt) {
+        return AnalyzerUtils.collectAllTable(stmt).values().stream()
+                .filter(table -> table instanceof OlapTable)
+                .map(table -> (OlapTable) table)
+                .distinct()
+                .sorted(Comparator.comparingLong(OlapTable::getId))
+                .collect(Collectors.toList());
+    }
+
+    // Lock all database and olap tables before analyze, databases are locked in the order of db id,
+    // the same as other statements locking more than one database
+    private void lock(Map<String, Database> dbs, List<OlapTable> tables) {
         if (dbs == null) {
             return;
         }
-        for (Database db : dbs.values()) {
+        List<Database> sortedDbs = dbs.values().stream()
+                .sorted(Comparator.comparingLong(Database::getId))
+                .collect(Collectors.toList());
+        for (Database db : sortedDbs) {
             db.readLock();
         }
+        for (OlapTable table : tables) {
+            table.readLock();
+        }
     }
 
-    // unLock all database after analyze
-    private void unLock(Map<String, Database> dbs) {
+    // unLock all database and olap tables after analyze
+    private void unLock(Map<String, Database> dbs, List<OlapTable> tables) {
         if (dbs == null) {
             return;
         }
+        for (OlapTable table : tables) {
+            table.readUnlock();
+        }
         for (Database db : dbs.values()) {
             db.readUnlock();
         }
@@ -1,6 +1,7 @@
 // This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
 package com.starrocks.sql.analyzer;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.AlterWorkGroupStmt;
@@ -164,9 +165,46 @@ public class Analyzer {
                 throw new SemanticException("Property '%s' value must be numeric", key);
             }
         }
+
+        analyzeColumnGroups(analyzeTable, properties);
+    }
+
+    // Check the columns of the groups, and normalize the groups by the names in the schema and the sorted order,
+    // so that the same group is always stored with the same name.
+    private static void analyzeColumnGroups(Table table, Map<String, String> properties) {
+        if (!properties.containsKey(AnalyzeJob.PROP_COLUMN_GROUPS_KEY)) {
+            return;
+        }
+        if (table == null) {
+            throw new SemanticException("Property '%s' can only be used on a table", AnalyzeJob.PROP_COLUMN_GROUPS_KEY);
+        }
+
+        List<String> groups = Lists.newArrayList();
+        for (List<String> group : AnalyzeJob.parseColumnGroups(properties.get(AnalyzeJob.PROP_COLUMN_GROUPS_KEY))) {
+            Set<String> columns = Sets.newTreeSet(String.CASE_INSENSITIVE_ORDER);
+            for (String colName : group) {
+                Column col = table.getColumn(colName);
+                if (col == null) {
+                    throw new SemanticException("Unknown column '%s' in '%s'", colName, table.getName());
+                }
+                if (!col.getType().isScalarType() || !col.getType().canStatistic()) {
+                    throw new SemanticException("Column '%s' can not be in a column group", colName);
+                }
+                if (!columns.add(col.getName())) {
+                    throw new SemanticException("Column '%s' specified twice", colName);
+                }
+            }
+            if (columns.size() < 2) {
+                throw new SemanticException("Column group '%s' must have at least two columns",
+                        String.join(",", group));
+            }
+            groups.add(String.join(",", columns));
+        }
+        properties.put(AnalyzeJob.PROP_COLUMN_GROUPS_KEY, String.join(";", groups));
     }
 
     private static void analyzeCreateAnalyzeStmt(CreateAnalyzeJobStmt node, ConnectContext session) {
+        Table analyzeTable = null;
         if (null != node.getTableName()) {
             TableName tbl = node.getTableName();
 
@@ -206,6 +244,7 @@ public class Analyzer {
 
                 node.setDbId(db.getId());
                 node.setTableId(table.getId());
+                analyzeTable = table;
             }
         }
 
@@ -221,5 +260,7 @@ public class Analyzer {
                 throw new SemanticException("Property '%s' value must be numeric", key);
             }
         }
+
+        analyzeColumnGroups(analyzeTable, properties);
     }
 }
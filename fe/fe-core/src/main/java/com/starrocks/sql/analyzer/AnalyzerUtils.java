@@ -33,7 +33,9 @@ import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.SelectRelation;
 import com.starrocks.sql.ast.SetOperationRelation;
 import com.starrocks.sql.ast.SubqueryRelation;
+import com.starrocks.sql.ast.TableFunctionRelation;
 import com.starrocks.sql.ast.TableRelation;
+import com.starrocks.sql.ast.ValuesRelation;
 import com.starrocks.sql.ast.ViewRelation;
 import com.starrocks.sql.common.ErrorType;
 import com.starrocks.sql.common.StarRocksPlannerException;
@@ -284,6 +286,108 @@ public class AnalyzerUtils {
         }
     }
 
+    //Get all the expressions of the query, including the ones in subqueries, views and CTEs
+    public static List<Expr> collectAllExpressions(StatementBase statementBase) {
+        List<Expr> expressions = Lists.newArrayList();
+        new AnalyzerUtils.ExpressionCollector(expressions).visit(statementBase);
+        return expressions;
+    }
+
+    private static class ExpressionCollector extends AstVisitor<Void, Void> {
+        private final List<Expr> expressions;
+
+        public ExpressionCollector(List<Expr> expressions) {
+            this.expressions = expressions;
+        }
+
+        @Override
+        public Void visitQueryStatement(QueryStatement node, Void context) {
+            return visit(node.getQueryRelation());
+        }
+
+        @Override
+        public Void visitSelect(SelectRelation node, Void context) {
+            if (node.hasWithClause()) {
+                node.getCteRelations().forEach(this::visit);
+            }
+            visit(node.getRelation());
+
+            add(node.getOutputExpression());
+            add(node.getPredicate());
+            add(node.getGroupBy());
+            add(node.getHaving());
+            if (node.hasOrderByClause()) {
+                add(node.getOrderByExpressions());
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitSubquery(SubqueryRelation node, Void context) {
+            return visit(node.getQueryStatement());
+        }
+
+        @Override
+        public Void visitView(ViewRelation node, Void context) {
+            return visit(node.getQueryStatement());
+        }
+
+        @Override
+        public Void visitSetOp(SetOperationRelation node, Void context) {
+            if (node.hasWithClause()) {
+                node.getCteRelations().forEach(this::visit);
+            }
+            node.getRelations().forEach(this::visit);
+            if (node.hasOrderByClause()) {
+                add(node.getOrderByExpressions());
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitJoin(JoinRelation node, Void context) {
+            visit(node.getLeft());
+            visit(node.getRight());
+            add(node.getOnPredicate());
+            return null;
+        }
+
+        @Override
+        public Void visitCTE(CTERelation node, Void context) {
+            return visit(node.getCteQueryStatement());
+        }
+
+        @Override
+        public Void visitValues(ValuesRelation node, Void context) {
+            node.getRows().forEach(this::add);
+            return null;
+        }
+
+        @Override
+        public Void visitTableFunction(TableFunctionRelation node, Void context) {
+            add(node.getChildExpressions());
+            return null;
+        }
+
+        private void add(List<? extends Expr> exprs) {
+            if (exprs != null) {
+                exprs.forEach(this::add);
+            }
+        }
+
+        private void add(Expr expr) {
+            if (expr == null) {
+                return;
+            }
+            expressions.add(expr);
+            List<Subquery> subqueries = Lists.newArrayList();
+            expr.collect(Subquery.class, subqueries);
+            for (Subquery subquery : subqueries) {
+                visit(subquery.getQueryStatement());
+            }
+        }
+    }
+
     public static Map<TableName, Table> collectAllTableWithAlias(StatementBase statementBase) {
         Map<TableName, Table> tables = Maps.newHashMap();
         new AnalyzerUtils.TableCollectorWithAlias(tables).visit(statementBase);
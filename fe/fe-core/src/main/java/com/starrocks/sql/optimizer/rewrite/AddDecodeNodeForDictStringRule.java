@@ -17,6 +17,7 @@ import com.starrocks.catalog.KeysType;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Type;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.Pair;
 import com.starrocks.qe.ConnectContext;
@@ -80,6 +81,12 @@ import static com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperato
 public class AddDecodeNodeForDictStringRule implements PhysicalOperatorTreeRewriteRule {
     private static final Logger LOG = LogManager.getLogger(AddDecodeNodeForDictStringRule.class);
 
+    // the size of the id of a dict value
+    private static final int DICT_ID_SIZE = 4;
+    // The dict is sent to BE with the plan and built into hash maps by each fragment instance, which costs about
+    // as much as processing its values this many times
+    private static final int DICT_BUILD_COST_FACTOR = 64;
+
     private final Map<Long, List<Integer>> tableIdToStringColumnIds = Maps.newHashMap();
 
     private static final Type ID_TYPE = Type.INT;
@@ -733,7 +740,7 @@ public class AddDecodeNodeForDictStringRule implements PhysicalOperatorTreeRewri
                         getColumnStatistic(table, column.getName());
                 // Condition 2: the varchar column is low cardinality string column
                 if (!FeConstants.USE_MOCK_DICT_MANAGER && (columnStatistic.isUnknown() ||
-                        columnStatistic.getDistinctValuesCount() > CacheDictManager.LOW_CARDINALITY_THRESHOLD)) {
+                        !isBeneficialToUseGlobalDict(columnStatistic, table.getRowCount()))) {
                     LOG.debug("{} isn't low cardinality string column", column.getName());
                     continue;
                 }
@@ -767,6 +774,24 @@ public class AddDecodeNodeForDictStringRule implements PhysicalOperatorTreeRewri
         return rewriteExpr;
     }
 
+    /**
+     * The encoded column saves hashing, comparing and shuffling the strings of every row, and it costs building the
+     * dict, so a column with more distinct values needs more rows to benefit from the dict.
+     */
+    public static boolean isBeneficialToUseGlobalDict(ColumnStatistic columnStatistic, long rowCount) {
+        double distinctValues = columnStatistic.getDistinctValuesCount();
+        if (distinctValues > Math.min(Config.low_cardinality_dict_max_size, ColumnDict.MAX_SIZE)) {
+            return false;
+        }
+        if (distinctValues <= CacheDictManager.LOW_CARDINALITY_THRESHOLD) {
+            return true;
+        }
+        double stringSize = Math.max(columnStatistic.getAverageRowSize(), 1);
+        double benefit = rowCount * stringSize;
+        double cost = distinctValues * (stringSize + DICT_ID_SIZE) * DICT_BUILD_COST_FACTOR;
+        return benefit > cost;
+    }
+
     public static void insertDecodeExpr(OptExpression parentExpr, List<OptExpression> childExpr,
                                         int index,
                                         DecodeContext context) {
@@ -0,0 +1,193 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.sql.optimizer.rewrite;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptExpressionVisitor;
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.base.DistributionSpec;
+import com.starrocks.sql.optimizer.operator.Operator;
+import com.starrocks.sql.optimizer.operator.Projection;
+import com.starrocks.sql.optimizer.operator.SortPhase;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalDistributionOperator;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalFilterOperator;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalTopNOperator;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalWindowOperator;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.task.TaskContext;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keep the top N rows of each partition in each fragment instance before the shuffle of the window, for the filter
+ * of a ranking function like: row_number() over (partition by a order by b) <= N
+ * <p>
+ * Filter(rk <= N)                   Filter(rk <= N)
+ * |                                 |
+ * Window(rk = rank())               Window(rk = rank())
+ * |                                 |
+ * TopN(sort)             =>         TopN(sort)
+ * |                                 |
+ * Exchange                          Exchange
+ * |                                 |
+ * Node                              Window(rk' = rank(), predicate: rk' <= N)
+ * .                                 |
+ * .                                 TopN(sort)
+ * .                                 |
+ * .                                 Node
+ * <p>
+ * The rows before a row in its partition of an instance are also before it in the whole partition, so the rank of
+ * the row in the instance isn't greater than its rank in the whole partition, and the top N rows are all kept.
+ * It's only applied if all the functions of the window are ranking functions, the others need all the rows.
+ */
+public class PushDownWindowRankFilterRule extends OptExpressionVisitor<OptExpression, Void> {
+    private static final Set<String> RANKING_FUNCTIONS =
+            ImmutableSet.of(FunctionSet.ROW_NUMBER, FunctionSet.RANK, FunctionSet.DENSE_RANK);
+    // The local sort and window aren't worth it if each partition keeps many rows
+    private static final long MAX_RANK_LIMIT = 1000;
+
+    private ColumnRefFactory columnRefFactory;
+
+    public OptExpression rewrite(OptExpression root, TaskContext taskContext) {
+        if (!ConnectContext.get().getSessionVariable().isCboEnableLocalPartitionTopN()) {
+            return root;
+        }
+        columnRefFactory = taskContext.getOptimizerContext().getColumnRefFactory();
+        return root.getOp().accept(this, root, null);
+    }
+
+    @Override
+    public OptExpression visit(OptExpression optExpr, Void context) {
+        for (int idx = 0; idx < optExpr.arity(); ++idx) {
+            optExpr.setChild(idx, optExpr.inputAt(idx).getOp().accept(this, optExpr.inputAt(idx), null));
+        }
+        return optExpr;
+    }
+
+    @Override
+    public OptExpression visitPhysicalFilter(OptExpression optExpr, Void context) {
+        visit(optExpr, context);
+
+        OptExpression windowExpr = optExpr.inputAt(0);
+        if (!(windowExpr.getOp() instanceof PhysicalWindowOperator) ||
+                !(windowExpr.inputAt(0).getOp() instanceof PhysicalTopNOperator) ||
+                !(windowExpr.inputAt(0).inputAt(0).getOp() instanceof PhysicalDistributionOperator)) {
+            return optExpr;
+        }
+        PhysicalWindowOperator window = (PhysicalWindowOperator) windowExpr.getOp();
+        if (!window.getAnalyticCall().values().stream()
+                .allMatch(call -> RANKING_FUNCTIONS.contains(call.getFnName().toLowerCase()))) {
+            return optExpr;
+        }
+
+        OptExpression sortExpr = windowExpr.inputAt(0);
+        PhysicalTopNOperator sort = (PhysicalTopNOperator) sortExpr.getOp();
+        if (!sort.getSortPhase().isFinal() || sort.isSplit() || sort.getLimit() != Operator.DEFAULT_LIMIT ||
+                sort.getPredicate() != null || sort.getProjection() != null) {
+            return optExpr;
+        }
+
+        OptExpression exchangeExpr = sortExpr.inputAt(0);
+        DistributionSpec.DistributionType distributionType =
+                ((PhysicalDistributionOperator) exchangeExpr.getOp()).getDistributionSpec().getType();
+        if (distributionType != DistributionSpec.DistributionType.SHUFFLE &&
+                distributionType != DistributionSpec.DistributionType.GATHER) {
+            return optExpr;
+        }
+
+        PhysicalFilterOperator filter = (PhysicalFilterOperator) optExpr.getOp();
+        for (ScalarOperator conjunct : Utils.extractConjuncts(filter.getPredicate())) {
+            ColumnRefOperator rank = getRankColumn(conjunct, window);
+            long limit = rank == null ? -1 : getRankLimit(conjunct);
+            if (limit > 0 && limit <= MAX_RANK_LIMIT) {
+                exchangeExpr.setChild(0, createLocalWindow(window, rank, limit, sort, exchangeExpr.inputAt(0)));
+                break;
+            }
+        }
+        return optExpr;
+    }
+
+    // The ranking column of the window the predicate is on, which may be projected by the window
+    private ColumnRefOperator getRankColumn(ScalarOperator conjunct, PhysicalWindowOperator window) {
+        if (!(conjunct instanceof BinaryPredicateOperator)) {
+            return null;
+        }
+        ScalarOperator column = conjunct.getChild(0).isColumnRef() ? conjunct.getChild(0) : conjunct.getChild(1);
+        if (!column.isColumnRef()) {
+            return null;
+        }
+        if (window.getProjection() != null) {
+            column = window.getProjection().getColumnRefMap().get(column);
+        }
+        if (column == null || !column.isColumnRef() || !window.getAnalyticCall().containsKey(column)) {
+            return null;
+        }
+        return (ColumnRefOperator) column;
+    }
+
+    // The max rank of the rows which may pass the predicate, or -1 if it's not a limit
+    private long getRankLimit(ScalarOperator conjunct) {
+        BinaryPredicateOperator predicate = (BinaryPredicateOperator) conjunct;
+        if (predicate.getChild(0).isConstantRef()) {
+            predicate = predicate.commutative();
+        }
+        if (!predicate.getChild(1).isConstantRef()) {
+            return -1;
+        }
+        ConstantOperator constant = (ConstantOperator) predicate.getChild(1);
+        if (constant.isNull() || !(constant.getType().isBigint() || constant.getType().isInt())) {
+            return -1;
+        }
+        long value = constant.getType().isBigint() ? constant.getBigint() : constant.getInt();
+
+        switch (predicate.getBinaryType()) {
+            case EQ:
+            case LE:
+                return value;
+            case LT:
+                return value - 1;
+            default:
+                return -1;
+        }
+    }
+
+    private OptExpression createLocalWindow(PhysicalWindowOperator window, ColumnRefOperator rank, long limit,
+                                            PhysicalTopNOperator sort, OptExpression child) {
+        CallOperator call = window.getAnalyticCall().get(rank);
+        ColumnRefOperator localRank = columnRefFactory.create(call, call.getType(), call.isNullable());
+        Map<ColumnRefOperator, CallOperator> localCall = Maps.newHashMap();
+        localCall.put(localRank, call);
+
+        // The local rank is only used by the predicate
+        Map<ColumnRefOperator, ScalarOperator> projectMap = Maps.newHashMap();
+        for (int id : child.getOutputColumns().getColumnIds()) {
+            ColumnRefOperator column = columnRefFactory.getColumnRef(id);
+            projectMap.put(column, column);
+        }
+
+        OptExpression localSortExpr = OptExpression.create(new PhysicalTopNOperator(sort.getOrderSpec(),
+                Operator.DEFAULT_LIMIT, Operator.DEFAULT_OFFSET, SortPhase.FINAL, false, true, null, null), child);
+        localSortExpr.setLogicalProperty(child.getLogicalProperty());
+        localSortExpr.setStatistics(child.getStatistics());
+
+        OptExpression localWindowExpr = OptExpression.create(new PhysicalWindowOperator(localCall,
+                window.getPartitionExpressions(), window.getOrderByElements(), window.getAnalyticWindow(),
+                window.getEnforceOrderBy(), Operator.DEFAULT_LIMIT,
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.LE, localRank,
+                        ConstantOperator.createBigint(limit)),
+                new Projection(projectMap)), Lists.newArrayList(localSortExpr));
+        localWindowExpr.setLogicalProperty(child.getLogicalProperty());
+        localWindowExpr.setStatistics(child.getStatistics());
+        return localWindowExpr;
+    }
+}
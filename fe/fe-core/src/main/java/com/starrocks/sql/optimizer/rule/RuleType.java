@@ -16,6 +16,10 @@ public enum RuleType {
     TF_SPLIT_AGGREGATE,
     TF_SPLIT_TOPN,
     TF_PUSH_DOWN_JOIN_AGG,
+    TF_PUSH_DOWN_AGGREGATION_JOIN,
+    TF_ELIMINATE_JOIN_WITH_CONSTRAINT,
+    TF_SIMPLIFY_GROUP_BY_WITH_CONSTRAINT,
+    TF_JOIN_PARTITION_PRUNE,
     TF_PARTITION_PREDICATE_PRUNE,
 
     TF_MERGE_LIMIT_DIRECT,
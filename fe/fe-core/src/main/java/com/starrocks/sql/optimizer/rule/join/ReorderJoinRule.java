@@ -4,6 +4,10 @@ package com.starrocks.sql.optimizer.rule.join;
 
 import com.google.common.collect.Lists;
 import com.starrocks.common.FeConstants;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.common.ErrorType;
+import com.starrocks.sql.common.StarRocksPlannerException;
 import com.starrocks.sql.optimizer.ExpressionContext;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptExpressionVisitor;
@@ -28,10 +32,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ReorderJoinRule extends Rule {
+    // Runs the join reorder algorithms of one multi join concurrently, see cbo_enable_parallel_join_reorder
+    private static final ExecutorService REORDER_EXECUTOR = ThreadPoolManager.newDaemonFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), 1024, "join-reorder-pool", false);
+
     public ReorderJoinRule() {
         super(RuleType.TF_MULTI_JOIN_ORDER, Pattern.create(OperatorType.PATTERN));
     }
@@ -66,9 +77,55 @@ public class ReorderJoinRule extends Rule {
 
     void enumerate(JoinOrder reorderAlgorithm, OptimizerContext context, OptExpression innerJoinRoot,
                    MultiJoinNode multiJoinNode) {
+        reorder(reorderAlgorithm, multiJoinNode);
+        copyInResult(reorderAlgorithm, context, innerJoinRoot, multiJoinNode);
+    }
+
+    private void reorder(JoinOrder reorderAlgorithm, MultiJoinNode multiJoinNode) {
         reorderAlgorithm.reorder(Lists.newArrayList(multiJoinNode.getAtoms()),
                 multiJoinNode.getPredicates(), multiJoinNode.getExpressionMap());
+    }
+
+    /**
+     * Search join orders with all reorderAlgorithms at the same time, one of them runs in the current thread.
+     * The algorithms only read the atoms, whose statistics are already derived by the left deep reorder,
+     * and build their own join expressions, so they don't share any mutable state.
+     */
+    private void reorderInParallel(List<JoinOrder> reorderAlgorithms, MultiJoinNode multiJoinNode) {
+        ConnectContext connectContext = ConnectContext.get();
+        List<Future<?>> futures = Lists.newArrayList();
+        for (JoinOrder reorderAlgorithm : reorderAlgorithms.subList(1, reorderAlgorithms.size())) {
+            futures.add(REORDER_EXECUTOR.submit(() -> {
+                // statistics estimation reads session variables from the thread local ConnectContext
+                if (connectContext != null) {
+                    connectContext.setThreadLocalInfo();
+                }
+                try {
+                    reorder(reorderAlgorithm, multiJoinNode);
+                } finally {
+                    ConnectContext.remove();
+                }
+            }));
+        }
+        reorder(reorderAlgorithms.get(0), multiJoinNode);
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StarRocksPlannerException("join reorder is interrupted", ErrorType.INTERNAL_ERROR);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new StarRocksPlannerException(e.getCause().getMessage(), ErrorType.INTERNAL_ERROR);
+            }
+        }
+    }
 
+    private void copyInResult(JoinOrder reorderAlgorithm, OptimizerContext context, OptExpression innerJoinRoot,
+                              MultiJoinNode multiJoinNode) {
         List<OptExpression> reorderTopKResult = reorderAlgorithm.getResult();
         LogicalJoinOperator oldRoot = (LogicalJoinOperator) innerJoinRoot.getOp();
 
@@ -150,15 +207,28 @@ public class ReorderJoinRule extends Rule {
                     continue;
                 }
 
+                List<JoinOrder> reorderAlgorithms = Lists.newArrayList();
                 if (multiJoinNode.getAtoms().size() <= context.getSessionVariable().getCboMaxReorderNodeUseDP()
                         && context.getSessionVariable().isCboEnableDPJoinReorder()) {
                     // 10 table join reorder takes more than 100ms,
                     // so the join reorder using dp is currently controlled below 10.
-                    enumerate(new JoinReorderDP(context), context, innerJoinRoot, multiJoinNode);
+                    reorderAlgorithms.add(new JoinReorderDP(context));
                 }
 
                 if (context.getSessionVariable().isCboEnableGreedyJoinReorder()) {
-                    enumerate(new JoinReorderGreedy(context), context, innerJoinRoot, multiJoinNode);
+                    reorderAlgorithms.add(new JoinReorderGreedy(context));
+                }
+
+                if (reorderAlgorithms.size() > 1 && context.getSessionVariable().isCboEnableParallelJoinReorder()) {
+                    reorderInParallel(reorderAlgorithms, multiJoinNode);
+                    // copy in the results in the same order as the serial reorder
+                    for (JoinOrder reorderAlgorithm : reorderAlgorithms) {
+                        copyInResult(reorderAlgorithm, context, innerJoinRoot, multiJoinNode);
+                    }
+                } else {
+                    for (JoinOrder reorderAlgorithm : reorderAlgorithms) {
+                        enumerate(reorderAlgorithm, context, innerJoinRoot, multiJoinNode);
+                    }
                 }
             }
         }
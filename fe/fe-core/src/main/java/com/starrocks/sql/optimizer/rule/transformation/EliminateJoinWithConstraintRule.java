@@ -0,0 +1,215 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.rule.transformation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.ForeignKeyConstraint;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Table;
+import com.starrocks.cluster.ClusterNamespace;
+import com.starrocks.common.Pair;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.logical.LogicalFilterOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalProjectOperator;
+import com.starrocks.sql.optimizer.operator.pattern.Pattern;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.IsNullPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.rule.RuleType;
+import com.starrocks.system.SystemInfoService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Eliminate the join with a table whose columns aren't required by the parents, if each row of the other side
+// joins at most one row of the table and isn't filtered out by the join. e.g. BI tools join the fact table with
+// every dimension table, but only a few of them are used.
+//
+// 1. Left outer join on a unique key of the right table
+//
+//        Join                Project
+//       /    \       =>         |
+//    LEFT   Scan(T)           LEFT
+//
+// 2. Inner join on the foreign key of the other side, which references the unique key of the table
+//
+//        Join                Filter(fk IS NOT NULL)
+//       /    \       =>         |
+//    LEFT   Scan(T)           LEFT
+//
+// The constraints are declared in the table properties and aren't enforced, the optimizer trusts them.
+// It's applied while pruning columns top-down, so the columns required by the parents are known.
+public class EliminateJoinWithConstraintRule extends TransformationRule {
+    public EliminateJoinWithConstraintRule() {
+        super(RuleType.TF_ELIMINATE_JOIN_WITH_CONSTRAINT, Pattern.create(OperatorType.LOGICAL_JOIN).
+                addChildren(Pattern.create(OperatorType.PATTERN_LEAF), Pattern.create(OperatorType.PATTERN_LEAF)));
+    }
+
+    @Override
+    public boolean check(OptExpression input, OptimizerContext context) {
+        if (!ConnectContext.get().getSessionVariable().isCboEnableConstraintRewrite()) {
+            return false;
+        }
+
+        LogicalJoinOperator join = (LogicalJoinOperator) input.getOp();
+        return (join.getJoinType().isInnerJoin() || join.getJoinType().isLeftOuterJoin()) &&
+                join.getOnPredicate() != null && join.getPredicate() == null && join.getProjection() == null &&
+                !join.hasLimit();
+    }
+
+    @Override
+    public List<OptExpression> transform(OptExpression input, OptimizerContext context) {
+        LogicalJoinOperator join = (LogicalJoinOperator) input.getOp();
+        ColumnRefSet requiredColumns = context.getTaskContext().getRequiredColumns();
+
+        if (join.getJoinType().isLeftOuterJoin()) {
+            List<Pair<ColumnRefOperator, ColumnRefOperator>> joinKeys = getJoinKeys(input, 1, requiredColumns, false);
+            if (joinKeys != null && isUniqueKey((LogicalOlapScanOperator) input.inputAt(1).getOp(), joinKeys)) {
+                return Lists.newArrayList(eliminateLeftOuterJoin(input, context));
+            }
+            return Collections.emptyList();
+        }
+
+        for (int side = 1; side >= 0; side--) {
+            List<Pair<ColumnRefOperator, ColumnRefOperator>> joinKeys = getJoinKeys(input, side, requiredColumns, true);
+            if (joinKeys != null && isForeignKey(input, side, joinKeys)) {
+                List<ScalarOperator> notNullPredicates = joinKeys.stream()
+                        .map(pair -> new IsNullPredicateOperator(true, pair.second))
+                        .collect(Collectors.toList());
+                // The filter isn't visited by the other prune rules
+                joinKeys.forEach(pair -> requiredColumns.union(pair.second));
+                return Lists.newArrayList(OptExpression.create(
+                        new LogicalFilterOperator(Utils.compoundAnd(notNullPredicates)), input.inputAt(1 - side)));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    // The pairs of the equal columns of the table on the side and the other side in the on predicate,
+    // or null if the table isn't an OLAP table or some of its columns are required by the parents.
+    private List<Pair<ColumnRefOperator, ColumnRefOperator>> getJoinKeys(OptExpression input, int side,
+                                                                         ColumnRefSet requiredColumns,
+                                                                         boolean onlyEqualities) {
+        if (!(input.inputAt(side).getOp() instanceof LogicalOlapScanOperator)) {
+            return null;
+        }
+        ColumnRefSet columns = input.getChildOutputColumns(side);
+        if (columns.isIntersect(requiredColumns)) {
+            return null;
+        }
+        ColumnRefSet otherColumns = input.getChildOutputColumns(1 - side);
+
+        List<Pair<ColumnRefOperator, ColumnRefOperator>> joinKeys = Lists.newArrayList();
+        LogicalJoinOperator join = (LogicalJoinOperator) input.getOp();
+        for (ScalarOperator conjunct : Utils.extractConjuncts(join.getOnPredicate())) {
+            if (conjunct instanceof BinaryPredicateOperator &&
+                    ((BinaryPredicateOperator) conjunct).getBinaryType() == BinaryPredicateOperator.BinaryType.EQ &&
+                    conjunct.getChild(0).isColumnRef() && conjunct.getChild(1).isColumnRef()) {
+                ColumnRefOperator left = (ColumnRefOperator) conjunct.getChild(0);
+                ColumnRefOperator right = (ColumnRefOperator) conjunct.getChild(1);
+                if (columns.contains(left) && otherColumns.contains(right)) {
+                    joinKeys.add(new Pair<>(left, right));
+                    continue;
+                } else if (columns.contains(right) && otherColumns.contains(left)) {
+                    joinKeys.add(new Pair<>(right, left));
+                    continue;
+                }
+            }
+            // The other predicates of the left outer join only reduce the matched rows
+            if (onlyEqualities) {
+                return null;
+            }
+        }
+        return joinKeys.isEmpty() ? null : joinKeys;
+    }
+
+    private boolean isUniqueKey(LogicalOlapScanOperator scan, List<Pair<ColumnRefOperator, ColumnRefOperator>> joinKeys) {
+        List<String> columnNames = joinKeys.stream()
+                .map(pair -> scan.getColRefToColumnMetaMap().get(pair.first).getName())
+                .collect(Collectors.toList());
+        return ((OlapTable) scan.getTable()).getUniqueConstraints().stream()
+                .anyMatch(constraint -> constraint.isContainedBy(columnNames));
+    }
+
+    // Whether the join keys of the other side are a foreign key referencing the unique key of the table, and all
+    // rows of the table are scanned
+    private boolean isForeignKey(OptExpression input, int side,
+                                 List<Pair<ColumnRefOperator, ColumnRefOperator>> joinKeys) {
+        LogicalOlapScanOperator scan = (LogicalOlapScanOperator) input.inputAt(side).getOp();
+        if (scan.getPredicate() != null || scan.hasLimit() || scan.getPartitionNames() != null ||
+                !scan.getHintsTabletIds().isEmpty() || !isUniqueKey(scan, joinKeys)) {
+            return false;
+        }
+
+        List<LogicalOlapScanOperator> otherScans = Lists.newArrayList();
+        Utils.extractOlapScanOperator(input.inputAt(1 - side).getGroupExpression(), otherScans);
+        for (LogicalOlapScanOperator otherScan : otherScans) {
+            Map<ColumnRefOperator, String> childColumnNames = Maps.newHashMap();
+            otherScan.getColRefToColumnMetaMap().forEach((ref, column) -> childColumnNames.put(ref, column.getName()));
+            if (!joinKeys.stream().allMatch(pair -> childColumnNames.containsKey(pair.second))) {
+                continue;
+            }
+
+            Set<String> keyPairs = joinKeys.stream()
+                    .map(pair -> (childColumnNames.get(pair.second) + "=" +
+                            scan.getColRefToColumnMetaMap().get(pair.first).getName()).toLowerCase())
+                    .collect(Collectors.toSet());
+            for (ForeignKeyConstraint constraint : ((OlapTable) otherScan.getTable()).getForeignKeyConstraints()) {
+                Set<String> constraintPairs = Sets.newHashSet();
+                for (int i = 0; i < constraint.getColumns().size(); i++) {
+                    constraintPairs.add((constraint.getColumns().get(i) + "=" +
+                            constraint.getParentColumns().get(i)).toLowerCase());
+                }
+                if (constraintPairs.equals(keyPairs) && isParentTable(constraint, scan.getTable())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isParentTable(ForeignKeyConstraint constraint, Table table) {
+        Database db = Catalog.getCurrentCatalog().getDb(
+                ClusterNamespace.getFullName(SystemInfoService.DEFAULT_CLUSTER, constraint.getParentDbName()));
+        if (db == null) {
+            return false;
+        }
+        Table parentTable = db.getTable(constraint.getParentTableName());
+        return parentTable != null && parentTable.getId() == table.getId();
+    }
+
+    private OptExpression eliminateLeftOuterJoin(OptExpression input, OptimizerContext context) {
+        ColumnRefSet requiredColumns = context.getTaskContext().getRequiredColumns();
+        ColumnRefSet leftColumns = input.getChildOutputColumns(0);
+
+        Map<ColumnRefOperator, ScalarOperator> projectMap = Maps.newHashMap();
+        for (int id : leftColumns.getColumnIds()) {
+            if (requiredColumns.contains(id)) {
+                ColumnRefOperator column = context.getColumnRefFactory().getColumnRef(id);
+                projectMap.put(column, column);
+            }
+        }
+        // e.g. count(*), the project isn't visited by the other prune rules
+        if (projectMap.isEmpty()) {
+            ColumnRefOperator column = context.getColumnRefFactory().getColumnRef(leftColumns.getFirstId());
+            projectMap.put(column, column);
+            requiredColumns.union(column);
+        }
+        return OptExpression.create(new LogicalProjectOperator(projectMap), input.inputAt(0));
+    }
+}
@@ -0,0 +1,384 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.rule.transformation;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.JoinOperator;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.DistributionInfo;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.HashDistributionInfo;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.PartitionType;
+import com.starrocks.catalog.RangePartitionInfo;
+import com.starrocks.catalog.Table;
+import com.starrocks.cluster.ClusterNamespace;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalProjectOperator;
+import com.starrocks.sql.optimizer.operator.pattern.Pattern;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CastOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CompoundPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.InPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.IsNullPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.LikePredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperatorVisitor;
+import com.starrocks.sql.optimizer.rule.RuleType;
+import com.starrocks.statistic.StatisticExecutor;
+import com.starrocks.statistic.StatisticUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Prune the partitions and tablets of a table joined with a filtered small table, e.g. a fact table partitioned by
+// the date key joined with the date dimension table filtered by year. The literal predicates can't prune them,
+// so the distinct join keys of the small table are queried at plan time, and pushed down to the table as an
+// IN predicate on its partition column or distribution column.
+//
+//        Join(f.k = d.k)                       Join(f.k = d.k)
+//       /               \          =>         /               \
+//   Scan(f)     Scan(d, predicate)    Scan(f, f.k IN (...))   Scan(d, predicate)
+//
+// The query is only sent if the small table has few rows by the statistics, it's bounded by the number of the
+// values and a timeout, and the rewrite is skipped if it fails or returns more values. It's applied before the
+// partition prune rules.
+public class JoinPartitionPruneRule extends TransformationRule {
+    private static final Logger LOG = LogManager.getLogger(JoinPartitionPruneRule.class);
+    private static final Map<String, String> ARITHMETIC_OPERATORS = ImmutableMap.of(
+            FunctionSet.ADD, "+", FunctionSet.SUBTRACT, "-", FunctionSet.MULTIPLY, "*", FunctionSet.DIVIDE, "/");
+
+    public JoinPartitionPruneRule() {
+        super(RuleType.TF_JOIN_PARTITION_PRUNE, Pattern.create(OperatorType.LOGICAL_JOIN).
+                addChildren(Pattern.create(OperatorType.PATTERN_LEAF), Pattern.create(OperatorType.PATTERN_LEAF)));
+    }
+
+    @Override
+    public boolean check(OptExpression input, OptimizerContext context) {
+        if (ConnectContext.get() == null || !ConnectContext.get().getSessionVariable().isCboEnableJoinPartitionPrune()) {
+            return false;
+        }
+
+        LogicalJoinOperator join = (LogicalJoinOperator) input.getOp();
+        JoinOperator joinType = join.getJoinType();
+        return (joinType.isInnerJoin() || joinType.isLeftSemiJoin() || joinType.isRightSemiJoin()) &&
+                join.getOnPredicate() != null;
+    }
+
+    @Override
+    public List<OptExpression> transform(OptExpression input, OptimizerContext context) {
+        LogicalJoinOperator join = (LogicalJoinOperator) input.getOp();
+        // The rows of the side which don't join any row of the other side are useless for the inner and semi joins
+        for (int side = 0; side < 2; side++) {
+            LogicalOlapScanOperator scan = getScan(input.inputAt(side));
+            LogicalOlapScanOperator filterScan = getScan(input.inputAt(1 - side));
+            if (scan == null || filterScan == null || scan.getSelectedPartitionId() != null ||
+                    filterScan.getPredicate() == null || filterScan.hasLimit() || !isSmallTable(filterScan)) {
+                continue;
+            }
+
+            for (ScalarOperator conjunct : Utils.extractConjuncts(join.getOnPredicate())) {
+                if (!(conjunct instanceof BinaryPredicateOperator) ||
+                        ((BinaryPredicateOperator) conjunct).getBinaryType() != BinaryPredicateOperator.BinaryType.EQ ||
+                        !conjunct.getChild(0).isColumnRef() || !conjunct.getChild(1).isColumnRef()) {
+                    continue;
+                }
+                ColumnRefOperator key = getScanColumn(input.inputAt(side), conjunct.getChild(0));
+                ColumnRefOperator filterKey = getScanColumn(input.inputAt(1 - side), conjunct.getChild(1));
+                if (key == null || filterKey == null) {
+                    key = getScanColumn(input.inputAt(side), conjunct.getChild(1));
+                    filterKey = getScanColumn(input.inputAt(1 - side), conjunct.getChild(0));
+                }
+                if (key == null || filterKey == null || !isPruneColumn(scan, key)) {
+                    continue;
+                }
+
+                List<ScalarOperator> values = queryValues(filterScan, filterKey, key);
+                if (values == null) {
+                    continue;
+                }
+                OptExpression newChild = pushDownValues(input.inputAt(side), scan, key, values);
+                List<OptExpression> children = Lists.newArrayList(input.getInputs());
+                children.set(side, newChild);
+                return Lists.newArrayList(OptExpression.create(join, children));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    // The OLAP scan of the child, which may be projected
+    private LogicalOlapScanOperator getScan(OptExpression child) {
+        if (child.getOp() instanceof LogicalOlapScanOperator) {
+            return (LogicalOlapScanOperator) child.getOp();
+        }
+        if (child.getOp() instanceof LogicalProjectOperator &&
+                child.getGroupExpression().getInputs().get(0).getFirstLogicalExpression().getOp()
+                        instanceof LogicalOlapScanOperator) {
+            return (LogicalOlapScanOperator) child.getGroupExpression().getInputs().get(0)
+                    .getFirstLogicalExpression().getOp();
+        }
+        return null;
+    }
+
+    // The scan column of the output column of the child, or null if it's computed
+    private ColumnRefOperator getScanColumn(OptExpression child, ScalarOperator column) {
+        LogicalOlapScanOperator scan = getScan(child);
+        if (child.getOp() instanceof LogicalProjectOperator) {
+            column = ((LogicalProjectOperator) child.getOp()).getColumnRefMap().get(column);
+        }
+        if (column == null || !column.isColumnRef() || !scan.getColRefToColumnMetaMap().containsKey(column)) {
+            return null;
+        }
+        return (ColumnRefOperator) column;
+    }
+
+    // Whether the column is the only partition column or distribution column of the table
+    private boolean isPruneColumn(LogicalOlapScanOperator scan, ColumnRefOperator key) {
+        OlapTable table = (OlapTable) scan.getTable();
+        String name = scan.getColRefToColumnMetaMap().get(key).getName();
+        if (table.getPartitionInfo().getType() == PartitionType.RANGE && table.getPartitions().size() > 1) {
+            List<Column> partitionColumns = ((RangePartitionInfo) table.getPartitionInfo()).getPartitionColumns();
+            if (partitionColumns.size() == 1 && partitionColumns.get(0).getName().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        DistributionInfo distributionInfo = table.getDefaultDistributionInfo();
+        if (distributionInfo.getType() == DistributionInfo.DistributionInfoType.HASH &&
+                distributionInfo.getBucketNum() > 1) {
+            List<Column> distributionColumns = ((HashDistributionInfo) distributionInfo).getDistributionColumns();
+            return distributionColumns.size() == 1 && distributionColumns.get(0).getName().equalsIgnoreCase(name);
+        }
+        return false;
+    }
+
+    // Whether the table is small enough to be scanned at plan time. The rows of the table are reported by the
+    // backends, and the statistics of the columns are unknown in the rewrite phase, so the predicate isn't estimated
+    private boolean isSmallTable(LogicalOlapScanOperator filterScan) {
+        long rowCount = ((OlapTable) filterScan.getTable()).getRowCount();
+        return rowCount <= ConnectContext.get().getSessionVariable().getCboJoinPartitionPruneMaxRows();
+    }
+
+    // The distinct values of the filter key, cast to the type of the key, or null if there are too many values
+    // or the query fails
+    private List<ScalarOperator> queryValues(LogicalOlapScanOperator filterScan, ColumnRefOperator filterKey,
+                                             ColumnRefOperator key) {
+        Database db = getDatabase(filterScan.getTable());
+        String predicate = filterScan.getPredicate().accept(new PredicateToSql(filterScan), null);
+        if (db == null || predicate == null) {
+            return null;
+        }
+
+        SessionVariable sessionVariable = ConnectContext.get().getSessionVariable();
+        int maxValues = sessionVariable.getCboJoinPartitionPruneMaxValues();
+        String column = quote(filterScan.getColRefToColumnMetaMap().get(filterKey).getName());
+        String sql = "SELECT DISTINCT " + column + " FROM " +
+                quote(ClusterNamespace.getNameFromFullName(db.getFullName())) + "." +
+                quote(filterScan.getTable().getName()) + " WHERE " + column + " IS NOT NULL AND " + predicate +
+                " LIMIT " + (maxValues + 1);
+
+        ConnectContext queryContext = ConnectContext.get();
+        List<List<String>> rows;
+        try {
+            ConnectContext context = StatisticUtils.buildConnectContext();
+            context.getSessionVariable().setQueryTimeoutS(sessionVariable.getCboJoinPartitionPruneTimeout());
+            context.getSessionVariable().setCboEnableJoinPartitionPrune(false);
+            rows = StatisticExecutor.queryRowsSync(context, sql);
+        } catch (Exception e) {
+            LOG.warn("Query the join keys to prune partitions fail. SQL: {}", sql, e);
+            return null;
+        } finally {
+            queryContext.setThreadLocalInfo();
+        }
+        if (rows.size() > maxValues) {
+            return null;
+        }
+
+        List<ScalarOperator> values = Lists.newArrayList();
+        try {
+            for (List<String> row : rows) {
+                values.add(ConstantOperator.createVarchar(row.get(0)).castTo(key.getType()));
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return values;
+    }
+
+    private OptExpression pushDownValues(OptExpression child, LogicalOlapScanOperator scan, ColumnRefOperator key,
+                                         List<ScalarOperator> values) {
+        // No row is joined
+        ScalarOperator inPredicate = ConstantOperator.createBoolean(false);
+        if (!values.isEmpty()) {
+            List<ScalarOperator> arguments = Lists.newArrayList(key);
+            arguments.addAll(values);
+            inPredicate = new InPredicateOperator(false, arguments);
+        }
+
+        LogicalOlapScanOperator newScan = new LogicalOlapScanOperator(
+                scan.getTable(),
+                scan.getColRefToColumnMetaMap(),
+                scan.getColumnMetaToColRefMap(),
+                scan.getDistributionSpec(),
+                scan.getLimit(),
+                Utils.compoundAnd(scan.getPredicate(), inPredicate),
+                scan.getSelectedIndexId(),
+                scan.getSelectedPartitionId(),
+                scan.getPartitionNames(),
+                scan.getSelectedTabletId(),
+                scan.getHintsTabletIds());
+        if (child.getOp() instanceof LogicalProjectOperator) {
+            return OptExpression.create(child.getOp(), OptExpression.create(newScan));
+        }
+        return OptExpression.create(newScan);
+    }
+
+    private Database getDatabase(Table table) {
+        Catalog catalog = Catalog.getCurrentCatalog();
+        for (Long dbId : catalog.getDbIds()) {
+            Database db = catalog.getDb(dbId);
+            if (db != null && db.getTable(table.getId()) == table) {
+                return db;
+            }
+        }
+        return null;
+    }
+
+    private static String quote(String name) {
+        return "`" + name.replace("`", "``") + "`";
+    }
+
+    // Print the predicate of the scan as SQL, or null if some of the operators aren't supported
+    private static class PredicateToSql extends ScalarOperatorVisitor<String, Void> {
+        private final LogicalOlapScanOperator scan;
+
+        PredicateToSql(LogicalOlapScanOperator scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public String visit(ScalarOperator scalarOperator, Void context) {
+            return null;
+        }
+
+        @Override
+        public String visitVariableReference(ColumnRefOperator variable, Void context) {
+            Column column = scan.getColRefToColumnMetaMap().get(variable);
+            return column == null ? null : quote(column.getName());
+        }
+
+        @Override
+        public String visitConstant(ConstantOperator literal, Void context) {
+            if (literal.isNull()) {
+                return "NULL";
+            } else if (literal.getType().isBoolean()) {
+                return literal.getBoolean() ? "TRUE" : "FALSE";
+            } else if (literal.getType().isDecimalOfAnyVersion()) {
+                return literal.getDecimal().toPlainString();
+            } else if (literal.getType().isNumericType()) {
+                return literal.toString();
+            } else if (literal.getType().isDateType()) {
+                return "CAST('" + literal + "' AS " + literal.getType().toSql() + ")";
+            } else if (literal.getType().isStringType()) {
+                return "'" + literal.toString().replace("\\", "\\\\").replace("'", "\\'") + "'";
+            }
+            return null;
+        }
+
+        @Override
+        public String visitCall(CallOperator call, Void context) {
+            if (call.isAggregate() || call.isDistinct()) {
+                return null;
+            }
+            List<String> arguments = visitChildren(call);
+            if (arguments == null) {
+                return null;
+            }
+
+            String operator = ARITHMETIC_OPERATORS.get(call.getFnName());
+            if (operator != null && arguments.size() == 2) {
+                return "(" + arguments.get(0) + " " + operator + " " + arguments.get(1) + ")";
+            }
+            return call.getFnName() + "(" + String.join(", ", arguments) + ")";
+        }
+
+        @Override
+        public String visitBinaryPredicate(BinaryPredicateOperator predicate, Void context) {
+            List<String> arguments = visitChildren(predicate);
+            return arguments == null ? null :
+                    "(" + arguments.get(0) + " " + predicate.getBinaryType() + " " + arguments.get(1) + ")";
+        }
+
+        @Override
+        public String visitCompoundPredicate(CompoundPredicateOperator predicate, Void context) {
+            List<String> arguments = visitChildren(predicate);
+            if (arguments == null) {
+                return null;
+            }
+            if (predicate.getCompoundType() == CompoundPredicateOperator.CompoundType.NOT) {
+                return "(NOT " + arguments.get(0) + ")";
+            }
+            return "(" + arguments.get(0) + " " + predicate.getCompoundType() + " " + arguments.get(1) + ")";
+        }
+
+        @Override
+        public String visitInPredicate(InPredicateOperator predicate, Void context) {
+            List<String> arguments = visitChildren(predicate);
+            if (arguments == null) {
+                return null;
+            }
+            return "(" + arguments.get(0) + (predicate.isNotIn() ? " NOT IN (" : " IN (") +
+                    String.join(", ", arguments.subList(1, arguments.size())) + "))";
+        }
+
+        @Override
+        public String visitIsNullPredicate(IsNullPredicateOperator predicate, Void context) {
+            List<String> arguments = visitChildren(predicate);
+            return arguments == null ? null :
+                    "(" + arguments.get(0) + (predicate.isNotNull() ? " IS NOT NULL)" : " IS NULL)");
+        }
+
+        @Override
+        public String visitLikePredicateOperator(LikePredicateOperator predicate, Void context) {
+            List<String> arguments = visitChildren(predicate);
+            if (arguments == null) {
+                return null;
+            }
+            String operator = predicate.getLikeType() == LikePredicateOperator.LikeType.LIKE ? " LIKE " : " REGEXP ";
+            return "(" + arguments.get(0) + operator + arguments.get(1) + ")";
+        }
+
+        @Override
+        public String visitCastOperator(CastOperator operator, Void context) {
+            List<String> arguments = visitChildren(operator);
+            return arguments == null ? null : "CAST(" + arguments.get(0) + " AS " + operator.getType().toSql() + ")";
+        }
+
+        private List<String> visitChildren(ScalarOperator operator) {
+            List<String> arguments = Lists.newArrayList();
+            for (ScalarOperator child : operator.getChildren()) {
+                String argument = child.accept(this, null);
+                if (argument == null) {
+                    return null;
+                }
+                arguments.add(argument);
+            }
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.rule.transformation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.Expr;
+import com.starrocks.catalog.AggregateFunction;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.Type;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.analyzer.DecimalV3FunctionAnalyzer;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.operator.AggType;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.Projection;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
+import com.starrocks.sql.optimizer.operator.pattern.Pattern;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.rule.RuleType;
+import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
+import com.starrocks.sql.optimizer.statistics.Statistics;
+import com.starrocks.sql.optimizer.statistics.StatisticsCalculator;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.starrocks.catalog.Function.CompareMode.IS_IDENTICAL;
+
+// Eager aggregation, push down the aggregation below the inner join onto the child which the aggregate functions
+// refer to, e.g. the fact table, grouped by the columns of the child which are required by the join and the
+// aggregation, so that the join and the shuffle process the groups instead of the rows.
+//
+// Before:
+//      Aggregation(G; f(a))
+//          |
+//         Join(l.k = r.k)
+//        /    \
+//     LEFT    RIGHT
+//
+// After:
+//      Aggregation(G; f'(p))
+//          |
+//         Join(l.k = r.k)
+//        /    \
+//  Aggregation  RIGHT
+//  (l.k, G ∩ LEFT; p = f(a))
+//       |
+//     LEFT
+//
+// Each row of a group of LEFT joins the same rows of RIGHT, because the join keys are grouping keys. So SUM and
+// COUNT become the SUM of the partial results, and MIN and MAX stay the same.
+//
+// Requirements:
+// 1. Inner join without limit, and its projection only selects columns
+// 2. The aggregation isn't split, the functions are SUM/COUNT/MIN/MAX without distinct, and refer to one child
+// 3. The estimated rows of the pushed down aggregation are much less than its input rows
+public class PushDownAggregationJoinRule extends TransformationRule {
+    private PushDownAggregationJoinRule() {
+        super(RuleType.TF_PUSH_DOWN_AGGREGATION_JOIN, Pattern.create(OperatorType.LOGICAL_AGGR).addChildren(
+                Pattern.create(OperatorType.LOGICAL_JOIN, OperatorType.PATTERN_LEAF, OperatorType.PATTERN_LEAF)));
+    }
+
+    private static final PushDownAggregationJoinRule instance = new PushDownAggregationJoinRule();
+
+    public static PushDownAggregationJoinRule getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean check(OptExpression input, OptimizerContext context) {
+        if (!ConnectContext.get().getSessionVariable().isCboEnableEagerAggregation()) {
+            return false;
+        }
+
+        LogicalAggregationOperator aggregation = (LogicalAggregationOperator) input.getOp();
+        if (!aggregation.getType().isGlobal() || aggregation.isSplit()) {
+            return false;
+        }
+
+        LogicalJoinOperator join = (LogicalJoinOperator) input.inputAt(0).getOp();
+        if (!join.getJoinType().isInnerJoin() || join.hasLimit()) {
+            return false;
+        }
+        if (join.getProjection() != null && !join.getProjection().getColumnRefMap().entrySet().stream()
+                .allMatch(e -> e.getKey().equals(e.getValue()))) {
+            return false;
+        }
+
+        for (CallOperator call : aggregation.getAggregations().values()) {
+            if (call.isDistinct() || !(FunctionSet.SUM.equalsIgnoreCase(call.getFnName()) ||
+                    FunctionSet.COUNT.equalsIgnoreCase(call.getFnName()) ||
+                    FunctionSet.MIN.equalsIgnoreCase(call.getFnName()) ||
+                    FunctionSet.MAX.equalsIgnoreCase(call.getFnName()))) {
+                return false;
+            }
+            // COUNT of no rows is 0, but the SUM of the partial COUNTs is NULL
+            if (FunctionSet.COUNT.equalsIgnoreCase(call.getFnName()) && aggregation.getGroupingKeys().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<OptExpression> transform(OptExpression input, OptimizerContext context) {
+        List<OptExpression> result = Lists.newArrayList();
+        for (int childIndex = 0; childIndex < 2; childIndex++) {
+            OptExpression newExpression = pushDownAggregation(input, childIndex, context);
+            if (newExpression != null) {
+                result.add(newExpression);
+            }
+        }
+        return result;
+    }
+
+    private OptExpression pushDownAggregation(OptExpression input, int childIndex, OptimizerContext context) {
+        LogicalAggregationOperator aggregation = (LogicalAggregationOperator) input.getOp();
+        OptExpression joinExpression = input.inputAt(0);
+        LogicalJoinOperator join = (LogicalJoinOperator) joinExpression.getOp();
+        OptExpression child = joinExpression.inputAt(childIndex);
+        // The child has been aggregated
+        if (child.getOp() instanceof LogicalAggregationOperator) {
+            return null;
+        }
+
+        ColumnRefSet childColumns = joinExpression.getChildOutputColumns(childIndex);
+        for (CallOperator call : aggregation.getAggregations().values()) {
+            if (!childColumns.containsAll(call.getUsedColumns())) {
+                return null;
+            }
+        }
+
+        // The columns of the child which are required above the aggregation
+        ColumnRefSet requiredColumns = new ColumnRefSet(aggregation.getGroupingKeys());
+        if (join.getOnPredicate() != null) {
+            requiredColumns.union(join.getOnPredicate().getUsedColumns());
+        }
+        if (join.getPredicate() != null) {
+            requiredColumns.union(join.getPredicate().getUsedColumns());
+        }
+        List<ColumnRefOperator> groupingKeys = Lists.newArrayList();
+        for (int id : requiredColumns.getColumnIds()) {
+            if (childColumns.contains(id)) {
+                groupingKeys.add(context.getColumnRefFactory().getColumnRef(id));
+            }
+        }
+        if (groupingKeys.isEmpty() || !isBeneficial(child, groupingKeys)) {
+            return null;
+        }
+
+        Map<ColumnRefOperator, CallOperator> partialAggregations = Maps.newHashMap();
+        Map<ColumnRefOperator, CallOperator> newAggregations = Maps.newHashMap();
+        for (Map.Entry<ColumnRefOperator, CallOperator> entry : aggregation.getAggregations().entrySet()) {
+            CallOperator call = entry.getValue();
+            ColumnRefOperator partial = context.getColumnRefFactory().create(call, call.getType(), call.isNullable());
+            Function function = getMergeFunction(call);
+            if (function == null) {
+                return null;
+            }
+            String fnName = FunctionSet.COUNT.equalsIgnoreCase(call.getFnName()) ? FunctionSet.SUM : call.getFnName();
+            partialAggregations.put(partial, call);
+            newAggregations.put(entry.getKey(),
+                    new CallOperator(fnName, call.getType(), Lists.newArrayList(partial), function));
+        }
+
+        LogicalAggregationOperator partialAggregation =
+                new LogicalAggregationOperator(AggType.GLOBAL, groupingKeys, partialAggregations);
+
+        LogicalJoinOperator.Builder joinBuilder = new LogicalJoinOperator.Builder().withOperator(join);
+        if (join.getProjection() != null) {
+            ColumnRefSet newChildColumns = new ColumnRefSet(groupingKeys);
+            newChildColumns.union(Lists.newArrayList(partialAggregations.keySet()));
+            ColumnRefSet otherChildColumns = joinExpression.getChildOutputColumns(1 - childIndex);
+
+            Map<ColumnRefOperator, ScalarOperator> projectMap = Maps.newHashMap();
+            for (ColumnRefOperator column : join.getProjection().getOutputColumns()) {
+                if (newChildColumns.contains(column) || otherChildColumns.contains(column)) {
+                    projectMap.put(column, column);
+                }
+            }
+            partialAggregations.keySet().forEach(column -> projectMap.put(column, column));
+            joinBuilder.setProjection(new Projection(projectMap));
+        }
+
+        List<OptExpression> joinChildren = Lists.newArrayList(joinExpression.getInputs());
+        joinChildren.set(childIndex, OptExpression.create(partialAggregation, child));
+        OptExpression newJoin = OptExpression.create(joinBuilder.build(), joinChildren);
+
+        LogicalAggregationOperator newAggregation = new LogicalAggregationOperator.Builder()
+                .withOperator(aggregation)
+                .setAggregations(newAggregations)
+                .build();
+        return OptExpression.create(newAggregation, newJoin);
+    }
+
+    // The function to aggregate the partial results, which returns the same type as the original one
+    private Function getMergeFunction(CallOperator call) {
+        if (FunctionSet.MIN.equalsIgnoreCase(call.getFnName()) || FunctionSet.MAX.equalsIgnoreCase(call.getFnName())) {
+            return call.getFunction();
+        }
+
+        Type partialType = call.getType();
+        Function function;
+        if (partialType.isDecimalV3()) {
+            function = DecimalV3FunctionAnalyzer.rectifyAggregationFunction(
+                    (AggregateFunction) Expr.getBuiltinFunction(FunctionSet.SUM, new Type[] {partialType},
+                            Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF), partialType, partialType);
+        } else {
+            function = Expr.getBuiltinFunction(FunctionSet.SUM, new Type[] {partialType}, IS_IDENTICAL);
+        }
+        if (function == null || !function.getReturnType().equals(partialType)) {
+            return null;
+        }
+        return function;
+    }
+
+    private boolean isBeneficial(OptExpression child, List<ColumnRefOperator> groupingKeys) {
+        Statistics statistics = child.getGroupExpression().getGroup().getStatistics();
+        if (statistics == null) {
+            return false;
+        }
+        for (ColumnRefOperator key : groupingKeys) {
+            ColumnStatistic columnStatistic = statistics.getColumnStatistics().get(key);
+            if (columnStatistic == null || columnStatistic.isUnknown()) {
+                return false;
+            }
+        }
+
+        double rowCount = StatisticsCalculator.computeGroupByStatistics(groupingKeys, statistics,
+                Maps.newHashMap());
+        return rowCount <= statistics.getOutputRowCount() *
+                ConnectContext.get().getSessionVariable().getCboEagerAggregationRatio();
+    }
+}
@@ -0,0 +1,157 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.rule.transformation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.Expr;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Type;
+import com.starrocks.catalog.UniqueConstraint;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.Group;
+import com.starrocks.sql.optimizer.GroupExpression;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.operator.AggType;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalProjectOperator;
+import com.starrocks.sql.optimizer.operator.pattern.Pattern;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.rule.RuleType;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.starrocks.catalog.Function.CompareMode.IS_IDENTICAL;
+
+// Remove the grouping keys which are determined by a unique key of the same table in the grouping keys, and output
+// them by ANY_VALUE, so that fewer columns are hashed and shuffled.
+// e.g. select o_orderkey, o_orderdate, sum(l_extendedprice) from orders join lineitem on o_orderkey = l_orderkey
+//      group by o_orderkey, o_orderdate
+//
+// Before:
+//      Aggregation(group by: pk, a)
+//          |
+//        Node
+//
+// After:
+//      Project(a = a')
+//          |
+//      Aggregation(group by: pk; a' = any_value(a))
+//          |
+//        Node
+//
+// The columns of a row of the table keep together through the joins, filters and aggregations, or are all NULL
+// for the outer joins. But the repeat of the grouping sets nulls some of them, so the aggregations above are skipped.
+public class SimplifyGroupByWithConstraintRule extends TransformationRule {
+    public SimplifyGroupByWithConstraintRule() {
+        super(RuleType.TF_SIMPLIFY_GROUP_BY_WITH_CONSTRAINT, Pattern.create(OperatorType.LOGICAL_AGGR)
+                .addChildren(Pattern.create(OperatorType.PATTERN_LEAF)));
+    }
+
+    @Override
+    public boolean check(OptExpression input, OptimizerContext context) {
+        if (!ConnectContext.get().getSessionVariable().isCboEnableConstraintRewrite()) {
+            return false;
+        }
+
+        LogicalAggregationOperator aggregation = (LogicalAggregationOperator) input.getOp();
+        return aggregation.getType().isGlobal() && !aggregation.isSplit() && aggregation.getProjection() == null &&
+                aggregation.getGroupingKeys().size() > 1 &&
+                aggregation.getAggregations().values().stream().noneMatch(CallOperator::isDistinct);
+    }
+
+    @Override
+    public List<OptExpression> transform(OptExpression input, OptimizerContext context) {
+        LogicalAggregationOperator aggregation = (LogicalAggregationOperator) input.getOp();
+        List<LogicalOlapScanOperator> scans = Lists.newArrayList();
+        if (!collectScans(input.inputAt(0).getGroupExpression(), scans)) {
+            return Collections.emptyList();
+        }
+
+        ColumnRefSet dependentColumns = new ColumnRefSet();
+        for (LogicalOlapScanOperator scan : scans) {
+            Map<ColumnRefOperator, Column> columns = scan.getColRefToColumnMetaMap();
+            List<ColumnRefOperator> keys = aggregation.getGroupingKeys().stream()
+                    .filter(columns::containsKey).collect(Collectors.toList());
+            if (keys.size() < 2) {
+                continue;
+            }
+
+            // The NULL values of a unique key may be duplicated
+            List<String> notNullKeyNames = keys.stream().map(columns::get).filter(column -> !column.isAllowNull())
+                    .map(Column::getName).collect(Collectors.toList());
+            Optional<UniqueConstraint> uniqueKey = ((OlapTable) scan.getTable()).getUniqueConstraints().stream()
+                    .filter(constraint -> constraint.isContainedBy(notNullKeyNames))
+                    .min(Comparator.comparingInt(constraint -> constraint.getColumns().size()));
+            if (!uniqueKey.isPresent()) {
+                continue;
+            }
+            for (ColumnRefOperator key : keys) {
+                if (uniqueKey.get().getColumns().stream().noneMatch(columns.get(key).getName()::equalsIgnoreCase)) {
+                    dependentColumns.union(key);
+                }
+            }
+        }
+        if (aggregation.getPredicate() != null) {
+            dependentColumns.except(aggregation.getPredicate().getUsedColumns());
+        }
+
+        List<ColumnRefOperator> newGroupingKeys = Lists.newArrayList();
+        Map<ColumnRefOperator, CallOperator> newAggregations = Maps.newHashMap(aggregation.getAggregations());
+        Map<ColumnRefOperator, ScalarOperator> projectMap = Maps.newHashMap();
+        for (ColumnRefOperator key : aggregation.getGroupingKeys()) {
+            Function function = dependentColumns.contains(key) ? Expr.getBuiltinFunction(FunctionSet.ANY_VALUE,
+                    new Type[] {key.getType()}, IS_IDENTICAL) : null;
+            if (function == null) {
+                newGroupingKeys.add(key);
+                projectMap.put(key, key);
+                continue;
+            }
+
+            ColumnRefOperator value = context.getColumnRefFactory().create(key, key.getType(), key.isNullable());
+            newAggregations.put(value,
+                    new CallOperator(FunctionSet.ANY_VALUE, key.getType(), Lists.newArrayList(key), function));
+            projectMap.put(key, value);
+        }
+        if (newGroupingKeys.size() == aggregation.getGroupingKeys().size()) {
+            return Collections.emptyList();
+        }
+        aggregation.getAggregations().keySet().forEach(column -> projectMap.put(column, column));
+
+        LogicalAggregationOperator newAggregation = new LogicalAggregationOperator(AggType.GLOBAL, newGroupingKeys,
+                newGroupingKeys, newAggregations, false, -1, aggregation.getLimit(), aggregation.getPredicate());
+        return Lists.newArrayList(OptExpression.create(new LogicalProjectOperator(projectMap),
+                OptExpression.create(newAggregation, input.getInputs())));
+    }
+
+    // Returns false if there is a repeat
+    private boolean collectScans(GroupExpression groupExpression, List<LogicalOlapScanOperator> scans) {
+        if (groupExpression.getOp().getOpType() == OperatorType.LOGICAL_REPEAT) {
+            return false;
+        }
+        if (groupExpression.getOp().getOpType() == OperatorType.LOGICAL_OLAP_SCAN) {
+            scans.add((LogicalOlapScanOperator) groupExpression.getOp());
+            return true;
+        }
+        for (Group group : groupExpression.getInputs()) {
+            if (!collectScans(group.getFirstLogicalExpression(), scans)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,6 +4,7 @@ package com.starrocks.sql.optimizer.statistics;
 
 import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 
 import java.util.Optional;
@@ -19,12 +20,46 @@ public class BinaryPredicateStatisticCalculator {
                                                                 BinaryPredicateOperator predicate,
                                                                 OptionalDouble constant,
                                                                 Statistics statistics) {
+        return estimateColumnToConstantComparison(columnRefOperator, columnStatistic, predicate, constant,
+                Optional.empty(), statistics);
+    }
+
+    /**
+     * @param constantOperator the constant, to look up the most common values of the column if it has a histogram
+     */
+    public static Statistics estimateColumnToConstantComparison(Optional<ColumnRefOperator> columnRefOperator,
+                                                                ColumnStatistic columnStatistic,
+                                                                BinaryPredicateOperator predicate,
+                                                                OptionalDouble constant,
+                                                                Optional<ConstantOperator> constantOperator,
+                                                                Statistics statistics) {
         switch (predicate.getBinaryType()) {
             case EQ:
-            case EQ_FOR_NULL:
-                return estimateColumnEqualToConstant(columnRefOperator, columnStatistic, constant, statistics);
-            case NE:
-                return estimateColumnNotEqualToConstant(columnRefOperator, columnStatistic, constant, statistics);
+            case EQ_FOR_NULL: {
+                Statistics estimated =
+                        estimateColumnEqualToConstant(columnRefOperator, columnStatistic, constant, statistics);
+                Optional<Double> selectivity =
+                        estimateEqualSelectivityByHistogram(columnStatistic, constant, constantOperator);
+                // the constant out of the column range is not in the most common values either
+                if (!selectivity.isPresent() || estimated.getOutputRowCount() <= 0) {
+                    return estimated;
+                }
+                double rowCount = statistics.getOutputRowCount() * (1 - columnStatistic.getNullsFraction())
+                        * selectivity.get();
+                return Statistics.buildFrom(estimated).setOutputRowCount(rowCount).build();
+            }
+            case NE: {
+                Statistics estimated =
+                        estimateColumnNotEqualToConstant(columnRefOperator, columnStatistic, constant, statistics);
+                Optional<Double> selectivity =
+                        estimateEqualSelectivityByHistogram(columnStatistic, constant, constantOperator);
+                if (!selectivity.isPresent()) {
+                    return estimated;
+                }
+                double rowCount = statistics.getOutputRowCount() * (1 - columnStatistic.getNullsFraction())
+                        * (1 - selectivity.get());
+                return Statistics.buildFrom(estimated).setOutputRowCount(rowCount).build();
+            }
             case LE:
             case LT:
                 return estimateColumnLessThanConstant(columnRefOperator, columnStatistic, constant, statistics);
@@ -36,6 +71,37 @@ public class BinaryPredicateStatisticCalculator {
         }
     }
 
+    // Selectivity of column = constant in the non-null rows of the column range, by the most common values,
+    // which are of the rows when the statistics are collected, so they are scaled to the current column range.
+    private static Optional<Double> estimateEqualSelectivityByHistogram(ColumnStatistic columnStatistic,
+                                                                        OptionalDouble constant,
+                                                                        Optional<ConstantOperator> constantOperator) {
+        Histogram histogram = columnStatistic.getHistogram();
+        if (histogram == null || !constantOperator.isPresent() || constantOperator.get().isNull()) {
+            return Optional.empty();
+        }
+
+        String key;
+        if (constant.isPresent()) {
+            key = Histogram.keyOf(constant.getAsDouble());
+        } else if (constantOperator.get().getType().isStringType()) {
+            key = constantOperator.get().getVarchar();
+        } else {
+            return Optional.empty();
+        }
+
+        Optional<Double> selectivity = histogram.getEqualSelectivity(key, columnStatistic.getDistinctValuesCount());
+        if (!selectivity.isPresent()) {
+            return Optional.empty();
+        }
+        double columnFraction = histogram.getRangeSelectivity(columnStatistic.getMinValue(),
+                columnStatistic.getMaxValue()).orElse(1.0);
+        if (columnFraction <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Math.min(1.0, selectivity.get() / columnFraction));
+    }
+
     private static Statistics estimateColumnEqualToConstant(Optional<ColumnRefOperator> columnRefOperator,
                                                             ColumnStatistic columnStatistic,
                                                             OptionalDouble constant,
@@ -140,6 +206,11 @@ public class BinaryPredicateStatisticCalculator {
         double leftDistinctValuesCount = leftColumnStatistic.getDistinctValuesCount();
         double rightDistinctValuesCount = rightColumnStatistic.getDistinctValuesCount();
         double selectivity = 1.0 / Math.max(1, Math.max(leftDistinctValuesCount, rightDistinctValuesCount));
+        // the most common values of both sides estimate the skewed values better
+        if (leftColumnStatistic.getHistogram() != null && rightColumnStatistic.getHistogram() != null) {
+            selectivity = Histogram.getJoinSelectivity(leftColumnStatistic.getHistogram(), leftDistinctValuesCount,
+                    rightColumnStatistic.getHistogram(), rightDistinctValuesCount).orElse(selectivity);
+        }
         double rowCount = statistics.getOutputRowCount() * selectivity *
                 (isEqualForNull ? 1 :
                         (1 - leftColumnStatistic.getNullsFraction()) * (1 - rightColumnStatistic.getNullsFraction()));
@@ -217,6 +288,17 @@ public class BinaryPredicateStatisticCalculator {
         // so the predicate factor :
         //          pf = 1.0 / distinct_val.
         double predicateFactor = columnRange.overlapPercentWith(intersectRange);
+        // the histogram knows how the rows are distributed in the range
+        Histogram histogram = columnStatistic.getHistogram();
+        if (histogram != null && predicateFactor > 0 && !intersectRange.isEmpty()
+                && intersectRange.getLow() < intersectRange.getHigh()) {
+            Optional<Double> columnFraction = histogram.getRangeSelectivity(columnRange.getLow(), columnRange.getHigh());
+            Optional<Double> predicateFraction =
+                    histogram.getRangeSelectivity(intersectRange.getLow(), intersectRange.getHigh());
+            if (columnFraction.isPresent() && predicateFraction.isPresent() && columnFraction.get() > 0) {
+                predicateFactor = Math.min(1.0, predicateFraction.get() / columnFraction.get());
+            }
+        }
         double rowCount = statistics.getOutputRowCount() * (1 - columnStatistic.getNullsFraction()) * predicateFactor;
         // TODO(ywb) use origin column distinct values as new column statistics now, we should re-compute column
         //  distinct values actually.
@@ -227,6 +309,7 @@ public class BinaryPredicateStatisticCalculator {
                 setNullsFraction(0).
                 setDistinctValuesCount(columnStatistic.getDistinctValuesCount()).
                 setType(columnStatistic.getType()).
+                setHistogram(columnStatistic.getHistogram()).
                 build();
         return columnRefOperator.map(operator -> Statistics.buildFrom(statistics).setOutputRowCount(rowCount).
                 addColumnStatistic(operator, newEstimateColumnStatistics).build()).
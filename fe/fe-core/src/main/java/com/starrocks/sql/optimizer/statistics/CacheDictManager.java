@@ -5,7 +5,6 @@ package com.starrocks.sql.optimizer.statistics;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
@@ -95,39 +94,29 @@ public class CacheDictManager implements IDictManager {
             throw new RuntimeException("Collect dict error in BE");
         }
         TGlobalDict tGlobalDict = statisticData.dict;
-        ImmutableMap.Builder<String, Integer> dicts = ImmutableMap.builder();
         if (!tGlobalDict.isSetIds()) {
             return Optional.empty();
         }
         int dictSize = tGlobalDict.getIdsSize();
         ColumnIdentifier columnIdentifier = new ColumnIdentifier(tableId, columnName);
-        if (dictSize > 256) {
+        if (dictSize > Math.min(Config.low_cardinality_dict_max_size, ColumnDict.MAX_SIZE)) {
             noDictStringColumns.add(columnIdentifier);
             return Optional.empty();
-        } else {
-            int dictDataSize = 0;
-            for (int i = 0; i < dictSize; i++) {
-                // a UTF-8 code may take up to 3 bytes
-                dictDataSize += tGlobalDict.strings.get(i).length() * 3;
-                // string offsets
-                dictDataSize += 4;
-            }
-            // 1M
-            final int DICT_PAGE_MAX_SIZE = 1024 * 1024;
-            // If the dictionary data size exceeds 1M,
-            // we won't use the global dictionary optimization.
-            // In this case BE cannot guarantee that the dictionary page
-            // will be generated after the compaction.
-            // Additional 32 bytes reserved for security.
-            if (dictDataSize > DICT_PAGE_MAX_SIZE - 32) {
-                noDictStringColumns.add(columnIdentifier);
-                return Optional.empty();
-            }
         }
-        for (int i = 0; i < dictSize; ++i) {
-            dicts.put(tGlobalDict.strings.get(i), tGlobalDict.ids.get(i));
+        ColumnDict columnDict = ColumnDict.create(tGlobalDict.getStrings(), tGlobalDict.getIds(),
+                statisticData.meta_version);
+        // 1M
+        final int DICT_PAGE_MAX_SIZE = 1024 * 1024;
+        // If the dictionary data size exceeds 1M,
+        // we won't use the global dictionary optimization.
+        // In this case BE cannot guarantee that the dictionary page
+        // will be generated after the compaction.
+        // Additional 32 bytes reserved for security.
+        if (columnDict.getDataSize() > DICT_PAGE_MAX_SIZE - 32) {
+            noDictStringColumns.add(columnIdentifier);
+            return Optional.empty();
         }
-        return Optional.of(new ColumnDict(dicts.build(), statisticData.meta_version));
+        return Optional.of(columnDict);
     }
 
     @Override
@@ -203,6 +192,18 @@ public class CacheDictManager implements IDictManager {
         dictStatistics.synchronous().invalidate(columnIdentifier);
     }
 
+    @Override
+    public void reloadGlobalDict(long dbId, long tableId, String columnName) {
+        ColumnIdentifier columnIdentifier = new ColumnIdentifier(dbId, tableId, columnName);
+        if (!dictStatistics.asMap().containsKey(columnIdentifier)) {
+            return;
+        }
+        LOG.debug("reload dict for column {}", columnName);
+        dictStatistics.synchronous().invalidate(columnIdentifier);
+        // Load the new dict in the background, so that it's ready for the queries after the load
+        dictStatistics.get(columnIdentifier);
+    }
+
     @Override
     public void forbidGlobalDict(long tableId) {
         LOG.debug("remove dict for table {}", tableId);
@@ -222,7 +223,7 @@ public class CacheDictManager implements IDictManager {
                 Optional<ColumnDict> columnOptional = columnFuture.get();
                 if (columnOptional.isPresent()) {
                     ColumnDict columnDict = columnOptional.get();
-                    ColumnDict newColumnDict = new ColumnDict(columnDict.getDict(), versionTime);
+                    ColumnDict newColumnDict = columnDict.withVersionTime(versionTime);
                     dictStatistics.put(columnIdentifier, CompletableFuture.completedFuture(Optional.of(newColumnDict)));
                     LOG.debug("update dict for column {}, version {}", columnName, versionTime);
                 }
@@ -18,6 +18,7 @@ import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.ErrorCode;
 import com.starrocks.common.ErrorReport;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.statistic.StatisticExecutor;
 import com.starrocks.statistic.StatisticUtils;
 import com.starrocks.thrift.TStatisticData;
@@ -29,6 +30,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,9 +57,14 @@ public class CachedStatisticStorage implements StatisticStorage {
                     return CompletableFuture.supplyAsync(() -> {
                         try {
                             List<TStatisticData> statisticData = queryStatisticsData(cacheKey.tableId, cacheKey.column);
+                            Map<String, TStatisticData> histograms =
+                                    queryHistogramData(cacheKey.tableId, ImmutableList.of(cacheKey.column));
+                            // plans built with the old statistics may not be the best any more
+                            PlanCache.INSTANCE.invalidateTable(cacheKey.tableId);
                             // check TStatisticData is not empty, There may be no such column Statistics in BE
                             if (!statisticData.isEmpty()) {
-                                return Optional.of(convert2ColumnStatistics(statisticData.get(0)));
+                                return Optional.of(convert2ColumnStatistics(statisticData.get(0),
+                                        histograms.get(cacheKey.column)));
                             } else {
                                 return Optional.empty();
                             }
@@ -81,10 +89,13 @@ public class CachedStatisticStorage implements StatisticStorage {
                                 columns.add(key.column);
                             }
                             List<TStatisticData> statisticData = queryStatisticsData(tableId, columns);
+                            Map<String, TStatisticData> histograms = queryHistogramData(tableId, columns);
+                            PlanCache.INSTANCE.invalidateTable(tableId);
                             // check TStatisticData is not empty, There may be no such column Statistics in BE
                             if (!statisticData.isEmpty()) {
                                 for (TStatisticData data : statisticData) {
-                                    ColumnStatistic columnStatistic = convert2ColumnStatistics(data);
+                                    ColumnStatistic columnStatistic =
+                                            convert2ColumnStatistics(data, histograms.get(data.columnName));
                                     result.put(new CacheKey(data.tableId, data.columnName),
                                             Optional.of(columnStatistic));
                                 }
@@ -117,6 +128,35 @@ public class CachedStatisticStorage implements StatisticStorage {
             .maximumSize(Config.statistic_cache_columns)
             .buildAsync(loader);
 
+    // table id -> names of the columns in a group -> distinct values of the group
+    private final AsyncCacheLoader<Long, Map<List<String>, Double>> multiColumnLoader =
+            new AsyncCacheLoader<Long, Map<List<String>, Double>>() {
+                @Override
+                public @NonNull CompletableFuture<Map<List<String>, Double>> asyncLoad(@NonNull Long tableId,
+                                                                                       @NonNull Executor executor) {
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            Map<List<String>, Double> result = new HashMap<>();
+                            for (List<String> row : statisticExecutor.queryMultiColumnStatisticSync(tableId)) {
+                                result.put(Arrays.asList(row.get(0).split(",")), Double.parseDouble(row.get(1)));
+                            }
+                            PlanCache.INSTANCE.invalidateTable(tableId);
+                            return result;
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor);
+                }
+            };
+
+    AsyncLoadingCache<Long, Map<List<String>, Double>> cachedMultiColumnStatistics = Caffeine.newBuilder()
+            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
+            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
+            .maximumSize(Config.statistic_cache_columns)
+            .buildAsync(multiColumnLoader);
+
     @Override
     public void expireColumnStatistics(Table table, List<String> columns) {
         List<CacheKey> allKeys = Lists.newArrayList();
@@ -125,6 +165,8 @@ public class CachedStatisticStorage implements StatisticStorage {
             allKeys.add(key);
         }
         cachedStatistics.synchronous().invalidateAll(allKeys);
+        cachedMultiColumnStatistics.synchronous().invalidate(table.getId());
+        PlanCache.INSTANCE.invalidateTable(table.getId());
     }
 
     private List<TStatisticData> queryStatisticsData(long tableId, String column) throws Exception {
@@ -135,7 +177,40 @@ public class CachedStatisticStorage implements StatisticStorage {
         return statisticExecutor.queryStatisticSync(null, tableId, columns);
     }
 
+    // the histograms are optional, return the histograms which are found by column name
+    private Map<String, TStatisticData> queryHistogramData(long tableId, List<String> columns) {
+        Map<String, TStatisticData> histograms = new HashMap<>();
+        if (!Config.enable_statistic_collect_histogram) {
+            return histograms;
+        }
+        try {
+            for (TStatisticData data : statisticExecutor.queryHistogramSync(tableId, columns)) {
+                histograms.put(data.columnName, data);
+            }
+        } catch (Exception e) {
+            LOG.warn("query histogram of table {} failed, errMsg : {}", tableId, e.getMessage());
+        }
+        return histograms;
+    }
+
+    private static double convertToDouble(PrimitiveType type, String value) {
+        if (type.equals(PrimitiveType.DATE)) {
+            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+            return getLongFromDateTime(LocalDate.parse(value, dtf).atStartOfDay());
+        } else if (type.equals(PrimitiveType.DATETIME)) {
+            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            return getLongFromDateTime(LocalDateTime.parse(value, dtf));
+        } else {
+            return Double.parseDouble(value);
+        }
+    }
+
     private ColumnStatistic convert2ColumnStatistics(TStatisticData statisticData) throws AnalysisException {
+        return convert2ColumnStatistics(statisticData, null);
+    }
+
+    private ColumnStatistic convert2ColumnStatistics(TStatisticData statisticData, TStatisticData histogramData)
+            throws AnalysisException {
         Database db = Catalog.getCurrentCatalog().getDb(statisticData.dbId);
         if (db == null) {
             ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_DB_ERROR, statisticData.dbId);
@@ -152,31 +227,14 @@ public class CachedStatisticStorage implements StatisticStorage {
         ColumnStatistic.Builder builder = ColumnStatistic.builder();
         double minValue = Double.NEGATIVE_INFINITY;
         double maxValue = Double.POSITIVE_INFINITY;
+        PrimitiveType type = column.getPrimitiveType();
         try {
-            if (column.getPrimitiveType().isCharFamily()) {
-                // do nothing
-            } else if (column.getPrimitiveType().equals(PrimitiveType.DATE)) {
-                DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                if (statisticData.isSetMin() && !statisticData.getMin().isEmpty()) {
-                    minValue = getLongFromDateTime(LocalDate.parse(statisticData.min, dtf).atStartOfDay());
-                }
-                if (statisticData.isSetMax() && !statisticData.getMax().isEmpty()) {
-                    maxValue = getLongFromDateTime(LocalDate.parse(statisticData.max, dtf).atStartOfDay());
-                }
-            } else if (column.getPrimitiveType().equals(PrimitiveType.DATETIME)) {
-                DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            if (!type.isCharFamily()) {
                 if (statisticData.isSetMin() && !statisticData.getMin().isEmpty()) {
-                    minValue = getLongFromDateTime(LocalDateTime.parse(statisticData.min, dtf));
+                    minValue = convertToDouble(type, statisticData.min);
                 }
                 if (statisticData.isSetMax() && !statisticData.getMax().isEmpty()) {
-                    maxValue = getLongFromDateTime(LocalDateTime.parse(statisticData.max, dtf));
-                }
-            } else {
-                if (statisticData.isSetMin() && !statisticData.getMin().isEmpty()) {
-                    minValue = Double.parseDouble(statisticData.min);
-                }
-                if (statisticData.isSetMax() && !statisticData.getMax().isEmpty()) {
-                    maxValue = Double.parseDouble(statisticData.max);
+                    maxValue = convertToDouble(type, statisticData.max);
                 }
             }
         } catch (Exception e) {
@@ -184,6 +242,16 @@ public class CachedStatisticStorage implements StatisticStorage {
                     db.getFullName(), table.getName(), column.getName(), e.getMessage());
         }
 
+        if (histogramData != null && histogramData.isSetHistogram()) {
+            try {
+                builder.setHistogram(Histogram.fromJson(histogramData.histogram,
+                        type.isCharFamily() ? null : value -> convertToDouble(type, value)));
+            } catch (Exception e) {
+                LOG.warn("convert histogram failed, db : {}, table : {}, column : {}, errMsg : {}",
+                        db.getFullName(), table.getName(), column.getName(), e.getMessage());
+            }
+        }
+
         return builder.setMinValue(minValue).
                 setMaxValue(maxValue).
                 setDistinctValuesCount(statisticData.countDistinct).
@@ -275,6 +343,26 @@ public class CachedStatisticStorage implements StatisticStorage {
         this.cachedStatistics.synchronous().put(new CacheKey(table.getId(), column), Optional.of(columnStatistic));
     }
 
+    @Override
+    public Map<List<String>, Double> getMultiColumnStatistics(Table table) {
+        Preconditions.checkState(table != null);
+
+        if (!Config.enable_statistic_collect_multi_column || StatisticUtils.statisticTableBlackListCheck(table.getId())
+                || !StatisticUtils.checkStatisticTableStateNormal()) {
+            return Collections.emptyMap();
+        }
+
+        CompletableFuture<Map<List<String>, Double>> result = cachedMultiColumnStatistics.get(table.getId());
+        if (result.isDone()) {
+            try {
+                return result.get();
+            } catch (Exception e) {
+                LOG.warn(e);
+            }
+        }
+        return Collections.emptyMap();
+    }
+
     static class CacheKey {
         private final long tableId;
         private final String column;
@@ -3,23 +3,91 @@
 package com.starrocks.sql.optimizer.statistics;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.UnsignedBytes;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The global dict of a low cardinality string column. It may have tens of thousands of values, so the values are
+ * kept as UTF-8 bytes sorted in the byte order, the same as BE, with the ids in a parallel array.
+ * <p>
+ * The ids are assigned by BE in the order of the values, which may be used for sorting, so a dict isn't updated in
+ * place when some new values are loaded. It's replaced by a newly collected one, and only the version is updated
+ * when the loaded values are all in the dict.
+ */
 public final class ColumnDict {
-    private final ImmutableMap<String, Integer> dict;
+    // The same as DICT_DECODE_MAX_SIZE of BE
+    public static final int MAX_SIZE = 65535;
+
+    private static final Comparator<byte[]> COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final byte[][] values;
+    private final int[] ids;
     private final long versionTime;
 
-    public ColumnDict(ImmutableMap<String, Integer> dict, long versionTime) {
-        Preconditions.checkState(dict.size() > 0 && dict.size() <= 256);
-        this.dict = dict;
+    private ColumnDict(byte[][] values, int[] ids, long versionTime) {
+        Preconditions.checkState(values.length > 0 && values.length <= MAX_SIZE);
+        Preconditions.checkState(values.length == ids.length);
+        this.values = values;
+        this.ids = ids;
         this.versionTime = versionTime;
     }
 
-    public ImmutableMap<String, Integer> getDict() {
-        return dict;
+    public static ColumnDict create(List<String> strings, List<Integer> ids, long versionTime) {
+        Preconditions.checkState(strings.size() == ids.size());
+        Integer[] order = new Integer[strings.size()];
+        byte[][] bytes = new byte[strings.size()][];
+        for (int i = 0; i < strings.size(); i++) {
+            order[i] = i;
+            bytes[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(order, (a, b) -> COMPARATOR.compare(bytes[a], bytes[b]));
+
+        byte[][] sortedValues = new byte[order.length][];
+        int[] sortedIds = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedValues[i] = bytes[order[i]];
+            sortedIds[i] = ids.get(order[i]);
+        }
+        return new ColumnDict(sortedValues, sortedIds, versionTime);
+    }
+
+    // The values are shared, the dict is immutable
+    public ColumnDict withVersionTime(long versionTime) {
+        return new ColumnDict(values, ids, versionTime);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public String getString(int index) {
+        return new String(values[index], StandardCharsets.UTF_8);
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    // Returns -1 if the value isn't in the dict
+    public int getId(String value) {
+        int index = Arrays.binarySearch(values, value.getBytes(StandardCharsets.UTF_8), COMPARATOR);
+        return index < 0 ? -1 : ids[index];
+    }
+
+    // The size of the values in a dict page of BE, with the offsets
+    public long getDataSize() {
+        long size = 0;
+        for (byte[] value : values) {
+            size += value.length + 4;
+        }
+        return size;
     }
 
     public long getVersionTime() {
         return versionTime;
     }
-}
\ No newline at end of file
+}
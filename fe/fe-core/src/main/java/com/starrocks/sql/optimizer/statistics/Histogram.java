@@ -0,0 +1,215 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The equi-height histogram and the most common values (MCV) of a column, whose counts are the number of rows
+ * when the statistics are collected. The buckets are only for the columns whose values can be converted to double,
+ * i.e. they are not strings, and both the buckets and the MCV only include the non-null values.
+ * <p>
+ * The selectivities estimated by the histogram are fractions of the non-null rows.
+ */
+public class Histogram {
+    public static final String BUCKETS = "buckets";
+    public static final String MCV = "mcv";
+    public static final String ROW_COUNT = "row_count";
+
+    public static class Bucket {
+        private final double lower;
+        private final double upper;
+        private final long count;
+
+        public Bucket(double lower, double upper, long count) {
+            this.lower = lower;
+            this.upper = upper;
+            this.count = count;
+        }
+
+        public double getLower() {
+            return lower;
+        }
+
+        public double getUpper() {
+            return upper;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    // sorted by the bounds
+    private final List<Bucket> buckets;
+    // key of value -> count
+    private final Map<String, Long> mcv;
+    // non-null rows
+    private final long rowCount;
+    private final long mcvRowCount;
+
+    public Histogram(List<Bucket> buckets, Map<String, Long> mcv, long rowCount) {
+        this.buckets = ImmutableList.copyOf(buckets);
+        this.mcv = ImmutableMap.copyOf(mcv);
+        this.rowCount = rowCount;
+        this.mcvRowCount = mcv.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public Map<String, Long> getMcv() {
+        return mcv;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * The key of a value in the MCV, it is the value itself for strings, and the double of the value for the others,
+     * so that values of different types, e.g. 1 and 1.0, have the same key.
+     */
+    public static String keyOf(double value) {
+        return Double.toString(value);
+    }
+
+    /**
+     * Parse the histogram of the json collected by the statistic executor.
+     *
+     * @param toDouble converts a value to double, or null if the values are strings.
+     */
+    public static Histogram fromJson(String json, Function<String, Double> toDouble) {
+        JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
+        ImmutableList.Builder<Bucket> buckets = ImmutableList.builder();
+        if (toDouble != null && obj.has(BUCKETS)) {
+            for (JsonElement element : obj.getAsJsonArray(BUCKETS)) {
+                JsonArray bucket = element.getAsJsonArray();
+                buckets.add(new Bucket(toDouble.apply(bucket.get(0).getAsString()),
+                        toDouble.apply(bucket.get(1).getAsString()), bucket.get(2).getAsLong()));
+            }
+        }
+        Map<String, Long> mcv = Maps.newLinkedHashMap();
+        if (obj.has(MCV)) {
+            for (JsonElement element : obj.getAsJsonArray(MCV)) {
+                JsonArray value = element.getAsJsonArray();
+                String key = value.get(0).getAsString();
+                if (toDouble != null) {
+                    key = keyOf(toDouble.apply(key));
+                }
+                mcv.put(key, value.get(1).getAsLong());
+            }
+        }
+        return new Histogram(buckets.build(), mcv, obj.get(ROW_COUNT).getAsLong());
+    }
+
+    /**
+     * Selectivity of column = value, where distinctValues is the number of distinct values of the column.
+     */
+    public Optional<Double> getEqualSelectivity(String key, double distinctValues) {
+        if (rowCount <= 0 || mcv.isEmpty()) {
+            return Optional.empty();
+        }
+        Long count = mcv.get(key);
+        if (count != null) {
+            return Optional.of(Math.min(1.0, (double) count / rowCount));
+        }
+        // the other rows are evenly distributed in the other values
+        double otherFraction = Math.max(0, 1 - (double) mcvRowCount / rowCount);
+        return Optional.of(otherFraction / Math.max(1, distinctValues - mcv.size()));
+    }
+
+    /**
+     * Selectivity of column < value, assuming the values are evenly distributed in a bucket.
+     */
+    public Optional<Double> getLessThanSelectivity(double value) {
+        if (buckets.isEmpty()) {
+            return Optional.empty();
+        }
+        long total = 0;
+        double less = 0;
+        for (Bucket bucket : buckets) {
+            total += bucket.count;
+            if (bucket.upper < value) {
+                less += bucket.count;
+            } else if (bucket.lower < value) {
+                less += bucket.count * (value - bucket.lower) / (bucket.upper - bucket.lower);
+            }
+        }
+        return total <= 0 ? Optional.empty() : Optional.of(Math.min(1.0, less / total));
+    }
+
+    /**
+     * Selectivity of low <= column <= high, the bounds may be infinite.
+     */
+    public Optional<Double> getRangeSelectivity(double low, double high) {
+        Optional<Double> lowSelectivity = getLessThanSelectivity(low);
+        Optional<Double> highSelectivity = getLessThanSelectivity(high);
+        if (!lowSelectivity.isPresent() || !highSelectivity.isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(Math.max(0, highSelectivity.get() - lowSelectivity.get()));
+    }
+
+    /**
+     * Selectivity of left = right on the cross product of them, by the MCV of both sides, from PostgreSQL eqjoinsel.
+     * The matched MCV values contribute their exact products of frequencies, and the other values are assumed to be
+     * evenly distributed in the distinct values which are not in the MCV.
+     */
+    public static Optional<Double> getJoinSelectivity(Histogram left, double leftDistinctValues,
+                                                      Histogram right, double rightDistinctValues) {
+        if (left.rowCount <= 0 || right.rowCount <= 0 || left.mcv.isEmpty() || right.mcv.isEmpty()) {
+            return Optional.empty();
+        }
+
+        double matchProduct = 0;
+        double leftMatch = 0;
+        double rightMatch = 0;
+        int matches = 0;
+        for (Map.Entry<String, Long> entry : left.mcv.entrySet()) {
+            Long rightCount = right.mcv.get(entry.getKey());
+            if (rightCount != null) {
+                double leftFraction = (double) entry.getValue() / left.rowCount;
+                double rightFraction = (double) rightCount / right.rowCount;
+                matchProduct += leftFraction * rightFraction;
+                leftMatch += leftFraction;
+                rightMatch += rightFraction;
+                matches++;
+            }
+        }
+        double leftMcv = (double) left.mcvRowCount / left.rowCount;
+        double rightMcv = (double) right.mcvRowCount / right.rowCount;
+        double leftUnmatched = Math.max(0, leftMcv - leftMatch);
+        double rightUnmatched = Math.max(0, rightMcv - rightMatch);
+        double leftOther = Math.max(0, 1 - leftMcv);
+        double rightOther = Math.max(0, 1 - rightMcv);
+
+        double leftSelectivity = matchProduct;
+        if (rightDistinctValues > right.mcv.size()) {
+            leftSelectivity += leftUnmatched * rightOther / (rightDistinctValues - right.mcv.size());
+        }
+        if (rightDistinctValues > matches) {
+            leftSelectivity += leftOther * (rightOther + rightUnmatched) / (rightDistinctValues - matches);
+        }
+        double rightSelectivity = matchProduct;
+        if (leftDistinctValues > left.mcv.size()) {
+            rightSelectivity += rightUnmatched * leftOther / (leftDistinctValues - left.mcv.size());
+        }
+        if (leftDistinctValues > matches) {
+            rightSelectivity += rightOther * (leftOther + leftUnmatched) / (leftDistinctValues - matches);
+        }
+        return Optional.of(Math.min(1.0, Math.min(leftSelectivity, rightSelectivity)));
+    }
+}
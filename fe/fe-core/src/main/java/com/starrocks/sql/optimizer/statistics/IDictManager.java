@@ -15,6 +15,9 @@ public interface IDictManager {
 
     void removeGlobalDict(long tableId, String columnName);
 
+    // Replace the cached dict of the column by a newly collected one, if some values not in it are loaded
+    void reloadGlobalDict(long dbId, long tableId, String columnName);
+
     void forbidGlobalDict(long tableId);
 
     // You should call `hasGlobalDict` firstly to ensure the global dict exist
@@ -2,15 +2,13 @@
 
 package com.starrocks.sql.optimizer.statistics;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableList;
 
 import java.util.Optional;
 
 
 public class MockDictManager implements IDictManager {
-    private static final ImmutableMap<String, Integer> mockDict = ImmutableMap.of("mock", 1);
-
-    private static final ColumnDict columnDict = new ColumnDict(mockDict, 1);
+    private static final ColumnDict columnDict = ColumnDict.create(ImmutableList.of("mock"), ImmutableList.of(1), 1);
 
     private MockDictManager() {
     }
@@ -39,6 +37,10 @@ public class MockDictManager implements IDictManager {
     public void removeGlobalDict(long tableId, String columnName) {
     }
 
+    @Override
+    public void reloadGlobalDict(long dbId, long tableId, String columnName) {
+    }
+
     @Override
     public void forbidGlobalDict(long tableId) {
     }
@@ -0,0 +1,75 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.collect.ImmutableList;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The distinct values of a group of columns of a table, which are usually correlated, e.g. city and country.
+ * The selectivities of the predicates on the columns of a group are not independent, and the product of them
+ * underestimates the rows.
+ */
+public class MultiColumnStatistic {
+    private final List<ColumnRefOperator> columns;
+    // collected on the table, the rows which have null values are not counted
+    private final double distinctValuesCount;
+
+    public MultiColumnStatistic(List<ColumnRefOperator> columns, double distinctValuesCount) {
+        this.columns = ImmutableList.copyOf(columns);
+        this.distinctValuesCount = distinctValuesCount;
+    }
+
+    public List<ColumnRefOperator> getColumns() {
+        return columns;
+    }
+
+    /**
+     * The distinct values of the group in the statistics, which may be filtered after the collection, so it's not
+     * more than the product of the distinct values of the columns or the rows, and not less than the distinct values
+     * of any column. Empty if the statistics of any column is unknown.
+     */
+    public Optional<Double> getDistinctValuesCount(Statistics statistics) {
+        double product = 1;
+        double max = 1;
+        for (ColumnRefOperator column : columns) {
+            ColumnStatistic columnStatistic = statistics.getColumnStatistics().get(column);
+            if (columnStatistic == null || columnStatistic.isUnknown()) {
+                return Optional.empty();
+            }
+            double distinctValues = Math.max(1, columnStatistic.getDistinctValuesCount());
+            product *= distinctValues;
+            max = Math.max(max, distinctValues);
+        }
+        double upper = Math.max(max, Math.min(product, statistics.getOutputRowCount()));
+        return Optional.of(Math.min(Math.max(distinctValuesCount, max), upper));
+    }
+
+    /**
+     * Degree of the correlation of the columns in [0, 1]. It's 0 if the columns are independent, i.e. the distinct
+     * values of the group are the product of the columns', and it's 1 if all the columns are determined by one of
+     * them, i.e. the distinct values of the group are the max of the columns'.
+     */
+    public Optional<Double> getCorrelation(Statistics statistics) {
+        Optional<Double> distinctValues = getDistinctValuesCount(statistics);
+        if (!distinctValues.isPresent()) {
+            return Optional.empty();
+        }
+
+        double product = 1;
+        double max = 1;
+        for (ColumnRefOperator column : columns) {
+            double columnDistinctValues = Math.max(1, statistics.getColumnStatistic(column).getDistinctValuesCount());
+            product *= columnDistinctValues;
+            max = Math.max(max, columnDistinctValues);
+        }
+        if (product <= max) {
+            return Optional.of(1.0);
+        }
+        double correlation = Math.log(product / distinctValues.get()) / Math.log(product / max);
+        return Optional.of(Math.max(0, Math.min(1, correlation)));
+    }
+}
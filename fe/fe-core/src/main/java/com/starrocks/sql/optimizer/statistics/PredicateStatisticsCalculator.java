@@ -4,6 +4,9 @@ package com.starrocks.sql.optimizer.statistics;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.sql.optimizer.Utils;
 import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.CastOperator;
@@ -17,8 +20,10 @@ import com.starrocks.sql.optimizer.operator.scalar.ScalarOperatorVisitor;
 import org.apache.commons.math3.util.Precision;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class PredicateStatisticsCalculator {
@@ -26,7 +31,61 @@ public class PredicateStatisticsCalculator {
         if (predicate == null) {
             return statistics;
         }
-        return predicate.accept(new PredicateStatisticsCalculatingVisitor(statistics), null);
+        Statistics result = predicate.accept(new PredicateStatisticsCalculatingVisitor(statistics), null);
+        return estimateByMultiColumnStatistics(predicate, statistics, result);
+    }
+
+    // The selectivities of the equal predicates on the columns of a group are multiplied as if the columns are
+    // independent. With the correlation c of the group, the selectivity of them is min(s) * product(other s ^ (1 - c)),
+    // which is the product of them if the columns are independent, the min of them if the columns are determined by
+    // one column, and 1 / distinct values of the group if the values are evenly distributed.
+    private static Statistics estimateByMultiColumnStatistics(ScalarOperator predicate, Statistics statistics,
+                                                              Statistics result) {
+        if (statistics.getMultiColumnStatistics().isEmpty() || statistics.getOutputRowCount() <= 0) {
+            return result;
+        }
+
+        // column -> selectivity of column = constant
+        Map<ColumnRefOperator, Double> selectivities = Maps.newHashMap();
+        for (ScalarOperator conjunct : Utils.extractConjuncts(predicate)) {
+            if (conjunct instanceof BinaryPredicateOperator &&
+                    ((BinaryPredicateOperator) conjunct).getBinaryType() == BinaryPredicateOperator.BinaryType.EQ &&
+                    conjunct.getChild(0).isColumnRef() && conjunct.getChild(1).isConstantRef()) {
+                double rowCount = conjunct.accept(new PredicateStatisticsCalculatingVisitor(statistics), null)
+                        .getOutputRowCount();
+                selectivities.putIfAbsent((ColumnRefOperator) conjunct.getChild(0),
+                        rowCount / statistics.getOutputRowCount());
+            }
+        }
+
+        List<MultiColumnStatistic> groups = Lists.newArrayList(statistics.getMultiColumnStatistics());
+        // the larger groups first
+        groups.sort((o1, o2) -> o2.getColumns().size() - o1.getColumns().size());
+        Set<ColumnRefOperator> estimatedColumns = Sets.newHashSet();
+        double factor = 1;
+        for (MultiColumnStatistic group : groups) {
+            if (!selectivities.keySet().containsAll(group.getColumns()) ||
+                    group.getColumns().stream().anyMatch(estimatedColumns::contains)) {
+                continue;
+            }
+            Optional<Double> correlation = group.getCorrelation(statistics);
+            List<Double> groupSelectivities = group.getColumns().stream().map(selectivities::get).sorted()
+                    .collect(Collectors.toList());
+            if (!correlation.isPresent() || groupSelectivities.get(0) <= 0) {
+                continue;
+            }
+            // divided by the product of the other selectivities ^ c
+            for (int i = 1; i < groupSelectivities.size(); ++i) {
+                factor /= Math.pow(groupSelectivities.get(i), correlation.get());
+            }
+            estimatedColumns.addAll(group.getColumns());
+        }
+
+        if (factor <= 1) {
+            return result;
+        }
+        double rowCount = Math.min(result.getOutputRowCount() * factor, statistics.getOutputRowCount());
+        return Statistics.buildFrom(result).setOutputRowCount(rowCount).build();
     }
 
     private static class PredicateStatisticsCalculatingVisitor extends ScalarOperatorVisitor<Statistics, Void> {
@@ -235,9 +294,11 @@ public class PredicateStatisticsCalculator {
                     OptionalDouble constant =
                             (rightColumnStatistic.isInfiniteRange()) ?
                                     OptionalDouble.empty() : OptionalDouble.of(rightColumnStatistic.getMaxValue());
+                    Optional<ConstantOperator> constantOperator = rightChild.isConstantRef() ?
+                            Optional.of((ConstantOperator) rightChild) : Optional.empty();
                     Statistics binaryStats =
                             BinaryPredicateStatisticCalculator.estimateColumnToConstantComparison(leftChildOpt,
-                                    leftColumnStatistic, predicate, constant, statistics);
+                                    leftColumnStatistic, predicate, constant, constantOperator, statistics);
                     return computeStatisticsAfterPredicate(binaryStats, binaryStats.getOutputRowCount());
                 } else {
                     Statistics binaryStats = BinaryPredicateStatisticCalculator.estimateColumnToColumnComparison(
@@ -4,7 +4,9 @@ package com.starrocks.sql.optimizer.statistics;
 
 import com.starrocks.catalog.Table;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public interface StatisticStorage {
     ColumnStatistic getColumnStatistic(Table table, String column);
@@ -14,4 +16,9 @@ public interface StatisticStorage {
     void expireColumnStatistics(Table table, List<String> columns);
 
     void addColumnStatistic(Table table, String column, ColumnStatistic columnStatistic);
+
+    // names of the columns in a group -> distinct values of the group
+    default Map<List<String>, Double> getMultiColumnStatistics(Table table) {
+        return Collections.emptyMap();
+    }
 }
@@ -3,18 +3,23 @@
 package com.starrocks.sql.optimizer.statistics;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static java.lang.Double.NaN;
 
 public class Statistics {
     private final double outputRowCount;
     private final Map<ColumnRefOperator, ColumnStatistic> columnStatistics;
+    private final List<MultiColumnStatistic> multiColumnStatistics;
     // This flag set true if get table row count from Catalog LE 1
     // Table row count in FE depends on BE reporting，but FE may not get report from BE which just started，
     // this causes the table row count stored in FE to be inaccurate.
@@ -23,6 +28,7 @@ public class Statistics {
     private Statistics(Builder builder) {
         this.outputRowCount = builder.outputRowCount;
         this.columnStatistics = builder.columnStatistics;
+        this.multiColumnStatistics = ImmutableList.copyOf(builder.multiColumnStatistics);
         this.tableRowCountMayInaccurate = builder.tableRowCountMayInaccurate;
     }
 
@@ -71,6 +77,16 @@ public class Statistics {
         return outputColumnsStatistics;
     }
 
+    public List<MultiColumnStatistic> getMultiColumnStatistics() {
+        return multiColumnStatistics;
+    }
+
+    public List<MultiColumnStatistic> getOutputMultiColumnStatistics(ColumnRefSet outputColumns) {
+        return multiColumnStatistics.stream()
+                .filter(statistic -> statistic.getColumns().stream().allMatch(c -> outputColumns.contains(c.getId())))
+                .collect(Collectors.toList());
+    }
+
     public boolean isTableRowCountMayInaccurate() {
         return this.tableRowCountMayInaccurate;
     }
@@ -84,7 +100,8 @@ public class Statistics {
     }
 
     public static Builder buildFrom(Statistics other) {
-        return new Builder(other.getOutputRowCount(), other.columnStatistics, other.tableRowCountMayInaccurate);
+        return new Builder(other.getOutputRowCount(), other.columnStatistics, other.multiColumnStatistics,
+                other.tableRowCountMayInaccurate);
     }
 
     public static Builder builder() {
@@ -94,16 +111,18 @@ public class Statistics {
     public static final class Builder {
         private double outputRowCount;
         private final Map<ColumnRefOperator, ColumnStatistic> columnStatistics;
+        private final List<MultiColumnStatistic> multiColumnStatistics;
         private boolean tableRowCountMayInaccurate;
 
         public Builder() {
-            this(NaN, new HashMap<>(), false);
+            this(NaN, new HashMap<>(), ImmutableList.of(), false);
         }
 
         private Builder(double outputRowCount, Map<ColumnRefOperator, ColumnStatistic> columnStatistics,
-                        boolean tableRowCountMayInaccurate) {
+                        List<MultiColumnStatistic> multiColumnStatistics, boolean tableRowCountMayInaccurate) {
             this.outputRowCount = outputRowCount;
             this.columnStatistics = new HashMap<>(columnStatistics);
+            this.multiColumnStatistics = Lists.newArrayList(multiColumnStatistics);
             this.tableRowCountMayInaccurate = tableRowCountMayInaccurate;
         }
 
@@ -127,6 +146,16 @@ public class Statistics {
             return this;
         }
 
+        public Builder addMultiColumnStatistic(MultiColumnStatistic statistic) {
+            this.multiColumnStatistics.add(statistic);
+            return this;
+        }
+
+        public Builder addMultiColumnStatistics(List<MultiColumnStatistic> multiColumnStatistics) {
+            this.multiColumnStatistics.addAll(multiColumnStatistics);
+            return this;
+        }
+
         public Builder removeColumnStatistics(ColumnRefOperator column) {
             columnStatistics.remove(column);
             return this;
@@ -359,6 +359,18 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
                     .addTableStatistics(table, requiredColumns.get(i).getName(), columnStatisticList.get(i));
         }
 
+        // the column groups whose columns are all scanned
+        Map<String, ColumnRefOperator> nameToColumnRef = Maps.newHashMap();
+        colRefToColumnMetaMap.forEach((columnRef, column) -> nameToColumnRef.put(column.getName().toLowerCase(), columnRef));
+        for (Map.Entry<List<String>, Double> entry :
+                Catalog.getCurrentStatisticStorage().getMultiColumnStatistics(table).entrySet()) {
+            List<ColumnRefOperator> columnRefs = entry.getKey().stream()
+                    .map(name -> nameToColumnRef.get(name.toLowerCase())).collect(Collectors.toList());
+            if (!columnRefs.contains(null)) {
+                builder.addMultiColumnStatistic(new MultiColumnStatistic(columnRefs, entry.getValue()));
+            }
+        }
+
         return builder;
     }
 
@@ -615,6 +627,10 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
             builder.addColumnStatistic(requiredColumnRefOperator, outputStatistic);
             allBuilder.addColumnStatistic(requiredColumnRefOperator, outputStatistic);
         }
+        // the column groups whose columns are all output as they are
+        inputStatistics.getMultiColumnStatistics().stream()
+                .filter(statistic -> statistic.getColumns().stream().allMatch(c -> c.equals(columnRefMap.get(c))))
+                .forEach(builder::addMultiColumnStatistic);
 
         context.setStatistics(builder.build());
         return visitOperator(context.getOp(), context);
@@ -723,6 +739,10 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         Statistics.Builder crossBuilder = Statistics.builder();
         crossBuilder.addColumnStatistics(leftStatistics.getOutputColumnsStatistics(context.getChildOutputColumns(0)));
         crossBuilder.addColumnStatistics(rightStatistics.getOutputColumnsStatistics(context.getChildOutputColumns(1)));
+        crossBuilder.addMultiColumnStatistics(
+                leftStatistics.getOutputMultiColumnStatistics(context.getChildOutputColumns(0)));
+        crossBuilder.addMultiColumnStatistics(
+                rightStatistics.getOutputMultiColumnStatistics(context.getChildOutputColumns(1)));
         double leftRowCount = leftStatistics.getOutputRowCount();
         double rightRowCount = rightStatistics.getOutputRowCount();
         double crossRowCount = leftRowCount * rightRowCount;
@@ -1009,6 +1029,11 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
     }
 
     public Statistics estimateInnerJoinStatistics(Statistics statistics, List<BinaryPredicateOperator> eqOnPredicates) {
+        if (eqOnPredicates.isEmpty()) {
+            return statistics;
+        }
+        eqOnPredicates = Lists.newArrayList(eqOnPredicates);
+        statistics = estimateByMultiColumnStatistics(statistics, eqOnPredicates);
         if (eqOnPredicates.isEmpty()) {
             return statistics;
         }
@@ -1020,6 +1045,72 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         }
     }
 
+    // The equal predicates on all the columns of a group, e.g. t1.city = t2.city AND t1.country = t2.country,
+    // are estimated together by the distinct values of the group, instead of the correlated predicates separately.
+    // The selectivity is 1 / max(distinct values of the both sides), where the distinct values of the other side
+    // is at least the max of the distinct values of its columns. The estimated predicates are removed from the list.
+    private Statistics estimateByMultiColumnStatistics(Statistics statistics,
+                                                       List<BinaryPredicateOperator> eqOnPredicates) {
+        if (statistics.getMultiColumnStatistics().isEmpty()) {
+            return statistics;
+        }
+
+        List<MultiColumnStatistic> groups = Lists.newArrayList(statistics.getMultiColumnStatistics());
+        // the larger groups first
+        groups.sort((o1, o2) -> o2.getColumns().size() - o1.getColumns().size());
+        for (MultiColumnStatistic group : groups) {
+            List<ScalarOperator> predicates = Lists.newArrayList();
+            List<ColumnRefOperator> otherColumns = Lists.newArrayList();
+            for (ColumnRefOperator column : group.getColumns()) {
+                for (BinaryPredicateOperator predicate : eqOnPredicates) {
+                    if (predicate.getBinaryType() != BinaryPredicateOperator.BinaryType.EQ ||
+                            !predicate.getChild(0).isColumnRef() || !predicate.getChild(1).isColumnRef() ||
+                            predicates.contains(predicate)) {
+                        continue;
+                    }
+                    if (predicate.getChild(0).equals(column)) {
+                        otherColumns.add((ColumnRefOperator) predicate.getChild(1));
+                    } else if (predicate.getChild(1).equals(column)) {
+                        otherColumns.add((ColumnRefOperator) predicate.getChild(0));
+                    } else {
+                        continue;
+                    }
+                    predicates.add(predicate);
+                    break;
+                }
+            }
+            Optional<Double> distinctValues = group.getDistinctValuesCount(statistics);
+            if (predicates.size() != group.getColumns().size() || !distinctValues.isPresent() ||
+                    !otherColumns.stream().allMatch(statistics.getColumnStatistics()::containsKey)) {
+                continue;
+            }
+
+            double otherDistinctValues = 1;
+            double nonNullFraction = 1;
+            for (int i = 0; i < otherColumns.size(); ++i) {
+                ColumnStatistic otherStatistic = statistics.getColumnStatistic(otherColumns.get(i));
+                otherDistinctValues = Math.max(otherDistinctValues, otherStatistic.getDistinctValuesCount());
+                nonNullFraction *= (1 - otherStatistic.getNullsFraction()) *
+                        (1 - statistics.getColumnStatistic(group.getColumns().get(i)).getNullsFraction());
+            }
+            for (MultiColumnStatistic other : groups) {
+                if (other.getColumns().size() == otherColumns.size() &&
+                        other.getColumns().containsAll(otherColumns)) {
+                    otherDistinctValues = Math.max(otherDistinctValues,
+                            other.getDistinctValuesCount(statistics).orElse(otherDistinctValues));
+                }
+            }
+
+            double rowCount = statistics.getOutputRowCount() * nonNullFraction /
+                    Math.max(distinctValues.get(), otherDistinctValues);
+            // the column statistics are estimated by the predicates, and the rows by the group
+            Statistics estimated = estimateStatistics(ImmutableList.of(Utils.compoundAnd(predicates)), statistics);
+            statistics = Statistics.buildFrom(estimated).setOutputRowCount(rowCount).build();
+            eqOnPredicates.removeAll(predicates);
+        }
+        return statistics;
+    }
+
     // The implementation here refers to Presto
     // Join equality clauses are usually correlated. Therefore we shouldn't treat each join equality
     // clause separately because stats estimates would be way off. Instead we choose so called
@@ -1459,8 +1459,12 @@ public class AstBuilder extends StarRocksBaseVisitor<ParseNode> {
             quotedString = context.DOUBLE_QUOTED_TEXT().getText();
         }
 
-        return new StringLiteral(escapeBackSlash(quotedString.substring(1, quotedString.length() - 1))
-                .replace("\"\"", "\""));
+        return new StringLiteral(unquoteString(quotedString));
+    }
+
+    // The value of a quoted string literal in sql
+    public static String unquoteString(String quotedString) {
+        return escapeBackSlash(quotedString.substring(1, quotedString.length() - 1)).replace("\"\"", "\"");
     }
 
     private static String escapeBackSlash(String str) {
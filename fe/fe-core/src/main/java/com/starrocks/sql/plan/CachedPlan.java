@@ -0,0 +1,397 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.FunctionCallExpr;
+import com.starrocks.analysis.InformationFunction;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
+import com.starrocks.planner.OlapScanNode;
+import com.starrocks.planner.PlanFragment;
+import com.starrocks.planner.PlanNode;
+import com.starrocks.planner.ScanNode;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
+import com.starrocks.sql.analyzer.AnalyzerUtils;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.thrift.TExplainLevel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * An analyzed statement together with the ExecPlan built for it, which can be executed again
+ * without going through the parser, analyzer and optimizer.
+ * <p>
+ * The plan is only reusable while everything it depends on is unchanged: the current database,
+ * the session variables, the schema and the partitions of every scanned OlapTable, and the
+ * visible version of every selected partition (scan ranges carry the version to read).
+ * Plans over non-OLAP tables or of non-deterministic statements are never cached, see isDeterministic().
+ * <p>
+ * A plan may also be rebound to other literals of the same statement, see bindLiterals().
+ */
+public class CachedPlan {
+    private static final Logger LOG = LogManager.getLogger(CachedPlan.class);
+
+    private final StatementBase statement;
+    private final ExecPlan execPlan;
+    private final String database;
+    private final String sessionFingerprint;
+    private final List<TableSnapshot> tables;
+    private final long createTimeMs;
+
+    // The literal tokens of the statement the plan is bound to, and where each of them is in the conjuncts
+    // of the plan as (parent expr, child index). Set by initLiteralSlots() if the plan can be rebound.
+    private List<String> literals;
+    private List<List<Pair<Expr, Integer>>> literalSlots;
+    // Whether the plan is verified to be the same as the one planned for other literals
+    private boolean generic = false;
+
+    private CachedPlan(StatementBase statement, ExecPlan execPlan, String database, String sessionFingerprint,
+                       List<TableSnapshot> tables) {
+        this.statement = statement;
+        this.execPlan = execPlan;
+        this.database = database;
+        this.sessionFingerprint = sessionFingerprint;
+        this.tables = tables;
+        this.createTimeMs = System.currentTimeMillis();
+    }
+
+    public StatementBase getStatement() {
+        return statement;
+    }
+
+    public ExecPlan getExecPlan() {
+        return execPlan;
+    }
+
+    public List<Long> getTableIds() {
+        return tables.stream().map(snapshot -> snapshot.table.getId()).collect(Collectors.toList());
+    }
+
+    public boolean dependsOnTable(long tableId) {
+        for (TableSnapshot snapshot : tables) {
+            if (snapshot.table.getId() == tableId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build a cached plan from a freshly planned statement, return null if the plan can't be reused.
+     * Must be called right after planning, while ConnectContext still holds the db ids of this statement.
+     * sessionVariable is the one of the connection, before the SET_VAR hints of the statement are applied,
+     * the hints are part of the statement text.
+     */
+    public static CachedPlan create(StatementBase statement, ExecPlan execPlan, ConnectContext context,
+                                    SessionVariable sessionVariable) {
+        if (!(statement instanceof QueryStatement) || execPlan == null) {
+            return null;
+        }
+        QueryStatement queryStatement = (QueryStatement) statement;
+        if (queryStatement.isExplain() || queryStatement.hasOutFileClause()) {
+            return null;
+        }
+        if (statement.getOrigStmt() == null || !isDeterministic(statement)) {
+            return null;
+        }
+
+        Map<Long, TableSnapshot> tables = Maps.newHashMap();
+        for (ScanNode scanNode : execPlan.getScanNodes()) {
+            if (!(scanNode instanceof OlapScanNode)) {
+                return null;
+            }
+            OlapScanNode olapScanNode = (OlapScanNode) scanNode;
+            OlapTable table = olapScanNode.getOlapTable();
+            TableSnapshot snapshot = tables.get(table.getId());
+            if (snapshot == null) {
+                long dbId = findDbId(table, context);
+                if (dbId == -1) {
+                    return null;
+                }
+                snapshot = new TableSnapshot(dbId, table);
+                tables.put(table.getId(), snapshot);
+            }
+            for (Long partitionId : olapScanNode.getSelectedPartitionIds()) {
+                Partition partition = table.getPartition(partitionId);
+                if (partition == null) {
+                    return null;
+                }
+                snapshot.partitionVersions.put(partitionId, partition.getVisibleVersion());
+            }
+        }
+
+        return new CachedPlan(statement, execPlan, context.getDatabase(), sessionVariable.getPlanFingerprint(),
+                Lists.newArrayList(tables.values()));
+    }
+
+    public boolean isValid(ConnectContext context) {
+        if (System.currentTimeMillis() - createTimeMs > Config.cached_plan_expire_second * 1000L) {
+            return false;
+        }
+        if (!Objects.equals(database, context.getDatabase())) {
+            return false;
+        }
+        if (!sessionFingerprint.equals(context.getSessionVariable().getPlanFingerprint())) {
+            return false;
+        }
+        for (TableSnapshot snapshot : tables) {
+            if (!snapshot.isValid()) {
+                LOG.debug("cached plan of table {} is stale", snapshot.table.getName());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether every execution of the analyzed statement computes the same result from the same data,
+     * which is decided by the functions it calls, including the ones in views and subqueries.
+     * Non-deterministic functions, the current time functions and the information functions (some of them
+     * are evaluated in the FE while planning) are not, and UDFs are never trusted to be.
+     */
+    public static boolean isDeterministic(StatementBase statement) {
+        for (Expr expr : AnalyzerUtils.collectAllExpressions(statement)) {
+            if (!isDeterministic(expr)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDeterministic(Expr expr) {
+        if (expr instanceof InformationFunction) {
+            return false;
+        }
+        if (expr instanceof FunctionCallExpr) {
+            Function fn = expr.getFn();
+            if (fn != null && fn.isUdf()) {
+                return false;
+            }
+            String fnName = ((FunctionCallExpr) expr).getFnName().getFunction().toLowerCase();
+            if (FunctionSet.nonDeterministicFunctions.contains(fnName)) {
+                return false;
+            }
+            if (FunctionSet.currentTimeFunctions.contains(fnName) && expr.getChildren().isEmpty()) {
+                return false;
+            }
+        }
+        for (Expr child : expr.getChildren()) {
+            if (!isDeterministic(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    public boolean isGeneric() {
+        return generic;
+    }
+
+    public void setGeneric(boolean generic) {
+        this.generic = generic;
+    }
+
+    public String getExplainString() {
+        return execPlan.getExplainString(TExplainLevel.NORMAL);
+    }
+
+    /**
+     * Find where the literals of the statement are in the plan, return false if the plan can't be rebound.
+     * <p>
+     * The plan can only be rebound if the literals are only used by the conjuncts of the plan nodes, since
+     * the others may be folded or baked into the plan, like limits and output names. Every literal must be
+     * found in the conjuncts, and have a distinct value, so that no literal is lost or mixed up with another.
+     * Besides, no partition or tablet can be pruned, since the pruning depends on the values.
+     * Literals made by the optimizer with the same value can still be mistaken for the literal, so the caller
+     * must verify a rebound plan against a plan of the same literals before sharing it.
+     */
+    public boolean initLiteralSlots(List<String> literals) {
+        this.literals = literals;
+        this.literalSlots = null;
+        if (literals.isEmpty()) {
+            return false;
+        }
+        for (ScanNode scanNode : execPlan.getScanNodes()) {
+            if (!isFullScan((OlapScanNode) scanNode)) {
+                return false;
+            }
+        }
+
+        Map<String, Integer> valueToIndex = Maps.newHashMap();
+        List<List<Pair<Expr, Integer>>> slots = Lists.newArrayList();
+        for (String literal : literals) {
+            if (valueToIndex.put(PlanCacheKey.literalValue(literal), slots.size()) != null) {
+                return false;
+            }
+            slots.add(Lists.newArrayList());
+        }
+        for (PlanFragment fragment : execPlan.getFragments()) {
+            collectLiteralSlots(fragment.getPlanRoot(), valueToIndex, slots);
+        }
+        if (slots.stream().anyMatch(List::isEmpty)) {
+            return false;
+        }
+        this.literalSlots = slots;
+        return true;
+    }
+
+    /**
+     * Replace the literals in the plan with newLiterals of the same statement shape,
+     * return false and keep the plan unchanged if they can't be bound.
+     */
+    public boolean bindLiterals(List<String> newLiterals) {
+        if (literalSlots == null || newLiterals.size() != literals.size()) {
+            return false;
+        }
+        List<List<LiteralExpr>> newValues = Lists.newArrayList();
+        try {
+            for (int i = 0; i < newLiterals.size(); i++) {
+                String value = PlanCacheKey.literalValue(newLiterals.get(i));
+                List<LiteralExpr> values = Lists.newArrayList();
+                for (Pair<Expr, Integer> slot : literalSlots.get(i)) {
+                    Expr old = slot.first.getChild(slot.second);
+                    LiteralExpr literal = LiteralExpr.create(value, old.getType());
+                    if (!literal.getType().equals(old.getType())) {
+                        return false;
+                    }
+                    values.add(literal);
+                }
+                newValues.add(values);
+            }
+        } catch (AnalysisException | IllegalArgumentException e) {
+            return false;
+        }
+
+        for (int i = 0; i < newLiterals.size(); i++) {
+            List<Pair<Expr, Integer>> slots = literalSlots.get(i);
+            for (int j = 0; j < slots.size(); j++) {
+                slots.get(j).first.setChild(slots.get(j).second, newValues.get(i).get(j));
+            }
+        }
+        literals = newLiterals;
+        return true;
+    }
+
+    private static boolean isFullScan(OlapScanNode scanNode) {
+        if (scanNode.getSelectedTabletsNum() != scanNode.getTotalTabletsNum()) {
+            return false;
+        }
+        for (Partition partition : scanNode.getOlapTable().getPartitions()) {
+            if (partition.hasData() && !scanNode.getSelectedPartitionIds().contains(partition.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectLiteralSlots(PlanNode node, Map<String, Integer> valueToIndex,
+                                            List<List<Pair<Expr, Integer>>> slots) {
+        for (Expr conjunct : node.getConjuncts()) {
+            collectLiteralSlots(conjunct, valueToIndex, slots);
+        }
+        for (PlanNode child : node.getChildren()) {
+            collectLiteralSlots(child, valueToIndex, slots);
+        }
+    }
+
+    private static void collectLiteralSlots(Expr expr, Map<String, Integer> valueToIndex,
+                                            List<List<Pair<Expr, Integer>>> slots) {
+        for (int i = 0; i < expr.getChildren().size(); i++) {
+            Expr child = expr.getChild(i);
+            if (child instanceof LiteralExpr) {
+                Integer index = valueToIndex.get(((LiteralExpr) child).getStringValue());
+                if (index != null) {
+                    slots.get(index).add(new Pair<>(expr, i));
+                }
+            } else {
+                collectLiteralSlots(child, valueToIndex, slots);
+            }
+        }
+    }
+
+    private static long findDbId(OlapTable table, ConnectContext context) {
+        for (Long dbId : context.getCurrentSqlDbIds()) {
+            Database db = Catalog.getCurrentCatalog().getDb(dbId);
+            if (db != null && db.getTable(table.getId()) == table) {
+                return dbId;
+            }
+        }
+        return -1;
+    }
+
+    private static class TableSnapshot {
+        private final long dbId;
+        private final OlapTable table;
+        private final Map<Long, Integer> indexIdToSchemaHash;
+        private final int partitionNum;
+        private final long partitionIdSum;
+        private final Map<Long, Long> partitionVersions = Maps.newHashMap();
+
+        TableSnapshot(long dbId, OlapTable table) {
+            this.dbId = dbId;
+            this.table = table;
+            this.indexIdToSchemaHash = table.getIndexIdToSchemaHash();
+            this.partitionNum = table.getPartitions().size();
+            this.partitionIdSum = sumPartitionIds(table);
+        }
+
+        boolean isValid() {
+            Database db = Catalog.getCurrentCatalog().getDb(dbId);
+            if (db == null) {
+                return false;
+            }
+            db.readLock();
+            try {
+                // dropped, or dropped and recovered/replaced
+                if (db.getTable(table.getId()) != table) {
+                    return false;
+                }
+                if (!indexIdToSchemaHash.equals(table.getIndexIdToSchemaHash())) {
+                    return false;
+                }
+                // partitions added or dropped change the result of partition pruning
+                if (partitionNum != table.getPartitions().size() || partitionIdSum != sumPartitionIds(table)) {
+                    return false;
+                }
+                for (Map.Entry<Long, Long> entry : partitionVersions.entrySet()) {
+                    Partition partition = table.getPartition(entry.getKey());
+                    if (partition == null || partition.getVisibleVersion() != entry.getValue()) {
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                db.readUnlock();
+            }
+        }
+
+        private static long sumPartitionIds(OlapTable table) {
+            long sum = 0;
+            for (Partition partition : table.getPartitions()) {
+                sum += partition.getId();
+            }
+            return sum;
+        }
+    }
+}
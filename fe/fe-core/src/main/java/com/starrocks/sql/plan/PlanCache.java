@@ -0,0 +1,179 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.sql.plan;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.Sets;
+import com.starrocks.common.Config;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.qe.ConnectContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plans of queries shared by all connections of this FE, keyed by PlanCacheKey.
+ * <p>
+ * An ExecPlan is not safe to be executed by two queries at the same time, so a plan is leased exclusively:
+ * acquire() takes the plan out of the cache and release() puts it back after the query finished successfully.
+ * A query which runs concurrently with the same key just misses and plans by itself.
+ * <p>
+ * The queries which only differ in literals share the plan under their shape key if the plan can be rebound
+ * to other literals (see CachedPlan#initLiteralSlots). The first plan of a shape is kept for its own literals,
+ * and when the shape is planned again for other literals, the kept plan is rebound to them and compared with
+ * the new plan. If they are the same, the kept plan is generic and is rebound for any literals from then on,
+ * otherwise the plans of the shape are only cached by their literals.
+ * <p>
+ * A plan is dropped when it is acquired and no longer valid (see CachedPlan#isValid, which covers schema
+ * changes, partition changes and new versions of the scanned data), and when the statistics of one of its
+ * tables are refreshed, since the optimizer may choose another plan with the new statistics.
+ */
+public class PlanCache {
+    private static final Logger LOG = LogManager.getLogger(PlanCache.class);
+
+    public static final PlanCache INSTANCE = new PlanCache(Config.plan_cache_capacity);
+
+    private final Cache<PlanCacheKey, CachedPlan> cache;
+    // the shape keys whose plans are not the same for different literals
+    private final Cache<PlanCacheKey, Boolean> nonGenericShapes;
+    // table id -> keys of the plans which may depend on the table, to drop the plans of a table
+    private final Map<Long, Set<PlanCacheKey>> tableToKeys = new ConcurrentHashMap<>();
+
+    PlanCache(long capacity) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(capacity)
+                .<PlanCacheKey, CachedPlan>removalListener(this::onRemoval)
+                .build();
+        nonGenericShapes = CacheBuilder.newBuilder().maximumSize(capacity).build();
+    }
+
+    /**
+     * Take the plan of key out of the cache, return null if there is no valid plan.
+     */
+    public CachedPlan acquire(PlanCacheKey key, ConnectContext context) {
+        CachedPlan plan = take(key, context);
+        if (plan == null) {
+            PlanCacheKey shapeKey = key.getShapeKey();
+            CachedPlan shapePlan = take(shapeKey, context);
+            if (shapePlan != null) {
+                if (shapePlan.getLiterals().equals(key.getLiterals()) ||
+                        (shapePlan.isGeneric() && shapePlan.bindLiterals(key.getLiterals()))) {
+                    plan = shapePlan;
+                } else {
+                    // wait for a plan of other literals to verify it
+                    put(shapeKey, shapePlan);
+                }
+            }
+        }
+        if (MetricRepo.isInit) {
+            if (plan != null) {
+                MetricRepo.COUNTER_PLAN_CACHE_HIT.increase(1L);
+            } else {
+                MetricRepo.COUNTER_PLAN_CACHE_MISS.increase(1L);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Put a plan which is acquired or newly built back after it is executed successfully.
+     */
+    public void release(PlanCacheKey key, CachedPlan plan) {
+        PlanCacheKey shapeKey = key.getShapeKey();
+        if (plan.isGeneric()) {
+            put(shapeKey, plan);
+            return;
+        }
+        if (nonGenericShapes.getIfPresent(shapeKey) != null || !plan.initLiteralSlots(key.getLiterals())) {
+            put(key, plan);
+            return;
+        }
+
+        CachedPlan shapePlan = cache.asMap().remove(shapeKey);
+        if (shapePlan == null || shapePlan.getLiterals().equals(key.getLiterals())) {
+            put(shapeKey, plan);
+            return;
+        }
+        if (shapePlan.isGeneric()) {
+            // the literals of this plan can't be bound to the generic plan, e.g. out of the range of the type
+            put(shapeKey, shapePlan);
+            put(key, plan);
+            return;
+        }
+        // the shape plan is only used if it's the same as this plan after rebound to the literals of this plan
+        if (shapePlan.bindLiterals(key.getLiterals()) &&
+                shapePlan.getExplainString().equals(plan.getExplainString())) {
+            shapePlan.setGeneric(true);
+            put(shapeKey, shapePlan);
+        } else {
+            LOG.debug("plan of {} differs for other literals", shapeKey);
+            nonGenericShapes.put(shapeKey, true);
+            put(key, plan);
+        }
+    }
+
+    public void invalidateTable(long tableId) {
+        Set<PlanCacheKey> keys = tableToKeys.remove(tableId);
+        if (keys == null) {
+            return;
+        }
+        for (PlanCacheKey key : keys) {
+            CachedPlan plan = cache.getIfPresent(key);
+            if (plan != null && plan.dependsOnTable(tableId)) {
+                cache.asMap().remove(key, plan);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        nonGenericShapes.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private CachedPlan take(PlanCacheKey key, ConnectContext context) {
+        CachedPlan plan = cache.asMap().remove(key);
+        if (plan != null && !plan.isValid(context)) {
+            LOG.debug("cached plan of {} is invalid", key);
+            return null;
+        }
+        return plan;
+    }
+
+    private void put(PlanCacheKey key, CachedPlan plan) {
+        cache.put(key, plan);
+        for (Long tableId : plan.getTableIds()) {
+            tableToKeys.compute(tableId, (id, keys) -> {
+                if (keys == null) {
+                    keys = Sets.newHashSet();
+                }
+                keys.add(key);
+                return keys;
+            });
+        }
+    }
+
+    private void onRemoval(RemovalNotification<PlanCacheKey, CachedPlan> notification) {
+        if (notification.getCause() == RemovalCause.SIZE && MetricRepo.isInit) {
+            MetricRepo.COUNTER_PLAN_CACHE_EVICTION.increase(1L);
+        }
+        PlanCacheKey key = notification.getKey();
+        for (Long tableId : notification.getValue().getTableIds()) {
+            // the key may be put again, see put()
+            tableToKeys.computeIfPresent(tableId, (id, keys) -> {
+                if (!cache.asMap().containsKey(key)) {
+                    keys.remove(key);
+                }
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
@@ -0,0 +1,159 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.parser.AstBuilder;
+import com.starrocks.sql.parser.CaseInsensitiveStream;
+import com.starrocks.sql.parser.StarRocksLexer;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Key of the FE-wide PlanCache.
+ * <p>
+ * The sql is normalized by the lexer: comments and whitespace are dropped and every literal is replaced by
+ * '?', which gives the digest shared by all queries of the same shape. The literals are still part of the key,
+ * because partition pruning, tablet pruning and constant folding in the plan may depend on their values.
+ * The shape key without the literals looks up the plan shared by all literals, see PlanCache.
+ * Besides the sql, the plan depends on the current database, the user (views are expanded while analyzing)
+ * and the session variables which may change the plan.
+ */
+public class PlanCacheKey {
+    private final String digest;
+    // null for the shape key
+    private final List<String> literals;
+    private final String database;
+    private final String user;
+    private final String sessionFingerprint;
+
+    PlanCacheKey(String digest, List<String> literals, String database, String user, String sessionFingerprint) {
+        this.digest = digest;
+        this.literals = literals;
+        this.database = database;
+        this.user = user;
+        this.sessionFingerprint = sessionFingerprint;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    public PlanCacheKey getShapeKey() {
+        return new PlanCacheKey(digest, null, database, user, sessionFingerprint);
+    }
+
+    // The value of a literal token, without the quotes of a string
+    public static String literalValue(String literal) {
+        if (literal.startsWith("'") || literal.startsWith("\"")) {
+            return AstBuilder.unquoteString(literal);
+        }
+        return literal;
+    }
+
+    /**
+     * Return the key of sql in this context, or null if sql is not a single query or can't be tokenized.
+     */
+    public static PlanCacheKey create(String sql, ConnectContext context) {
+        List<String> literals = Lists.newArrayList();
+        String digest = normalize(sql, literals);
+        if (digest == null) {
+            return null;
+        }
+        String user = context.getCurrentUserIdentity() == null ? context.getQualifiedUser()
+                : context.getCurrentUserIdentity().toString();
+        return new PlanCacheKey(digest, literals, context.getDatabase(), user,
+                context.getSessionVariable().getPlanFingerprint());
+    }
+
+    /**
+     * Return the digest of sql and add its literals to literals in order,
+     * return null if sql is not a single SELECT or WITH statement.
+     */
+    static String normalize(String sql, List<String> literals) {
+        StarRocksLexer lexer = new StarRocksLexer(new CaseInsensitiveStream(CharStreams.fromString(sql)));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line,
+                                    int charPositionInLine, String message, RecognitionException e) {
+                throw new IllegalArgumentException(message);
+            }
+        });
+
+        StringBuilder digest = new StringBuilder();
+        boolean isFirst = true;
+        boolean afterSemicolon = false;
+        try {
+            for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+                if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+                    continue;
+                }
+                if (afterSemicolon) {
+                    // multi statements
+                    return null;
+                }
+                if (isFirst) {
+                    if (token.getType() != StarRocksLexer.SELECT && token.getType() != StarRocksLexer.WITH) {
+                        return null;
+                    }
+                    isFirst = false;
+                }
+
+                switch (token.getType()) {
+                    case StarRocksLexer.INTEGER_VALUE:
+                    case StarRocksLexer.DECIMAL_VALUE:
+                    case StarRocksLexer.DOUBLE_VALUE:
+                    case StarRocksLexer.SINGLE_QUOTED_TEXT:
+                    case StarRocksLexer.DOUBLE_QUOTED_TEXT:
+                        literals.add(token.getText());
+                        digest.append("? ");
+                        break;
+                    case StarRocksLexer.SEMICOLON:
+                        afterSemicolon = true;
+                        break;
+                    default:
+                        digest.append(token.getText()).append(' ');
+                        break;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return isFirst ? null : digest.toString().trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PlanCacheKey that = (PlanCacheKey) o;
+        return digest.equals(that.digest) && Objects.equals(literals, that.literals)
+                && Objects.equals(database, that.database) && Objects.equals(user, that.user)
+                && sessionFingerprint.equals(that.sessionFingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(digest, literals, database, user, sessionFingerprint);
+    }
+
+    @Override
+    public String toString() {
+        return digest;
+    }
+}
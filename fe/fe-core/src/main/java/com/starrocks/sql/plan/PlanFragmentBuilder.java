@@ -800,7 +800,7 @@ public class PlanFragmentBuilder {
                     icebergScanNode.getConjuncts()
                             .add(ScalarOperatorToExpr.buildExecExpression(predicate, formatterContext));
                 }
-                icebergScanNode.getScanRangeLocations();
+                icebergScanNode.setupScanRangeLocations();
                 /*
                  * populates 'minMaxTuple' with slots for statistics values,
                  * and populates 'minMaxConjuncts' with conjuncts pointing into the 'minMaxTuple'
@@ -922,8 +922,9 @@ public class PlanFragmentBuilder {
             scanNode.computeStatistics(optExpression.getStatistics());
 
             context.getScanNodes().add(scanNode);
-            PlanFragment fragment =
-                    new PlanFragment(context.getNextFragmentId(), scanNode, DataPartition.UNPARTITIONED);
+            // the ranges of a split table are scanned on all the backends
+            PlanFragment fragment = new PlanFragment(context.getNextFragmentId(), scanNode,
+                    scanNode.isSplit() ? DataPartition.RANDOM : DataPartition.UNPARTITIONED);
             context.getFragments().add(fragment);
             return fragment;
         }
@@ -1006,8 +1007,9 @@ public class PlanFragmentBuilder {
             scanNode.computeStatistics(optExpression.getStatistics());
 
             context.getScanNodes().add(scanNode);
-            PlanFragment fragment =
-                    new PlanFragment(context.getNextFragmentId(), scanNode, DataPartition.UNPARTITIONED);
+            // the ranges of a split table are scanned on all the backends
+            PlanFragment fragment = new PlanFragment(context.getNextFragmentId(), scanNode,
+                    scanNode.isSplit() ? DataPartition.RANDOM : DataPartition.UNPARTITIONED);
             context.getFragments().add(fragment);
             return fragment;
         }
@@ -29,6 +29,8 @@ import java.util.Map;
 public class AnalyzeJob implements Writable {
     public static final String PROP_UPDATE_INTERVAL_SEC_KEY = "update_interval_sec";
     public static final String PROP_SAMPLE_COLLECT_ROWS_KEY = "sample_collect_rows";
+    // the groups of columns whose distinct values are collected together, e.g. 'city,country;product,category'
+    public static final String PROP_COLUMN_GROUPS_KEY = "column_groups";
 
     public static final List<String> NUMBER_PROP_KEY_LIST = ImmutableList.<String>builder()
             .add(PROP_UPDATE_INTERVAL_SEC_KEY)
@@ -144,6 +146,29 @@ public class AnalyzeJob implements Writable {
                 .getOrDefault(PROP_SAMPLE_COLLECT_ROWS_KEY, String.valueOf(Config.statistic_sample_collect_rows)));
     }
 
+    public List<List<String>> getColumnGroups() {
+        return parseColumnGroups(properties.get(PROP_COLUMN_GROUPS_KEY));
+    }
+
+    public static List<List<String>> parseColumnGroups(String value) {
+        List<List<String>> groups = Lists.newArrayList();
+        if (value == null) {
+            return groups;
+        }
+        for (String group : value.split(";")) {
+            List<String> columns = Lists.newArrayList();
+            for (String column : group.split(",")) {
+                if (!column.trim().isEmpty()) {
+                    columns.add(column.trim());
+                }
+            }
+            if (!columns.isEmpty()) {
+                groups.add(columns);
+            }
+        }
+        return groups;
+    }
+
     public ScheduleType getScheduleType() {
         return scheduleType;
     }
@@ -8,6 +8,9 @@ public class Constants {
     public static final String StatisticsDBName =
             SystemInfoService.DEFAULT_CLUSTER + ":" + "_statistics_";
     public static final String StatisticsTableName = "table_statistic_v1";
+    public static final String HistogramStatisticsTableName = "histogram_statistics";
+    public static final String PartitionStatisticsTableName = "partition_statistics";
+    public static final String MultiColumnStatisticsTableName = "multi_column_statistics";
 
     public static final String INFORMATION_SCHEMA = SystemInfoService.DEFAULT_CLUSTER + ":information_schema";
 
@@ -46,6 +46,10 @@ public class StatisticAutoCollector extends MasterDaemon {
                 statisticExecutor
                         .sampleCollectStatisticSync(db.getId(), table.getId(), columns, job.getSampleCollectRows());
             }
+            // the column groups are only specified on the job of a table
+            if (job.getTableId() == table.getId()) {
+                statisticExecutor.collectMultiColumnStatisticSync(db.getId(), table.getId(), job.getColumnGroups());
+            }
         }
     }
 
@@ -6,6 +6,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.starrocks.analysis.StatementBase;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
@@ -14,9 +16,11 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.cluster.ClusterNamespace;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.Pair;
 import com.starrocks.common.Status;
+import com.starrocks.mysql.MysqlProto;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.Coordinator;
 import com.starrocks.qe.OriginStatement;
@@ -32,6 +36,7 @@ import com.starrocks.sql.optimizer.Optimizer;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
+import com.starrocks.sql.optimizer.statistics.Histogram;
 import com.starrocks.sql.optimizer.transformer.LogicalPlan;
 import com.starrocks.sql.optimizer.transformer.RelationTransformer;
 import com.starrocks.sql.plan.ExecPlan;
@@ -53,6 +58,7 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +68,7 @@ public class StatisticExecutor {
     private static final Logger LOG = LogManager.getLogger(StatisticExecutor.class);
 
     private static final int STATISTIC_DATA_VERSION = 1;
+    private static final int STATISTIC_HISTOGRAM_VERSION = 2;
     private static final int STATISTIC_DICT_VERSION = 101;
 
     private static final String QUERY_STATISTIC_TEMPLATE =
@@ -70,6 +77,12 @@ public class StatisticExecutor {
                     + " FROM " + Constants.StatisticsTableName
                     + " WHERE 1 = 1";
 
+    private static final String QUERY_HISTOGRAM_TEMPLATE =
+            "SELECT cast(" + STATISTIC_HISTOGRAM_VERSION + " as INT), update_time, db_id, table_id, column_name,"
+                    + " histogram"
+                    + " FROM " + Constants.HistogramStatisticsTableName
+                    + " WHERE 1 = 1";
+
     private static final String INSERT_STATISTIC_TEMPLATE = "INSERT INTO " + Constants.StatisticsTableName;
 
     private static final String INSERT_SELECT_FULL_TEMPLATE =
@@ -93,8 +106,85 @@ public class StatisticExecutor {
                     + "    GROUP BY t0.`$columnName` "
                     + ") as t1";
 
+    // equi-height buckets: the non-null values are numbered by their order, and split by the numbers
+    private static final String HISTOGRAM_BUCKETS_TEMPLATE =
+            "SELECT CAST(MIN(t2.v) AS VARCHAR), CAST(MAX(t2.v) AS VARCHAR), COUNT(1) "
+                    + "FROM ( "
+                    + "    SELECT t1.v, FLOOR((t1.rn - 1) * $bucketNum / t1.total) AS bucket "
+                    + "    FROM ( "
+                    + "        SELECT t0.`$columnName` AS v, ROW_NUMBER() OVER (ORDER BY t0.`$columnName`) AS rn, "
+                    + "               COUNT(1) OVER () AS total "
+                    + "        FROM (SELECT `$columnName` FROM $tableName $hints) as t0 "
+                    + "        WHERE t0.`$columnName` IS NOT NULL "
+                    + "    ) as t1 "
+                    + ") as t2 "
+                    + "GROUP BY t2.bucket ORDER BY t2.bucket";
+
+    // most common values with their counts, and the count of the non-null values
+    private static final String HISTOGRAM_MCV_TEMPLATE =
+            "SELECT CAST(t2.v AS VARCHAR), t2.count, t2.total "
+                    + "FROM ( "
+                    + "    SELECT t1.v, t1.count, SUM(t1.count) OVER () AS total "
+                    + "    FROM ( "
+                    + "        SELECT t0.`$columnName` AS v, COUNT(1) AS count "
+                    + "        FROM (SELECT `$columnName` FROM $tableName $hints) as t0 "
+                    + "        WHERE t0.`$columnName` IS NOT NULL "
+                    + "        GROUP BY t0.`$columnName` "
+                    + "    ) as t1 "
+                    + ") as t2 "
+                    + "ORDER BY t2.count DESC LIMIT $mcvSize";
+
+    private static final String INSERT_HISTOGRAM_TEMPLATE = "INSERT INTO " + Constants.HistogramStatisticsTableName;
+
+    // the longer values are not kept in the most common values
+    private static final int MAX_MCV_VALUE_LENGTH = 128;
+
+    private static final String INSERT_PARTITION_STATISTIC_TEMPLATE =
+            "INSERT INTO " + Constants.PartitionStatisticsTableName;
+
+    private static final String INSERT_SELECT_PARTITION_TEMPLATE =
+            "SELECT $tableId, $partitionId, '$columnName', $dbId, '$tableName', '$partitionName', '$dbName', "
+                    + "COUNT(1), $dataSize, $ndvFunction, $countNullFunction, $maxFunction, $minFunction, "
+                    + "$version, NOW() "
+                    + "FROM $tableName PARTITION (`$partitionName`)";
+
+    // merge the statistics of the partitions into the table's
+    private static final String MERGE_PARTITION_STATISTIC_TEMPLATE =
+            "SELECT $tableId, '$columnName', $dbId, '$tableName', '$dbName', IFNULL(SUM(row_count), 0), "
+                    + "IFNULL(SUM(data_size), 0), IFNULL(hll_union_agg(ndv), 0), IFNULL(SUM(null_count), 0), "
+                    + "$maxFunction, $minFunction, NOW() "
+                    + "FROM " + Constants.PartitionStatisticsTableName + " "
+                    + "WHERE table_id = $tableId AND column_name = '$columnName'";
+
+    private static final String QUERY_PARTITION_VERSION_TEMPLATE =
+            "SELECT partition_id, column_name, version FROM " + Constants.PartitionStatisticsTableName
+                    + " WHERE table_id = ";
+
+    private static final String INSERT_MULTI_COLUMN_STATISTIC_TEMPLATE =
+            "INSERT INTO " + Constants.MultiColumnStatisticsTableName;
+
+    // the distinct values of a column group are counted by the hash of the values, which is null if any value is
+    // null, so the rows with null values are not counted, the same as the distinct values of a column
+    private static final String INSERT_SELECT_MULTI_COLUMN_TEMPLATE =
+            "SELECT $tableId, '$columnName', $dbId, '$tableName', '$dbName', COUNT(1), "
+                    + "approx_count_distinct(murmur_hash3_32($columns)), NOW() "
+                    + "FROM $tableName";
+
+    private static final String QUERY_MULTI_COLUMN_STATISTIC_TEMPLATE =
+            "SELECT column_name, distinct_count FROM " + Constants.MultiColumnStatisticsTableName
+                    + " WHERE table_id = ";
+
     private static final String DELETE_TEMPLATE = "DELETE FROM " + Constants.StatisticsTableName + " WHERE ";
 
+    private static final String DELETE_PARTITION_TEMPLATE =
+            "DELETE FROM " + Constants.PartitionStatisticsTableName + " WHERE ";
+
+    private static final String DELETE_HISTOGRAM_TEMPLATE =
+            "DELETE FROM " + Constants.HistogramStatisticsTableName + " WHERE ";
+
+    private static final String DELETE_MULTI_COLUMN_TEMPLATE =
+            "DELETE FROM " + Constants.MultiColumnStatisticsTableName + " WHERE ";
+
     private static final String SELECT_EXPIRE_TABLE_TEMPLATE =
             "SELECT DISTINCT table_id" + " FROM " + Constants.StatisticsTableName + " WHERE 1 = 1 ";
 
@@ -110,7 +200,14 @@ public class StatisticExecutor {
     }
 
     public List<TStatisticData> queryStatisticSync(Long dbId, Long tableId, List<String> columnNames) throws Exception {
-        String sql = buildQuerySQL(dbId, tableId, columnNames);
+        return queryStatisticSync(buildQuerySQL(QUERY_STATISTIC_TEMPLATE, dbId, tableId, columnNames));
+    }
+
+    public List<TStatisticData> queryHistogramSync(Long tableId, List<String> columnNames) throws Exception {
+        return queryStatisticSync(buildQuerySQL(QUERY_HISTOGRAM_TEMPLATE, null, tableId, columnNames));
+    }
+
+    private List<TStatisticData> queryStatisticSync(String sql) throws Exception {
         Map<String, Database> dbs = Maps.newHashMap();
 
         ConnectContext context = StatisticUtils.buildConnectContext();
@@ -197,7 +294,8 @@ public class StatisticExecutor {
             return statistics;
         }
 
-        if (version == STATISTIC_DATA_VERSION || version == STATISTIC_DICT_VERSION) {
+        if (version == STATISTIC_DATA_VERSION || version == STATISTIC_HISTOGRAM_VERSION
+                || version == STATISTIC_DICT_VERSION) {
             TDeserializer deserializer = new TDeserializer(new TCompactProtocol.Factory());
             for (TResultBatch resultBatch : sqlResult) {
                 for (ByteBuffer bb : resultBatch.rows) {
@@ -224,30 +322,318 @@ public class StatisticExecutor {
 
     public void collectStatisticSync(Long dbId, Long tableId, List<String> columnNames, boolean isSample, long rows)
             throws Exception {
-        // split column
-        for (List<String> list : Lists.partition(columnNames, splitColumnsByRows(dbId, tableId, rows, isSample))) {
-            String sql;
-            if (isSample) {
-                sql = buildSampleInsertSQL(dbId, tableId, list, rows);
+        boolean changed = true;
+        if (!isSample && Config.enable_statistic_collect_by_partition) {
+            changed = collectPartitionStatisticSync(dbId, tableId, columnNames);
+        } else {
+            // split column
+            for (List<String> list : Lists.partition(columnNames,
+                    splitColumnsByRows(dbId, tableId, rows, isSample))) {
+                String sql;
+                if (isSample) {
+                    sql = buildSampleInsertSQL(dbId, tableId, list, rows);
+                } else {
+                    sql = buildFullInsertSQL(dbId, tableId, list);
+                }
+
+                LOG.debug("Collect statistic SQL: {}", sql);
+                executeDmlSync(sql);
+            }
+        }
+
+        if (changed && Config.enable_statistic_collect_histogram) {
+            collectHistogramSync(dbId, tableId, columnNames, isSample, rows);
+        }
+    }
+
+    // Collect the statistics of the partitions which are changed since they were collected, and merge the
+    // statistics of all the partitions into the table's. Return false if no partition is changed.
+    private boolean collectPartitionStatisticSync(Long dbId, Long tableId, List<String> columnNames)
+            throws Exception {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+
+        // partition id -> column name -> visible version of the partition when the column is collected
+        Map<Long, Map<String, Long>> collectedVersions = Maps.newHashMap();
+        for (List<String> row : queryRowsSync(QUERY_PARTITION_VERSION_TEMPLATE + tableId)) {
+            collectedVersions.computeIfAbsent(Long.parseLong(row.get(0)), k -> Maps.newHashMap())
+                    .put(row.get(1), Long.parseLong(row.get(2)));
+        }
+
+        List<Partition> changedPartitions = Lists.newArrayList();
+        for (Partition partition : table.getPartitions()) {
+            Map<String, Long> versions = collectedVersions.getOrDefault(partition.getId(), Collections.emptyMap());
+            if (columnNames.stream().anyMatch(c -> versions.getOrDefault(c, -1L) != partition.getVisibleVersion())) {
+                changedPartitions.add(partition);
+            }
+        }
+        List<Long> droppedPartitionIds = collectedVersions.keySet().stream()
+                .filter(id -> table.getPartition(id) == null).collect(Collectors.toList());
+        LOG.debug("Collect statistic of table {}, changed partitions: {}, dropped partitions: {}",
+                table.getName(), changedPartitions.stream().map(Partition::getName).collect(Collectors.toList()),
+                droppedPartitionIds);
+
+        if (!droppedPartitionIds.isEmpty()) {
+            executeDmlSync(DELETE_PARTITION_TEMPLATE + "table_id = " + tableId + " AND partition_id IN ("
+                    + StringUtils.join(droppedPartitionIds, ",") + ")");
+        }
+
+        String columnNamesInSQL = columnNames.stream().map(c -> "'" + c + "'").collect(Collectors.joining(","));
+        for (Partition partition : changedPartitions) {
+            // the ndv of the partition is hll union, the old one must be deleted
+            executeDmlSync(DELETE_PARTITION_TEMPLATE + "table_id = " + tableId + " AND partition_id = "
+                    + partition.getId() + " AND column_name IN (" + columnNamesInSQL + ")");
+
+            // 500w data per query
+            int columnsPerQuery = (int) (5000000L / Math.max(partition.getBaseIndex().getRowCount(), 1L) + 1);
+            for (List<String> list : Lists.partition(columnNames, columnsPerQuery)) {
+                String sql = buildPartitionInsertSQL(db, table, partition, list);
+                LOG.debug("Collect partition statistic SQL: {}", sql);
+                executeDmlSync(sql);
+            }
+        }
+
+        String sql = buildMergePartitionSQL(db, table, columnNames);
+        LOG.debug("Merge partition statistic SQL: {}", sql);
+        executeDmlSync(sql);
+        return !changedPartitions.isEmpty() || !droppedPartitionIds.isEmpty();
+    }
+
+    private String buildPartitionInsertSQL(Database db, OlapTable table, Partition partition,
+                                           List<String> columnNames) {
+        List<String> selects = Lists.newArrayList();
+        for (String name : columnNames) {
+            VelocityContext context = new VelocityContext();
+            Column column = table.getColumn(name);
+
+            context.put("dbId", db.getId());
+            context.put("tableId", table.getId());
+            context.put("partitionId", partition.getId());
+            context.put("columnName", name);
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
+            context.put("partitionName", partition.getName());
+            context.put("version", partition.getVisibleVersion());
+            context.put("dataSize", getDataSize(column, false));
+
+            if (!column.getType().canStatistic()) {
+                context.put("ndvFunction", "hll_empty()");
+                context.put("countNullFunction", "0");
+                context.put("maxFunction", "''");
+                context.put("minFunction", "''");
             } else {
-                sql = buildFullInsertSQL(dbId, tableId, list);
+                context.put("ndvFunction", "hll_raw_agg(hll_hash(CAST(`" + name + "` AS VARCHAR)))");
+                context.put("countNullFunction", "COUNT(1) - COUNT(`" + name + "`)");
+                context.put("maxFunction", "IFNULL(MAX(`" + name + "`), '')");
+                context.put("minFunction", "IFNULL(MIN(`" + name + "`), '')");
             }
+            selects.add(evaluate(context, INSERT_SELECT_PARTITION_TEMPLATE));
+        }
+        return INSERT_PARTITION_STATISTIC_TEMPLATE + " " + String.join(" UNION ALL ", selects);
+    }
 
-            LOG.debug("Collect statistic SQL: {}", sql);
+    private String buildMergePartitionSQL(Database db, OlapTable table, List<String> columnNames) {
+        List<String> selects = Lists.newArrayList();
+        for (String name : columnNames) {
+            VelocityContext context = new VelocityContext();
+            Column column = table.getColumn(name);
 
-            ConnectContext context = StatisticUtils.buildConnectContext();
-            StatementBase parsedStmt = parseSQL(sql, context);
-            StmtExecutor executor = new StmtExecutor(context, parsedStmt);
-            executor.execute();
+            context.put("dbId", db.getId());
+            context.put("tableId", table.getId());
+            context.put("columnName", name);
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
 
-            if (context.getState().getStateType() == QueryState.MysqlStateType.ERR) {
-                throw new DdlException(context.getState().getErrorMessage());
+            // the max and min of the partitions are strings, the strings of date and datetime are in the same order
+            // as the values, and the others are compared as numbers
+            if (column.getType().isStringType() || column.getType().isDateType()) {
+                context.put("maxFunction", "IFNULL(MAX(NULLIF(max, '')), '')");
+                context.put("minFunction", "IFNULL(MIN(NULLIF(min, '')), '')");
+            } else {
+                context.put("maxFunction", "IFNULL(CAST(MAX(CAST(NULLIF(max, '') AS DOUBLE)) AS VARCHAR), '')");
+                context.put("minFunction", "IFNULL(CAST(MIN(CAST(NULLIF(min, '') AS DOUBLE)) AS VARCHAR), '')");
             }
+            selects.add(evaluate(context, MERGE_PARTITION_STATISTIC_TEMPLATE));
         }
+        return INSERT_STATISTIC_TEMPLATE + " " + String.join(" UNION ALL ", selects);
+    }
+
+    // Collect the distinct values of the column groups, each group is a list of the sorted column names. They are
+    // always collected on the full table, the distinct values of a sample can't be scaled to the table's.
+    public void collectMultiColumnStatisticSync(Long dbId, Long tableId, List<List<String>> columnGroups)
+            throws Exception {
+        if (columnGroups.isEmpty() || !Config.enable_statistic_collect_multi_column) {
+            return;
+        }
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+
+        List<String> selects = Lists.newArrayList();
+        for (List<String> group : columnGroups) {
+            VelocityContext context = new VelocityContext();
+            context.put("dbId", dbId);
+            context.put("tableId", tableId);
+            context.put("columnName", String.join(",", group));
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
+            context.put("columns", group.stream().map(c -> "CAST(`" + c + "` AS VARCHAR)")
+                    .collect(Collectors.joining(", ")));
+            selects.add(evaluate(context, INSERT_SELECT_MULTI_COLUMN_TEMPLATE));
+        }
+
+        String sql = INSERT_MULTI_COLUMN_STATISTIC_TEMPLATE + " " + String.join(" UNION ALL ", selects);
+        LOG.debug("Collect multi-column statistic SQL: {}", sql);
+        executeDmlSync(sql);
+    }
+
+    // rows of the comma separated column names of a group and the distinct values of the group
+    public List<List<String>> queryMultiColumnStatisticSync(Long tableId) throws Exception {
+        return queryRowsSync(QUERY_MULTI_COLUMN_STATISTIC_TEMPLATE + tableId);
+    }
+
+    private void executeDmlSync(String sql) throws Exception {
+        ConnectContext context = StatisticUtils.buildConnectContext();
+        StatementBase parsedStmt = parseSQL(sql, context);
+        StmtExecutor executor = new StmtExecutor(context, parsedStmt);
+        executor.execute();
+
+        if (context.getState().getStateType() == QueryState.MysqlStateType.ERR) {
+            throw new DdlException(context.getState().getErrorMessage());
+        }
+    }
+
+    // The histograms are collected on the same rows as the column statistics, one column after another,
+    // and the failure of a column doesn't fail the others.
+    private void collectHistogramSync(Long dbId, Long tableId, List<String> columnNames, boolean isSample, long rows)
+            throws Exception {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+        String tableName = ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName();
+
+        String hints = "";
+        long ratio = 1;
+        if (isSample) {
+            SampleTablets sample = getSampleTablets(table, rows);
+            if (sample != null) {
+                hints = sample.hints;
+                ratio = sample.ratio;
+            }
+        }
+
+        List<String> values = Lists.newArrayList();
+        for (String name : columnNames) {
+            Column column = table.getColumn(name);
+            if (!column.getType().isScalarType() || !column.getType().canStatistic()) {
+                continue;
+            }
+
+            VelocityContext context = new VelocityContext();
+            context.put("columnName", name);
+            context.put("tableName", tableName);
+            context.put("hints", hints);
+            context.put("bucketNum", Config.histogram_buckets_size);
+            context.put("mcvSize", Config.histogram_mcv_size);
+
+            String histogram;
+            try {
+                histogram = buildHistogram(column, context, ratio);
+            } catch (Exception e) {
+                LOG.warn("Collect histogram of column {} of table {} fail.", name, tableName, e);
+                continue;
+            }
+            values.add("(" + tableId + ", '" + name + "', " + dbId + ", '" + tableName + "', '" + db.getFullName()
+                    + "', '" + histogram.replace("\\", "\\\\").replace("'", "\\'") + "', NOW())");
+        }
+
+        if (values.isEmpty()) {
+            return;
+        }
+
+        String sql = INSERT_HISTOGRAM_TEMPLATE + " VALUES " + String.join(", ", values);
+        LOG.debug("Collect histogram SQL: {}", sql);
+        executeDmlSync(sql);
+    }
+
+    // json of the histogram, whose counts are scaled by the ratio of the sample
+    private String buildHistogram(Column column, VelocityContext context, long ratio) throws Exception {
+        JsonObject histogram = new JsonObject();
+
+        if (column.getType().isNumericType() || column.getType().isDateType()) {
+            JsonArray buckets = new JsonArray();
+            for (List<String> row : queryRowsSync(evaluate(context, HISTOGRAM_BUCKETS_TEMPLATE))) {
+                JsonArray bucket = new JsonArray();
+                bucket.add(row.get(0));
+                bucket.add(row.get(1));
+                bucket.add(Long.parseLong(row.get(2)) * ratio);
+                buckets.add(bucket);
+            }
+            histogram.add(Histogram.BUCKETS, buckets);
+        }
+
+        long rowCount = 0;
+        JsonArray mcv = new JsonArray();
+        for (List<String> row : queryRowsSync(evaluate(context, HISTOGRAM_MCV_TEMPLATE))) {
+            long count = Long.parseLong(row.get(1));
+            rowCount = Long.parseLong(row.get(2)) * ratio;
+            // a value which appears only once is not common
+            if (count <= 1 || row.get(0).length() > MAX_MCV_VALUE_LENGTH) {
+                continue;
+            }
+            JsonArray value = new JsonArray();
+            value.add(row.get(0));
+            value.add(count * ratio);
+            mcv.add(value);
+        }
+        histogram.add(Histogram.MCV, mcv);
+        histogram.addProperty(Histogram.ROW_COUNT, rowCount);
+        return histogram.toString();
+    }
+
+    private static String evaluate(VelocityContext context, String template) {
+        StringWriter sw = new StringWriter();
+        DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", template);
+        return sw.toString();
+    }
+
+    // execute the query and return the rows of string values, which must not be NULL
+    private List<List<String>> queryRowsSync(String sql) throws Exception {
+        return queryRowsSync(StatisticUtils.buildConnectContext(), sql);
+    }
+
+    // rows of the string values of a query executed in the context, which is also used by the optimizer
+    public static List<List<String>> queryRowsSync(ConnectContext context, String sql) throws Exception {
+        LOG.debug("Query statistic SQL: {}", sql);
+
+        StatementBase parsedStmt = parseSQL(sql, context);
+        Map<String, Database> dbs = AnalyzerUtils.collectAllDatabase(context, parsedStmt);
+        ExecPlan execPlan = getExecutePlan(dbs, context, parsedStmt, false, true);
+        Pair<List<TResultBatch>, Status> sqlResult = executeStmt(context, execPlan);
+        if (!sqlResult.second.ok()) {
+            throw new DdlException(sqlResult.second.getErrorMsg());
+        }
+
+        List<List<String>> rows = Lists.newArrayList();
+        for (TResultBatch batch : sqlResult.first) {
+            for (ByteBuffer buffer : batch.getRows()) {
+                List<String> row = Lists.newArrayList();
+                while (buffer.hasRemaining()) {
+                    row.add(new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
     }
 
     public void expireStatisticSync(List<String> tableIds) {
-        StringBuilder sql = new StringBuilder(DELETE_TEMPLATE);
+        expireStatisticSync(DELETE_TEMPLATE, tableIds);
+        expireStatisticSync(DELETE_HISTOGRAM_TEMPLATE, tableIds);
+        expireStatisticSync(DELETE_PARTITION_TEMPLATE, tableIds);
+        expireStatisticSync(DELETE_MULTI_COLUMN_TEMPLATE, tableIds);
+    }
+
+    private void expireStatisticSync(String template, List<String> tableIds) {
+        StringBuilder sql = new StringBuilder(template);
         sql.append(" table_id IN (").append(StringUtils.join(tableIds, ",")).append(")");
         LOG.debug("Expire statistic SQL: {}", sql);
 
@@ -307,12 +693,23 @@ public class StatisticExecutor {
     private static ExecPlan getExecutePlan(Map<String, Database> dbs, ConnectContext context,
                                            StatementBase parsedStmt, boolean isStatistic, boolean isLockDb) {
         ExecPlan execPlan;
+        List<OlapTable> tables = Collections.emptyList();
         try {
             if (isLockDb) { 
                 lock(dbs);
             }
             
             Analyzer.analyze(parsedStmt, context);
+            if (isLockDb) {
+                // OlapTables are read locked after their databases in the order of table id, the same as StatementPlanner
+                tables = AnalyzerUtils.collectAllTable(parsedStmt).values().stream()
+                        .filter(table -> table instanceof OlapTable)
+                        .map(table -> (OlapTable) table)
+                        .distinct()
+                        .sorted(Comparator.comparingLong(OlapTable::getId))
+                        .collect(Collectors.toList());
+                tables.forEach(OlapTable::readLock);
+            }
 
             ColumnRefFactory columnRefFactory = new ColumnRefFactory();
             LogicalPlan logicalPlan = new RelationTransformer(columnRefFactory, context).transform(
@@ -331,14 +728,15 @@ public class StatisticExecutor {
                             columnRefFactory, isStatistic);
         } finally {
             if (isLockDb) { 
+                tables.forEach(OlapTable::readUnlock);
                 unLock(dbs); 
             }
         }
         return execPlan;
     }
 
-    private String buildQuerySQL(Long dbId, Long tableId, List<String> columnNames) {
-        StringBuilder where = new StringBuilder(QUERY_STATISTIC_TEMPLATE);
+    private String buildQuerySQL(String template, Long dbId, Long tableId, List<String> columnNames) {
+        StringBuilder where = new StringBuilder(template);
         if (null != dbId) {
             where.append(" AND db_id = ").append(dbId);
         }
@@ -446,10 +844,22 @@ public class StatisticExecutor {
         return builder.substring(0, builder.length() - "UNION ALL ".length());
     }
 
-    private String buildSampleInsertSQL(Long dbId, Long tableId, List<String> columnNames, long rows) {
-        Database db = Catalog.getCurrentCatalog().getDb(dbId);
-        OlapTable table = (OlapTable) db.getTable(tableId);
+    private static class SampleTablets {
+        // the tablets and the limit of the sample
+        private final String hints;
+        // total rows / sample rows
+        private final long ratio;
+        private final long totalRows;
+
+        private SampleTablets(String hints, long ratio, long totalRows) {
+            this.hints = hints;
+            this.ratio = ratio;
+            this.totalRows = totalRows;
+        }
+    }
 
+    // return null if the table can't fill the sample rows, then it should be read fully
+    private SampleTablets getSampleTablets(OlapTable table, long rows) {
         long hitRows = 1;
         long totalRows = 0;
         long totalTablet = 0;
@@ -489,12 +899,26 @@ public class StatisticExecutor {
         String hintTablets;
         if (randomTablets.isEmpty() || totalRows < rows) {
             // can't fill full sample rows
-            return buildFullInsertSQL(dbId, tableId, columnNames);
+            return null;
         } else if (randomTablets.size() == totalTablet) {
             hintTablets = " LIMIT " + rows;
         } else {
             hintTablets = " Tablet(" + String.join(", ", randomTablets) + ")" + " LIMIT " + rows;
         }
+        return new SampleTablets(hintTablets, ratio, totalRows);
+    }
+
+    private String buildSampleInsertSQL(Long dbId, Long tableId, List<String> columnNames, long rows) {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+
+        SampleTablets sample = getSampleTablets(table, rows);
+        if (sample == null) {
+            return buildFullInsertSQL(dbId, tableId, columnNames);
+        }
+        long ratio = sample.ratio;
+        long totalRows = sample.totalRows;
+        String hintTablets = sample.hints;
 
         StringBuilder builder = new StringBuilder(INSERT_STATISTIC_TEMPLATE).append(" ");
 
@@ -563,12 +987,15 @@ public class StatisticExecutor {
         return "COUNT(1) * " + typeSize;
     }
 
-    // Lock all database before analyze
+    // Lock all database before analyze, in the order of db id
     private static void lock(Map<String, Database> dbs) {
         if (dbs == null) {
             return;
         }
-        for (Database db : dbs.values()) {
+        List<Database> sortedDbs = dbs.values().stream()
+                .sorted(Comparator.comparingLong(Database::getId))
+                .collect(Collectors.toList());
+        for (Database db : sortedDbs) {
             db.readLock();
         }
     }
@@ -14,6 +14,7 @@ import com.starrocks.analysis.HashDistributionDesc;
 import com.starrocks.analysis.KeysDesc;
 import com.starrocks.analysis.TableName;
 import com.starrocks.analysis.TypeDef;
+import com.starrocks.catalog.AggregateType;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.KeysType;
@@ -22,6 +23,7 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.PrimitiveType;
 import com.starrocks.catalog.ScalarType;
+import com.starrocks.catalog.Type;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.MasterDaemon;
@@ -67,9 +69,80 @@ public class StatisticsMetaManager extends MasterDaemon {
                 new ColumnDef("min", new TypeDef(minType)),
                 new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
         );
+
+        ScalarType histogramType = ScalarType.createVarcharType(ScalarType.MAX_VARCHAR_LENGTH);
+        histogramType.setAssignedStrLenInColDefinition();
+
+        HISTOGRAM_COLUMNS = ImmutableList.of(
+                new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("column_name", new TypeDef(columnNameType)),
+                new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("table_name", new TypeDef(tableNameType)),
+                new ColumnDef("db_name", new TypeDef(dbNameType)),
+                // json of the buckets and the most common values
+                new ColumnDef("histogram", new TypeDef(histogramType)),
+                new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
+        );
+
+        MULTI_COLUMN_COLUMNS = ImmutableList.of(
+                new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                // the sorted names of the columns in a group, separated by comma
+                new ColumnDef("column_name", new TypeDef(columnNameType)),
+                new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("table_name", new TypeDef(tableNameType)),
+                new ColumnDef("db_name", new TypeDef(dbNameType)),
+                new ColumnDef("row_count", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("distinct_count", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
+        );
+    }
+
+    // The distinct values of partitions are kept in hll, so that they can be merged into the table's.
+    // Hll column can only be in an aggregate table, and the column defs are created every time because
+    // the analysis of hll column changes its default value.
+    private static List<ColumnDef> createPartitionColumns() {
+        ScalarType columnNameType = ScalarType.createVarcharType(65530);
+        ScalarType tableNameType = ScalarType.createVarcharType(65530);
+        ScalarType partitionNameType = ScalarType.createVarcharType(65530);
+        ScalarType dbNameType = ScalarType.createVarcharType(65530);
+        ScalarType maxType = ScalarType.createVarcharType(65530);
+        ScalarType minType = ScalarType.createVarcharType(65530);
+        columnNameType.setAssignedStrLenInColDefinition();
+        tableNameType.setAssignedStrLenInColDefinition();
+        partitionNameType.setAssignedStrLenInColDefinition();
+        dbNameType.setAssignedStrLenInColDefinition();
+        maxType.setAssignedStrLenInColDefinition();
+        minType.setAssignedStrLenInColDefinition();
+
+        return ImmutableList.of(
+                new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("partition_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("column_name", new TypeDef(columnNameType)),
+                new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                createReplaceColumn("table_name", tableNameType),
+                createReplaceColumn("partition_name", partitionNameType),
+                createReplaceColumn("db_name", dbNameType),
+                createReplaceColumn("row_count", ScalarType.createType(PrimitiveType.BIGINT)),
+                createReplaceColumn("data_size", ScalarType.createType(PrimitiveType.BIGINT)),
+                new ColumnDef("ndv", new TypeDef(Type.HLL), false, AggregateType.HLL_UNION, false,
+                        ColumnDef.DefaultValueDef.NOT_SET, ""),
+                createReplaceColumn("null_count", ScalarType.createType(PrimitiveType.BIGINT)),
+                createReplaceColumn("max", maxType),
+                createReplaceColumn("min", minType),
+                // visible version of the partition when it's collected
+                createReplaceColumn("version", ScalarType.createType(PrimitiveType.BIGINT)),
+                createReplaceColumn("update_time", ScalarType.createType(PrimitiveType.DATETIME))
+        );
+    }
+
+    private static ColumnDef createReplaceColumn(String name, ScalarType type) {
+        return new ColumnDef(name, new TypeDef(type), false, AggregateType.REPLACE, false,
+                ColumnDef.DefaultValueDef.NOT_SET, "");
     }
 
     private static final List<ColumnDef> COLUMNS;
+    private static final List<ColumnDef> HISTOGRAM_COLUMNS;
+    private static final List<ColumnDef> MULTI_COLUMN_COLUMNS;
 
     // If all replicas are lost more than 3 times in a row, rebuild the statistics table
     private int lossTableCount = 0;
@@ -97,9 +170,13 @@ public class StatisticsMetaManager extends MasterDaemon {
     }
 
     private boolean checkTableExist() {
+        return checkTableExist(Constants.StatisticsTableName);
+    }
+
+    private boolean checkTableExist(String tableName) {
         Database db = Catalog.getCurrentCatalog().getDb(Constants.StatisticsDBName);
         Preconditions.checkState(db != null);
-        return db.getTable(Constants.StatisticsTableName) != null;
+        return db.getTable(tableName) != null;
     }
 
     private boolean checkReplicateNormal() {
@@ -139,19 +216,27 @@ public class StatisticsMetaManager extends MasterDaemon {
             "table_id", "column_name", "db_id"
     );
 
+    private static final List<String> partitionKeyColumnNames = ImmutableList.of(
+            "table_id", "partition_id", "column_name", "db_id"
+    );
+
     private boolean createTable() {
-        LOG.info("create statistics table start");
-        TableName tableName = new TableName(Constants.StatisticsDBName,
-                Constants.StatisticsTableName);
+        return createTable(Constants.StatisticsTableName, COLUMNS, KeysType.UNIQUE_KEYS, keyColumnNames);
+    }
+
+    private boolean createTable(String statisticsTableName, List<ColumnDef> columns, KeysType keysType,
+                                List<String> keyColumns) {
+        LOG.info("create statistics table {} start", statisticsTableName);
+        TableName tableName = new TableName(Constants.StatisticsDBName, statisticsTableName);
         Map<String, String> properties = Maps.newHashMap();
         int defaultReplicationNum = Math.min(3,
                 Catalog.getCurrentSystemInfo().getBackendIds(true).size());
         properties.put(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM, Integer.toString(defaultReplicationNum));
         CreateTableStmt stmt = new CreateTableStmt(false, false,
-                tableName, COLUMNS, "olap",
-                new KeysDesc(KeysType.UNIQUE_KEYS, keyColumnNames),
+                tableName, columns, "olap",
+                new KeysDesc(keysType, keyColumns),
                 null,
-                new HashDistributionDesc(10, keyColumnNames),
+                new HashDistributionDesc(10, keyColumns),
                 properties,
                 null,
                 "");
@@ -169,8 +254,8 @@ public class StatisticsMetaManager extends MasterDaemon {
             LOG.warn("Failed to create table" + e.getMessage());
             return false;
         }
-        LOG.info("create statistics table done");
-        return checkTableExist();
+        LOG.info("create statistics table {} done", statisticsTableName);
+        return checkTableExist(statisticsTableName);
     }
 
     private boolean dropTable() {
@@ -220,5 +305,29 @@ public class StatisticsMetaManager extends MasterDaemon {
             }
             trySleep(10000);
         }
+
+        while (!checkTableExist(Constants.HistogramStatisticsTableName)) {
+            if (createTable(Constants.HistogramStatisticsTableName, HISTOGRAM_COLUMNS, KeysType.UNIQUE_KEYS,
+                    keyColumnNames)) {
+                break;
+            }
+            trySleep(10000);
+        }
+
+        while (!checkTableExist(Constants.PartitionStatisticsTableName)) {
+            if (createTable(Constants.PartitionStatisticsTableName, createPartitionColumns(), KeysType.AGG_KEYS,
+                    partitionKeyColumnNames)) {
+                break;
+            }
+            trySleep(10000);
+        }
+
+        while (!checkTableExist(Constants.MultiColumnStatisticsTableName)) {
+            if (createTable(Constants.MultiColumnStatisticsTableName, MULTI_COLUMN_COLUMNS, KeysType.UNIQUE_KEYS,
+                    keyColumnNames)) {
+                break;
+            }
+            trySleep(10000);
+        }
     }
 }
@@ -356,7 +356,7 @@ public class DatabaseTransactionMgr {
                                   TxnCommitAttachment txnCommitAttachment)
             throws UserException {
         // 1. check status
-        // the caller method already own db lock, we do not obtain db lock here
+        // the caller method already own the locks of the committed tables, we do not obtain them here
         Database db = catalog.getDb(dbId);
         if (null == db) {
             throw new MetaNotFoundException("could not find db [" + dbId + "]");
@@ -654,8 +654,7 @@ public class DatabaseTransactionMgr {
         if (db == null) {
             return true;
         }
-        db.readLock();
-
+        List<OlapTable> tables = db.readLockTables(txn.getIdToTableCommitInfos().keySet());
         try {
             // check each table involved in transaction
             for (TableCommitInfo tableCommitInfo : txn.getIdToTableCommitInfos().values()) {
@@ -707,7 +706,7 @@ public class DatabaseTransactionMgr {
                 }
             }
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(tables);
         }
         return true;
     }
@@ -742,7 +741,7 @@ public class DatabaseTransactionMgr {
                 writeUnlock();
             }
         }
-        db.writeLock();
+        List<OlapTable> tables = db.writeLockTables(transactionState.getIdToTableCommitInfos().keySet());
         try {
             boolean hasError = false;
             for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
@@ -881,7 +880,7 @@ public class DatabaseTransactionMgr {
             }
             updateCatalogAfterVisible(transactionState, db);
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tables);
         }
         LOG.info("finish transaction {} successfully", transactionState);
     }
@@ -1328,6 +1327,7 @@ public class DatabaseTransactionMgr {
             long tableId = tableCommitInfo.getTableId();
             OlapTable table = (OlapTable) db.getTable(tableId);
             List<String> validDictCacheColumns = Lists.newArrayList();
+            Set<String> invalidDictCacheColumns = new HashSet<>();
             long maxPartitionVersionTime = -1;
             for (PartitionCommitInfo partitionCommitInfo : tableCommitInfo.getIdToPartitionCommitInfo().values()) {
                 long partitionId = partitionCommitInfo.getPartitionId();
@@ -1381,11 +1381,7 @@ public class DatabaseTransactionMgr {
                     LOG.debug("transaction state {} set partition {}'s version to [{}]",
                             transactionState, partition.getId(), version);
                 }
-                if (!partitionCommitInfo.getInvalidDictCacheColumns().isEmpty()) {
-                    for (String column : partitionCommitInfo.getInvalidDictCacheColumns()) {
-                        IDictManager.getInstance().removeGlobalDict(tableId, column);
-                    }
-                }
+                invalidDictCacheColumns.addAll(partitionCommitInfo.getInvalidDictCacheColumns());
                 if (!partitionCommitInfo.getValidDictCacheColumns().isEmpty()) {
                     validDictCacheColumns = partitionCommitInfo.getValidDictCacheColumns();
                 }
@@ -1394,6 +1390,10 @@ public class DatabaseTransactionMgr {
             for (String column : validDictCacheColumns) {
                 IDictManager.getInstance().updateGlobalDict(tableId, column, maxPartitionVersionTime);
             }
+            // reload after the versions of all the partitions are updated
+            for (String column : invalidDictCacheColumns) {
+                IDictManager.getInstance().reloadGlobalDict(db.getId(), tableId, column);
+            }
         }
         return true;
     }
@@ -23,8 +23,12 @@ package com.starrocks.transaction;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.DuplicatedRequestException;
@@ -58,6 +62,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Transaction Manager
@@ -305,7 +310,8 @@ public class GlobalTransactionMgr implements Writable {
      * @throws UserException
      * @throws TransactionCommitFailedException
      * @note it is necessary to optimize the `lock` mechanism and `lock` scope resulting from wait lock long time
-     * @note callers should get db.write lock before call this api
+     * @note callers should get the write locks of the tables returned by getCommitTableIds() before call this api,
+     * see Database.writeLockTables()
      */
     public void commitTransaction(long dbId, long transactionId, List<TabletCommitInfo> tabletCommitInfos,
                                   TxnCommitAttachment txnCommitAttachment)
@@ -331,14 +337,16 @@ public class GlobalTransactionMgr implements Writable {
             throws UserException {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
-            throw new UserException("get database write lock timeout, database="
+        List<OlapTable> tables = db.tryWriteLockTables(getCommitTableIds(tabletCommitInfos), timeoutMillis,
+                TimeUnit.MILLISECONDS);
+        if (tables == null) {
+            throw new UserException("get table write lock timeout, database="
                     + db.getFullName() + ", timeoutMillis=" + timeoutMillis);
         }
         try {
             commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tables);
         }
         stopWatch.stop();
         long publishTimeoutMillis = timeoutMillis - stopWatch.getTime();
@@ -351,6 +359,24 @@ public class GlobalTransactionMgr implements Writable {
         return dbTransactionMgr.publishTransaction(db, transactionId, publishTimeoutMillis);
     }
 
+    /**
+     * Returns the ids of the tables which the tablets committed belong to, whose data is changed by the commit.
+     */
+    public static Set<Long> getCommitTableIds(List<TabletCommitInfo> tabletCommitInfos) {
+        Set<Long> tableIds = Sets.newHashSet();
+        if (tabletCommitInfos == null) {
+            return tableIds;
+        }
+        List<Long> tabletIds = tabletCommitInfos.stream().map(TabletCommitInfo::getTabletId)
+                .collect(Collectors.toList());
+        for (TabletMeta tabletMeta : Catalog.getCurrentInvertedIndex().getTabletMetaList(tabletIds)) {
+            if (tabletMeta != TabletInvertedIndex.NOT_EXIST_TABLET_META) {
+                tableIds.add(tabletMeta.getTableId());
+            }
+        }
+        return tableIds;
+    }
+
     public void abortTransaction(long dbId, long transactionId, String reason) throws UserException {
         abortTransaction(dbId, transactionId, reason, null);
     }
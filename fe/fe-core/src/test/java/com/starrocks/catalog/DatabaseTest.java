@@ -42,6 +42,7 @@ import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 public class DatabaseTest {
@@ -98,6 +99,45 @@ public class DatabaseTest {
         }
     }
 
+    @Test
+    public void tableLockTest() throws Exception {
+        OlapTable table1 = new OlapTable(2001, "table1", new LinkedList<>(), KeysType.AGG_KEYS,
+                new SinglePartitionInfo(), new RandomDistributionInfo(10));
+        OlapTable table2 = new OlapTable(2002, "table2", new LinkedList<>(), KeysType.AGG_KEYS,
+                new SinglePartitionInfo(), new RandomDistributionInfo(10));
+        Assert.assertTrue(db.createTable(table1));
+        Assert.assertTrue(db.createTable(table2));
+
+        // sorted by table id, and table not exist is skipped
+        List<OlapTable> tables = db.writeLockTables(Lists.newArrayList(2001L, 3000L));
+        try {
+            Assert.assertEquals(Lists.newArrayList(table1), tables);
+            Assert.assertTrue(table1.isWriteLockHeldByCurrentThread());
+
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                Assert.assertNull(db.tryWriteLockTables(Lists.newArrayList(2002L, 2001L), 10, TimeUnit.MILLISECONDS));
+                // the lock of table2 is released after failed to lock table1
+                Assert.assertTrue(table2.tryReadLock(0, TimeUnit.SECONDS));
+                table2.readUnlock();
+                // loads to other tables are not blocked
+                List<OlapTable> otherTables = db.tryWriteLockTables(Lists.newArrayList(2002L), 0, TimeUnit.SECONDS);
+                Assert.assertEquals(Lists.newArrayList(table2), otherTables);
+                db.writeUnlockTables(otherTables);
+                // but changes to the db are
+                Assert.assertFalse(db.tryWriteLock(0, TimeUnit.SECONDS));
+                return null;
+            });
+            Thread thread = new Thread(task);
+            thread.start();
+            task.get();
+        } finally {
+            db.writeUnlockTables(tables);
+        }
+        Assert.assertFalse(table1.isWriteLockHeldByCurrentThread());
+        Assert.assertTrue(db.tryWriteLock(0, TimeUnit.SECONDS));
+        db.writeUnlock();
+    }
+
     @Test
     public void createAndDropPartitionTest() {
         Assert.assertEquals("dbTest", db.getFullName());
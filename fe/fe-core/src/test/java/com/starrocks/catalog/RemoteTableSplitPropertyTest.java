@@ -0,0 +1,99 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.DdlException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class RemoteTableSplitPropertyTest {
+    private static final List<Column> SCHEMA = Lists.newArrayList(
+            new Column("id", Type.BIGINT, true),
+            new Column("dt", Type.DATE, true),
+            new Column("ts", Type.DATETIME, true),
+            new Column("name", Type.VARCHAR, true));
+
+    private static Map<String, String> createProperties(String column, String splitNum, String lower, String upper) {
+        Map<String, String> properties = Maps.newHashMap();
+        properties.put(RemoteTableSplitProperty.SPLIT_COLUMN, column);
+        if (splitNum != null) {
+            properties.put(RemoteTableSplitProperty.SPLIT_NUM, splitNum);
+        }
+        properties.put(RemoteTableSplitProperty.SPLIT_LOWER_BOUND, lower);
+        properties.put(RemoteTableSplitProperty.SPLIT_UPPER_BOUND, upper);
+        return properties;
+    }
+
+    @Test
+    public void testIntegerRanges() throws Exception {
+        RemoteTableSplitProperty property =
+                RemoteTableSplitProperty.create(createProperties("id", "4", "0", "99"), SCHEMA);
+        Assert.assertEquals(Lists.newArrayList(
+                        "`id` < 25 OR `id` IS NULL",
+                        "`id` >= 25 AND `id` < 50",
+                        "`id` >= 50 AND `id` < 75",
+                        "`id` >= 75"),
+                property.getRangeFilters(Type.BIGINT, "`id`"));
+
+        // no more ranges than the values between the bounds
+        property = RemoteTableSplitProperty.create(createProperties("id", "4", "10", "11"), SCHEMA);
+        Assert.assertEquals(Lists.newArrayList("id < 11 OR id IS NULL", "id >= 11"),
+                property.getRangeFilters(Type.BIGINT, "id"));
+
+        property = RemoteTableSplitProperty.create(createProperties("id", "4", "10", "10"), SCHEMA);
+        Assert.assertTrue(property.getRangeFilters(Type.BIGINT, "id").isEmpty());
+    }
+
+    @Test
+    public void testDateRanges() throws Exception {
+        RemoteTableSplitProperty property =
+                RemoteTableSplitProperty.create(createProperties("dt", null, "2022-01-01", "2022-01-03"), SCHEMA);
+        Assert.assertEquals(8, property.getSplitNum());
+        Assert.assertEquals(Lists.newArrayList(
+                        "dt < '2022-01-02' OR dt IS NULL",
+                        "dt >= '2022-01-02' AND dt < '2022-01-03'",
+                        "dt >= '2022-01-03'"),
+                property.getRangeFilters(Type.DATE, "dt"));
+
+        property = RemoteTableSplitProperty.create(
+                createProperties("ts", "2", "2022-01-01 00:00:00", "2022-01-02 00:00:00"), SCHEMA);
+        Assert.assertEquals(Lists.newArrayList(
+                        "ts < '2022-01-01 12:00:00' OR ts IS NULL",
+                        "ts >= '2022-01-01 12:00:00'"),
+                property.getRangeFilters(Type.DATETIME, "ts"));
+    }
+
+    @Test
+    public void testProperties() throws Exception {
+        Assert.assertNull(RemoteTableSplitProperty.create(Maps.newHashMap(), SCHEMA));
+
+        RemoteTableSplitProperty property =
+                RemoteTableSplitProperty.create(createProperties("ID", "4", "0", "99"), SCHEMA);
+        Assert.assertEquals("id", property.getColumn());
+        Map<String, String> properties = Maps.newHashMap();
+        property.toProperties(properties);
+        RemoteTableSplitProperty readProperty = RemoteTableSplitProperty.fromProperties(properties);
+        Assert.assertEquals(property.getRangeFilters(Type.BIGINT, "id"),
+                readProperty.getRangeFilters(Type.BIGINT, "id"));
+    }
+
+    @Test(expected = DdlException.class)
+    public void testUnsupportedType() throws Exception {
+        RemoteTableSplitProperty.create(createProperties("name", "4", "a", "z"), SCHEMA);
+    }
+
+    @Test(expected = DdlException.class)
+    public void testInvalidBound() throws Exception {
+        RemoteTableSplitProperty.create(createProperties("dt", "4", "2022-01-01", "20220103"), SCHEMA);
+    }
+
+    @Test(expected = DdlException.class)
+    public void testLowerBoundGreaterThanUpperBound() throws Exception {
+        RemoteTableSplitProperty.create(createProperties("id", "4", "100", "0"), SCHEMA);
+    }
+}
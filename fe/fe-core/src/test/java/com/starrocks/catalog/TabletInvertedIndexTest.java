@@ -0,0 +1,88 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Replica.ReplicaState;
+import com.starrocks.common.Pair;
+import com.starrocks.thrift.TPartitionVersionInfo;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TTablet;
+import com.starrocks.thrift.TTabletInfo;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class TabletInvertedIndexTest {
+    private static final long DB_ID = 1L;
+    private static final long BACKEND_ID = 10001L;
+    private static final int SCHEMA_HASH = 111;
+
+    @Mocked
+    private Catalog catalog;
+
+    private TabletInvertedIndex createIndex(long... tabletIds) {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        for (long tabletId : tabletIds) {
+            invertedIndex.addTablet(tabletId, new TabletMeta(DB_ID, 2L, 3L, 4L, SCHEMA_HASH, TStorageMedium.HDD));
+            invertedIndex.addReplica(tabletId,
+                    new Replica(tabletId * 10, BACKEND_ID, ReplicaState.NORMAL, 2L, SCHEMA_HASH));
+        }
+        return invertedIndex;
+    }
+
+    private static TTablet createTablet(long tabletId) {
+        TTabletInfo tabletInfo = new TTabletInfo(tabletId, SCHEMA_HASH, 2L, 0L, 10L, 100L);
+        tabletInfo.setPartition_id(3L);
+        TTablet tablet = new TTablet();
+        tablet.addToTablet_infos(tabletInfo);
+        return tablet;
+    }
+
+    private static ListMultimap<Long, Long> report(TabletInvertedIndex invertedIndex,
+                                                   Map<Long, TTablet> backendTablets, Set<Long> removedTabletIds,
+                                                   Set<Long> foundTabletsWithValidSchema) {
+        ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+        invertedIndex.tabletReport(BACKEND_ID, backendTablets, removedTabletIds, new HashMap<>(),
+                ArrayListMultimap.create(), tabletDeleteFromMeta, foundTabletsWithValidSchema,
+                Maps.newHashMap(), ArrayListMultimap.create(),
+                Maps.<Long, ListMultimap<Long, TPartitionVersionInfo>>newHashMap(),
+                ArrayListMultimap.create(), ArrayListMultimap.create(), Sets.<Pair<Long, Integer>>newHashSet());
+        return tabletDeleteFromMeta;
+    }
+
+    @Test
+    public void testFullTabletReport() {
+        TabletInvertedIndex invertedIndex = createIndex(1L, 2L, 3L);
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(1L, createTablet(1L));
+
+        Set<Long> foundTabletsWithValidSchema = Sets.newHashSet();
+        ListMultimap<Long, Long> tabletDeleteFromMeta =
+                report(invertedIndex, backendTablets, null, foundTabletsWithValidSchema);
+        Assert.assertEquals(Sets.newHashSet(1L), foundTabletsWithValidSchema);
+        // tablets not reported are missing on backend
+        Assert.assertEquals(Sets.newHashSet(2L, 3L), Sets.newHashSet(tabletDeleteFromMeta.get(DB_ID)));
+    }
+
+    @Test
+    public void testIncrementalTabletReport() {
+        TabletInvertedIndex invertedIndex = createIndex(1L, 2L, 3L);
+        Map<Long, TTablet> backendTablets = Maps.newHashMap();
+        backendTablets.put(1L, createTablet(1L));
+
+        Set<Long> foundTabletsWithValidSchema = Sets.newHashSet();
+        ListMultimap<Long, Long> tabletDeleteFromMeta =
+                report(invertedIndex, backendTablets, Sets.newHashSet(2L), foundTabletsWithValidSchema);
+        Assert.assertEquals(Sets.newHashSet(1L), foundTabletsWithValidSchema);
+        // tablet 3 is unchanged since the last report, only the removed tablet is missing
+        Assert.assertEquals(Sets.newHashSet(2L), Sets.newHashSet(tabletDeleteFromMeta.get(DB_ID)));
+    }
+}
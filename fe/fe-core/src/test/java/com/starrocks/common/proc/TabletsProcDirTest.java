@@ -105,7 +105,7 @@ public class TabletsProcDirTest {
 
         // Check
         Config.use_staros = true;
-        TabletsProcDir tabletsProcDir = new TabletsProcDir(db, partition, index);
+        TabletsProcDir tabletsProcDir = new TabletsProcDir(db, table, partition, index);
         List<List<Comparable>> result = tabletsProcDir.fetchComparableResult(-1, -1, null);
         System.out.println(result);
         Assert.assertEquals(2, result.size());
@@ -189,7 +189,7 @@ public class TabletsProcDirTest {
 
         // Check
         Config.use_staros = false;
-        TabletsProcDir tabletsProcDir = new TabletsProcDir(db, partition, index);
+        TabletsProcDir tabletsProcDir = new TabletsProcDir(db, table, partition, index);
         List<List<Comparable>> result = tabletsProcDir.fetchComparableResult(-1, -1, null);
         System.out.println(result);
         Assert.assertEquals(3, result.size());
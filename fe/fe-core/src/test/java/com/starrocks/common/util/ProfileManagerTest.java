@@ -0,0 +1,90 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.common.util;
+
+import com.starrocks.common.Config;
+import com.starrocks.thrift.TUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class ProfileManagerTest {
+    private File spillDir;
+    private long oldMaxMemoryBytes;
+    private long oldSpillFileMaxBytes;
+
+    @Before
+    public void setUp() throws Exception {
+        spillDir = Files.createTempDirectory("profile").toFile();
+        oldMaxMemoryBytes = Config.profile_max_memory_bytes;
+        oldSpillFileMaxBytes = Config.profile_spill_file_max_bytes;
+    }
+
+    @After
+    public void tearDown() {
+        Config.profile_max_memory_bytes = oldMaxMemoryBytes;
+        Config.profile_spill_file_max_bytes = oldSpillFileMaxBytes;
+        File[] files = spillDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        spillDir.delete();
+    }
+
+    private static RuntimeProfile createProfile(String queryId) {
+        RuntimeProfile profile = new RuntimeProfile("Query");
+        RuntimeProfile summaryProfile = new RuntimeProfile("Summary");
+        summaryProfile.addInfoString(ProfileManager.QUERY_ID, queryId);
+        summaryProfile.addInfoString(ProfileManager.SQL_STATEMENT, "select " + queryId);
+        profile.addChild(summaryProfile);
+        RuntimeProfile executionProfile = new RuntimeProfile("Execution Profile " + queryId);
+        executionProfile.addCounter("rows", TUnit.UNIT).setValue(queryId.length());
+        profile.addChild(executionProfile);
+        return profile;
+    }
+
+    @Test
+    public void testSpill() {
+        // every profile is spilled, and every spill file holds one profile
+        Config.profile_max_memory_bytes = 0;
+        Config.profile_spill_file_max_bytes = 1;
+        ProfileManager profileManager = new ProfileManager(spillDir, 2);
+
+        RuntimeProfile profile1 = createProfile("q1");
+        profileManager.pushProfile(profile1);
+        Assert.assertEquals(profile1.toString(), profileManager.getProfile("q1"));
+
+        RuntimeProfile profile2 = createProfile("q2");
+        profileManager.pushProfile(profile2);
+        Assert.assertEquals(profile1.toString(), profileManager.getProfile("q1"));
+        Assert.assertEquals(profile2.toString(), profileManager.getProfile("q2"));
+        Assert.assertEquals(2, profileManager.getAllQueries().size());
+        Assert.assertEquals("q2", profileManager.getAllQueries().get(0).get(0));
+
+        // the file of q1 is reused
+        profileManager.pushProfile(createProfile("q3"));
+        Assert.assertNull(profileManager.getProfile("q1"));
+        Assert.assertEquals(profile2.toString(), profileManager.getProfile("q2"));
+        Assert.assertEquals(2, profileManager.getAllQueries().size());
+    }
+
+    @Test
+    public void testNoSpill() {
+        Config.profile_max_memory_bytes = 0;
+        ProfileManager profileManager = new ProfileManager(spillDir, 0);
+        profileManager.pushProfile(createProfile("q1"));
+        Assert.assertNull(profileManager.getProfile("q1"));
+        Assert.assertTrue(profileManager.getAllQueries().isEmpty());
+
+        Config.profile_max_memory_bytes = 1024 * 1024;
+        RuntimeProfile profile = createProfile("q2");
+        profileManager.pushProfile(profile);
+        Assert.assertEquals(profile.toString(), profileManager.getProfile("q2"));
+    }
+}
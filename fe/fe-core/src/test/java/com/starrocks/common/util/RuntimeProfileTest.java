@@ -31,6 +31,10 @@ import com.starrocks.thrift.TUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -178,6 +182,30 @@ public class RuntimeProfileTest {
         profile.prettyPrint(builder, "");
     }
 
+    @Test
+    public void testWriteAndRead() throws IOException {
+        RuntimeProfile profile = new RuntimeProfile("profile");
+        profile.addInfoString("key", "value");
+        profile.getCounterTotalTime().setValue(100);
+        profile.addCounter("rows", TUnit.UNIT).setValue(10);
+        profile.addCounter("bytes", TUnit.BYTES, "rows").setValue(2048);
+        RuntimeProfile child = new RuntimeProfile("child");
+        child.getCounterTotalTime().setValue(40);
+        child.addInfoString("nullValue", null);
+        profile.addChild(child);
+        profile.computeTimeInProfile();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        profile.write(new DataOutputStream(bytes));
+        RuntimeProfile readProfile =
+                RuntimeProfile.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        Assert.assertEquals(profile.toString(), readProfile.toString());
+        Assert.assertEquals(100, readProfile.getCounterTotalTime().getValue());
+        Assert.assertEquals(TUnit.BYTES, readProfile.getCounter("bytes").getType());
+        Assert.assertEquals("child", readProfile.getChildList().get(0).first.getName());
+    }
+
     @Test
     public void testMergeIsomorphicProfiles() {
         List<RuntimeProfile> profiles = Lists.newArrayList();
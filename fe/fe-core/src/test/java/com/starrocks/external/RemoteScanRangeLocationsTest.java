@@ -0,0 +1,160 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.external;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.DescriptorTable;
+import com.starrocks.catalog.HiveTable;
+import com.starrocks.catalog.PartitionKey;
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
+import com.starrocks.external.hive.HdfsFileBlockDesc;
+import com.starrocks.external.hive.HdfsFileDesc;
+import com.starrocks.external.hive.HdfsFileFormat;
+import com.starrocks.external.hive.HiveMetaClient;
+import com.starrocks.external.hive.HivePartition;
+import com.starrocks.external.hive.text.TextFileFormatDesc;
+import com.starrocks.sql.plan.HDFSScanNodePredicates;
+import com.starrocks.thrift.THdfsScanRange;
+import com.starrocks.thrift.TScanRangeLocations;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class RemoteScanRangeLocationsTest {
+    @Mocked
+    private HiveTable table;
+
+    private long splitSize;
+    private HiveMetaClient metaClient;
+
+    @Before
+    public void setUp() throws DdlException {
+        splitSize = Config.hive_max_split_size;
+        Config.hive_max_split_size = 100;
+        metaClient = new HiveMetaClient("") {
+            @Override
+            public String getHdfsDataNodeIp(long hostId) {
+                return "127.0.0." + hostId;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.hive_max_split_size = splitSize;
+    }
+
+    private HdfsFileDesc createFile(String name, boolean splittable, long... blockLengths) {
+        List<HdfsFileBlockDesc> blocks = Lists.newArrayList();
+        long offset = 0;
+        for (long length : blockLengths) {
+            blocks.add(new HdfsFileBlockDesc(offset, length, new long[] {1L, 2L}, new long[] {0L, 0L}, metaClient));
+            offset += length;
+        }
+        return new HdfsFileDesc(name, "", offset, ImmutableList.copyOf(blocks), splittable,
+                new TextFileFormatDesc("\001", "\n"));
+    }
+
+    private RemoteScanRangeLocations setup(List<HivePartition> partitions) throws Exception {
+        Map<Long, PartitionKey> idToPartitionKey = Maps.newHashMap();
+        for (long i = 0; i < partitions.size(); i++) {
+            idToPartitionKey.put(i, new PartitionKey());
+        }
+        HDFSScanNodePredicates predicates = new HDFSScanNodePredicates();
+        predicates.setIdToPartitionKey(idToPartitionKey);
+        predicates.setSelectedPartitionIds(Lists.newArrayList(idToPartitionKey.keySet()));
+        new Expectations() {
+            {
+                table.getPartitions((List<PartitionKey>) any);
+                result = partitions;
+                minTimes = 0;
+            }
+        };
+
+        RemoteScanRangeLocations locations = new RemoteScanRangeLocations();
+        locations.setupScanRangeLocations(new DescriptorTable(), table, predicates);
+        return locations;
+    }
+
+    private static String toString(TScanRangeLocations locations) {
+        THdfsScanRange range = locations.scan_range.hdfs_scan_range;
+        return range.partition_id + "/" + range.relative_path + ":" + range.offset + "+" + range.length;
+    }
+
+    @Test
+    public void testSplitSource() throws Exception {
+        List<HivePartition> partitions = Lists.newArrayList(
+                new HivePartition(HdfsFileFormat.TEXT, ImmutableList.of(
+                        // split into 100, 75 and 75 bytes
+                        createFile("a", true, 250),
+                        createFile("empty", true)), "/p0"),
+                new HivePartition(HdfsFileFormat.TEXT, ImmutableList.of(
+                        // not splittable, one scan range per block
+                        createFile("b", false, 150, 50)), "/p1"));
+        RemoteScanRangeLocations locations = setup(partitions);
+        // scan ranges are only counted when the partitions are loaded
+        Assert.assertEquals(5, locations.getScanRangeLocationsSize());
+
+        List<String> expected = Lists.newArrayList("0/a:0+100", "0/a:100+75", "0/a:175+75", "1/b:0+150", "1/b:150+50");
+        List<String> all = Lists.newArrayList();
+        for (TScanRangeLocations scanRange : locations.getScanRangeLocations(0)) {
+            all.add(toString(scanRange));
+            Assert.assertEquals(2, scanRange.getLocationsSize());
+            Assert.assertEquals("127.0.0.1", scanRange.getLocations().get(0).getServer().getHostname());
+        }
+        Assert.assertEquals(expected, all);
+
+        // a block split into more scan ranges than the batch size is returned as a whole
+        SplitSource splitSource = locations.getSplitSource();
+        List<String> batches = Lists.newArrayList();
+        List<TScanRangeLocations> batch = splitSource.getNextBatch(2);
+        Assert.assertEquals(3, batch.size());
+        batch.forEach(scanRange -> batches.add(toString(scanRange)));
+        batch = splitSource.getNextBatch(2);
+        Assert.assertEquals(2, batch.size());
+        batch.forEach(scanRange -> batches.add(toString(scanRange)));
+        Assert.assertTrue(splitSource.getNextBatch(2).isEmpty());
+        Assert.assertEquals(expected, batches);
+
+        // the last batch is partial
+        splitSource = locations.getSplitSource();
+        Assert.assertEquals(4, splitSource.getNextBatch(4).size());
+        batch = splitSource.getNextBatch(4);
+        Assert.assertEquals(1, batch.size());
+        Assert.assertEquals("1/b:150+50", toString(batch.get(0)));
+        Assert.assertTrue(splitSource.getNextBatch(4).isEmpty());
+    }
+
+    @Test
+    public void testSplitSizeChanged() throws Exception {
+        RemoteScanRangeLocations locations = setup(Lists.newArrayList(
+                new HivePartition(HdfsFileFormat.TEXT, ImmutableList.of(createFile("a", true, 250)), "/p0")));
+        Assert.assertEquals(3, locations.getScanRangeLocationsSize());
+
+        // the scan ranges are created with the split size when the partitions are loaded
+        Config.hive_max_split_size = 1000;
+        Assert.assertEquals(3, locations.getSplitSource().getNextBatch(10).size());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        RemoteScanRangeLocations locations = setup(Lists.newArrayList());
+        Assert.assertEquals(0, locations.getScanRangeLocationsSize());
+        Assert.assertTrue(locations.getScanRangeLocations(0).isEmpty());
+        Assert.assertTrue(locations.getSplitSource().getNextBatch(10).isEmpty());
+
+        locations = setup(Lists.newArrayList(
+                new HivePartition(HdfsFileFormat.TEXT, ImmutableList.of(createFile("empty", true)), "/p0")));
+        Assert.assertEquals(0, locations.getScanRangeLocationsSize());
+        Assert.assertTrue(locations.getSplitSource().getNextBatch(10).isEmpty());
+    }
+}
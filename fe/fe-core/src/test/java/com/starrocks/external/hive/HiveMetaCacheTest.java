@@ -12,7 +12,9 @@ import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
 import org.apache.hadoop.hive.metastore.api.SerDeInfo;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
@@ -256,6 +258,75 @@ public class HiveMetaCacheTest {
         Assert.assertEquals(2, clientMethodGetPartitionStatsCalledTimes);
     }
 
+    @Test
+    public void testPersistentCache() throws Exception {
+        String oldDir = Config.hive_meta_persistent_cache_dir;
+        File dir = new File("/tmp/hive_meta_cache_" + System.currentTimeMillis());
+        Config.hive_meta_persistent_cache_dir = dir.getAbsolutePath();
+        try {
+            PersistedHiveMetaClient metaClient = new PersistedHiveMetaClient();
+            HiveMetaPersistentCache persistentCache = HiveMetaPersistentCache.open("resource", metaClient);
+            PartitionKey partitionKey = Utils.createPartitionKey(Lists.newArrayList("1", "2", "3"), partColumns);
+            HiveMetaCache metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10), persistentCache);
+            Assert.assertEquals(10000L, metaCache.getPartitionStats(hmsTable, partitionKey).getNumRows());
+            Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
+            Assert.assertEquals(1, clientMethodGetPartitionStatsCalledTimes);
+
+            // restarted, with host ids assigned by a new client
+            metaClient = new PersistedHiveMetaClient();
+            metaClient.getHdfsBlockHostId("host0:50010");
+            persistentCache = HiveMetaPersistentCache.open("resource", metaClient);
+            metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10), persistentCache);
+            HivePartition partition = metaCache.getPartition(hmsTable, partitionKey);
+            HivePartitionStats partitionStats = metaCache.getPartitionStats(hmsTable, partitionKey);
+            Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
+            Assert.assertEquals(1, clientMethodGetPartitionStatsCalledTimes);
+            Assert.assertEquals(partitionPath, partition.getFullPath());
+            Assert.assertEquals(10000L, partitionStats.getTotalFileBytes());
+            HdfsFileBlockDesc blockDesc = partition.getFiles().get(0).getBlockDescs().get(0);
+            Assert.assertEquals("host1", blockDesc.getDataNodeIp(blockDesc.getReplicaHostIds()[0]));
+
+            // the partition directory is modified
+            metaClient.modificationTime++;
+            metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10), persistentCache);
+            metaCache.getPartition(hmsTable, partitionKey);
+            Assert.assertEquals(2, clientMethodGetPartitionCalledTimes);
+
+            metaCache.clearCache("db", "tbl", false);
+            Assert.assertNull(persistentCache.getPartition(HivePartitionKey.gen("db", "tbl",
+                    Lists.newArrayList("1", "2", "3"))));
+        } finally {
+            Config.hive_meta_persistent_cache_dir = oldDir;
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+
+    public class PersistedHiveMetaClient extends MockedHiveMetaClient {
+        private long modificationTime = 1000L;
+
+        public PersistedHiveMetaClient() throws DdlException {
+            super();
+        }
+
+        @Override
+        public long getModificationTime(String dirPath) {
+            return modificationTime;
+        }
+
+        @Override
+        public HivePartition getPartition(String dbName, String tableName, List<String> partValues)
+                throws DdlException {
+            clientMethodGetPartitionCalledTimes++;
+            HdfsFileBlockDesc blockDesc = new HdfsFileBlockDesc(0, 10000L,
+                    new long[] {getHdfsBlockHostId("host1:50010")}, new long[] {-1}, this);
+            HivePartition partition = new HivePartition(HdfsFileFormat.PARQUET,
+                    ImmutableList.of(new HdfsFileDesc("file1", "", 10000L, ImmutableList.of(blockDesc))),
+                    partitionPath);
+            partition.setModificationTime(modificationTime);
+            return partition;
+        }
+    }
+
     public class MockedHiveMetaClient extends HiveMetaClient {
         public MockedHiveMetaClient() throws DdlException {
             super("");
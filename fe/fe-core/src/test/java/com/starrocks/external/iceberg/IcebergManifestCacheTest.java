@@ -0,0 +1,98 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.external.iceberg;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.apache.iceberg.types.Types.NestedField.required;
+
+public class IcebergManifestCacheTest {
+    private static final Schema SCHEMA = new Schema(
+            required(1, "id", Types.IntegerType.get()),
+            required(2, "data", Types.StringType.get()));
+    private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).identity("data").build();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = new HadoopTables(new Configuration()).create(SCHEMA, SPEC, temp.newFolder("t").getAbsolutePath());
+    }
+
+    private static DataFile createDataFile(String name, String partition) {
+        return DataFiles.builder(SPEC)
+                .withPath("/path/to/" + name + ".parquet")
+                .withFileSizeInBytes(100)
+                .withPartitionPath("data=" + partition)
+                .withRecordCount(10)
+                .build();
+    }
+
+    private static Set<String> getPaths(Collection<DataFile> files) {
+        return files.stream().map(file -> file.path().toString()).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testGetSnapshotFiles() {
+        DataFile fileA = createDataFile("a", "a");
+        DataFile fileB = createDataFile("b", "b");
+        DataFile fileC = createDataFile("c", "b");
+        table.newAppend().appendFile(fileA).appendFile(fileB).commit();
+        long firstSnapshotId = table.currentSnapshot().snapshotId();
+
+        IcebergManifestCache cache = new IcebergManifestCache(1000, 3600);
+        IcebergManifestCache.SnapshotFiles files = cache.getSnapshotFiles(table, table.currentSnapshot());
+        Assert.assertEquals(Sets.newHashSet("/path/to/a.parquet", "/path/to/b.parquet"),
+                getPaths(files.getDataFiles()));
+        Assert.assertFalse(files.hasDeleteFiles());
+        Assert.assertSame(files, cache.getSnapshotFiles(table, table.currentSnapshot()));
+
+        // new snapshots are applied to the cached one
+        table.newDelete().deleteFile(fileA).commit();
+        table.newAppend().appendFile(fileC).commit();
+        files = cache.getSnapshotFiles(table, table.currentSnapshot());
+        Assert.assertEquals(table.currentSnapshot().snapshotId(), files.getSnapshotId());
+        Assert.assertEquals(Sets.newHashSet("/path/to/b.parquet", "/path/to/c.parquet"),
+                getPaths(files.getDataFiles()));
+
+        // the cached snapshot isn't an ancestor after rollback
+        table.manageSnapshots().rollbackTo(firstSnapshotId).commit();
+        files = cache.getSnapshotFiles(table, table.currentSnapshot());
+        Assert.assertEquals(firstSnapshotId, files.getSnapshotId());
+        Assert.assertEquals(Sets.newHashSet("/path/to/a.parquet", "/path/to/b.parquet"),
+                getPaths(files.getDataFiles()));
+    }
+
+    @Test
+    public void testGetDataFilesWithPredicates() {
+        table.newAppend().appendFile(createDataFile("a", "a")).appendFile(createDataFile("b", "b")).commit();
+
+        IcebergManifestCache cache = new IcebergManifestCache(1000, 3600);
+        IcebergManifestCache.SnapshotFiles files = cache.getSnapshotFiles(table, table.currentSnapshot());
+        Assert.assertEquals(Sets.newHashSet("/path/to/b.parquet"),
+                getPaths(files.getDataFiles(table, Lists.newArrayList(Expressions.equal("data", "b")))));
+        Assert.assertEquals(2, files.getDataFiles(table, Lists.newArrayList()).size());
+    }
+}
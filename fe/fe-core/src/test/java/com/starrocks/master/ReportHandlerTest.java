@@ -0,0 +1,192 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.master;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.CatalogTestUtil;
+import com.starrocks.catalog.FakeCatalog;
+import com.starrocks.catalog.FakeEditLog;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.common.Config;
+import com.starrocks.common.FeMetaVersion;
+import com.starrocks.common.Pair;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.metric.Metric;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.system.Backend;
+import com.starrocks.task.MasterTask;
+import com.starrocks.thrift.TBackend;
+import com.starrocks.thrift.TMasterResult;
+import com.starrocks.thrift.TPartitionVersionInfo;
+import com.starrocks.thrift.TReportRequest;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TTablet;
+import com.starrocks.thrift.TTabletInfo;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+
+public class ReportHandlerTest {
+    // a backend without any replica
+    private static final long EMPTY_BACKEND_ID = 100L;
+
+    private FakeCatalog fakeCatalog;
+    private FakeEditLog fakeEditLog;
+    private boolean enableIncrementalTabletReport;
+    private ReportHandler reportHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        fakeEditLog = new FakeEditLog();
+        fakeCatalog = new FakeCatalog();
+        CatalogTestUtil.createTestCatalog();
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_40);
+        metaContext.setThreadLocalInfo();
+        Catalog.getCurrentSystemInfo().addBackend(new Backend(EMPTY_BACKEND_ID, "host100", 123));
+
+        new MockUp<MetricRepo>() {
+            @Mock
+            public void addMetric(Metric<?> metric) {
+            }
+        };
+        enableIncrementalTabletReport = Config.enable_incremental_tablet_report;
+        Config.enable_incremental_tablet_report = true;
+        reportHandler = new ReportHandler();
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_incremental_tablet_report = enableIncrementalTabletReport;
+    }
+
+    private static TReportRequest createTabletReport(long backendId, long reportVersion, long tabletReportId) {
+        Backend backend = Catalog.getCurrentSystemInfo().getBackend(backendId);
+        TReportRequest request = new TReportRequest(new TBackend(backend.getHost(), backend.getBePort(),
+                backend.getHttpPort()));
+        request.setReport_version(reportVersion);
+        request.setTablets(Maps.newHashMap());
+        request.setTablet_report_id(tabletReportId);
+        return request;
+    }
+
+    private static TReportRequest createIncrementalTabletReport(long backendId, long reportVersion,
+                                                                long tabletReportId, long baseTabletReportId) {
+        TReportRequest request = createTabletReport(backendId, reportVersion, tabletReportId);
+        request.setBase_tablet_report_id(baseTabletReportId);
+        request.setRemoved_tablet_ids(Lists.newArrayList());
+        return request;
+    }
+
+    // apply the queued reports
+    private void applyReports() {
+        BlockingQueue<MasterTask> reportQueue = Deencapsulation.getField(reportHandler, "reportQueue");
+        MasterTask task;
+        while ((task = reportQueue.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private Long getAckedTabletReportId(long backendId) {
+        Map<Long, Long> backendToAckedTabletReportId =
+                Deencapsulation.getField(reportHandler, "backendToAckedTabletReportId");
+        return backendToAckedTabletReportId.get(backendId);
+    }
+
+    @Test
+    public void testAckAppliedTabletReport() throws Exception {
+        TMasterResult result = reportHandler.handleReport(createTabletReport(EMPTY_BACKEND_ID, 1L, 10L));
+        Assert.assertEquals(10L, result.getAcked_tablet_report_id());
+        // not applied yet
+        Assert.assertNull(getAckedTabletReportId(EMPTY_BACKEND_ID));
+
+        applyReports();
+        Assert.assertEquals(Long.valueOf(10L), getAckedTabletReportId(EMPTY_BACKEND_ID));
+
+        result = reportHandler.handleReport(createIncrementalTabletReport(EMPTY_BACKEND_ID, 2L, 11L, 10L));
+        Assert.assertEquals(11L, result.getAcked_tablet_report_id());
+        Assert.assertNull(getAckedTabletReportId(EMPTY_BACKEND_ID));
+
+        applyReports();
+        Assert.assertEquals(Long.valueOf(11L), getAckedTabletReportId(EMPTY_BACKEND_ID));
+    }
+
+    @Test
+    public void testIncrementalTabletReportBeforeApplied() throws Exception {
+        TMasterResult result = reportHandler.handleReport(createTabletReport(EMPTY_BACKEND_ID, 1L, 10L));
+        Assert.assertEquals(10L, result.getAcked_tablet_report_id());
+
+        // the report it's based on is still in the queue, the backend falls back to a full report
+        result = reportHandler.handleReport(createIncrementalTabletReport(EMPTY_BACKEND_ID, 2L, 11L, 10L));
+        Assert.assertFalse(result.isSetAcked_tablet_report_id());
+        Assert.assertNull(getAckedTabletReportId(EMPTY_BACKEND_ID));
+    }
+
+    @Test
+    public void testIncrementalTabletReportOnUnackedReport() throws Exception {
+        reportHandler.handleReport(createTabletReport(EMPTY_BACKEND_ID, 1L, 10L));
+        applyReports();
+
+        TMasterResult result = reportHandler.handleReport(createIncrementalTabletReport(EMPTY_BACKEND_ID, 2L, 12L, 11L));
+        Assert.assertFalse(result.isSetAcked_tablet_report_id());
+        // the backend falls back to a full report
+        Assert.assertNull(getAckedTabletReportId(EMPTY_BACKEND_ID));
+    }
+
+    @Test
+    public void testSkippedTabletReportNotAcked() throws Exception {
+        long backendId = CatalogTestUtil.testBackendId1;
+        Catalog.getCurrentSystemInfo().updateBackendReportVersion(backendId, 5L, CatalogTestUtil.testDbId1);
+
+        // the replica on the backend isn't reported, but it isn't dropped from meta for the stale report
+        TMasterResult result = reportHandler.handleReport(createTabletReport(backendId, 4L, 10L));
+        Assert.assertEquals(10L, result.getAcked_tablet_report_id());
+        applyReports();
+        Assert.assertNull(getAckedTabletReportId(backendId));
+        Assert.assertNotNull(Catalog.getCurrentInvertedIndex().getReplica(CatalogTestUtil.testTabletId1, backendId));
+
+        // the backend falls back to a full report
+        result = reportHandler.handleReport(createIncrementalTabletReport(backendId, 5L, 11L, 10L));
+        Assert.assertFalse(result.isSetAcked_tablet_report_id());
+    }
+
+    @Test
+    public void testFailedTabletReportNotAcked() throws Exception {
+        reportHandler.handleReport(createTabletReport(EMPTY_BACKEND_ID, 1L, 10L));
+        applyReports();
+        Assert.assertEquals(Long.valueOf(10L), getAckedTabletReportId(EMPTY_BACKEND_ID));
+
+        new MockUp<TabletInvertedIndex>() {
+            @Mock
+            public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, Set<Long> removedTabletIds,
+                                     HashMap<Long, TStorageMedium> storageMediumMap,
+                                     ListMultimap<Long, Long> tabletSyncMap,
+                                     ListMultimap<Long, Long> tabletDeleteFromMeta,
+                                     Set<Long> foundTabletsWithValidSchema,
+                                     Map<Long, TTabletInfo> foundTabletsWithInvalidSchema,
+                                     ListMultimap<TStorageMedium, Long> tabletMigrationMap,
+                                     Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish,
+                                     ListMultimap<Long, Long> transactionsToClear,
+                                     ListMultimap<Long, Long> tabletRecoveryMap,
+                                     Set<Pair<Long, Integer>> tabletWithoutPartitionId) {
+                throw new RuntimeException("failed to apply the tablet report");
+            }
+        };
+        TMasterResult result = reportHandler.handleReport(createIncrementalTabletReport(EMPTY_BACKEND_ID, 2L, 11L, 10L));
+        Assert.assertEquals(11L, result.getAcked_tablet_report_id());
+        applyReports();
+        Assert.assertNull(getAckedTabletReportId(EMPTY_BACKEND_ID));
+    }
+}
@@ -0,0 +1,69 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.mysql;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MysqlBinaryRowConverterTest {
+    @Test
+    public void testConvert() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(
+                MysqlColType.MYSQL_TYPE_LONGLONG,
+                MysqlColType.MYSQL_TYPE_VAR_STRING,
+                MysqlColType.MYSQL_TYPE_DOUBLE,
+                MysqlColType.MYSQL_TYPE_DATE,
+                MysqlColType.MYSQL_TYPE_DATETIME));
+
+        MysqlSerializer textRow = MysqlSerializer.newInstance();
+        textRow.writeLenEncodedString("12345678901");
+        textRow.writeNull();
+        textRow.writeLenEncodedString("1.5");
+        textRow.writeLenEncodedString("2022-03-04");
+        textRow.writeLenEncodedString("2022-03-04 05:06:07.000008");
+
+        ByteBuffer binaryRow = converter.convert(textRow.toByteBuffer());
+        Assert.assertEquals(0x00, MysqlProto.readInt1(binaryRow));
+        // null bitmap: 5 columns + 2 bits offset, the 2nd column is null
+        Assert.assertEquals(1 << 3, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(12345678901L, MysqlProto.readInt8(binaryRow));
+        Assert.assertEquals(1.5, Double.longBitsToDouble(MysqlProto.readInt8(binaryRow)), 0);
+
+        Assert.assertEquals(4, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(2022, MysqlProto.readInt2(binaryRow));
+        Assert.assertEquals(3, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(4, MysqlProto.readInt1(binaryRow));
+
+        Assert.assertEquals(11, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(2022, MysqlProto.readInt2(binaryRow));
+        Assert.assertEquals(3, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(4, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(5, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(6, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(7, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(8, MysqlProto.readInt4(binaryRow));
+        Assert.assertEquals(0, binaryRow.remaining());
+    }
+
+    @Test
+    public void testConvertTime() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(
+                MysqlColType.MYSQL_TYPE_TIME, MysqlColType.MYSQL_TYPE_NEWDECIMAL));
+        MysqlSerializer textRow = MysqlSerializer.newInstance();
+        textRow.writeLenEncodedString("-26:01:02");
+        textRow.writeLenEncodedString("3.14");
+
+        ByteBuffer binaryRow = converter.convert(textRow.toByteBuffer());
+        Assert.assertEquals(0x00, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(0, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(8, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(1, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(1, MysqlProto.readInt4(binaryRow));
+        Assert.assertEquals(2, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(1, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals(2, MysqlProto.readInt1(binaryRow));
+        Assert.assertEquals("3.14", new String(MysqlProto.readLenEncodedString(binaryRow)));
+    }
+}
@@ -21,18 +21,26 @@
 
 package com.starrocks.persist;
 
+import com.google.common.collect.Lists;
 import com.starrocks.catalog.Catalog;
+import com.starrocks.journal.Journal;
+import com.starrocks.journal.JournalEntity;
+import com.starrocks.journal.JournalFactory;
 import com.starrocks.journal.bdbje.BDBJEJournal;
 import com.starrocks.journal.bdbje.Timestamp;
+import com.starrocks.utframe.MockJournal;
 import mockit.Expectations;
 import mockit.Mock;
 import mockit.MockUp;
 import mockit.Mocked;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 public class EditLogTest {
     private String meta = "editLogTestDir/";
@@ -129,4 +137,56 @@ public class EditLogTest {
         EditLog editLog = new EditLog("node1");
         editLog.logTimestamp(new Timestamp());
     }
+
+    @Test
+    public void testGroupCommit(@Mocked Catalog catalog) throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(Lists.newArrayList());
+        MockJournal journal = new MockJournal() {
+            @Override
+            public void batchWrite(List<JournalEntity> entities) {
+                batchSizes.add(entities.size());
+                super.batchWrite(entities);
+            }
+        };
+        new MockUp<JournalFactory>() {
+            @Mock
+            public Journal create(String name) {
+                return journal;
+            }
+        };
+
+        new Expectations() {
+            {
+                Catalog.getCurrentCatalog();
+                result = catalog;
+                minTimes = 0;
+
+                catalog.isMaster();
+                result = true;
+                minTimes = 0;
+            }
+        };
+
+        EditLog editLog = new EditLog("node1");
+        int threadNum = 8;
+        int logNum = 100;
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < threadNum; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < logNum; j++) {
+                    editLog.logSaveNextId(j);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // every log is written and synced before logSaveNextId() returns
+        Assert.assertEquals(threadNum * logNum, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals(threadNum * logNum + 1, journal.getMaxJournalId());
+        Assert.assertEquals(threadNum * logNum, editLog.getTxId());
+    }
 }
@@ -0,0 +1,135 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.planner;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.TupleDescriptor;
+import com.starrocks.analysis.TupleId;
+import com.starrocks.catalog.IcebergTable;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.external.SplitSource;
+import com.starrocks.thrift.THdfsScanRange;
+import com.starrocks.thrift.TScanRangeLocations;
+import mockit.Mocked;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.iceberg.types.Types.NestedField.required;
+
+public class IcebergScanNodeTest {
+    private static final Schema SCHEMA = new Schema(required(1, "id", Types.IntegerType.get()));
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Mocked
+    private IcebergTable icebergTable;
+
+    private IcebergScanNode scanNode;
+
+    @Before
+    public void setUp() {
+        TupleDescriptor desc = new TupleDescriptor(new TupleId(0));
+        desc.setTable(icebergTable);
+        scanNode = new IcebergScanNode(new PlanNodeId(0), desc, "IcebergScanNode");
+    }
+
+    private static DataFile createDataFile(String name, long size) {
+        return DataFiles.builder(PartitionSpec.unpartitioned())
+                .withPath("/path/to/" + name + ".parquet")
+                .withFileSizeInBytes(size)
+                .withRecordCount(10)
+                .build();
+    }
+
+    private static List<String> toStrings(List<TScanRangeLocations> scanRanges) {
+        return scanRanges.stream().map(scanRange -> {
+            THdfsScanRange range = scanRange.scan_range.hdfs_scan_range;
+            return range.full_path + ":" + range.offset + "+" + range.length;
+        }).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSplitSource() throws Exception {
+        // data files got from the manifest cache are split by the split size
+        Deencapsulation.setField(scanNode, "dataFiles", Lists.newArrayList(
+                createDataFile("a", 250), createDataFile("empty", 0), createDataFile("b", 50)));
+        Deencapsulation.setField(scanNode, "splitSize", 100L);
+
+        List<String> expected = Lists.newArrayList("/path/to/a.parquet:0+100", "/path/to/a.parquet:100+100",
+                "/path/to/a.parquet:200+50", "/path/to/b.parquet:0+50");
+        Assert.assertEquals(expected, toStrings(scanNode.getScanRangeLocations(0)));
+
+        SplitSource splitSource = scanNode.getSplitSource();
+        List<TScanRangeLocations> scanRanges = Lists.newArrayList();
+        List<TScanRangeLocations> batch = splitSource.getNextBatch(3);
+        Assert.assertEquals(3, batch.size());
+        scanRanges.addAll(batch);
+        // the last batch is partial
+        batch = splitSource.getNextBatch(3);
+        Assert.assertEquals(1, batch.size());
+        scanRanges.addAll(batch);
+        Assert.assertTrue(splitSource.getNextBatch(3).isEmpty());
+        Assert.assertEquals(expected, toStrings(scanRanges));
+    }
+
+    @Test
+    public void testTableScanSplitSource() throws Exception {
+        Table table = new HadoopTables(new Configuration()).create(SCHEMA, PartitionSpec.unpartitioned(),
+                temp.newFolder("t").getAbsolutePath());
+        table.newAppend()
+                .appendFile(createDataFile("a", 100))
+                .appendFile(createDataFile("b", 100))
+                .appendFile(createDataFile("c", 100))
+                .commit();
+        Deencapsulation.setField(scanNode, "tableScan", table.newScan());
+
+        // the file scan tasks are planned as the batches are consumed
+        SplitSource splitSource = scanNode.getSplitSource();
+        List<TScanRangeLocations> scanRanges = Lists.newArrayList();
+        List<TScanRangeLocations> batch = splitSource.getNextBatch(2);
+        Assert.assertEquals(2, batch.size());
+        scanRanges.addAll(batch);
+        batch = splitSource.getNextBatch(2);
+        Assert.assertEquals(1, batch.size());
+        scanRanges.addAll(batch);
+        Assert.assertTrue(splitSource.getNextBatch(2).isEmpty());
+        Assert.assertEquals(3, toStrings(scanRanges).stream().distinct().count());
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        Deencapsulation.setField(scanNode, "dataFiles", Lists.newArrayList(
+                createDataFile("a", 50), createDataFile("b", 50), createDataFile("c", 50)));
+        scanNode.setLimit(15);
+
+        // the first two files have 20 records, which are enough for the limit
+        SplitSource splitSource = scanNode.getSplitSource();
+        Assert.assertEquals(2, splitSource.getNextBatch(10).size());
+        Assert.assertTrue(splitSource.getNextBatch(10).isEmpty());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        // the table has no snapshot
+        Assert.assertTrue(scanNode.getSplitSource().getNextBatch(10).isEmpty());
+        Assert.assertTrue(scanNode.getScanRangeLocations(0).isEmpty());
+
+        Deencapsulation.setField(scanNode, "dataFiles", Lists.newArrayList());
+        Assert.assertTrue(scanNode.getSplitSource().getNextBatch(10).isEmpty());
+    }
+}
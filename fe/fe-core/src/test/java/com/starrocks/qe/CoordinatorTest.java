@@ -0,0 +1,382 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.qe;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.analysis.TupleDescriptor;
+import com.starrocks.analysis.TupleId;
+import com.starrocks.common.Config;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.external.SplitSource;
+import com.starrocks.planner.HashJoinNode;
+import com.starrocks.planner.HdfsScanNode;
+import com.starrocks.planner.PlanNodeId;
+import com.starrocks.planner.RuntimeFilterDescription;
+import com.starrocks.proto.PExecPlanFragmentResult;
+import com.starrocks.proto.PStatus;
+import com.starrocks.rpc.BackendServiceProxy;
+import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.sql.plan.PlanTestBase;
+import com.starrocks.system.Backend;
+import com.starrocks.thrift.TDescriptorTable;
+import com.starrocks.thrift.TExecBatchPlanFragmentsParams;
+import com.starrocks.thrift.TExecPlanFragmentParams;
+import com.starrocks.thrift.THdfsScanRange;
+import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.thrift.TPlanNodeType;
+import com.starrocks.thrift.TRuntimeFilterMergeNode;
+import com.starrocks.thrift.TRuntimeFilterParams;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeLocation;
+import com.starrocks.thrift.TScanRangeLocations;
+import com.starrocks.thrift.TScanRangeParams;
+import com.starrocks.thrift.TUniqueId;
+import com.starrocks.utframe.UtFrameUtils;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public class CoordinatorTest extends PlanTestBase {
+    private final List<TExecBatchPlanFragmentsParams> batchRequests = Collections.synchronizedList(Lists.newArrayList());
+    private final List<TExecPlanFragmentParams> requests = Collections.synchronizedList(Lists.newArrayList());
+    private boolean enableBatchDeploy;
+    private boolean enablePipeline;
+    private int scanRangeBatchSize;
+
+    private static Future<PExecPlanFragmentResult> okFuture() {
+        PExecPlanFragmentResult result = new PExecPlanFragmentResult();
+        result.status = new PStatus();
+        result.status.statusCode = 0;
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Before
+    public void setUp() {
+        enableBatchDeploy = Config.enable_batch_deploy_fragments;
+        scanRangeBatchSize = Config.external_scan_range_batch_size;
+        enablePipeline = connectContext.getSessionVariable().isEnablePipelineEngine();
+        connectContext.getSessionVariable().setEnablePipelineEngine(false);
+        connectContext.getSessionVariable().setParallelExecInstanceNum(3);
+        connectContext.setExecutionId(new TUniqueId(0x33, 0x0));
+        new MockUp<BackendServiceProxy>() {
+            @Mock
+            public Future<PExecPlanFragmentResult> execPlanFragmentAsync(TNetworkAddress address,
+                                                                        TExecPlanFragmentParams tRequest) {
+                requests.add(tRequest);
+                return okFuture();
+            }
+
+            @Mock
+            public Future<PExecPlanFragmentResult> execBatchPlanFragmentsAsync(TNetworkAddress address,
+                                                                              TExecBatchPlanFragmentsParams tRequest) {
+                batchRequests.add(tRequest);
+                return okFuture();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_batch_deploy_fragments = enableBatchDeploy;
+        Config.external_scan_range_batch_size = scanRangeBatchSize;
+        connectContext.getSessionVariable().setEnablePipelineEngine(enablePipeline);
+        connectContext.getSessionVariable().setParallelExecInstanceNum(1);
+    }
+
+    private ExecPlan exec(String sql) throws Exception {
+        ExecPlan execPlan = UtFrameUtils.getPlanAndFragment(connectContext, sql).second;
+        Coordinator coord = new Coordinator(connectContext, execPlan.getFragments(), execPlan.getScanNodes(),
+                execPlan.getDescTbl().toThrift());
+        coord.exec();
+        return execPlan;
+    }
+
+    private static boolean hasScanNode(TExecPlanFragmentParams params) {
+        return params.fragment.plan.nodes.stream().anyMatch(node -> node.node_type == TPlanNodeType.OLAP_SCAN_NODE);
+    }
+
+    @Test
+    public void testBatchDeploy() throws Exception {
+        Config.enable_batch_deploy_fragments = true;
+        ExecPlan execPlan = exec("select * from t0");
+        Assert.assertTrue(requests.isEmpty());
+
+        // the result fragment and 3 scan instances are all on the only backend,
+        // so each fragment is deployed with one rpc
+        Assert.assertEquals(execPlan.getFragments().size(), batchRequests.size());
+        Set<TUniqueId> instanceIds = Sets.newHashSet();
+        TExecBatchPlanFragmentsParams scanRequest = null;
+        for (TExecBatchPlanFragmentsParams batchRequest : batchRequests) {
+            TExecPlanFragmentParams commonParam = batchRequest.common_param;
+            // the fragment and the descriptor table are shared by the instances
+            Assert.assertTrue(commonParam.isSetFragment());
+            Assert.assertTrue(commonParam.isSetDesc_tbl());
+            Assert.assertTrue(commonParam.params.per_node_scan_ranges.isEmpty());
+            Assert.assertFalse(commonParam.isSetBackend_num());
+            for (TExecPlanFragmentParams uniqueParam : batchRequest.unique_param_per_instance) {
+                Assert.assertFalse(uniqueParam.isSetFragment());
+                Assert.assertFalse(uniqueParam.isSetDesc_tbl());
+                Assert.assertTrue(uniqueParam.isSetBackend_num());
+                Assert.assertTrue(instanceIds.add(uniqueParam.params.fragment_instance_id));
+            }
+            if (hasScanNode(commonParam)) {
+                scanRequest = batchRequest;
+            }
+        }
+        Assert.assertEquals(4, instanceIds.size());
+
+        // the 3 tablets of t0 are scanned by 3 instances
+        Assert.assertNotNull(scanRequest);
+        Assert.assertEquals(3, scanRequest.unique_param_per_instance.size());
+        Set<Long> tabletIds = Sets.newHashSet();
+        for (TExecPlanFragmentParams uniqueParam : scanRequest.unique_param_per_instance) {
+            Assert.assertEquals(1, uniqueParam.params.per_node_scan_ranges.size());
+            for (List<TScanRangeParams> scanRanges : uniqueParam.params.per_node_scan_ranges.values()) {
+                for (TScanRangeParams scanRange : scanRanges) {
+                    Assert.assertTrue(tabletIds.add(scanRange.scan_range.internal_scan_range.tablet_id));
+                }
+            }
+        }
+        Assert.assertEquals(3, tabletIds.size());
+    }
+
+    @Test
+    public void testDeployPerInstance() throws Exception {
+        Config.enable_batch_deploy_fragments = false;
+        exec("select * from t0");
+        Assert.assertTrue(batchRequests.isEmpty());
+
+        // every instance carries the fragment and the descriptor table
+        Assert.assertEquals(4, requests.size());
+        Set<TUniqueId> instanceIds = Sets.newHashSet();
+        for (TExecPlanFragmentParams request : requests) {
+            Assert.assertTrue(request.isSetFragment());
+            Assert.assertTrue(request.isSetDesc_tbl());
+            Assert.assertTrue(instanceIds.add(request.params.fragment_instance_id));
+        }
+    }
+
+    /**
+     * Scan ranges of 10 bytes on the given hosts, which records the size of each batch requested.
+     */
+    private static class TestSplitSource implements SplitSource {
+        private final List<String> hosts;
+        private final List<Integer> batchSizes = Lists.newArrayList();
+        private int next = 0;
+
+        TestSplitSource(List<String> hosts) {
+            this.hosts = hosts;
+        }
+
+        @Override
+        public List<TScanRangeLocations> getNextBatch(int maxSize) {
+            List<TScanRangeLocations> batch = Lists.newArrayList();
+            while (batch.size() < maxSize && next < hosts.size()) {
+                THdfsScanRange hdfsScanRange = new THdfsScanRange();
+                hdfsScanRange.setRelative_path(String.valueOf(next));
+                hdfsScanRange.setLength(10);
+                TScanRange scanRange = new TScanRange();
+                scanRange.setHdfs_scan_range(hdfsScanRange);
+                TScanRangeLocations locations = new TScanRangeLocations();
+                locations.setScan_range(scanRange);
+                locations.addToLocations(new TScanRangeLocation(new TNetworkAddress(hosts.get(next), -1)));
+                batch.add(locations);
+                next++;
+            }
+            batchSizes.add(batch.size());
+            return batch;
+        }
+    }
+
+    // assigns the scan ranges to 3 backends, returns the number of scan ranges assigned to each host
+    private Map<String, Integer> assignScanRanges(TestSplitSource splitSource) throws Exception {
+        Coordinator coord = new Coordinator(connectContext, Lists.newArrayList(), Lists.newArrayList(),
+                new TDescriptorTable());
+        ImmutableMap.Builder<Long, Backend> idToBackend = ImmutableMap.builder();
+        for (long id = 1; id <= 3; id++) {
+            Backend backend = new Backend(id, "host" + id, 9050);
+            backend.setBePort(9060);
+            backend.setAlive(true);
+            idToBackend.put(id, backend);
+        }
+        Deencapsulation.setField(coord, "idToBackend", idToBackend.build());
+
+        HdfsScanNode scanNode = new HdfsScanNode(new PlanNodeId(0), new TupleDescriptor(new TupleId(0)),
+                "HdfsScanNode");
+        Coordinator.FragmentScanRangeAssignment assignment = new Coordinator.FragmentScanRangeAssignment();
+        Coordinator.HDFSBackendSelector selector = coord.new HDFSBackendSelector(scanNode, splitSource, assignment,
+                Coordinator.ScanRangeAssignType.SCAN_DATA_SIZE);
+        selector.computeScanRangeAssignment();
+
+        Map<String, Integer> hostToScanRanges = Maps.newHashMap();
+        Set<String> paths = Sets.newHashSet();
+        for (Map.Entry<TNetworkAddress, Map<Integer, List<TScanRangeParams>>> entry : assignment.entrySet()) {
+            List<TScanRangeParams> scanRanges = entry.getValue().get(0);
+            hostToScanRanges.put(entry.getKey().getHostname(), scanRanges.size());
+            for (TScanRangeParams scanRange : scanRanges) {
+                Assert.assertTrue(paths.add(scanRange.scan_range.hdfs_scan_range.relative_path));
+            }
+        }
+        // every scan range is assigned once
+        Assert.assertEquals(splitSource.hosts.size(), paths.size());
+        return hostToScanRanges;
+    }
+
+    @Test
+    public void testHdfsScanRangeAssignmentByBatch() throws Exception {
+        Config.external_scan_range_batch_size = 3;
+        // all the scan ranges are on host1, but the bytes are balanced among the backends batch by batch
+        List<String> hosts = Collections.nCopies(31, "host1");
+        TestSplitSource splitSource = new TestSplitSource(hosts);
+        Map<String, Integer> hostToScanRanges = assignScanRanges(splitSource);
+        Assert.assertEquals(ImmutableMap.of("host1", 11, "host2", 10, "host3", 10), hostToScanRanges);
+
+        // 10 full batches, the last partial batch and the empty batch at the end
+        List<Integer> batchSizes = Lists.newArrayList(Collections.nCopies(10, 3));
+        batchSizes.add(1);
+        batchSizes.add(0);
+        Assert.assertEquals(batchSizes, splitSource.batchSizes);
+    }
+
+    @Test
+    public void testHdfsScanRangeAssignmentLocalFirst() throws Exception {
+        Config.external_scan_range_batch_size = 4;
+        List<String> hosts = Lists.newArrayList();
+        for (int i = 0; i < 12; i++) {
+            hosts.add("host" + (i % 3 + 1));
+        }
+        Map<String, Integer> hostToScanRanges = assignScanRanges(new TestSplitSource(hosts));
+        Assert.assertEquals(ImmutableMap.of("host1", 4, "host2", 4, "host3", 4), hostToScanRanges);
+    }
+
+    @Test
+    public void testHdfsScanRangeAssignmentEmpty() throws Exception {
+        TestSplitSource splitSource = new TestSplitSource(Lists.newArrayList());
+        Assert.assertTrue(assignScanRanges(splitSource).isEmpty());
+        Assert.assertEquals(Lists.newArrayList(0), splitSource.batchSizes);
+    }
+
+    // builds the merge tree of the runtime filter 1 of a partitioned join, whose build instances are numbered from 0
+    // and on the given hosts, and the root merge node is on host0
+    private static TRuntimeFilterParams setMergeNodes(RuntimeFilterDescription rf, int fanIn, String... hosts) {
+        Map<Integer, TNetworkAddress> builders = Maps.newLinkedHashMap();
+        for (int i = 0; i < hosts.length; i++) {
+            builders.put(i, new TNetworkAddress(hosts[i], 8060));
+        }
+        TRuntimeFilterParams params = new TRuntimeFilterParams();
+        int rootExpectNumber = Coordinator.setRuntimeFilterMergeNodes(params, 1, rf, builders,
+                new TNetworkAddress("host0", 8060), fanIn);
+        if (params.isSetId_to_merge_nodes()) {
+            TRuntimeFilterMergeNode root = params.getId_to_merge_nodes().get(1).get(0);
+            Assert.assertEquals(0, root.getMerge_node_id());
+            Assert.assertEquals("host0", root.getAddress().getHostname());
+            Assert.assertEquals(rootExpectNumber, root.getExpect_number());
+        }
+        return params;
+    }
+
+    private static RuntimeFilterDescription createPartitionedRuntimeFilter() {
+        RuntimeFilterDescription rf = new RuntimeFilterDescription(new SessionVariable());
+        rf.setJoinMode(HashJoinNode.DistributionMode.PARTITIONED);
+        return rf;
+    }
+
+    @Test
+    public void testRuntimeFilterMergeNodesOfSameHost() throws Exception {
+        RuntimeFilterDescription rf = createPartitionedRuntimeFilter();
+        TRuntimeFilterParams params = setMergeNodes(rf, 2, "host1", "host1", "host1", "host2", "host2", "host3");
+
+        // the adjacent build instances on the same host are merged by at most 2 on the host, then the 4 inputs
+        // left are merged by 2, and the root merges the 2 merge nodes
+        List<TRuntimeFilterMergeNode> mergeNodes = params.getId_to_merge_nodes().get(1);
+        Assert.assertEquals(5, mergeNodes.size());
+        Assert.assertEquals(2, mergeNodes.get(0).getExpect_number());
+        String[] hosts = {"host0", "host1", "host2", "host1", "host2"};
+        int[] parents = {-1, 3, 4, 0, 0};
+        for (int i = 1; i < mergeNodes.size(); i++) {
+            TRuntimeFilterMergeNode mergeNode = mergeNodes.get(i);
+            Assert.assertEquals(i, mergeNode.getMerge_node_id());
+            Assert.assertEquals(hosts[i], mergeNode.getAddress().getHostname());
+            Assert.assertEquals(2, mergeNode.getExpect_number());
+            Assert.assertEquals(parents[i], mergeNode.getParent_merge_node_id());
+        }
+
+        // the build instance 2 and 5 aren't merged with others on the host, and sent to the merge nodes of the
+        // next level directly
+        Map<Integer, TRuntimeFilterMergeNode> builderMergeNodes = rf.toThrift().getBuilder_merge_nodes();
+        Assert.assertEquals(6, builderMergeNodes.size());
+        int[] builderMergeNodeIds = {1, 1, 3, 2, 2, 4};
+        for (int i = 0; i < builderMergeNodeIds.length; i++) {
+            Assert.assertEquals(builderMergeNodeIds[i], builderMergeNodes.get(i).getMerge_node_id());
+        }
+    }
+
+    @Test
+    public void testRuntimeFilterMergeNodesFanIn() throws Exception {
+        RuntimeFilterDescription rf = createPartitionedRuntimeFilter();
+        String[] hosts = new String[10];
+        for (int i = 0; i < hosts.length; i++) {
+            hosts[i] = "host" + (i + 1);
+        }
+        TRuntimeFilterParams params = setMergeNodes(rf, 3, hosts);
+
+        // 10 build instances on different hosts are merged by 3 into 3 merge nodes and the last build instance,
+        // then the 3 merge nodes are merged, so the root merges a merge node and the last build instance
+        List<TRuntimeFilterMergeNode> mergeNodes = params.getId_to_merge_nodes().get(1);
+        Assert.assertEquals(5, mergeNodes.size());
+        Assert.assertEquals(2, mergeNodes.get(0).getExpect_number());
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertEquals(3, mergeNodes.get(i).getExpect_number());
+            Assert.assertEquals(4, mergeNodes.get(i).getParent_merge_node_id());
+            // on the host of the first input
+            Assert.assertEquals(hosts[(i - 1) * 3], mergeNodes.get(i).getAddress().getHostname());
+        }
+        Assert.assertEquals(3, mergeNodes.get(4).getExpect_number());
+        Assert.assertEquals(0, mergeNodes.get(4).getParent_merge_node_id());
+        Assert.assertEquals("host1", mergeNodes.get(4).getAddress().getHostname());
+
+        Map<Integer, TRuntimeFilterMergeNode> builderMergeNodes = rf.toThrift().getBuilder_merge_nodes();
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals(i / 3 + 1, builderMergeNodes.get(i).getMerge_node_id());
+        }
+        // the last build instance sends to the root merge node
+        Assert.assertFalse(builderMergeNodes.containsKey(9));
+
+        // the plan may be executed again with another fan-in
+        rf.clearMergeNodes();
+        Assert.assertFalse(rf.toThrift().isSetBuilder_merge_nodes());
+    }
+
+    @Test
+    public void testRuntimeFilterMergeNodesOfOneHost() throws Exception {
+        RuntimeFilterDescription rf = createPartitionedRuntimeFilter();
+        TRuntimeFilterParams params = setMergeNodes(rf, 4, "host1", "host1", "host1", "host1");
+
+        // all the build instances are merged on the host, and the root merges the only merge node
+        List<TRuntimeFilterMergeNode> mergeNodes = params.getId_to_merge_nodes().get(1);
+        Assert.assertEquals(2, mergeNodes.size());
+        Assert.assertEquals(1, mergeNodes.get(0).getExpect_number());
+        Assert.assertEquals(4, mergeNodes.get(1).getExpect_number());
+        Assert.assertEquals(0, mergeNodes.get(1).getParent_merge_node_id());
+        Assert.assertEquals(4, rf.toThrift().getBuilder_merge_nodes().size());
+
+        // no merge node is needed if the build instances are on different hosts and no more than the fan-in
+        rf = createPartitionedRuntimeFilter();
+        params = setMergeNodes(rf, 4, "host1", "host2", "host3");
+        Assert.assertFalse(params.isSetId_to_merge_nodes());
+        Assert.assertFalse(rf.toThrift().isSetBuilder_merge_nodes());
+    }
+}
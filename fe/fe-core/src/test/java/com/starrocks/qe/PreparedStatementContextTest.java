@@ -0,0 +1,76 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+package com.starrocks.qe;
+
+import com.starrocks.common.AnalysisException;
+import com.starrocks.mysql.MysqlColType;
+import com.starrocks.mysql.MysqlSerializer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PreparedStatementContextTest {
+    @Test
+    public void testSplitByPlaceholder() {
+        List<String> segments = PreparedStatementContext.splitByPlaceholder(
+                "select * from t where a = ? and b = '?' and `c?` = ? -- ?\n/* ? */ limit 10");
+        Assert.assertEquals(3, segments.size());
+        Assert.assertEquals("select * from t where a = ", segments.get(0));
+        Assert.assertEquals(" and b = '?' and `c?` = ", segments.get(1));
+        Assert.assertEquals(" -- ?\n/* ? */ limit 10", segments.get(2));
+
+        PreparedStatementContext stmt = new PreparedStatementContext(1, "select 'it\\'s ?', ?");
+        Assert.assertEquals(1, stmt.getNumParams());
+        Assert.assertEquals("select 'it\\'s ?', NULL", stmt.toSqlWithNullParams());
+    }
+
+    @Test
+    public void testBind() throws AnalysisException {
+        PreparedStatementContext stmt =
+                new PreparedStatementContext(1, "select * from t where a = ? and b = ? and c = ? and d = ?");
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        // null bitmap, the 3rd parameter is null
+        serializer.writeInt1(0x04);
+        // new params bound
+        serializer.writeInt1(1);
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONGLONG.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_VAR_STRING.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONG.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_DATETIME.getCode());
+        serializer.writeInt8(-42);
+        serializer.writeLenEncodedString("it's");
+        // datetime 2022-01-02 03:04:05
+        serializer.writeInt1(7);
+        serializer.writeInt2(2022);
+        serializer.writeInt1(1);
+        serializer.writeInt1(2);
+        serializer.writeInt1(3);
+        serializer.writeInt1(4);
+        serializer.writeInt1(5);
+        Assert.assertEquals("select * from t where a = -42 and b = 'it\\'s' and c = NULL and d = '2022-01-02 03:04:05'",
+                stmt.bind(serializer.toByteBuffer()));
+
+        // execute again without types, the types of last execution are used
+        serializer.reset();
+        serializer.writeInt1(0x00);
+        serializer.writeInt1(0);
+        serializer.writeInt8(1);
+        serializer.writeLenEncodedString("x");
+        serializer.writeInt4(2);
+        serializer.writeInt1(4);
+        serializer.writeInt2(2022);
+        serializer.writeInt1(10);
+        serializer.writeInt1(1);
+        Assert.assertEquals("select * from t where a = 1 and b = 'x' and c = 2 and d = '2022-10-01 00:00:00'",
+                stmt.bind(serializer.toByteBuffer()));
+    }
+
+    @Test(expected = AnalysisException.class)
+    public void testBindWithoutTypes() throws AnalysisException {
+        PreparedStatementContext stmt = new PreparedStatementContext(1, "select ?");
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0x00);
+        serializer.writeInt1(0);
+        stmt.bind(serializer.toByteBuffer());
+    }
+}
@@ -0,0 +1,62 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.qe;
+
+import com.google.common.collect.ImmutableMap;
+import com.starrocks.common.Config;
+import com.starrocks.sql.plan.PlanCacheKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class ResultCacheTest {
+    private static ByteBuffer row(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testPartitionVersions() {
+        ResultCache resultCache = new ResultCache(1024 * 1024);
+        ConnectContext context = new ConnectContext(null);
+        PlanCacheKey key = PlanCacheKey.create("select k1, count(*) from t0 group by k1", context);
+        Assert.assertNotNull(key);
+
+        Map<Long, Long> versions = ImmutableMap.of(10L, 2L, 11L, 5L);
+        ResultCache.Builder builder = new ResultCache.Builder();
+        ByteBuffer first = row("a");
+        builder.addRow(first);
+        builder.addRow(row("b"));
+        // adding a row doesn't consume it
+        Assert.assertEquals(1, first.remaining());
+        resultCache.put(key, versions, builder);
+
+        List<ByteBuffer> rows = resultCache.get(key, ImmutableMap.of(10L, 2L, 11L, 5L));
+        Assert.assertNotNull(rows);
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals(row("b"), rows.get(1));
+
+        // new data in partition 11
+        Assert.assertNull(resultCache.get(key, ImmutableMap.of(10L, 2L, 11L, 6L)));
+        // the stale result is dropped
+        Assert.assertNull(resultCache.get(key, versions));
+    }
+
+    @Test
+    public void testOversize() {
+        long oldValue = Config.query_result_cache_max_bytes_per_query;
+        Config.query_result_cache_max_bytes_per_query = 4;
+        try {
+            ResultCache.Builder builder = new ResultCache.Builder();
+            builder.addRow(row("abc"));
+            Assert.assertFalse(builder.isOversize());
+            builder.addRow(row("de"));
+            Assert.assertTrue(builder.isOversize());
+        } finally {
+            Config.query_result_cache_max_bytes_per_query = oldValue;
+        }
+    }
+}
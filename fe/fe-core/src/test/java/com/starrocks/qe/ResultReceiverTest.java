@@ -0,0 +1,203 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.qe;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.Status;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.proto.PFetchDataResult;
+import com.starrocks.proto.PStatus;
+import com.starrocks.rpc.BackendServiceProxy;
+import com.starrocks.rpc.PFetchDataRequest;
+import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.thrift.TResultBatch;
+import com.starrocks.thrift.TStatusCode;
+import com.starrocks.thrift.TUniqueId;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.thrift.TSerializer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public class ResultReceiverTest {
+    private static class Response {
+        private final PFetchDataResult result;
+        private final byte[] serializedResult;
+
+        Response(PFetchDataResult result, byte[] serializedResult) {
+            this.result = result;
+            this.serializedResult = serializedResult;
+        }
+    }
+
+    // Answers of the fetch rpcs in sending order, the rpcs sent after them are never answered
+    private final Deque<Response> responses = new ArrayDeque<>();
+    private final List<CompletableFuture<PFetchDataResult>> futures = Lists.newArrayList();
+    private int prefetchNum;
+
+    @Before
+    public void setUp() {
+        prefetchNum = Config.result_fetch_prefetch_num;
+        Config.result_fetch_prefetch_num = 3;
+        new MockUp<BackendServiceProxy>() {
+            @Mock
+            public Future<PFetchDataResult> fetchDataAsync(TNetworkAddress address, PFetchDataRequest request) {
+                CompletableFuture<PFetchDataResult> future = new CompletableFuture<>();
+                Response response = responses.pollFirst();
+                if (response != null) {
+                    request.setSerializedResult(response.serializedResult);
+                    future.complete(response.result);
+                }
+                futures.add(future);
+                return future;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.result_fetch_prefetch_num = prefetchNum;
+    }
+
+    private static Response ok(long packetSeq, boolean eos, String... rows) throws Exception {
+        PFetchDataResult result = new PFetchDataResult();
+        result.status = new PStatus();
+        result.status.statusCode = TStatusCode.OK.getValue();
+        result.packetSeq = packetSeq;
+        result.eos = eos;
+        if (rows.length == 0) {
+            return new Response(result, null);
+        }
+        TResultBatch batch = new TResultBatch();
+        for (String row : rows) {
+            batch.addToRows(ByteBuffer.wrap(row.getBytes(StandardCharsets.UTF_8)));
+        }
+        batch.setIs_compressed(false);
+        batch.setPacket_seq(packetSeq);
+        return new Response(result, new TSerializer().serialize(batch));
+    }
+
+    private static Response error(String message) {
+        PFetchDataResult result = new PFetchDataResult();
+        result.status = new PStatus();
+        result.status.statusCode = TStatusCode.INTERNAL_ERROR.getValue();
+        result.status.errorMsgs = Lists.newArrayList(message);
+        return new Response(result, null);
+    }
+
+    private static ResultReceiver createReceiver() {
+        return new ResultReceiver(new TUniqueId(1, 2), 10001L, new TNetworkAddress("127.0.0.1", 8060), 60000);
+    }
+
+    private static String firstRow(RowBatch batch) {
+        Assert.assertNotNull(batch.getBatch());
+        ByteBuffer row = batch.getBatch().getRows().get(0);
+        return new String(row.array(), row.position(), row.remaining(), StandardCharsets.UTF_8);
+    }
+
+    // all fetch rpcs are answered or cancelled, and no result is kept
+    private void assertFetchesCleared(ResultReceiver receiver) {
+        Assert.assertTrue(Deencapsulation.<Collection<?>>getField(receiver, "pendingFetches").isEmpty());
+        Assert.assertTrue(Deencapsulation.<Map<?, ?>>getField(receiver, "receivedFetches").isEmpty());
+        for (CompletableFuture<PFetchDataResult> future : futures) {
+            Assert.assertTrue(future.isDone());
+        }
+    }
+
+    @Test
+    public void testInOrderDelivery() throws Exception {
+        // the backend answers the first two fetch rpcs in the reverse order
+        responses.add(ok(1, false, "1"));
+        responses.add(ok(0, false, "0"));
+        responses.add(ok(2, true, "2"));
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        RowBatch batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("0", firstRow(batch));
+        Assert.assertFalse(batch.isEos());
+        // prefetches are kept in flight while the batch is sent to the client
+        Deque<?> pendingFetches = Deencapsulation.getField(receiver, "pendingFetches");
+        Map<?, ?> receivedFetches = Deencapsulation.getField(receiver, "receivedFetches");
+        Assert.assertEquals(3, pendingFetches.size() + receivedFetches.size());
+        Assert.assertTrue(receivedFetches.containsKey(1L));
+
+        batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("1", firstRow(batch));
+        Assert.assertFalse(batch.isEos());
+
+        batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertEquals("2", firstRow(batch));
+        Assert.assertTrue(batch.isEos());
+        assertFetchesCleared(receiver);
+
+        Assert.assertNull(receiver.getNext(status));
+    }
+
+    @Test
+    public void testEosWithPrefetchesInFlight() throws Exception {
+        responses.add(ok(0, false, "0"));
+        // the eos packet carries no rows
+        responses.add(ok(1, true));
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        RowBatch batch = receiver.getNext(status);
+        Assert.assertEquals("0", firstRow(batch));
+        Assert.assertFalse(batch.isEos());
+
+        // the prefetches sent after the eos packet are never answered, which must not be waited for
+        batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertNull(batch.getBatch());
+        Assert.assertTrue(batch.isEos());
+        Assert.assertTrue(futures.size() > 2);
+        assertFetchesCleared(receiver);
+        Assert.assertTrue(futures.get(futures.size() - 1).isCancelled());
+    }
+
+    @Test
+    public void testError() throws Exception {
+        responses.add(ok(0, false, "0"));
+        responses.add(error("result buffer is cancelled"));
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        Assert.assertEquals("0", firstRow(receiver.getNext(status)));
+        Assert.assertNull(receiver.getNext(status));
+        Assert.assertEquals(TStatusCode.INTERNAL_ERROR, status.getErrorCode());
+        Assert.assertEquals("result buffer is cancelled", status.getErrorMsg());
+        assertFetchesCleared(receiver);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        responses.add(ok(0, false, "0"));
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        Assert.assertEquals("0", firstRow(receiver.getNext(status)));
+        Assert.assertFalse(Deencapsulation.<Deque<?>>getField(receiver, "pendingFetches").isEmpty());
+
+        receiver.cancel();
+        receiver.getNext(status);
+        Assert.assertEquals(TStatusCode.CANCELLED, status.getErrorCode());
+        assertFetchesCleared(receiver);
+    }
+}
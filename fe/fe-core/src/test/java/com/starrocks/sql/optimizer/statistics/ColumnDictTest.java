@@ -0,0 +1,56 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.collect.Lists;
+import com.starrocks.sql.optimizer.rewrite.AddDecodeNodeForDictStringRule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ColumnDictTest {
+    @Test
+    public void testLargeDict() {
+        List<String> strings = Lists.newArrayList();
+        List<Integer> ids = Lists.newArrayList();
+        for (int i = 0; i < 60000; i++) {
+            strings.add("city_" + i);
+            ids.add(i + 1);
+        }
+        // the values are kept in the byte order
+        strings.add("北京");
+        ids.add(60001);
+        strings.add("Beijing");
+        ids.add(60002);
+
+        ColumnDict dict = ColumnDict.create(strings, ids, 1);
+        Assert.assertEquals(60002, dict.size());
+        Assert.assertEquals("Beijing", dict.getString(0));
+        Assert.assertEquals(60002, dict.getId(0));
+        Assert.assertEquals("北京", dict.getString(60001));
+        Assert.assertEquals(12346, dict.getId("city_12345"));
+        Assert.assertEquals(60001, dict.getId("北京"));
+        Assert.assertEquals(-1, dict.getId("city"));
+
+        ColumnDict newDict = dict.withVersionTime(2);
+        Assert.assertEquals(2, newDict.getVersionTime());
+        Assert.assertEquals(dict.getDataSize(), newDict.getDataSize());
+    }
+
+    @Test
+    public void testBenefit() {
+        ColumnStatistic lowCardinality = new ColumnStatistic(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                0, 10, 100);
+        Assert.assertTrue(AddDecodeNodeForDictStringRule.isBeneficialToUseGlobalDict(lowCardinality, 0));
+
+        ColumnStatistic statistic = new ColumnStatistic(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                0, 10, 50000);
+        Assert.assertFalse(AddDecodeNodeForDictStringRule.isBeneficialToUseGlobalDict(statistic, 1000000));
+        Assert.assertTrue(AddDecodeNodeForDictStringRule.isBeneficialToUseGlobalDict(statistic, 100000000));
+
+        ColumnStatistic highCardinality = new ColumnStatistic(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                0, 10, 100000);
+        Assert.assertFalse(AddDecodeNodeForDictStringRule.isBeneficialToUseGlobalDict(highCardinality, 100000000));
+    }
+}
@@ -0,0 +1,100 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HistogramTest {
+    private static final String JSON = "{\"buckets\":[[\"0\",\"9\",100],[\"10\",\"19\",100],[\"20\",\"99\",800]],"
+            + "\"mcv\":[[\"1\",300],[\"50\",100]],\"row_count\":1000}";
+
+    private static Histogram createHistogram() {
+        return Histogram.fromJson(JSON, Double::parseDouble);
+    }
+
+    @Test
+    public void testFromJson() {
+        Histogram histogram = createHistogram();
+        Assert.assertEquals(3, histogram.getBuckets().size());
+        Assert.assertEquals(20, histogram.getBuckets().get(2).getLower(), 0.001);
+        Assert.assertEquals(800, histogram.getBuckets().get(2).getCount());
+        Assert.assertEquals(300, (long) histogram.getMcv().get(Histogram.keyOf(1)));
+        Assert.assertEquals(1000, histogram.getRowCount());
+
+        // the values of strings are kept as they are, and there are no buckets
+        histogram = Histogram.fromJson(JSON, null);
+        Assert.assertTrue(histogram.getBuckets().isEmpty());
+        Assert.assertEquals(100, (long) histogram.getMcv().get("50"));
+    }
+
+    @Test
+    public void testSelectivity() {
+        Histogram histogram = createHistogram();
+        Assert.assertEquals(0.3, histogram.getEqualSelectivity(Histogram.keyOf(1), 100).get(), 0.0001);
+        // (1 - 0.4) / (100 - 2)
+        Assert.assertEquals(0.00612, histogram.getEqualSelectivity(Histogram.keyOf(2), 100).get(), 0.0001);
+
+        Assert.assertEquals(0.1, histogram.getLessThanSelectivity(10).get(), 0.0001);
+        Assert.assertEquals(0.15556, histogram.getLessThanSelectivity(15).get(), 0.0001);
+        Assert.assertEquals(0.8, histogram.getRangeSelectivity(20, 99).get(), 0.0001);
+        Assert.assertEquals(1.0,
+                histogram.getRangeSelectivity(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).get(), 0.0001);
+
+        Histogram right = Histogram.fromJson("{\"mcv\":[[\"1\",500]],\"row_count\":1000}", Double::parseDouble);
+        Assert.assertFalse(right.getLessThanSelectivity(10).isPresent());
+        Assert.assertEquals(0.15354, Histogram.getJoinSelectivity(histogram, 100, right, 10).get(), 0.0001);
+    }
+
+    @Test
+    public void testPredicateWithHistogram() {
+        ColumnRefOperator c1 = new ColumnRefOperator(0, Type.INT, "c1", true);
+        Statistics statistics = Statistics.builder().setOutputRowCount(10000)
+                .addColumnStatistic(c1, ColumnStatistic.builder().setMinValue(0).setMaxValue(99)
+                        .setDistinctValuesCount(100).setNullsFraction(0).setAverageRowSize(4)
+                        .setHistogram(createHistogram()).build()).build();
+
+        // the most common value
+        Statistics estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, c1, ConstantOperator.createInt(1)),
+                statistics);
+        Assert.assertEquals(3000, estimated.getOutputRowCount(), 0.1);
+
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.NE, c1, ConstantOperator.createInt(1)),
+                statistics);
+        Assert.assertEquals(7000, estimated.getOutputRowCount(), 0.1);
+
+        // out of the column range
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, c1,
+                        ConstantOperator.createInt(200)), statistics);
+        Assert.assertEquals(0, estimated.getOutputRowCount(), 0.1);
+
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.GT, c1, ConstantOperator.createInt(20)),
+                statistics);
+        Assert.assertEquals(8000, estimated.getOutputRowCount(), 0.1);
+    }
+
+    @Test
+    public void testSkewedJoin() {
+        ColumnRefOperator c1 = new ColumnRefOperator(0, Type.INT, "c1", true);
+        ColumnRefOperator c2 = new ColumnRefOperator(1, Type.INT, "c2", true);
+        Statistics statistics = Statistics.builder().setOutputRowCount(10000)
+                .addColumnStatistic(c1, ColumnStatistic.builder().setNullsFraction(0).setDistinctValuesCount(100)
+                        .setHistogram(createHistogram()).build())
+                .addColumnStatistic(c2, ColumnStatistic.builder().setNullsFraction(0).setDistinctValuesCount(10)
+                        .setHistogram(Histogram.fromJson("{\"mcv\":[[\"1\",500]],\"row_count\":1000}",
+                                Double::parseDouble)).build())
+                .build();
+
+        Statistics estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, c1, c2), statistics);
+        Assert.assertEquals(1535.35, estimated.getOutputRowCount(), 0.1);
+    }
+}
@@ -0,0 +1,77 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CompoundPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiColumnStatisticTest {
+    private final ColumnRefOperator city = new ColumnRefOperator(0, Type.INT, "city", true);
+    private final ColumnRefOperator country = new ColumnRefOperator(1, Type.INT, "country", true);
+
+    private Statistics createStatistics(double rowCount, double distinctValues) {
+        return Statistics.builder().setOutputRowCount(rowCount)
+                .addColumnStatistic(city, new ColumnStatistic(0, 999, 0, 4, 1000))
+                .addColumnStatistic(country, new ColumnStatistic(0, 9, 0, 4, 10))
+                .addMultiColumnStatistic(new MultiColumnStatistic(Lists.newArrayList(city, country), distinctValues))
+                .build();
+    }
+
+    @Test
+    public void testCorrelation() {
+        Statistics statistics = createStatistics(100000, 1000);
+        MultiColumnStatistic statistic = statistics.getMultiColumnStatistics().get(0);
+        Assert.assertEquals(1000, statistic.getDistinctValuesCount(statistics).get(), 0.001);
+        Assert.assertEquals(1, statistic.getCorrelation(statistics).get(), 0.001);
+
+        statistics = createStatistics(100000, 5000);
+        statistic = statistics.getMultiColumnStatistics().get(0);
+        // log(10000 / 5000) / log(10000 / 1000)
+        Assert.assertEquals(0.30103, statistic.getCorrelation(statistics).get(), 0.0001);
+
+        // not more than the product of the columns' or the rows, not less than any column's
+        statistics = createStatistics(100000, 20000);
+        statistic = statistics.getMultiColumnStatistics().get(0);
+        Assert.assertEquals(10000, statistic.getDistinctValuesCount(statistics).get(), 0.001);
+        Assert.assertEquals(0, statistic.getCorrelation(statistics).get(), 0.001);
+        statistics = createStatistics(500, 5000);
+        statistic = statistics.getMultiColumnStatistics().get(0);
+        Assert.assertEquals(1000, statistic.getDistinctValuesCount(statistics).get(), 0.001);
+
+        statistics = Statistics.buildFrom(statistics).addColumnStatistic(country, ColumnStatistic.unknown()).build();
+        Assert.assertFalse(statistic.getDistinctValuesCount(statistics).isPresent());
+    }
+
+    @Test
+    public void testPredicate() {
+        ScalarOperator predicate = new CompoundPredicateOperator(CompoundPredicateOperator.CompoundType.AND,
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, city, ConstantOperator.createInt(1)),
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, country,
+                        ConstantOperator.createInt(1)));
+
+        // the country is determined by the city
+        Statistics estimated = PredicateStatisticsCalculator.statisticsCalculate(predicate,
+                createStatistics(100000, 1000));
+        Assert.assertEquals(100, estimated.getOutputRowCount(), 0.001);
+
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(predicate, createStatistics(100000, 5000));
+        Assert.assertEquals(20, estimated.getOutputRowCount(), 0.001);
+
+        // independent
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(predicate, createStatistics(100000, 10000));
+        Assert.assertEquals(10, estimated.getOutputRowCount(), 0.001);
+
+        // only one column of the group
+        estimated = PredicateStatisticsCalculator.statisticsCalculate(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, city, ConstantOperator.createInt(1)),
+                createStatistics(100000, 1000));
+        Assert.assertEquals(100, estimated.getOutputRowCount(), 0.001);
+    }
+}
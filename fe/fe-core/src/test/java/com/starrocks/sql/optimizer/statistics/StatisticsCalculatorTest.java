@@ -549,4 +549,44 @@ public class StatisticsCalculatorTest {
         statisticsCalculator.estimatorStats();
         Assert.assertEquals(expressionContext.getStatistics().getOutputRowCount(), 200000.0, 0.0001);
     }
+
+    @Test
+    public void testJoinEstimateWithMultiColumnStatistics() {
+        ColumnRefOperator city1 = columnRefFactory.create("city1", Type.INT, true);
+        ColumnRefOperator country1 = columnRefFactory.create("country1", Type.INT, true);
+        ColumnRefOperator city2 = columnRefFactory.create("city2", Type.INT, true);
+        ColumnRefOperator country2 = columnRefFactory.create("country2", Type.INT, true);
+        // the city determines the country
+        Statistics.Builder childBuilder1 = Statistics.builder();
+        childBuilder1.setOutputRowCount(10000);
+        childBuilder1.addColumnStatistic(city1, new ColumnStatistic(0, 1000, 0, 4, 400));
+        childBuilder1.addColumnStatistic(country1, new ColumnStatistic(0, 100, 0, 4, 40));
+        childBuilder1.addMultiColumnStatistic(new MultiColumnStatistic(Lists.newArrayList(city1, country1), 400));
+        Group childGroup1 = new Group(0);
+        childGroup1.setStatistics(childBuilder1.build());
+        childGroup1.setLogicalProperty(new LogicalProperty(new ColumnRefSet(Lists.newArrayList(city1, country1))));
+
+        Statistics.Builder childBuilder2 = Statistics.builder();
+        childBuilder2.setOutputRowCount(20000);
+        childBuilder2.addColumnStatistic(city2, new ColumnStatistic(0, 1000, 0, 4, 100));
+        childBuilder2.addColumnStatistic(country2, new ColumnStatistic(0, 100, 0, 4, 20));
+        Group childGroup2 = new Group(1);
+        childGroup2.setStatistics(childBuilder2.build());
+        childGroup2.setLogicalProperty(new LogicalProperty(new ColumnRefSet(Lists.newArrayList(city2, country2))));
+
+        LogicalJoinOperator joinOperator = new LogicalJoinOperator(JoinOperator.INNER_JOIN,
+                new CompoundPredicateOperator(CompoundPredicateOperator.CompoundType.AND,
+                        new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, city1, city2),
+                        new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, country1, country2)));
+        GroupExpression groupExpression =
+                new GroupExpression(joinOperator, Lists.newArrayList(childGroup1, childGroup2));
+        groupExpression.setGroup(new Group(2));
+        ExpressionContext expressionContext = new ExpressionContext(groupExpression);
+        StatisticsCalculator statisticsCalculator = new StatisticsCalculator(expressionContext,
+                columnRefFactory, optimizerContext);
+        statisticsCalculator.estimatorStats();
+        // 10000 * 20000 / max(400, 100), instead of 10000 * 20000 / 400 / 40
+        Assert.assertEquals(500000, expressionContext.getStatistics().getOutputRowCount(), 0.0001);
+        Assert.assertEquals(1, expressionContext.getStatistics().getMultiColumnStatistics().size());
+    }
 }
@@ -0,0 +1,93 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.plan;
+
+import com.starrocks.utframe.StarRocksAssert;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ConstraintRewriteTest extends PlanTestBase {
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        PlanTestBase.beforeClass();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withTable("CREATE TABLE dim_region (r_id INT NOT NULL, r_name VARCHAR(32) NOT NULL)\n" +
+                "DUPLICATE KEY(r_id)\n" +
+                "DISTRIBUTED BY HASH(r_id) BUCKETS 1\n" +
+                "PROPERTIES (\"replication_num\" = \"1\", \"unique_constraints\" = \"r_id\");");
+        starRocksAssert.withTable("CREATE TABLE dim_city (c_id INT NOT NULL, c_name VARCHAR(32) NOT NULL)\n" +
+                "PRIMARY KEY(c_id)\n" +
+                "DISTRIBUTED BY HASH(c_id) BUCKETS 1\n" +
+                "PROPERTIES (\"replication_num\" = \"1\");");
+        starRocksAssert.withTable("CREATE TABLE fact_sales (s_id BIGINT, s_region INT, s_city INT, s_amount BIGINT)\n" +
+                "DUPLICATE KEY(s_id)\n" +
+                "DISTRIBUTED BY HASH(s_id) BUCKETS 1\n" +
+                "PROPERTIES (\"replication_num\" = \"1\",\n" +
+                "\"foreign_key_constraints\" = \"(s_region) REFERENCES dim_region(r_id); (s_city) REFERENCES dim_city(c_id)\");");
+    }
+
+    @Test
+    public void testEliminateLeftOuterJoin() throws Exception {
+        String plan = getFragmentPlan("select s_id, s_amount from fact_sales left join dim_city on s_city = c_id");
+        Assert.assertFalse(plan, plan.contains("JOIN"));
+
+        plan = getFragmentPlan("select count(*) from fact_sales left join dim_region on s_region = r_id");
+        Assert.assertFalse(plan, plan.contains("JOIN"));
+
+        // The right columns are used
+        plan = getFragmentPlan("select s_id, r_name from fact_sales left join dim_region on s_region = r_id");
+        Assert.assertTrue(plan, plan.contains("LEFT OUTER JOIN"));
+
+        // The other predicates only reduce the matched rows
+        plan = getFragmentPlan("select s_id from fact_sales left join dim_region on s_region = r_id and " +
+                "s_city > 1");
+        Assert.assertFalse(plan, plan.contains("JOIN"));
+
+        // Not a unique key
+        plan = getFragmentPlan("select s_id from fact_sales left join dim_region on s_region = length(r_name)");
+        Assert.assertTrue(plan, plan.contains("LEFT OUTER JOIN"));
+    }
+
+    @Test
+    public void testEliminateInnerJoin() throws Exception {
+        String plan = getFragmentPlan("select sum(s_amount) from fact_sales join dim_region on s_region = r_id " +
+                "join dim_city on s_city = c_id");
+        Assert.assertFalse(plan, plan.contains("JOIN"));
+        Assert.assertTrue(plan, plan.contains("IS NOT NULL"));
+
+        // The parent table is filtered
+        plan = getFragmentPlan("select sum(s_amount) from fact_sales join dim_region on s_region = r_id " +
+                "where r_id > 1");
+        Assert.assertTrue(plan, plan.contains("JOIN"));
+
+        // Not a foreign key
+        plan = getFragmentPlan("select sum(s_amount) from fact_sales join dim_region on s_city = r_id");
+        Assert.assertTrue(plan, plan.contains("JOIN"));
+
+        connectContext.getSessionVariable().setCboEnableConstraintRewrite(false);
+        try {
+            plan = getFragmentPlan("select sum(s_amount) from fact_sales join dim_region on s_region = r_id");
+            Assert.assertTrue(plan, plan.contains("JOIN"));
+        } finally {
+            connectContext.getSessionVariable().setCboEnableConstraintRewrite(true);
+        }
+    }
+
+    @Test
+    public void testSimplifyGroupBy() throws Exception {
+        String plan = getFragmentPlan("select c_id, c_name, sum(s_amount) from fact_sales join dim_city " +
+                "on s_city = c_id group by c_id, c_name");
+        Assert.assertTrue(plan, plan.contains("any_value"));
+
+        // The unique key isn't in the grouping keys
+        plan = getFragmentPlan("select c_name, s_id, sum(s_amount) from fact_sales join dim_city " +
+                "on s_city = c_id group by c_name, s_id");
+        Assert.assertFalse(plan, plan.contains("any_value"));
+
+        // The repeat nulls the grouping keys
+        plan = getFragmentPlan("select c_id, c_name, sum(s_amount) from fact_sales join dim_city " +
+                "on s_city = c_id group by rollup(c_name, c_id)");
+        Assert.assertFalse(plan, plan.contains("any_value"));
+    }
+}
@@ -0,0 +1,103 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.plan;
+
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Table;
+import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
+import com.starrocks.sql.optimizer.statistics.EmptyStatisticStorage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class EagerAggregationTest extends PlanTestBase {
+    // The join keys v1 and v4 have few distinct values, the other columns are nearly unique
+    private static class TestStorage extends EmptyStatisticStorage {
+        @Override
+        public ColumnStatistic getColumnStatistic(Table table, String column) {
+            if (column.equals("v1") || column.equals("v4")) {
+                return new ColumnStatistic(0, 100, 0, 8, 100);
+            }
+            return new ColumnStatistic(0, 1000000, 0, 8, 1000000);
+        }
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        PlanTestBase.beforeClass();
+        Catalog catalog = connectContext.getCatalog();
+        catalog.setStatisticStorage(new TestStorage());
+
+        OlapTable t0 = (OlapTable) catalog.getDb("default_cluster:test").getTable("t0");
+        setTableStatistics(t0, 1000000);
+
+        OlapTable t1 = (OlapTable) catalog.getDb("default_cluster:test").getTable("t1");
+        setTableStatistics(t1, 1000000);
+    }
+
+    @Before
+    public void enableEagerAggregation() {
+        connectContext.getSessionVariable().setCboEnableEagerAggregation(true);
+    }
+
+    @After
+    public void defaultEagerAggregation() {
+        connectContext.getSessionVariable().setCboEnableEagerAggregation(false);
+        connectContext.getSessionVariable().setCboEagerAggregationRatio(0.5);
+    }
+
+    @Test
+    public void testPushDownSumToLeft() throws Exception {
+        String sql = "select v4, sum(v2) from t0 join t1 on v1 = v4 group by v4";
+        String plan = getFragmentPlan(sql);
+        // t0 is aggregated by the join key before the join
+        Assert.assertTrue(plan, plan.contains("  |  output: sum(2: v2)\n" +
+                "  |  group by: 1: v1\n"));
+        Assert.assertTrue(plan, plan.contains("  |  group by: 4: v4\n"));
+
+        connectContext.getSessionVariable().setCboEnableEagerAggregation(false);
+        plan = getFragmentPlan(sql);
+        Assert.assertFalse(plan, plan.contains("group by: 1: v1\n"));
+    }
+
+    @Test
+    public void testPushDownCountToRight() throws Exception {
+        String sql = "select v1, count(v5), max(v6) from t0 join t1 on v1 = v4 group by v1";
+        String plan = getFragmentPlan(sql);
+        // t1 is aggregated by the join key before the join
+        Assert.assertTrue(plan, plan.contains("group by: 4: v4\n"));
+        Assert.assertTrue(plan, plan.contains("count(5: v5)"));
+        Assert.assertTrue(plan, plan.contains("max(6: v6)"));
+        // the partial counts are summed
+        Assert.assertTrue(plan, plan.contains("sum("));
+    }
+
+    @Test
+    public void testPushDownWithoutGroupBy() throws Exception {
+        // the join key is the grouping key of the pushed down aggregation
+        String plan = getFragmentPlan("select sum(v5) from t0 join t1 on v1 = v4");
+        Assert.assertTrue(plan, plan.contains("  |  output: sum(5: v5)\n" +
+                "  |  group by: 4: v4\n"));
+
+        // COUNT of no rows is 0, but the SUM of the partial COUNTs of no rows is NULL
+        plan = getFragmentPlan("select count(v5) from t0 join t1 on v1 = v4");
+        Assert.assertFalse(plan, plan.contains("group by: 4: v4\n"));
+        Assert.assertFalse(plan, plan.contains("group by: 1: v1\n"));
+    }
+
+    @Test
+    public void testNotBeneficial() throws Exception {
+        // the join key v2 of t0 is nearly unique, the aggregation doesn't reduce the rows
+        String plan = getFragmentPlan("select v1, sum(v3) from t0 join t1 on v2 = v5 group by v1");
+        Assert.assertFalse(plan, plan.contains("group by: 2: v2"));
+        Assert.assertFalse(plan, plan.contains("group by: 1: v1, 2: v2"));
+
+        // 100 groups of the 1000000 rows of t0 exceed the ratio
+        connectContext.getSessionVariable().setCboEagerAggregationRatio(0.00001);
+        plan = getFragmentPlan("select v4, sum(v2) from t0 join t1 on v1 = v4 group by v4");
+        Assert.assertFalse(plan, plan.contains("group by: 1: v1\n"));
+    }
+}
@@ -0,0 +1,85 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.FeConstants;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.statistic.StatisticExecutor;
+import com.starrocks.utframe.StarRocksAssert;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+public class JoinPartitionPruneTest extends PlanTestBase {
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        PlanTestBase.beforeClass();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withTable("CREATE TABLE fact_orders (o_date INT, o_id BIGINT, o_amount BIGINT)\n" +
+                "DUPLICATE KEY(o_date)\n" +
+                "PARTITION BY RANGE(o_date)\n" +
+                "(PARTITION p1 VALUES [('20200101'), ('20200201')),\n" +
+                "PARTITION p2 VALUES [('20200201'), ('20200301')),\n" +
+                "PARTITION p3 VALUES [('20200301'), ('20200401')))\n" +
+                "DISTRIBUTED BY HASH(o_id) BUCKETS 3\n" +
+                "PROPERTIES (\"replication_num\" = \"1\");");
+        starRocksAssert.withTable("CREATE TABLE dim_date (d_date INT, d_month INT)\n" +
+                "DUPLICATE KEY(d_date)\n" +
+                "DISTRIBUTED BY HASH(d_date) BUCKETS 1\n" +
+                "PROPERTIES (\"replication_num\" = \"1\");");
+    }
+
+    @Test
+    public void testJoinPartitionPrune() throws Exception {
+        List<String> sqls = Lists.newArrayList();
+        new MockUp<StatisticExecutor>() {
+            @Mock
+            public List<List<String>> queryRowsSync(ConnectContext context, String sql) {
+                sqls.add(sql);
+                return Lists.newArrayList(Lists.newArrayList("20200201"), Lists.newArrayList("20200215"));
+            }
+        };
+
+        String sql = "select sum(o_amount) from fact_orders join dim_date on o_date = d_date where d_month = 2";
+        OlapTable dimDate = (OlapTable) connectContext.getCatalog().getDb("default_cluster:test").getTable("dim_date");
+        FeConstants.runningUnitTest = true;
+        try {
+            String plan = getFragmentPlan(sql);
+            Assert.assertTrue(plan, plan.contains("partitions=3/3"));
+            Assert.assertTrue(sqls.isEmpty());
+
+            connectContext.getSessionVariable().setCboEnableJoinPartitionPrune(true);
+            plan = getFragmentPlan(sql);
+            Assert.assertTrue(plan, plan.contains("partitions=1/3"));
+            Assert.assertEquals(1, sqls.size());
+            Assert.assertTrue(sqls.get(0), sqls.get(0).contains(
+                    "SELECT DISTINCT `d_date` FROM `test`.`dim_date` WHERE `d_date` IS NOT NULL AND (`d_month` = 2)"));
+
+            // The small table isn't filtered
+            plan = getFragmentPlan("select sum(o_amount) from fact_orders join dim_date on o_date = d_date");
+            Assert.assertTrue(plan, plan.contains("partitions=3/3"));
+            Assert.assertEquals(1, sqls.size());
+
+            // The small table has more rows than the limit
+            setTableStatistics(dimDate, 100);
+            plan = getFragmentPlan(sql);
+            Assert.assertTrue(plan, plan.contains("partitions=1/3"));
+            Assert.assertEquals(2, sqls.size());
+            connectContext.getSessionVariable().setCboJoinPartitionPruneMaxRows(99);
+            plan = getFragmentPlan(sql);
+            Assert.assertTrue(plan, plan.contains("partitions=3/3"));
+            Assert.assertEquals(2, sqls.size());
+        } finally {
+            setTableStatistics(dimDate, 0);
+            connectContext.getSessionVariable().setCboJoinPartitionPruneMaxRows(10000000);
+            connectContext.getSessionVariable().setCboEnableJoinPartitionPrune(false);
+            FeConstants.runningUnitTest = false;
+        }
+    }
+}
@@ -498,6 +498,23 @@ public class MultiJoinReorderTest extends PlanTestBase {
         Assert.assertTrue(plan.contains("17:CROSS JOIN"));
     }
 
+    @Test
+    public void testParallelJoinReorder() throws Exception {
+        connectContext.getSessionVariable().enableDPJoinReorder();
+        connectContext.getSessionVariable().enableGreedyJoinReorder();
+        String sql = "select * from t0 join t1 on t0.v1 = t1.v4 join t2 on t1.v4 = t2.v7 " +
+                "join t3 on t2.v7 = t3.v1 join t0 as t4 on t4.v2 = t1.v5 join t1 as t5 on t5.v6 = t2.v8";
+        try {
+            String serialPlan = getFragmentPlan(sql);
+            connectContext.getSessionVariable().setCboEnableParallelJoinReorder(true);
+            String parallelPlan = getFragmentPlan(sql);
+            Assert.assertEquals(serialPlan, parallelPlan);
+        } finally {
+            connectContext.getSessionVariable().setCboEnableParallelJoinReorder(false);
+            connectContext.getSessionVariable().disableDPJoinReorder();
+        }
+    }
+
     @Test
     public void testInsertWithMultiJoin() throws Exception {
         String sql = "insert into test_all_type(t1b, t1c, t1d, t1a) select v1,v4,v7,t1b from (" +
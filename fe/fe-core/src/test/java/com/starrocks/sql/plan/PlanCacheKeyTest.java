@@ -0,0 +1,36 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PlanCacheKeyTest {
+    @Test
+    public void testNormalize() {
+        List<String> literals = Lists.newArrayList();
+        String digest = PlanCacheKey.normalize("select  v1 , 'a' from t0 /* comment */ where v2 = 10.5 and v3 > 3;",
+                literals);
+        Assert.assertEquals("select v1 , ? from t0 where v2 = ? and v3 > ?", digest);
+        Assert.assertEquals(Lists.newArrayList("'a'", "10.5", "3"), literals);
+
+        List<String> otherLiterals = Lists.newArrayList();
+        Assert.assertEquals(digest, PlanCacheKey.normalize(
+                "select v1, 'b' from t0 where v2 = 1 and v3 > 4", otherLiterals));
+        Assert.assertEquals(Lists.newArrayList("'b'", "1", "4"), otherLiterals);
+
+        digest = PlanCacheKey.normalize("with c as (select 1) select * from c", Lists.newArrayList());
+        Assert.assertEquals("with c as ( select ? ) select * from c", digest);
+    }
+
+    @Test
+    public void testNotCacheable() {
+        Assert.assertNull(PlanCacheKey.normalize("insert into t0 select 1", Lists.newArrayList()));
+        Assert.assertNull(PlanCacheKey.normalize("show tables", Lists.newArrayList()));
+        Assert.assertNull(PlanCacheKey.normalize("select 1; select 2", Lists.newArrayList()));
+        Assert.assertNull(PlanCacheKey.normalize("  ", Lists.newArrayList()));
+    }
+}
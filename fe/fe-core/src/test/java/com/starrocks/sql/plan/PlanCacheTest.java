@@ -0,0 +1,103 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.sql.plan;
+
+import com.starrocks.analysis.SetVar;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.analysis.StringLiteral;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.qe.OriginStatement;
+import com.starrocks.qe.SessionVariable;
+import com.starrocks.qe.VariableMgr;
+import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.parser.SqlParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlanCacheTest extends PlanTestBase {
+    private CachedPlan plan(String sql) throws Exception {
+        StatementBase statement = SqlParser.parse(sql, connectContext.getSessionVariable().getSqlMode()).get(0);
+        statement.setOrigStmt(new OriginStatement(sql, 0));
+        ExecPlan execPlan = new StatementPlanner().plan(statement, connectContext);
+        return CachedPlan.create(statement, execPlan, connectContext, connectContext.getSessionVariable());
+    }
+
+    private boolean isDeterministic(String sql) {
+        StatementBase statement = SqlParser.parse(sql, connectContext.getSessionVariable().getSqlMode()).get(0);
+        Analyzer.analyze(statement, connectContext);
+        return CachedPlan.isDeterministic(statement);
+    }
+
+    private void planAndRelease(PlanCache planCache, String sql) throws Exception {
+        PlanCacheKey key = PlanCacheKey.create(sql, connectContext);
+        Assert.assertNull(planCache.acquire(key, connectContext));
+        planCache.release(key, plan(sql));
+    }
+
+    @Test
+    public void testGenericPlan() throws Exception {
+        PlanCache planCache = new PlanCache(10);
+        planAndRelease(planCache, "select v1 from t0 where v2 = 1");
+        // verified by the plan of other literals
+        planAndRelease(planCache, "select v1 from t0 where v2 = 2");
+
+        PlanCacheKey key = PlanCacheKey.create("select v1 from t0 where v2 = 3", connectContext);
+        CachedPlan cachedPlan = planCache.acquire(key, connectContext);
+        Assert.assertNotNull(cachedPlan);
+        Assert.assertTrue(cachedPlan.isGeneric());
+        String plan = cachedPlan.getExplainString();
+        Assert.assertTrue(plan, plan.contains("2: v2 = 3"));
+        planCache.release(key, cachedPlan);
+
+        OlapTable table = (OlapTable) connectContext.getCatalog().getDb("default_cluster:test").getTable("t0");
+        planCache.invalidateTable(table.getId());
+        Assert.assertNull(planCache.acquire(key, connectContext));
+    }
+
+    @Test
+    public void testPrunedPlan() throws Exception {
+        PlanCache planCache = new PlanCache(10);
+        // the tablets are pruned by the literal of the distribution column
+        planAndRelease(planCache, "select v2 from t0 where v1 = 1");
+        planAndRelease(planCache, "select v2 from t0 where v1 = 2");
+        planAndRelease(planCache, "select v2 from t0 where v1 = 3");
+
+        PlanCacheKey key = PlanCacheKey.create("select v2 from t0 where v1 = 2", connectContext);
+        CachedPlan cachedPlan = planCache.acquire(key, connectContext);
+        Assert.assertNotNull(cachedPlan);
+        Assert.assertFalse(cachedPlan.isGeneric());
+        planCache.release(key, cachedPlan);
+
+        // the literal isn't in a conjunct
+        planAndRelease(planCache, "select v2 + 1 from t0");
+        planAndRelease(planCache, "select v2 + 2 from t0");
+        Assert.assertNull(planCache.acquire(PlanCacheKey.create("select v2 + 3 from t0", connectContext),
+                connectContext));
+    }
+
+    @Test
+    public void testPlanFingerprint() throws Exception {
+        SessionVariable sessionVariable = (SessionVariable) connectContext.getSessionVariable().clone();
+        String fingerprint = sessionVariable.getPlanFingerprint();
+        VariableMgr.setVar(sessionVariable, new SetVar(SessionVariable.QUERY_TIMEOUT, new StringLiteral("10")), true);
+        Assert.assertEquals(fingerprint, sessionVariable.getPlanFingerprint());
+        VariableMgr.setVar(sessionVariable, new SetVar(SessionVariable.CBO_CTE_REUSE,
+                new StringLiteral(String.valueOf(!sessionVariable.isCboCteReuse()))), true);
+        Assert.assertNotEquals(fingerprint, sessionVariable.getPlanFingerprint());
+    }
+
+    @Test
+    public void testDeterministic() throws Exception {
+        starRocksAssert.withView("create view rand_view as select v1, rand() as r from t0");
+        Assert.assertTrue(isDeterministic("select v1, sum(v2) from t0 where v3 > 1 group by v1"));
+        Assert.assertTrue(isDeterministic("select v1 from t0 where v2 > unix_timestamp('2022-01-01 00:00:00')"));
+
+        Assert.assertFalse(isDeterministic("select v1, uuid_numeric() from t0"));
+        Assert.assertFalse(isDeterministic("select v1 from t0 where v2 > unix_timestamp()"));
+        Assert.assertFalse(isDeterministic("select v1, connection_id() from t0"));
+        // functions of subqueries and views are checked too
+        Assert.assertFalse(isDeterministic("select v1 from t0 where v2 in (select abs(rand()) from t1)"));
+        Assert.assertFalse(isDeterministic("select v1 from rand_view"));
+    }
+}
@@ -3,6 +3,7 @@
 package com.starrocks.sql.plan;
 
 import com.starrocks.sql.analyzer.SemanticException;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -154,4 +155,38 @@ public class WindowTest extends PlanTestBase {
                 + "join t1 on x0.v3 = t1.v4 order by x0.v3, t1.v4 limit 100;";
         getFragmentPlan(sql);
     }
+
+    @Test
+    public void testLocalPartitionTopN() throws Exception {
+        String sql = "select * from (select v1, row_number() over (partition by v2 order by v3) as rn from t0) x " +
+                "where rn <= 3";
+        String plan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, 2, StringUtils.countMatches(plan, "ANALYTIC"));
+
+        sql = "select * from (select v1, rank() over (partition by v2 order by v3) as rk from t0) x where 5 > rk";
+        plan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, 2, StringUtils.countMatches(plan, "ANALYTIC"));
+
+        // The other functions need all the rows of the partition
+        sql = "select * from (select v1, row_number() over (partition by v2 order by v3) as rn, " +
+                "sum(v1) over (partition by v2 order by v3) as s from t0) x where rn <= 3";
+        plan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, 1, StringUtils.countMatches(plan, "ANALYTIC"));
+
+        // Not a limit of the rank
+        sql = "select * from (select v1, row_number() over (partition by v2 order by v3) as rn from t0) x " +
+                "where rn > 3";
+        plan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, 1, StringUtils.countMatches(plan, "ANALYTIC"));
+
+        connectContext.getSessionVariable().setCboEnableLocalPartitionTopN(false);
+        try {
+            sql = "select * from (select v1, row_number() over (partition by v2 order by v3) as rn from t0) x " +
+                    "where rn <= 3";
+            plan = getFragmentPlan(sql);
+            Assert.assertEquals(plan, 1, StringUtils.countMatches(plan, "ANALYTIC"));
+        } finally {
+            connectContext.getSessionVariable().setCboEnableLocalPartitionTopN(true);
+        }
+    }
 }
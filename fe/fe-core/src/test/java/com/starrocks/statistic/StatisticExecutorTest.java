@@ -0,0 +1,241 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.statistic;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.Config;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.OriginStatement;
+import com.starrocks.qe.StmtExecutor;
+import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.parser.SqlParser;
+import com.starrocks.thrift.TExplainLevel;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StatisticExecutorTest {
+    private static ConnectContext connectContext;
+    private static StarRocksAssert starRocksAssert;
+
+    private static final String CREATE_PARTITION_STATISTICS_TABLE = "CREATE TABLE `partition_statistics` (\n" +
+            "  `table_id` bigint NOT NULL,\n" +
+            "  `partition_id` bigint NOT NULL,\n" +
+            "  `column_name` varchar(65530) NOT NULL,\n" +
+            "  `db_id` bigint NOT NULL,\n" +
+            "  `table_name` varchar(65530) REPLACE NOT NULL,\n" +
+            "  `partition_name` varchar(65530) REPLACE NOT NULL,\n" +
+            "  `db_name` varchar(65530) REPLACE NOT NULL,\n" +
+            "  `row_count` bigint REPLACE NOT NULL,\n" +
+            "  `data_size` bigint REPLACE NOT NULL,\n" +
+            "  `ndv` hll HLL_UNION NOT NULL,\n" +
+            "  `null_count` bigint REPLACE NOT NULL,\n" +
+            "  `max` varchar(65530) REPLACE NOT NULL,\n" +
+            "  `min` varchar(65530) REPLACE NOT NULL,\n" +
+            "  `version` bigint REPLACE NOT NULL,\n" +
+            "  `update_time` datetime REPLACE NOT NULL\n" +
+            ") ENGINE=OLAP\n" +
+            "AGGREGATE KEY(`table_id`, `partition_id`, `column_name`, `db_id`)\n" +
+            "DISTRIBUTED BY HASH(`table_id`, `partition_id`, `column_name`, `db_id`) BUCKETS 10\n" +
+            "PROPERTIES (\n" +
+            "\"replication_num\" = \"1\"\n" +
+            ");";
+
+    // rows of partition_id, column_name and version returned by the query of the collected versions
+    private final List<List<String>> collectedVersions = Lists.newArrayList();
+    private final List<String> queries = Lists.newArrayList();
+    private final List<String> dmls = Lists.newArrayList();
+    private boolean collectHistogram;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        UtFrameUtils.createMinStarRocksCluster();
+        connectContext = UtFrameUtils.createDefaultCtx();
+        starRocksAssert = new StarRocksAssert(connectContext);
+
+        starRocksAssert.withDatabaseWithoutAnalyze(Constants.StatisticsDBName).useDatabase(Constants.StatisticsDBName)
+                .withTable(UtFrameUtils.createStatisticsTableStmt)
+                .withTable(CREATE_PARTITION_STATISTICS_TABLE);
+        starRocksAssert.withDatabase("test").useDatabase("test")
+                .withTable("CREATE TABLE `t0` (\n" +
+                        "  `k` date NULL,\n" +
+                        "  `v1` bigint NULL,\n" +
+                        "  `v2` varchar(20) NULL\n" +
+                        ") ENGINE=OLAP\n" +
+                        "DUPLICATE KEY(`k`)\n" +
+                        "PARTITION BY RANGE(`k`)\n" +
+                        "(PARTITION p1 VALUES LESS THAN ('2022-01-01'),\n" +
+                        "PARTITION p2 VALUES LESS THAN ('2022-02-01'),\n" +
+                        "PARTITION p3 VALUES LESS THAN ('2022-03-01'))\n" +
+                        "DISTRIBUTED BY HASH(`k`) BUCKETS 3\n" +
+                        "PROPERTIES (\n" +
+                        "\"replication_num\" = \"1\"\n" +
+                        ");");
+    }
+
+    @Before
+    public void setUp() {
+        collectHistogram = Config.enable_statistic_collect_histogram;
+        Config.enable_statistic_collect_histogram = false;
+
+        new MockUp<StatisticExecutor>() {
+            @Mock
+            public List<List<String>> queryRowsSync(ConnectContext context, String sql) {
+                queries.add(sql);
+                return collectedVersions;
+            }
+
+            // the dml is recorded and replaced with a query, which is never executed
+            @Mock
+            public StatementBase parseSQL(String sql, ConnectContext context) {
+                dmls.add(sql);
+                StatementBase stmt = SqlParser.parse("select 1", context.getSessionVariable().getSqlMode()).get(0);
+                stmt.setOrigStmt(new OriginStatement(sql, 0));
+                return stmt;
+            }
+        };
+        new MockUp<StmtExecutor>() {
+            @Mock
+            public void execute() {
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_statistic_collect_histogram = collectHistogram;
+    }
+
+    private static OlapTable getTable() {
+        Database db = connectContext.getCatalog().getDb("default_cluster:test");
+        return (OlapTable) db.getTable("t0");
+    }
+
+    private static void addCollectedVersion(List<List<String>> rows, long partitionId, String column, long version) {
+        rows.add(Lists.newArrayList(String.valueOf(partitionId), column, String.valueOf(version)));
+    }
+
+    private void collect() throws Exception {
+        Database db = connectContext.getCatalog().getDb("default_cluster:test");
+        new StatisticExecutor().collectStatisticSync(db.getId(), getTable().getId(),
+                Lists.newArrayList("v1", "v2"), false, 0);
+    }
+
+    private List<String> getPartitionInserts() {
+        return dmls.stream().filter(sql -> sql.startsWith("INSERT INTO " + Constants.PartitionStatisticsTableName))
+                .collect(Collectors.toList());
+    }
+
+    private static String getExplain(String sql) throws Exception {
+        connectContext.setThreadLocalInfo();
+        connectContext.setDatabase(Constants.StatisticsDBName);
+        StatementBase stmt = SqlParser.parse(sql, connectContext.getSessionVariable().getSqlMode()).get(0);
+        return new StatementPlanner().plan(stmt, connectContext).getExplainString(TExplainLevel.NORMAL);
+    }
+
+    @Test
+    public void testCollectChangedPartitions() throws Exception {
+        OlapTable table = getTable();
+        long p1 = table.getPartition("p1").getId();
+        long p2 = table.getPartition("p2").getId();
+        long p3 = table.getPartition("p3").getId();
+        long version = table.getPartition("p1").getVisibleVersion();
+        // p1 is collected at its visible version, v2 of p2 isn't collected, p3 is changed after collected,
+        // and the partition 99999 is dropped
+        addCollectedVersion(collectedVersions, p1, "v1", version);
+        addCollectedVersion(collectedVersions, p1, "v2", version);
+        addCollectedVersion(collectedVersions, p2, "v1", version);
+        addCollectedVersion(collectedVersions, p3, "v1", version - 1);
+        addCollectedVersion(collectedVersions, p3, "v2", version - 1);
+        addCollectedVersion(collectedVersions, 99999L, "v1", version);
+        collect();
+
+        Assert.assertEquals(1, queries.size());
+        Assert.assertTrue(queries.get(0).endsWith("WHERE table_id = " + table.getId()));
+
+        // the rows of the dropped partition are deleted
+        Assert.assertEquals("DELETE FROM " + Constants.PartitionStatisticsTableName + " WHERE table_id = "
+                + table.getId() + " AND partition_id IN (99999)", dmls.get(0));
+        // the changed partitions are deleted and collected again, the unchanged one isn't scanned
+        for (long partitionId : new long[] {p2, p3}) {
+            Assert.assertTrue(dmls.contains("DELETE FROM " + Constants.PartitionStatisticsTableName
+                    + " WHERE table_id = " + table.getId() + " AND partition_id = " + partitionId
+                    + " AND column_name IN ('v1','v2')"));
+        }
+        List<String> inserts = getPartitionInserts();
+        Assert.assertEquals(2, inserts.size());
+        Assert.assertTrue(inserts.stream().anyMatch(sql -> sql.contains("PARTITION (`p2`)")));
+        Assert.assertTrue(inserts.stream().anyMatch(sql -> sql.contains("PARTITION (`p3`)")));
+        Assert.assertTrue(inserts.stream().noneMatch(sql -> sql.contains("PARTITION (`p1`)")));
+        // the partitions are merged into the table's at last
+        Assert.assertEquals(6, dmls.size());
+        Assert.assertTrue(dmls.get(5).startsWith("INSERT INTO " + Constants.StatisticsTableName + " "));
+    }
+
+    @Test
+    public void testCollectNoChangedPartition() throws Exception {
+        OlapTable table = getTable();
+        for (String name : new String[] {"p1", "p2", "p3"}) {
+            addCollectedVersion(collectedVersions, table.getPartition(name).getId(), "v1",
+                    table.getPartition(name).getVisibleVersion());
+            addCollectedVersion(collectedVersions, table.getPartition(name).getId(), "v2",
+                    table.getPartition(name).getVisibleVersion());
+        }
+        collect();
+
+        // no partition is scanned, only merged again
+        Assert.assertEquals(1, dmls.size());
+        Assert.assertTrue(dmls.get(0).startsWith("INSERT INTO " + Constants.StatisticsTableName + " "));
+    }
+
+    @Test
+    public void testPartitionStatisticSQL() throws Exception {
+        // no partition is collected
+        collect();
+        List<String> inserts = getPartitionInserts();
+        Assert.assertEquals(3, inserts.size());
+
+        String insert = inserts.stream().filter(sql -> sql.contains("PARTITION (`p2`)")).findFirst().get();
+        // row count, null count, the hll of values and min/max of each column in the partition
+        Assert.assertTrue(insert.contains("COUNT(1) - COUNT(`v1`)"));
+        Assert.assertTrue(insert.contains("hll_raw_agg(hll_hash(CAST(`v1` AS VARCHAR)))"));
+        Assert.assertTrue(insert.contains("IFNULL(MAX(`v1`), '')"));
+        Assert.assertTrue(insert.contains("IFNULL(MIN(`v2`), '')"));
+        String plan = getExplain(insert);
+        Assert.assertTrue(plan, plan.contains("partitions=1/3"));
+        Assert.assertTrue(plan, plan.contains("hll_raw_agg("));
+        Assert.assertTrue(plan, plan.contains("count(1)"));
+
+        String merge = dmls.get(dmls.size() - 1);
+        // row counts and null counts are summed, and the ndv is of the union of the partitions' values,
+        // which is no more than the sum of the partitions' ndv
+        Assert.assertTrue(merge.contains("IFNULL(SUM(row_count), 0)"));
+        Assert.assertTrue(merge.contains("IFNULL(SUM(null_count), 0)"));
+        Assert.assertTrue(merge.contains("IFNULL(hll_union_agg(ndv), 0)"));
+        Assert.assertFalse(merge.contains("SUM(ndv)"));
+        // min/max of numbers are compared as numbers, e.g. 10 > 9, and of strings are compared as strings
+        String[] selects = merge.split(" UNION ALL ");
+        Assert.assertEquals(2, selects.length);
+        Assert.assertTrue(selects[0].contains("'v1'"));
+        Assert.assertTrue(selects[0].contains("CAST(MAX(CAST(NULLIF(max, '') AS DOUBLE)) AS VARCHAR)"));
+        Assert.assertTrue(selects[0].contains("CAST(MIN(CAST(NULLIF(min, '') AS DOUBLE)) AS VARCHAR)"));
+        Assert.assertTrue(selects[1].contains("'v2'"));
+        Assert.assertTrue(selects[1].contains("IFNULL(MAX(NULLIF(max, '')), '')"));
+        Assert.assertTrue(selects[1].contains("IFNULL(MIN(NULLIF(min, '')), '')"));
+        plan = getExplain(merge);
+        Assert.assertTrue(plan, plan.contains("hll_union_agg("));
+        Assert.assertTrue(plan, plan.contains("sum("));
+    }
+}
@@ -29,6 +29,7 @@ import com.starrocks.catalog.CatalogTestUtil;
 import com.starrocks.catalog.FakeCatalog;
 import com.starrocks.catalog.FakeEditLog;
 import com.starrocks.catalog.LocalTablet;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.common.AnalysisException;
@@ -47,6 +48,8 @@ import com.starrocks.load.routineload.RoutineLoadManager;
 import com.starrocks.load.routineload.RoutineLoadTaskInfo;
 import com.starrocks.meta.MetaContext;
 import com.starrocks.persist.EditLog;
+import com.starrocks.planner.StreamLoadPlanner;
+import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TKafkaRLTaskProgress;
 import com.starrocks.thrift.TLoadSourceType;
 import com.starrocks.thrift.TRLTaskTxnCommitAttachment;
@@ -55,6 +58,8 @@ import com.starrocks.transaction.TransactionState.LoadJobSourceType;
 import com.starrocks.transaction.TransactionState.TxnCoordinator;
 import com.starrocks.transaction.TransactionState.TxnSourceType;
 import mockit.Injectable;
+import mockit.Mock;
+import mockit.MockUp;
 import mockit.Mocked;
 import org.junit.Assert;
 import org.junit.Before;
@@ -65,6 +70,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -499,6 +506,62 @@ public class GlobalTransactionMgrTest {
         assertTrue(CatalogTestUtil.compareCatalog(masterCatalog, slaveCatalog));
     }
 
+    @Test
+    public void testFinishTransactionWhilePlanning() throws Exception {
+        FakeCatalog.setCatalog(masterCatalog);
+        long transactionId = masterTransMgr
+                .beginTransaction(CatalogTestUtil.testDbId1, Lists.newArrayList(CatalogTestUtil.testTableId1),
+                        CatalogTestUtil.testTxnLable1,
+                        transactionSource,
+                        LoadJobSourceType.FRONTEND, Config.stream_load_default_timeout_second);
+        List<TabletCommitInfo> transTablets = Lists.newArrayList();
+        for (long backendId : new long[] {CatalogTestUtil.testBackendId1, CatalogTestUtil.testBackendId2,
+                CatalogTestUtil.testBackendId3}) {
+            transTablets.add(new TabletCommitInfo(CatalogTestUtil.testTabletId1, backendId));
+        }
+        masterTransMgr.commitTransaction(CatalogTestUtil.testDbId1, transactionId, transTablets);
+
+        OlapTable table = (OlapTable) masterCatalog.getDb(CatalogTestUtil.testDbId1)
+                .getTable(CatalogTestUtil.testTableId1);
+        Partition partition = table.getPartition(CatalogTestUtil.testPartition1);
+        LocalTablet tablet = (LocalTablet) partition.getIndex(CatalogTestUtil.testIndexId1)
+                .getTablet(CatalogTestUtil.testTabletId1);
+        FutureTask<Void> publish = new FutureTask<>(() -> {
+            masterTransMgr.finishTransaction(CatalogTestUtil.testDbId1, transactionId, Sets.newHashSet());
+            return null;
+        });
+        new MockUp<StreamLoadPlanner>() {
+            @Mock
+            public TExecPlanFragmentParams plan(TUniqueId loadId) throws Exception {
+                // the transaction is published while planning, and waits for the planning to finish
+                new Thread(publish).start();
+                ReentrantReadWriteLock lock = Deencapsulation.getField(table, "rwLock");
+                while (!lock.hasQueuedThreads() && !publish.isDone()) {
+                    Thread.sleep(10);
+                }
+                Assert.assertFalse(publish.isDone());
+                assertEquals(CatalogTestUtil.testStartVersion, partition.getVisibleVersion());
+                for (Replica replica : tablet.getReplicas()) {
+                    assertEquals(CatalogTestUtil.testStartVersion, replica.getVersion());
+                }
+                return new TExecPlanFragmentParams();
+            }
+        };
+
+        KafkaRoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob(1L, "test", "default_cluster",
+                CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1, "", "");
+        routineLoadJob.plan(new TUniqueId(1, 2), transactionId);
+        publish.get();
+
+        // the versions are changed after the planning
+        assertEquals(TransactionStatus.VISIBLE,
+                masterTransMgr.getTransactionState(CatalogTestUtil.testDbId1, transactionId).getTransactionStatus());
+        assertEquals(CatalogTestUtil.testStartVersion + 1, partition.getVisibleVersion());
+        for (Replica replica : tablet.getReplicas()) {
+            assertEquals(CatalogTestUtil.testStartVersion + 1, replica.getVersion());
+        }
+    }
+
     @Test
     public void testFinishTransactionWithOneFailed() throws UserException {
         TransactionState transactionState = null;
@@ -35,6 +35,7 @@ import com.starrocks.proto.PStatus;
 import com.starrocks.proto.PTriggerProfileReportResult;
 import com.starrocks.rpc.BackendServiceProxy;
 import com.starrocks.rpc.PBackendService;
+import com.starrocks.rpc.PExecBatchPlanFragmentsRequest;
 import com.starrocks.rpc.PExecPlanFragmentRequest;
 import com.starrocks.rpc.PFetchDataRequest;
 import com.starrocks.rpc.PTriggerProfileReportRequest;
@@ -332,6 +333,17 @@ public class MockedBackend {
             });
         }
 
+        @Override
+        public Future<PExecPlanFragmentResult> execBatchPlanFragmentsAsync(PExecBatchPlanFragmentsRequest request) {
+            return executor.submit(() -> {
+                PExecPlanFragmentResult result = new PExecPlanFragmentResult();
+                PStatus pStatus = new PStatus();
+                pStatus.statusCode = 0;
+                result.status = pStatus;
+                return result;
+            });
+        }
+
         @Override
         public Future<PCancelPlanFragmentResult> cancelPlanFragmentAsync(PCancelPlanFragmentRequest request) {
             return executor.submit(() -> {
@@ -100,6 +100,8 @@ public final class SparkDpp implements java.io.Serializable {
     private static final String TABLE_LOAD_ROWS = "table_load_rows";
     private static final String TABLE_LOAD_BYTES = "table_load_bytes";
     private static final String TABLE_LOAD_FINISHED = "table_load_finished";
+    // the codec of the parquet files read by the backends, which is set in the spark resource
+    private static final String PARQUET_COMPRESSION_CODEC = "spark.sql.parquet.compression.codec";
     private SparkSession spark = null;
     private EtlJobConfig etlJobConfig = null;
     private LongAccumulator abnormalRowAcc = null;
@@ -117,6 +119,7 @@ public final class SparkDpp implements java.io.Serializable {
     // because hadoop configuration is not serializable,
     // we need to wrap it so that we can use it in executor.
     private SerializableConfiguration serializableHadoopConf;
+    private CompressionCodecName parquetCompressionCodec = CompressionCodecName.SNAPPY;
     private DppResult dppResult = new DppResult();
     private Map<Long, Set<String>> tableToBitmapDictColumns = new HashMap<>();
 
@@ -151,6 +154,28 @@ public final class SparkDpp implements java.io.Serializable {
         this.serializableHadoopConf = new SerializableConfiguration(spark.sparkContext().hadoopConfiguration());
     }
 
+    // The parquet files are written and then read by the backends once, the codec trades the size of them for the
+    // cpu time. The backends can read the codecs below.
+    public static CompressionCodecName getParquetCompressionCodec(String codec) throws SparkDppException {
+        CompressionCodecName codecName;
+        try {
+            // none is the alias of uncompressed in spark
+            codecName = "none".equalsIgnoreCase(codec) ? CompressionCodecName.UNCOMPRESSED :
+                    CompressionCodecName.fromConf(codec);
+        } catch (IllegalArgumentException e) {
+            throw new SparkDppException("unknown parquet compression codec: " + codec);
+        }
+        switch (codecName) {
+            case UNCOMPRESSED:
+            case SNAPPY:
+            case GZIP:
+            case ZSTD:
+                return codecName;
+            default:
+                throw new SparkDppException("unsupported parquet compression codec: " + codec);
+        }
+    }
+
     private JavaPairRDD<List<Object>, Object[]> processRDDAggregate(JavaPairRDD<List<Object>, Object[]> currentPairRDD,
                                                                     RollupTreeNode curNode,
                                                                     SparkRDDAggregator[] sparkRDDAggregators)
@@ -283,7 +308,7 @@ public final class SparkDpp implements java.io.Serializable {
                                 ParquetWriteSupport.setSchema(dstSchema, conf);
                                 ParquetWriteSupport parquetWriteSupport = new ParquetWriteSupport();
                                 parquetWriter = new ParquetWriter<InternalRow>(new Path(tmpPath), parquetWriteSupport,
-                                        CompressionCodecName.SNAPPY,
+                                        parquetCompressionCodec,
                                         256 * 1024 * 1024, 16 * 1024,
                                         1024 * 1024,
                                         true, false,
@@ -1086,6 +1111,8 @@ public final class SparkDpp implements java.io.Serializable {
 
     private void process() throws Exception {
         try {
+            parquetCompressionCodec = getParquetCompressionCodec(
+                    spark.conf().get(PARQUET_COMPRESSION_CODEC, CompressionCodecName.SNAPPY.name()));
             long previousLoadRows = 0L;
             long previousLoadEstimateSize = 0L;
             for (Map.Entry<Long, EtlJobConfig.EtlTable> entry : etlJobConfig.tables.entrySet()) {
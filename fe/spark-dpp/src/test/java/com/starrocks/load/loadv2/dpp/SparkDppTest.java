@@ -17,7 +17,9 @@
 //
 package com.starrocks.load.loadv2.dpp;
 
+import com.starrocks.common.SparkDppException;
 import com.starrocks.load.loadv2.etl.EtlJobConfig;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.spark.sql.RowFactory;
 import org.junit.Assert;
 import org.junit.Test;
@@ -67,4 +69,22 @@ public class SparkDppTest {
                 sparkDpp.validateData(failedStringCN, stringColumn, stringParser, RowFactory.create(failedStringCN)));
     }
 
+    @Test
+    public void testGetParquetCompressionCodec() throws SparkDppException {
+        Assert.assertEquals(CompressionCodecName.SNAPPY, SparkDpp.getParquetCompressionCodec("snappy"));
+        Assert.assertEquals(CompressionCodecName.UNCOMPRESSED, SparkDpp.getParquetCompressionCodec("none"));
+        Assert.assertEquals(CompressionCodecName.UNCOMPRESSED, SparkDpp.getParquetCompressionCodec("uncompressed"));
+        Assert.assertEquals(CompressionCodecName.GZIP, SparkDpp.getParquetCompressionCodec("gzip"));
+        Assert.assertEquals(CompressionCodecName.ZSTD, SparkDpp.getParquetCompressionCodec("zstd"));
+    }
+
+    @Test(expected = SparkDppException.class)
+    public void testGetUnsupportedParquetCompressionCodec() throws SparkDppException {
+        SparkDpp.getParquetCompressionCodec("lzo");
+    }
+
+    @Test(expected = SparkDppException.class)
+    public void testGetUnknownParquetCompressionCodec() throws SparkDppException {
+        SparkDpp.getParquetCompressionCodec("unknown");
+    }
 }
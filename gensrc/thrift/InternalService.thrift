@@ -292,6 +292,15 @@ struct TExecPlanFragmentParams {
   55: optional i32 func_version
 }
 
+// Fragment instances of the same fragment on one backend.
+// common_param holds the fields shared by all the instances, which is serialized only once.
+// unique_param_per_instance only sets params.fragment_instance_id, params.per_node_scan_ranges,
+// params.sender_id, backend_num, and fragment if the fragment is different for each instance.
+struct TExecBatchPlanFragmentsParams {
+  1: optional TExecPlanFragmentParams common_param
+  2: optional list<TExecPlanFragmentParams> unique_param_per_instance
+}
+
 struct TExecPlanFragmentResult {
   // required in V1
   1: optional Status.TStatus status
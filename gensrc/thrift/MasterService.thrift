@@ -96,12 +96,20 @@ struct TReportRequest {
     8: optional i64 tablet_max_compaction_score
     // active workgroup on this backend
     9: optional list<WorkGroup.TWorkGroup> active_workgroups
+    // id of this tablet report, FE returns it in TMasterResult.acked_tablet_report_id
+    // if the report can be the base of the next incremental tablet report
+    10: optional i64 tablet_report_id
+    // if set, tablets only contains the tablets changed since the acked tablet report with this id,
+    // and removed_tablet_ids are the tablets dropped since then
+    11: optional i64 base_tablet_report_id
+    12: optional list<Types.TTabletId> removed_tablet_ids
 }
 
 struct TMasterResult {
     // required in V1
     1: required Status.TStatus status
     2: optional list<WorkGroup.TWorkGroupOp> workgroup_ops
+    3: optional i64 acked_tablet_report_id
 }
 
 // Now we only support CPU share.
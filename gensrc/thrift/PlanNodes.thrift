@@ -226,6 +226,12 @@ struct THdfsScanRange {
     8: optional string full_path
 }
 
+// A range of the split column of a jdbc or mysql table, whose rows are read by a separate query
+struct TRemoteTableScanRange {
+  // predicate in the sql dialect of the remote database, e.g. `id` >= 100 AND `id` < 200
+  1: optional string range_filter
+}
+
 // Specification of an individual data range which is held in its entirety
 // by a storage server
 struct TScanRange {
@@ -237,6 +243,9 @@ struct TScanRange {
 
   // scan range for hdfs
   20: optional THdfsScanRange hdfs_scan_range
+
+  // scan range for jdbc and mysql tables
+  21: optional TRemoteTableScanRange remote_table_scan_range
 }
 
 struct TMySQLScanNode {
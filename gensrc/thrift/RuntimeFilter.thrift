@@ -33,6 +33,18 @@ enum TRuntimeFilterBuildJoinMode {
   COLOCATE
 }
 
+// A merge node of the multi-level merge of a global runtime filter. It merges the partial runtime filters of
+// adjacent build instances or merge nodes, and sends the merged one to its parent as a partial runtime filter.
+struct TRuntimeFilterMergeNode {
+  // Unique within the runtime filter. 0 is the root merge node in runtime_filter_merge_nodes,
+  // which sends the total runtime filter to the probers.
+  1: optional i32 merge_node_id
+  2: optional Types.TNetworkAddress address
+  // The number of the partial runtime filters to merge
+  3: optional i32 expect_number
+  4: optional i32 parent_merge_node_id
+}
+
 struct TRuntimeFilterDescription {
   // Filter unique id (within a query)
   1: optional i32 filter_id
@@ -68,6 +80,9 @@ struct TRuntimeFilterDescription {
   // support speculative delivery of GRFs generated by broadcast HashJoin   
   12: optional list<Types.TUniqueId> broadcast_grf_senders;
   13: optional list<TRuntimeFilterDestination> broadcast_grf_destinations;
+  // be number of the build instance -> the merge node it sends the partial runtime filter to.
+  // The build instances absent send it to runtime_filter_merge_nodes.
+  14: optional map<i32, TRuntimeFilterMergeNode> builder_merge_nodes;
 }
 
 struct TRuntimeFilterProberParams {
@@ -89,4 +104,7 @@ struct TRuntimeFilterParams {
   3: optional map<i32, i32> runtime_filter_builder_number
   // if aggregated runtime filter size exceeds it, merge node can stop merging.
   4: optional i64 runtime_filter_max_size;
+  // Runtime filter Id to the merge nodes of its multi-level merge, including the root merge node.
+  // A backend merges the partial runtime filters for the merge nodes on it.
+  5: optional map<i32, list<TRuntimeFilterMergeNode>> id_to_merge_nodes;
 }
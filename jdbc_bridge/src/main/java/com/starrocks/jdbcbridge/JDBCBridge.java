@@ -2,36 +2,73 @@
 
 package com.starrocks.jdbcbridge;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /*
 * In order to simplify the implementation of jni cpp code, we add JDBCBridge as a bridge,
 * encapsulate some complex logic, and only provide the simplest interface for C++ calls.
 *
-* Currently, the implementation is relatively simple.
-* Each query will create a separate thread, load the JDBC driver class and create a short connection.
-* In fact, this has additional overhead.
-*
-* @TODO(silverbullet233):
-*   We can consider letting JDBCBridge manage the driver class loading and JDBC connection pool in the future.
+* The driver class loaders and JDBC connection pools are shared by all the queries in the process,
+* so that a query doesn't have to load the driver classes and connect to the database again.
+* There is one connection pool per driver, url and user, whose idle connections are closed after
+* the idle timeout of the scan context which creates the pool.
 * */
 public class JDBCBridge {
+    private static final String POOL_KEY_SEPARATOR = "\u0001";
+
+    // driver location -> class loader of the driver
+    private static final Map<String, ClassLoader> DRIVER_CLASS_LOADERS = new ConcurrentHashMap<>();
+    // driver, url and user -> connection pool
+    private static final Map<String, HikariDataSource> DATA_SOURCES = new ConcurrentHashMap<>();
+
+    private String driverLocation;
 
     public JDBCBridge() {
     }
 
     public void setClassLoader(String driverLocation) throws Exception {
-        URLClassLoader loader = URLClassLoader.newInstance(new URL[] {
-                new File(driverLocation).toURI().toURL(),
-        });
+        ClassLoader loader = DRIVER_CLASS_LOADERS.get(driverLocation);
+        if (loader == null) {
+            loader = URLClassLoader.newInstance(new URL[] {
+                    new File(driverLocation).toURI().toURL(),
+            });
+            ClassLoader existingLoader = DRIVER_CLASS_LOADERS.putIfAbsent(driverLocation, loader);
+            if (existingLoader != null) {
+                loader = existingLoader;
+            }
+        }
         Thread.currentThread().setContextClassLoader(loader);
+        this.driverLocation = driverLocation;
     }
 
     public JDBCScanner getScanner(JDBCScanContext scanContext) throws Exception {
-        JDBCScanner scanner = new JDBCScanner(scanContext);
+        JDBCScanner scanner = new JDBCScanner(scanContext, driverLocation);
         return scanner;
     }
+
+    // must be called by the thread whose context class loader is set to the driver class loader
+    static HikariDataSource getDataSource(String driverLocation, JDBCScanContext scanContext) {
+        String key = String.join(POOL_KEY_SEPARATOR, driverLocation, scanContext.getDriverClassName(),
+                scanContext.getJdbcURL(), scanContext.getUser(), scanContext.getPassword());
+        return DATA_SOURCES.computeIfAbsent(key, k -> {
+            HikariConfig config = new HikariConfig();
+            config.setDriverClassName(scanContext.getDriverClassName());
+            config.setJdbcUrl(scanContext.getJdbcURL());
+            config.setUsername(scanContext.getUser());
+            config.setPassword(scanContext.getPassword());
+            config.setMaximumPoolSize(scanContext.getConnectionPoolSize());
+            // close all the connections after they are idle for a while
+            config.setMinimumIdle(0);
+            config.setIdleTimeout(scanContext.getConnectionIdleTimeoutMs());
+            return new HikariDataSource(config);
+        });
+    }
 }
@@ -0,0 +1,226 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Limited.
+
+package com.starrocks.jdbcbridge;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/*
+ * Buffers the values of a result column in primitive arrays by the JDBC result type, so that they don't need to be
+ * boxed, and can be copied into the columns of BE in bulk.
+ *
+ * A column is built into an Object[] of:
+ *   0: byte[] nulls, 1 for NULL values, whose length is the number of rows.
+ *   1: the values, int[] for Integer, long[] for Long, byte[] for Boolean, float[] for Float, double[] for Double.
+ *      For the other types, the values are converted to strings, and this is the int[] offsets of the values in 2,
+ *      the value of row i is from offsets[i] to offsets[i + 1].
+ *   2: byte[] the UTF-8 bytes of the string values.
+ * The value arrays may be longer than the number of rows, and they are reused by the following chunks.
+ * */
+abstract class JDBCColumnBuffer {
+    protected final byte[] nulls;
+
+    JDBCColumnBuffer(int capacity) {
+        this.nulls = new byte[capacity];
+    }
+
+    static JDBCColumnBuffer create(String columnClassName, int capacity) {
+        switch (columnClassName) {
+            case "java.lang.Integer":
+                return new IntBuffer(capacity);
+            case "java.lang.Long":
+                return new LongBuffer(capacity);
+            case "java.lang.Boolean":
+                return new BooleanBuffer(capacity);
+            case "java.lang.Float":
+                return new FloatBuffer(capacity);
+            case "java.lang.Double":
+                return new DoubleBuffer(capacity);
+            default:
+                return new StringValueBuffer(columnClassName, capacity);
+        }
+    }
+
+    // append the value of the current row of the result set as the row-th value
+    void append(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        boolean isNull = !appendValue(resultSet, columnIndex, row) || resultSet.wasNull();
+        nulls[row] = (byte) (isNull ? 1 : 0);
+    }
+
+    // return false if the value is null
+    protected abstract boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+    protected abstract Object[] buildValues(int numRows);
+
+    Object[] build(int numRows) {
+        Object[] values = buildValues(numRows);
+        Object[] column = new Object[values.length + 1];
+        column[0] = numRows == nulls.length ? nulls : Arrays.copyOf(nulls, numRows);
+        System.arraycopy(values, 0, column, 1, values.length);
+        return column;
+    }
+
+    private static class IntBuffer extends JDBCColumnBuffer {
+        private final int[] values;
+
+        IntBuffer(int capacity) {
+            super(capacity);
+            values = new int[capacity];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = resultSet.getInt(columnIndex);
+            return true;
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {values};
+        }
+    }
+
+    private static class LongBuffer extends JDBCColumnBuffer {
+        private final long[] values;
+
+        LongBuffer(int capacity) {
+            super(capacity);
+            values = new long[capacity];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = resultSet.getLong(columnIndex);
+            return true;
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {values};
+        }
+    }
+
+    private static class BooleanBuffer extends JDBCColumnBuffer {
+        private final byte[] values;
+
+        BooleanBuffer(int capacity) {
+            super(capacity);
+            values = new byte[capacity];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = (byte) (resultSet.getBoolean(columnIndex) ? 1 : 0);
+            return true;
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {values};
+        }
+    }
+
+    private static class FloatBuffer extends JDBCColumnBuffer {
+        private final float[] values;
+
+        FloatBuffer(int capacity) {
+            super(capacity);
+            values = new float[capacity];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = resultSet.getFloat(columnIndex);
+            return true;
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {values};
+        }
+    }
+
+    private static class DoubleBuffer extends JDBCColumnBuffer {
+        private final double[] values;
+
+        DoubleBuffer(int capacity) {
+            super(capacity);
+            values = new double[capacity];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = resultSet.getDouble(columnIndex);
+            return true;
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {values};
+        }
+    }
+
+    private static class StringValueBuffer extends JDBCColumnBuffer {
+        private final String columnClassName;
+        private final int[] offsets;
+        private byte[] bytes;
+
+        StringValueBuffer(String columnClassName, int capacity) {
+            super(capacity);
+            this.columnClassName = columnClassName;
+            this.offsets = new int[capacity + 1];
+            this.bytes = new byte[capacity * 16];
+        }
+
+        @Override
+        protected boolean appendValue(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            String value = getString(resultSet, columnIndex);
+            int offset = offsets[row];
+            if (value == null) {
+                offsets[row + 1] = offset;
+                return false;
+            }
+            byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            if (offset + valueBytes.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, offset + valueBytes.length));
+            }
+            System.arraycopy(valueBytes, 0, bytes, offset, valueBytes.length);
+            offsets[row + 1] = offset + valueBytes.length;
+            return true;
+        }
+
+        private String getString(ResultSet resultSet, int columnIndex) throws SQLException {
+            switch (columnClassName) {
+                case "java.sql.Date": {
+                    Date value = resultSet.getDate(columnIndex);
+                    return value == null ? null : JDBCUtil.formatDate(value);
+                }
+                case "java.sql.Timestamp": {
+                    Timestamp value = resultSet.getTimestamp(columnIndex);
+                    return value == null ? null : value.toString();
+                }
+                case "java.time.LocalDateTime": {
+                    Object value = resultSet.getObject(columnIndex);
+                    return value == null ? null : JDBCUtil.formatLocalDatetime((LocalDateTime) value);
+                }
+                case "java.math.BigDecimal": {
+                    BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                    return value == null ? null : value.toPlainString();
+                }
+                default:
+                    return resultSet.getString(columnIndex);
+            }
+        }
+
+        @Override
+        protected Object[] buildValues(int numRows) {
+            return new Object[] {offsets, bytes};
+        }
+    }
+}
@@ -10,6 +10,9 @@ public class JDBCScanContext {
     private String sql;
 
     private int statementFetchSize;
+    // only take effect when the connection pool is created
+    private int connectionPoolSize = 8;
+    private int connectionIdleTimeoutMs = 600000;
 
     public JDBCScanContext() {}
     public JDBCScanContext(String driverClassName, String jdbcURL, String user, String password,
@@ -22,6 +25,13 @@ public class JDBCScanContext {
         this.statementFetchSize = statementFetchSize;
     }
 
+    public JDBCScanContext(String driverClassName, String jdbcURL, String user, String password,
+                           String sql, int statementFetchSize, int connectionPoolSize, int connectionIdleTimeoutMs) {
+        this(driverClassName, jdbcURL, user, password, sql, statementFetchSize);
+        this.connectionPoolSize = connectionPoolSize;
+        this.connectionIdleTimeoutMs = connectionIdleTimeoutMs;
+    }
+
     public void setDriverClassName(String driverClassName) {
         this.driverClassName = driverClassName;
     }
@@ -46,6 +56,14 @@ public class JDBCScanContext {
         this.statementFetchSize = statementFetchSize;
     }
 
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    public void setConnectionIdleTimeoutMs(int connectionIdleTimeoutMs) {
+        this.connectionIdleTimeoutMs = connectionIdleTimeoutMs;
+    }
+
     public String getDriverClassName() {
         return driverClassName;
     }
@@ -70,5 +88,13 @@ public class JDBCScanContext {
         return statementFetchSize;
     }
 
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    public int getConnectionIdleTimeoutMs() {
+        return connectionIdleTimeoutMs;
+    }
+
 
 }
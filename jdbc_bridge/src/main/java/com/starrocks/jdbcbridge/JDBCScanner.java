@@ -2,9 +2,6 @@
 
 package com.starrocks.jdbcbridge;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
-
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -14,28 +11,22 @@ import java.util.List;
 
 public class JDBCScanner {
     private JDBCScanContext scanContext;
-    private HikariDataSource dataSource;
+    private String driverLocation;
     private Connection connection;
     private Statement statement;
     private ResultSet resultSet;
     private ResultSetMetaData resultSetMetaData;
     private List<String> resultColumnClassNames;
+    private JDBCColumnBuffer[] columnBuffers;
 
-    public JDBCScanner(JDBCScanContext scanContext) {
+    public JDBCScanner(JDBCScanContext scanContext, String driverLocation) {
         this.scanContext = scanContext;
+        this.driverLocation = driverLocation;
     }
 
     public void open() throws Exception {
-        HikariConfig config = new HikariConfig();
-        config.setDriverClassName(scanContext.getDriverClassName());
-        config.setJdbcUrl(scanContext.getJdbcURL());
-        config.setUsername(scanContext.getUser());
-        config.setPassword(scanContext.getPassword());
-        // one connection per query, so just set max pool size to 1
-        config.setMaximumPoolSize(1);
-
-        dataSource = new HikariDataSource(config);
-        connection = dataSource.getConnection();
+        // the connection is returned to the pool shared with the other queries when it's closed
+        connection = JDBCBridge.getDataSource(driverLocation, scanContext).getConnection();
         statement = connection.createStatement();
         statement.setFetchSize(scanContext.getStatementFetchSize());
         statement.execute(scanContext.getSql());
@@ -45,6 +36,11 @@ public class JDBCScanner {
         for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
             resultColumnClassNames.add(resultSetMetaData.getColumnClassName(i));
         }
+        columnBuffers = new JDBCColumnBuffer[resultColumnClassNames.size()];
+        for (int i = 0; i < columnBuffers.length; i++) {
+            columnBuffers[i] = JDBCColumnBuffer.create(resultColumnClassNames.get(i),
+                    scanContext.getStatementFetchSize());
+        }
     }
 
     // used for cpp interface
@@ -74,6 +70,25 @@ public class JDBCScanner {
         return chunk;
     }
 
+    // return columnar chunk of primitive arrays, see JDBCColumnBuffer for the layout of each column.
+    // the arrays are reused by the next chunk, so they must be consumed before that.
+    public Object[] getNextTypedChunk() throws Exception {
+        int chunkSize = scanContext.getStatementFetchSize();
+        int numRows = 0;
+        do {
+            for (int i = 0; i < columnBuffers.length; i++) {
+                columnBuffers[i].append(resultSet, i + 1, numRows);
+            }
+            numRows++;
+        } while (numRows < chunkSize && resultSet.next());
+
+        Object[] chunk = new Object[columnBuffers.length];
+        for (int i = 0; i < columnBuffers.length; i++) {
+            chunk[i] = columnBuffers[i].build(numRows);
+        }
+        return chunk;
+    }
+
     public void close() throws Exception {
         if (resultSet != null) {
             resultSet.close();
@@ -84,8 +99,5 @@ public class JDBCScanner {
         if (connection != null) {
             connection.close();
         }
-        if (dataSource != null) {
-            dataSource.close();
-        }
     }
 }